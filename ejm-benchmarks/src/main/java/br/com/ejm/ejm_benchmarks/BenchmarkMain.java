@@ -0,0 +1,25 @@
+package br.com.ejm.ejm_benchmarks;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entrada do {@code benchmarks.jar}: o {@link Main} do JMH gravando os resultados em
+ * {@code jmh-result.json}, para comparar execuções entre versões. Um {@code -rf}/{@code -rff}
+ * explícito na linha de comando prevalece.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(List.of(args));
+        if (!options.contains("-rf")) {
+            options.addAll(0, List.of("-rf", "json"));
+        }
+        Main.main(options.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.ejm.ejm_benchmarks.codec;
+
+import br.com.ejm.ejm_config.codec.EjmCodec;
+import br.com.ejm.ejm_config.codec.EjmCodecs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de codificar/decodificar uma chamada: {@code java} é o caminho atual (serialização
+ * padrão do RMI), {@code binary} o codec por schema. O tamanho em bytes por chamada é
+ * impresso pelo {@link WireSizes}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"java", "binary"})
+    public String codec;
+
+    @Param({"simple", "dto", "list20"})
+    public String payload;
+
+    private EjmCodec encoder;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException {
+        encoder = EjmCodecs.get(codec);
+        value = payload(payload);
+        encoded = encoder.encode(value);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return encoder.encode(value);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return encoder.decode(encoded);
+    }
+
+    @Benchmark
+    public Object roundTrip() throws IOException {
+        return encoder.decode(encoder.encode(value));
+    }
+
+    static Object payload(String name) {
+        return switch (name) {
+            case "simple" -> Payloads.simpleArgs();
+            case "dto" -> Payloads.dtoArgs();
+            case "list20" -> Payloads.listResult(20);
+            default -> throw new IllegalArgumentException("payload desconhecido: " + name);
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.ejm.ejm_benchmarks.codec;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTOs típicos de um serviço EJM usados como carga nos benchmarks.
+ */
+public final class Payloads {
+
+    private Payloads() {
+    }
+
+    /** Argumentos de uma chamada simples: {@code buscar(Long id, String filtro)}. */
+    public static Object[] simpleArgs() {
+        return new Object[]{42L, "ativos"};
+    }
+
+    /** Argumentos de uma chamada com um DTO: {@code salvar(Usuario usuario)}. */
+    public static Object[] dtoArgs() {
+        return new Object[]{usuario(1)};
+    }
+
+    /** Resultado de uma listagem: {@code List<Usuario>} com {@code size} itens. */
+    public static Object listResult(int size) {
+        List<Usuario> usuarios = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            usuarios.add(usuario(i));
+        }
+        return usuarios;
+    }
+
+    static Usuario usuario(int i) {
+        Usuario usuario = new Usuario();
+        usuario.setId(1000L + i);
+        usuario.setNome("Usuário " + i);
+        usuario.setEmail("usuario" + i + "@empresa.com.br");
+        usuario.setIdade(20 + i % 50);
+        usuario.setAtivo(i % 3 != 0);
+        usuario.setSaldo(new BigDecimal("1520.75").add(BigDecimal.valueOf(i)));
+        usuario.setNascimento(LocalDate.of(1980 + i % 30, 1 + i % 12, 1 + i % 28));
+        usuario.setPerfil(i % 2 == 0 ? Perfil.ADMIN : Perfil.USUARIO);
+        usuario.setTelefones(List.of("11 9999-000" + i % 10, "11 3333-000" + i % 10));
+
+        Endereco endereco = new Endereco();
+        endereco.setLogradouro("Rua das Flores");
+        endereco.setNumero(100 + i);
+        endereco.setCidade("São Paulo");
+        endereco.setCep("01000-000");
+        usuario.setEndereco(endereco);
+        return usuario;
+    }
+
+    public enum Perfil { ADMIN, USUARIO }
+
+    public static class Usuario implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long id;
+        private String nome;
+        private String email;
+        private int idade;
+        private boolean ativo;
+        private BigDecimal saldo;
+        private LocalDate nascimento;
+        private Perfil perfil;
+        private List<String> telefones;
+        private Endereco endereco;
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+        public String getNome() { return nome; }
+        public void setNome(String nome) { this.nome = nome; }
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public int getIdade() { return idade; }
+        public void setIdade(int idade) { this.idade = idade; }
+        public boolean isAtivo() { return ativo; }
+        public void setAtivo(boolean ativo) { this.ativo = ativo; }
+        public BigDecimal getSaldo() { return saldo; }
+        public void setSaldo(BigDecimal saldo) { this.saldo = saldo; }
+        public LocalDate getNascimento() { return nascimento; }
+        public void setNascimento(LocalDate nascimento) { this.nascimento = nascimento; }
+        public Perfil getPerfil() { return perfil; }
+        public void setPerfil(Perfil perfil) { this.perfil = perfil; }
+        public List<String> getTelefones() { return telefones; }
+        public void setTelefones(List<String> telefones) { this.telefones = telefones; }
+        public Endereco getEndereco() { return endereco; }
+        public void setEndereco(Endereco endereco) { this.endereco = endereco; }
+    }
+
+    public static class Endereco implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private String logradouro;
+        private int numero;
+        private String cidade;
+        private String cep;
+
+        public String getLogradouro() { return logradouro; }
+        public void setLogradouro(String logradouro) { this.logradouro = logradouro; }
+        public int getNumero() { return numero; }
+        public void setNumero(int numero) { this.numero = numero; }
+        public String getCidade() { return cidade; }
+        public void setCidade(String cidade) { this.cidade = cidade; }
+        public String getCep() { return cep; }
+        public void setCep(String cep) { this.cep = cep; }
+    }
+}
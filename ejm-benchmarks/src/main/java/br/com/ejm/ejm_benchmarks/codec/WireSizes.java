@@ -0,0 +1,31 @@
+package br.com.ejm.ejm_benchmarks.codec;
+
+import br.com.ejm.ejm_config.codec.EjmCodec;
+import br.com.ejm.ejm_config.codec.EjmCodecs;
+
+/**
+ * Bytes por chamada de cada codec para as cargas do {@link CodecBenchmark}.
+ *
+ * java -cp target/benchmarks.jar br.com.ejm.ejm_benchmarks.codec.WireSizes
+ */
+public final class WireSizes {
+
+    private WireSizes() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] codecs = {"java", "binary"};
+        String[] payloads = {"simple", "dto", "list20"};
+
+        System.out.printf("%-10s %10s %10s %8s%n", "payload", codecs[0], codecs[1], "ratio");
+        for (String payload : payloads) {
+            Object value = CodecBenchmark.payload(payload);
+            int[] sizes = new int[codecs.length];
+            for (int i = 0; i < codecs.length; i++) {
+                EjmCodec codec = EjmCodecs.get(codecs[i]);
+                sizes[i] = codec.encode(value).length;
+            }
+            System.out.printf("%-10s %10d %10d %7.1fx%n", payload, sizes[0], sizes[1], (double) sizes[0] / sizes[1]);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.ejm.ejm_benchmarks.metrics;
+
+import br.com.ejm.ejm_benchmarks.server.DispatchBenchmark.Catalogo;
+import br.com.ejm.ejm_benchmarks.server.DispatchBenchmark.CatalogoImpl;
+import br.com.ejm.ejm_config.metrics.EjmMethodMetrics;
+import br.com.ejm.ejm_config.metrics.EjmMetrics;
+import br.com.ejm.ejm_config.metrics.EjmSlowCalls;
+import br.com.ejm.ejm_config.server.EjmMetricsInterceptor;
+import br.com.ejm.ejm_config.server.EjmServiceInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das métricas por chamada: o pipeline do provider com o {@link EjmMetricsInterceptor}
+ * (métricas e chamadas lentas) ligado e desligado em tempo de execução, e o registro isolado
+ * ({@code begin}/{@code end}), com várias threads no mesmo método.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class MetricsBenchmark {
+
+    @Param({"true", "false"})
+    public boolean enabled;
+
+    private Catalogo plain;
+    private Catalogo metered;
+    private EjmMethodMetrics metrics;
+
+    @Setup
+    public void setup() {
+        EjmMetrics.global().setEnabled(enabled);
+        EjmSlowCalls.global().setEnabled(enabled);
+        CatalogoImpl target = new CatalogoImpl();
+        plain = (Catalogo) new EjmServiceInvoker("Catalogo", target, Catalogo.class, List.of()).getProxy();
+        metered = (Catalogo) new EjmServiceInvoker("Catalogo", target, Catalogo.class,
+                List.of(new EjmMetricsInterceptor())).getProxy();
+        metrics = EjmMetrics.global().method(EjmMetrics.Side.SERVER, "Catalogo", "bench()");
+    }
+
+    @Benchmark
+    public String pipeline() throws RemoteException {
+        return plain.buscar("SKU-1", 3);
+    }
+
+    @Benchmark
+    public String pipelineMetered() throws RemoteException {
+        return metered.buscar("SKU-1", 3);
+    }
+
+    @Benchmark
+    public long record() {
+        metrics.begin();
+        long start = System.nanoTime();
+        metrics.end(System.nanoTime() - start, false);
+        return start;
+    }
+}
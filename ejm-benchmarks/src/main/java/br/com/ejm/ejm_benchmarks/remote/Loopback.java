@@ -0,0 +1,72 @@
+package br.com.ejm.ejm_benchmarks.remote;
+
+import br.com.ejm.ejm_benchmarks.remote.api.LoopbackService;
+import br.com.ejm.ejm_config.annotations.EnableEjmClient;
+import br.com.ejm.ejm_config.annotations.EnableEjmServer;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import java.rmi.Naming;
+import java.rmi.RemoteException;
+
+/**
+ * Provider e consumer EJM no mesmo processo, ligados pelo RMI em localhost: o
+ * {@code EjmServerAutoConfig} exporta o {@link LoopbackServiceImpl} e o {@code EjmClientAutoConfig}
+ * registra o proxy de {@link LoopbackService} a partir do {@code config-ejm.xml} dos benchmarks.
+ *
+ * Portas próprias, para não disputar a 1099 com um provider de verdade na mesma máquina.
+ */
+public final class Loopback implements AutoCloseable {
+
+    public static final int REGISTRY_PORT = 11099;
+    public static final int EXPORT_PORT = 15099;
+
+    private static final long STARTUP_TIMEOUT_MILLIS = 10_000;
+
+    private final AnnotationConfigApplicationContext context;
+
+    private Loopback(AnnotationConfigApplicationContext context) {
+        this.context = context;
+    }
+
+    /** Sobe o contexto e aguarda o proxy completar uma chamada. */
+    public static Loopback start() throws InterruptedException {
+        Loopback loopback = new Loopback(new AnnotationConfigApplicationContext(Config.class));
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (true) {
+            try {
+                loopback.proxy().ping();
+                return loopback;
+            } catch (RemoteException | RuntimeException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    loopback.close();
+                    throw new IllegalStateException("[EJM] Provider de loopback não respondeu", e);
+                }
+                Thread.sleep(50);
+            }
+        }
+    }
+
+    /** Bean do cliente: o caminho completo do proxy EJM. */
+    public LoopbackService proxy() {
+        return context.getBean("LoopbackService", LoopbackService.class);
+    }
+
+    /** Stub RMI puro, sem o proxy, como referência para o custo do próprio EJM. */
+    public LoopbackService stub() throws Exception {
+        return (LoopbackService) Naming.lookup("rmi://localhost:" + REGISTRY_PORT + "/LoopbackService");
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    @Configuration
+    @EnableEjmServer
+    @EnableEjmClient
+    @Import(LoopbackServiceImpl.class)
+    static class Config {
+    }
+}
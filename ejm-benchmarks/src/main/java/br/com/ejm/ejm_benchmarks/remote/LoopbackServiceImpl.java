@@ -0,0 +1,23 @@
+package br.com.ejm.ejm_benchmarks.remote;
+
+import br.com.ejm.ejm_benchmarks.codec.Payloads;
+import br.com.ejm.ejm_benchmarks.codec.Payloads.Usuario;
+import br.com.ejm.ejm_benchmarks.remote.api.LoopbackService;
+import br.com.ejm.ejm_config.annotations.EjmService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@EjmService(name = "LoopbackService", port = Loopback.REGISTRY_PORT, exportPort = Loopback.EXPORT_PORT)
+public class LoopbackServiceImpl implements LoopbackService {
+
+    // Montar os DTOs não faz parte do que se quer medir
+    private final Map<Integer, List<Usuario>> listas = new ConcurrentHashMap<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Usuario> listar(int quantidade) {
+        return listas.computeIfAbsent(quantidade, n -> (List<Usuario>) Payloads.listResult(n));
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.ejm.ejm_benchmarks.remote;
+
+import br.com.ejm.ejm_benchmarks.remote.api.LoopbackService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do {@code ping()} do {@code EjmDelegate}, a chamada que o monitor de reconexão faz em cada
+ * endpoint: pelo proxy (como a aplicação) e pelo stub (como o monitor).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PingBenchmark {
+
+    private Loopback loopback;
+    private LoopbackService proxy;
+    private LoopbackService stub;
+
+    @Setup
+    public void setup() throws Exception {
+        loopback = Loopback.start();
+        proxy = loopback.proxy();
+        stub = loopback.stub();
+    }
+
+    @TearDown
+    public void tearDown() {
+        loopback.close();
+    }
+
+    @Benchmark
+    public boolean proxy() throws RemoteException {
+        return proxy.ping();
+    }
+
+    @Benchmark
+    public boolean stub() throws RemoteException {
+        return stub.ping();
+    }
+}
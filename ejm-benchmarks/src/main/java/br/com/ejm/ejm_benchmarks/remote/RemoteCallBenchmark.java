@@ -0,0 +1,81 @@
+package br.com.ejm.ejm_benchmarks.remote;
+
+import br.com.ejm.ejm_benchmarks.codec.Payloads.Usuario;
+import br.com.ejm.ejm_benchmarks.remote.api.LoopbackService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip completo pelo {@link Loopback}: proxy do cliente, socket factories, RMI, pipeline do
+ * provider e serialização de uma listagem com {@code itens} DTOs. {@code stub} é a mesma chamada pelo
+ * stub RMI puro; a diferença para {@code proxy} é o custo do proxy EJM. Latência média com uma
+ * thread e vazão (chamadas/s) com 4 e 16 threads no mesmo proxy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RemoteCallBenchmark {
+
+    @Param({"1", "20", "500"})
+    public int itens;
+
+    private Loopback loopback;
+    private LoopbackService proxy;
+    private LoopbackService stub;
+
+    @Setup
+    public void setup() throws Exception {
+        loopback = Loopback.start();
+        proxy = loopback.proxy();
+        stub = loopback.stub();
+    }
+
+    @TearDown
+    public void tearDown() {
+        loopback.close();
+    }
+
+    @Benchmark
+    public List<Usuario> proxy() throws RemoteException {
+        return proxy.listar(itens);
+    }
+
+    @Benchmark
+    public List<Usuario> stub() throws RemoteException {
+        return stub.listar(itens);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<Usuario> proxy4Threads() throws RemoteException {
+        return proxy.listar(itens);
+    }
+
+    @Benchmark
+    @Threads(16)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<Usuario> proxy16Threads() throws RemoteException {
+        return proxy.listar(itens);
+    }
+}
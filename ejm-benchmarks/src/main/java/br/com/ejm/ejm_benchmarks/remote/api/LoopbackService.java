@@ -0,0 +1,17 @@
+package br.com.ejm.ejm_benchmarks.remote.api;
+
+import br.com.ejm.ejm_benchmarks.codec.Payloads.Usuario;
+import br.com.ejm.ejm_config.remote.EjmDelegate;
+
+import java.rmi.RemoteException;
+import java.util.List;
+
+/**
+ * Serviço do provider de loopback. Fica sozinho neste pacote, que é o {@code <base-package>} do
+ * {@code config-ejm.xml} dos benchmarks.
+ */
+public interface LoopbackService extends EjmDelegate {
+
+    /** Listagem com {@code quantidade} usuários; o provider devolve listas já montadas. */
+    List<Usuario> listar(int quantidade) throws RemoteException;
+}
@@ -0,0 +1,115 @@
+package br.com.ejm.ejm_benchmarks.server;
+
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+import br.com.ejm.ejm_config.server.EjmInterceptor;
+import br.com.ejm.ejm_config.server.EjmServerMethod;
+import br.com.ejm.ejm_config.server.EjmServiceInvoker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do despacho no provider, sem rede: {@code reflective} reproduz o proxy anterior
+ * (comparação de nome + {@code Method.invoke}), {@code pipeline} o {@code EjmServiceInvoker}
+ * sem e com um interceptor, e {@code endpoint} a cadeia buscada pela chave, como nos lotes.
+ * Rode com {@code -prof gc} para ver a alocação por chamada.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    public interface Catalogo extends Remote {
+        String buscar(String codigo, int versao) throws RemoteException;
+    }
+
+    public static class CatalogoImpl implements Catalogo {
+        @Override
+        public String buscar(String codigo, int versao) {
+            return codigo;
+        }
+    }
+
+    /** Interceptor vazio: mede só o custo de um elo da cadeia. */
+    public static class PassThrough implements EjmInterceptor {
+        @Override
+        public Object intercept(EjmServerMethod method, Object[] args, Chain next) throws Throwable {
+            return next.proceed(args);
+        }
+    }
+
+    private final Object[] args = {"SKU-1", 3};
+
+    private Catalogo direct;
+    private Catalogo reflective;
+    private Catalogo pipeline;
+    private Catalogo pipelineInterceptor;
+    private EjmInterceptor.Chain endpointChain;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        CatalogoImpl target = new CatalogoImpl();
+        direct = target;
+        reflective = reflectiveProxy(target);
+        pipeline = (Catalogo) new EjmServiceInvoker("Catalogo", target, Catalogo.class, List.of()).getProxy();
+
+        EjmServiceInvoker intercepted = new EjmServiceInvoker("Catalogo", target, Catalogo.class, List.of(new PassThrough()));
+        pipelineInterceptor = (Catalogo) intercepted.getProxy();
+        endpointChain = intercepted.chainFor(EjmMethodKey.of(Catalogo.class.getMethod("buscar", String.class, int.class)));
+    }
+
+    @Benchmark
+    public String direct() throws RemoteException {
+        return direct.buscar("SKU-1", 3);
+    }
+
+    @Benchmark
+    public String reflective() throws RemoteException {
+        return reflective.buscar("SKU-1", 3);
+    }
+
+    @Benchmark
+    public String pipeline() throws RemoteException {
+        return pipeline.buscar("SKU-1", 3);
+    }
+
+    @Benchmark
+    public String pipelineInterceptor() throws RemoteException {
+        return pipelineInterceptor.buscar("SKU-1", 3);
+    }
+
+    @Benchmark
+    public Object endpoint() throws Throwable {
+        return endpointChain.proceed(args);
+    }
+
+    private static Catalogo reflectiveProxy(Object target) {
+        return (Catalogo) Proxy.newProxyInstance(
+                Catalogo.class.getClassLoader(),
+                new Class<?>[]{Catalogo.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("ping") && method.getParameterCount() == 0) {
+                        return true;
+                    }
+                    return method.invoke(target, args);
+                }
+        );
+    }
+}
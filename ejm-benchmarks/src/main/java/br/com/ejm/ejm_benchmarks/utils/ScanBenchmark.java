@@ -0,0 +1,48 @@
+package br.com.ejm.ejm_benchmarks.utils;
+
+import br.com.ejm.ejm_config.utils.PackageScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo do {@link PackageScanner} no startup do cliente. {@code index}: pacote listado no
+ * {@code services.idx} gerado na compilação deste módulo. {@code scan}: pacote fora do índice, lido
+ * pelo cabeçalho do bytecode de cada entrada do {@code benchmarks.jar} (um fat jar, como o de uma
+ * aplicação Spring Boot).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScanBenchmark {
+
+    @Param({"index", "scan"})
+    public String modo;
+
+    private String pacote;
+
+    @Setup
+    public void setup() {
+        pacote = modo.equals("index") ? "br.com.ejm.ejm_benchmarks.remote.api" : "br.com.ejm.ejm_config.remote";
+    }
+
+    @Benchmark
+    public List<Class<?>> findInterfaces() throws IOException, ClassNotFoundException {
+        return PackageScanner.findInterfaces(pacote);
+    }
+}
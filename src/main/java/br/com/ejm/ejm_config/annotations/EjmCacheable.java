@@ -0,0 +1,25 @@
+package br.com.ejm.ejm_config.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Resultado do método remoto pode ser mantido em cache no cliente, com chave nos argumentos.
+ *
+ * Use apenas em métodos somente leitura: o mesmo objeto retornado é entregue a todas as
+ * chamadas que acertam o cache. O provider pode invalidar a região a qualquer momento
+ * pelo {@code EjmCacheInvalidator}, o que permite TTLs longos.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EjmCacheable {
+
+    // Tempo de vida das entradas (ms); 0 = só expira por LRU ou invalidação
+    long ttl() default 60_000;
+
+    // Máximo de entradas mantidas para o método
+    int maxEntries() default 1000;
+
+    // Região usada nas invalidações; vazio = nome simples da interface
+    String region() default "";
+}
@@ -0,0 +1,13 @@
+package br.com.ejm.ejm_config.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Marca um método remoto como idempotente: pode ser repetido ou executado em paralelo em
+ * outro endpoint (hedged request) sem efeitos colaterais.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EjmIdempotent {
+}
@@ -0,0 +1,37 @@
+package br.com.ejm.ejm_config.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Faixa de prioridade de um serviço, declarada em {@code @EjmService(lanes = ...)}.
+ *
+ * O serviço é exportado de novo na {@link #exportPort()} da faixa, com controle de admissão próprio:
+ * as chamadas da faixa chegam por outras conexões e disputam outras vagas, sem ocupar as do serviço.
+ * O cliente escolhe a faixa com {@link EjmPriority} ou por chamada, com {@code EjmCallPriority}.
+ */
+@Target({})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EjmLane {
+
+    /** Separador do nome publicado no registry: {@code Servico@faixa}. */
+    String SEPARATOR = "@";
+
+    /** Nome reservado para a faixa do próprio serviço (exportPort). */
+    String DEFAULT = "default";
+
+    // Nome da faixa (ex: "bulk")
+    String name();
+
+    // Porta fixa da faixa, diferente da exportPort do serviço
+    int exportPort();
+
+    // Chamadas da faixa executando ao mesmo tempo no bean; 0 = sem limite
+    int maxConcurrency() default 0;
+
+    // Chamadas aguardando vaga além de maxConcurrency
+    int queueDepth() default 100;
+
+    // Tempo máximo de espera na fila (ms) antes de recusar com EjmOverloadException
+    long queueTimeout() default 1000;
+}
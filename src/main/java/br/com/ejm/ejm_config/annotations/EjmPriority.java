@@ -0,0 +1,18 @@
+package br.com.ejm.ejm_config.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Faixa de prioridade ({@link EjmLane}) das chamadas, na interface delegate (todos os métodos) ou em
+ * um método. A faixa definida por chamada com {@code EjmCallPriority} tem precedência.
+ *
+ * Se o provider não publica a faixa, a chamada segue pelo serviço.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EjmPriority {
+
+    // Nome da faixa; EjmLane.DEFAULT = o próprio serviço
+    String value();
+}
@@ -21,4 +21,33 @@ public @interface EjmService {
     // Porta fixa usada na exportação do objeto remoto
     // NECESSÁRIA para Docker/Kubernetes
     int exportPort() default 5001;
+
+    // Porta do transporte multiplexado (clientes com <transport>mux</transport>); 0 = desligado
+    // Serviços com o mesmo muxPort compartilham a porta; o cliente não precisa alcançar registry nem exportPort
+    int muxPort() default 0;
+
+    // Codec aceito nas chamadas codificadas (ex: "binary"); "java" = apenas serialização do RMI
+    String codec() default "java";
+
+    // Comprime os frames acima de compressionThreshold bytes (o cliente recebe a fábrica junto com o stub)
+    boolean compression() default false;
+
+    int compressionThreshold() default 8192;
+
+    // Porta do canal de blobs (métodos que retornam EjmBlob); 0 = porta livre
+    // Em Docker/Kubernetes, fixar uma porta (ex: 6001) e publicá-la junto com exportPort
+    int blobPort() default 0;
+
+    // Chamadas executando ao mesmo tempo no bean; 0 = sem limite
+    int maxConcurrency() default 0;
+
+    // Chamadas aguardando vaga além de maxConcurrency; acima disso são recusadas na hora
+    int queueDepth() default 100;
+
+    // Tempo máximo de espera na fila (ms) antes de recusar com EjmOverloadException
+    long queueTimeout() default 1000;
+
+    // Faixas de prioridade: cada uma com porta e controle de admissão próprios (ex: relatórios em lote)
+    // Em Docker/Kubernetes, publicar também a exportPort de cada faixa
+    EjmLane[] lanes() default {};
 }
@@ -0,0 +1,25 @@
+package br.com.ejm.ejm_config.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Ajustes de um método que retorna {@code EjmStream}. Sem a anotação valem os padrões.
+ *
+ * O provider lê os itens da fonte em blocos de {@link #chunkSize()} só quando o cliente pede o
+ * próximo bloco; o cliente busca até {@link #prefetch()} blocos à frente do que está consumindo.
+ * A memória dos dois lados fica limitada a esses blocos, qualquer que seja o tamanho do resultado.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EjmStreaming {
+
+    // Itens por round trip
+    int chunkSize() default 256;
+
+    // Blocos buscados em background à frente do consumo; 0 = busca só quando o bloco atual acaba
+    int prefetch() default 1;
+
+    // Tempo (ms) sem pedidos do cliente até o provider fechar o cursor
+    long idleTimeout() default 60_000;
+}
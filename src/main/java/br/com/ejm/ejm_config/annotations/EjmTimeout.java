@@ -0,0 +1,17 @@
+package br.com.ejm.ejm_config.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Deadline das chamadas remotas, na interface delegate (todos os métodos) ou em um método.
+ *
+ * O valor do config-ejm.xml, quando presente, tem precedência.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface EjmTimeout {
+
+    // Deadline em milissegundos
+    long value();
+}
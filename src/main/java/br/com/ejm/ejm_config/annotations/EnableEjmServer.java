@@ -1,6 +1,7 @@
 package br.com.ejm.ejm_config.annotations;
 
 import br.com.ejm.ejm_config.config.EjmServerAutoConfig;
+import br.com.ejm.ejm_config.server.EjmCacheInvalidator;
 import org.springframework.context.annotation.Import;
 
 import java.lang.annotation.*;
@@ -8,6 +9,6 @@ import java.lang.annotation.*;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
-@Import(EjmServerAutoConfig.class)
+@Import({EjmServerAutoConfig.class, EjmCacheInvalidator.class})
 public @interface EnableEjmServer {
 }
\ No newline at end of file
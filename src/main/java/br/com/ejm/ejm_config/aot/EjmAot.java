@@ -0,0 +1,141 @@
+package br.com.ejm.ejm_config.aot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Optional;
+
+/**
+ * Acesso às classes geradas pelo {@code EjmAotProcessor} na compilação da lib delegate.
+ *
+ * Para cada interface {@code EjmDelegate} o processador gera {@code <Interface>$EjmStub}, usado no
+ * lugar de {@link Proxy} nos beans de cliente e no objeto exportado pelo provider, e
+ * {@code <Interface>$EjmSkeleton}, usado no lugar de reflexão para chamar o bean e os stubs RMI.
+ * Sem as classes geradas (interface compilada sem o processador), tudo volta ao caminho reflexivo.
+ */
+public final class EjmAot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmAot.class);
+
+    public static final String STUB_SUFFIX = "$EjmStub";
+    public static final String SKELETON_SUFFIX = "$EjmSkeleton";
+
+    // Métodos de Object repassados ao handler pelos stubs gerados, como faz o Proxy
+    public static final Method EQUALS = method(Object.class, "equals", Object.class);
+    public static final Method HASH_CODE = method(Object.class, "hashCode");
+    public static final Method TO_STRING = method(Object.class, "toString");
+
+    private static final ClassValue<Optional<Constructor<?>>> STUBS = new ClassValue<>() {
+        @Override
+        protected Optional<Constructor<?>> computeValue(Class<?> iface) {
+            return Optional.ofNullable(findStub(iface));
+        }
+    };
+
+    private static final ClassValue<Optional<EjmSkeleton>> SKELETONS = new ClassValue<>() {
+        @Override
+        protected Optional<EjmSkeleton> computeValue(Class<?> iface) {
+            return Optional.ofNullable(findSkeleton(iface));
+        }
+    };
+
+    private EjmAot() {
+    }
+
+    /** Implementação da interface que repassa as chamadas ao handler: o stub gerado ou um {@link Proxy}. */
+    @SuppressWarnings("unchecked")
+    public static <T> T newProxy(Class<T> iface, InvocationHandler handler) {
+        Optional<Constructor<?>> stub = STUBS.get(iface);
+        if (stub.isPresent()) {
+            try {
+                return (T) stub.get().newInstance(handler);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                LOGGER.debug("[EJM] Stub AOT de {} indisponível: {}", iface.getName(), e.toString());
+            }
+        }
+        return (T) Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[]{iface}, handler);
+    }
+
+    /** Handler por trás de um stub gerado ou de um {@link Proxy}; {@code null} para outros objetos. */
+    public static InvocationHandler handlerOf(Object proxy) {
+        if (proxy instanceof EjmGeneratedStub stub) return stub.ejmInvocationHandler();
+        if (proxy != null && Proxy.isProxyClass(proxy.getClass())) return Proxy.getInvocationHandler(proxy);
+        return null;
+    }
+
+    /** Skeleton gerado da interface, ou {@code null}. */
+    public static EjmSkeleton skeletonFor(Class<?> iface) {
+        return SKELETONS.get(iface).orElse(null);
+    }
+
+    /** Usado pelos stubs gerados para resolver seus métodos uma vez, na inicialização da classe. */
+    public static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            // stub gerado para outra versão da interface
+            throw new NoSuchMethodError("[EJM] " + type.getName() + "." + name + " não encontrado pelo stub AOT");
+        }
+    }
+
+    /**
+     * Usado pelos stubs gerados: relança exceções não checadas e as checadas declaradas pelo método;
+     * as demais chegam como {@link UndeclaredThrowableException}, igual ao {@link Proxy}.
+     */
+    public static RuntimeException rethrow(Throwable e, Method method) {
+        if (e instanceof RuntimeException runtime) return runtime;
+        if (e instanceof Error) throw EjmAot.<Error>sneaky(e);
+        for (Class<?> type : method.getExceptionTypes()) {
+            if (type.isInstance(e)) throw EjmAot.<RuntimeException>sneaky(e);
+        }
+        return new UndeclaredThrowableException(e);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> E sneaky(Throwable e) throws E {
+        throw (E) e;
+    }
+
+    private static Constructor<?> findStub(Class<?> iface) {
+        Class<?> type = generated(iface, STUB_SUFFIX);
+        if (type == null || !iface.isAssignableFrom(type) || !EjmGeneratedStub.class.isAssignableFrom(type)) return null;
+
+        try {
+            Constructor<?> constructor = type.getConstructor(InvocationHandler.class);
+            LOGGER.debug("[EJM] Stub AOT em uso para {}.", iface.getName());
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static EjmSkeleton findSkeleton(Class<?> iface) {
+        Class<?> type = generated(iface, SKELETON_SUFFIX);
+        if (type == null || !EjmSkeleton.class.isAssignableFrom(type)) return null;
+
+        try {
+            EjmSkeleton skeleton = (EjmSkeleton) type.getConstructor().newInstance();
+            LOGGER.debug("[EJM] Skeleton AOT em uso para {}.", iface.getName());
+            return skeleton;
+        } catch (ReflectiveOperationException e) {
+            LOGGER.debug("[EJM] Skeleton AOT de {} indisponível: {}", iface.getName(), e.toString());
+            return null;
+        }
+    }
+
+    private static Class<?> generated(Class<?> iface, String suffix) {
+        if (!iface.isInterface()) return null;
+        try {
+            return Class.forName(iface.getName() + suffix, true, iface.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            // interface compilada sem o EjmAotProcessor
+            return null;
+        }
+    }
+}
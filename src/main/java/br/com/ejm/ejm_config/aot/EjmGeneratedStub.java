@@ -0,0 +1,13 @@
+package br.com.ejm.ejm_config.aot;
+
+import java.lang.reflect.InvocationHandler;
+
+/**
+ * Implementado pelos stubs gerados ({@code <Interface>$EjmStub}): classes concretas da interface remota
+ * que repassam cada chamada ao handler, como um {@link java.lang.reflect.Proxy}.
+ */
+public interface EjmGeneratedStub {
+
+    /** Handler que recebe as chamadas do stub. */
+    InvocationHandler ejmInvocationHandler();
+}
@@ -0,0 +1,41 @@
+package br.com.ejm.ejm_config.aot;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base dos skeletons gerados ({@code <Interface>$EjmSkeleton}): chamam os métodos da interface remota
+ * num {@code switch} pelo índice do método, sem reflexão nem classes geradas em runtime.
+ *
+ * O alvo pode ser o bean do provider ou o stub RMI do lado do cliente.
+ */
+public abstract class EjmSkeleton {
+
+    // Chave do EjmMethodKey -> índice no switch
+    private final Map<String, Integer> indexes;
+
+    protected EjmSkeleton(String... keys) {
+        this.indexes = new HashMap<>(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            indexes.put(keys[i], i);
+        }
+    }
+
+    /** Chama o método de índice {@code method} em {@code target}; exceções do alvo chegam sem embrulho. */
+    public abstract Object invoke(int method, Object target, Object[] args) throws Throwable;
+
+    /** Chamada do método pela chave do {@code EjmMethodKey}; {@code null} se o skeleton não o conhece. */
+    public Call call(String key) {
+        Integer index = indexes.get(key);
+        if (index == null) return null;
+
+        int method = index;
+        return (target, args) -> invoke(method, target, args);
+    }
+
+    /** Um método do skeleton. */
+    @FunctionalInterface
+    public interface Call {
+        Object invoke(Object target, Object[] args) throws Throwable;
+    }
+}
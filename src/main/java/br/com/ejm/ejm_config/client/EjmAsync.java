@@ -0,0 +1,22 @@
+package br.com.ejm.ejm_config.client;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Variante assíncrona de um serviço remoto, injetável como {@code EjmAsync<UsuarioService>}.
+ *
+ * <pre>
+ * var usuario = usuarioAsync.call(s -> s.buscarPorId(1L));
+ * var pedidos = pedidoAsync.call(s -> s.listarPorUsuario(1L));
+ * CompletableFuture.allOf(usuario, pedidos).join();
+ * </pre>
+ *
+ * As chamadas passam pelo mesmo proxy do bean síncrono (deadlines, balanceamento, limites).
+ */
+public interface EjmAsync<T> {
+
+    <R> CompletableFuture<R> call(EjmRemoteCall<T, R> call);
+
+    /** Proxy síncrono do serviço. */
+    T service();
+}
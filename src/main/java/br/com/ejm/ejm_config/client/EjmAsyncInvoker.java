@@ -0,0 +1,58 @@
+package br.com.ejm.ejm_config.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Implementação de {@link EjmAsync}: cada chamada roda numa thread do executor assíncrono,
+ * limitada pelo semáforo compartilhado entre todos os serviços.
+ */
+public class EjmAsyncInvoker<T> implements EjmAsync<T> {
+
+    private final T service;
+    private final Executor executor;
+    private final Semaphore permits;
+
+    public EjmAsyncInvoker(T service, Executor executor, Semaphore permits) {
+        this.service = service;
+        this.executor = executor;
+        this.permits = permits;
+    }
+
+    @Override
+    public <R> CompletableFuture<R> call(EjmRemoteCall<T, R> call) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        String lane = EjmCallPriority.current();
+        try {
+            executor.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    future.completeExceptionally(e);
+                    return;
+                }
+
+                EjmCallPriority.Scope scope = EjmCallPriority.use(lane);
+                try {
+                    future.complete(call.call(service));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    scope.close();
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    @Override
+    public T service() {
+        return service;
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.aot.EjmAot;
+import br.com.ejm.ejm_config.remote.EjmBatchCall;
+import br.com.ejm.ejm_config.remote.EjmBatchResult;
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+
+import java.lang.reflect.Method;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Agrupa várias chamadas a um serviço remoto e as envia num único round trip.
+ *
+ * <pre>
+ * try (EjmBatch&lt;UsuarioService&gt; batch = EjmBatch.of(usuarioService)) {
+ *     for (Long id : ids) {
+ *         usuarios.add(batch.add(s -&gt; s.buscarPorId(id)));
+ *     }
+ * } // close() envia o lote; cada future recebe o resultado ou a exceção da sua chamada
+ * </pre>
+ *
+ * Não é thread-safe: cada escopo usa a sua instância.
+ */
+public class EjmBatch<T> implements AutoCloseable {
+
+    private final EjmClientProxy handler;
+    private final int maxSize;
+    private final T recorder;
+    private final List<EjmBatchCall> calls = new ArrayList<>();
+    private final List<CompletableFuture<Object>> futures = new ArrayList<>();
+
+    private Method recordedMethod;
+    private Object[] recordedArgs;
+
+    private EjmBatch(EjmClientProxy handler, int maxSize) {
+        this.handler = handler;
+        this.maxSize = maxSize;
+        this.recorder = recorder(handler.getIface());
+    }
+
+    /** Lote sem limite de tamanho, enviado em {@link #execute()} ou {@link #close()}. */
+    public static <T> EjmBatch<T> of(T service) {
+        return of(service, 0);
+    }
+
+    /**
+     * @param maxSize ao atingir esse número de chamadas o lote é enviado automaticamente (0 = sem limite)
+     */
+    public static <T> EjmBatch<T> of(T service, int maxSize) {
+        EjmClientProxy handler = EjmClientProxy.handlerOf(service);
+        if (handler == null) {
+            throw new IllegalArgumentException("[EJM] EjmBatch requer um bean de cliente EJM: " + service);
+        }
+        return new EjmBatch<>(handler, maxSize);
+    }
+
+    /**
+     * Registra uma chamada no lote. A lambda deve chamar exatamente um método do serviço;
+     * o valor que ela retorna é ignorado.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> add(EjmRemoteCall<T, R> call) throws RemoteException {
+        recordedMethod = null;
+        try {
+            call.call(recorder);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("[EJM] Falha ao registrar chamada no lote", e);
+        }
+        if (recordedMethod == null) {
+            throw new IllegalArgumentException("[EJM] A chamada registrada no lote não invocou nenhum método remoto");
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        calls.add(new EjmBatchCall(EjmMethodKey.of(recordedMethod), recordedArgs));
+        futures.add(future);
+
+        if (maxSize > 0 && calls.size() >= maxSize) {
+            execute();
+        }
+        return (CompletableFuture<R>) future;
+    }
+
+    /** Envia as chamadas pendentes e conclui as futures na ordem em que foram registradas. */
+    public void execute() throws RemoteException {
+        if (calls.isEmpty()) return;
+
+        List<EjmBatchCall> pendingCalls = new ArrayList<>(calls);
+        List<CompletableFuture<Object>> pendingFutures = new ArrayList<>(futures);
+        calls.clear();
+        futures.clear();
+
+        List<EjmBatchResult> results;
+        try {
+            results = handler.invokeBatch(pendingCalls);
+        } catch (Throwable e) {
+            pendingFutures.forEach(future -> future.completeExceptionally(e));
+            if (e instanceof RemoteException remote) throw remote;
+            throw new RemoteException("[EJM] Falha ao enviar lote", e);
+        }
+
+        for (int i = 0; i < pendingFutures.size(); i++) {
+            EjmBatchResult result = results.get(i);
+            if (result.error() != null) {
+                pendingFutures.get(i).completeExceptionally(result.error());
+            } else {
+                pendingFutures.get(i).complete(result.value());
+            }
+        }
+    }
+
+    public int size() {
+        return calls.size();
+    }
+
+    @Override
+    public void close() throws RemoteException {
+        execute();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T recorder(Class<?> iface) {
+        return (T) EjmAot.newProxy(iface, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                throw new UnsupportedOperationException("[EJM] Método não remoto no lote: " + method.getName());
+            }
+            recordedMethod = method;
+            recordedArgs = args;
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        return 0d;
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.client.cache.EjmCacheKey;
+import br.com.ejm.ejm_config.client.cache.EjmResultCopy;
+import br.com.ejm.ejm_config.exception.EjmTimeoutException;
+import br.com.ejm.ejm_config.transport.EjmDeadline;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.rmi.RemoteException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalescência (single-flight) das chamadas de um serviço: enquanto uma chamada com o mesmo
+ * método e argumentos iguais está em andamento, as seguintes aguardam o mesmo resultado.
+ *
+ * Quem espera além de {@code maxWait} desiste e faz a própria chamada, e ninguém espera além do
+ * próprio deadline. Cada chamador que aguardava recebe a sua cópia do resultado ({@link EjmResultCopy});
+ * exceções do líder são repassadas a todos.
+ */
+public class EjmCallCoalescer {
+
+    private final long maxWaitNanos;
+    private final Map<CallKey, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder waitTimeouts = new LongAdder();
+
+    /**
+     * @param maxWaitMillis espera máxima por uma chamada em andamento; 0 = até ela terminar
+     */
+    public EjmCallCoalescer(long maxWaitMillis) {
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+    }
+
+    /** Coalescência do bean de cliente, ou {@code null} se desligada para o serviço. */
+    public static EjmCallCoalescer of(Object service) {
+        EjmClientProxy handler = EjmClientProxy.handlerOf(service);
+        return handler == null ? null : handler.getCoalescer();
+    }
+
+    /**
+     * @param argsKey  chave dos argumentos ({@link EjmCacheKey}), ou {@code null} para não coalescer
+     * @param deadline deadline da chamada em nanos ({@code System.nanoTime()}), 0 = sem deadline; quem
+     *                 aguarda respeita também o {@link EjmDeadline} da própria thread
+     */
+    Object call(Method method, Object argsKey, long deadline, Call call) throws Throwable {
+        if (argsKey == null) {
+            return call.call();
+        }
+
+        CallKey key = new CallKey(method, argsKey);
+        Flight mine = new Flight();
+        // quem chega depois se conta no mesmo passo atômico: após o remove do líder ninguém mais entra
+        Flight flight = inFlight.compute(key, (k, current) -> {
+            if (current == null) return mine;
+            current.waiters.incrementAndGet();
+            return current;
+        });
+        if (flight == mine) {
+            leaders.increment();
+            Object result;
+            try {
+                result = call.call();
+            } catch (Throwable e) {
+                inFlight.remove(key, mine);
+                mine.result.completeExceptionally(e);
+                throw e;
+            }
+            inFlight.remove(key, mine);
+            mine.result.complete(mine.waiters.get() == 0 ? null : share(result));
+            return result;
+        }
+
+        coalesced.increment();
+        long own = earliest(deadline, EjmDeadline.current());
+        long remaining = own == 0 ? Long.MAX_VALUE : own - System.nanoTime();
+        long wait = maxWaitNanos == 0 ? remaining : Math.min(maxWaitNanos, remaining);
+        Object shared;
+        try {
+            shared = wait == Long.MAX_VALUE ? flight.result.get() : flight.result.get(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RemoteException("[EJM] Interrompido aguardando chamada em andamento de " + method.getName(), e);
+        } catch (TimeoutException e) {
+            waitTimeouts.increment();
+            if (own != 0 && own - System.nanoTime() <= 0) {
+                throw new EjmTimeoutException("[EJM] Deadline excedido aguardando chamada em andamento de " + method.getName(), e);
+            }
+            return call.call();
+        }
+
+        if (shared instanceof EjmResultCopy copy) {
+            try {
+                return copy.get();
+            } catch (IOException e) {
+                // cópia ilegível: segue com a própria chamada
+            }
+        }
+        // resultado que o codec não copia: faz a própria chamada
+        return call.call();
+    }
+
+    private static Object share(Object result) {
+        try {
+            return EjmResultCopy.of(result);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static long earliest(long a, long b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+        return a - b <= 0 ? a : b;
+    }
+
+    static Object keyFor(Object[] args) {
+        try {
+            return EjmCacheKey.of(args);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Chamadas que foram ao provider e tiveram outras aguardando (ou não) seu resultado. */
+    public long getLeaderCalls() {
+        return leaders.sum();
+    }
+
+    /** Chamadas que aguardaram uma chamada idêntica em andamento em vez de ir ao provider. */
+    public long getCoalescedCalls() {
+        return coalesced.sum();
+    }
+
+    /** Chamadas coalescidas que desistiram após a espera máxima. */
+    public long getWaitTimeouts() {
+        return waitTimeouts.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    private record CallKey(Method method, Object args) {
+    }
+
+    /** Chamada em andamento: o resultado vai para quem aguarda como {@link EjmResultCopy}. */
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+
+    @FunctionalInterface
+    interface Call {
+        Object call() throws Throwable;
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.annotations.EjmLane;
+import br.com.ejm.ejm_config.annotations.EjmPriority;
+
+/**
+ * Faixa de prioridade ({@link EjmLane}) das chamadas remotas feitas pela thread atual, com precedência
+ * sobre {@link EjmPriority}:
+ * <pre>
+ * try (EjmCallPriority.Scope scope = EjmCallPriority.use("bulk")) {
+ *     relatorios.gerar(filtro);
+ * }
+ * </pre>
+ * {@link EjmLane#DEFAULT} força o próprio serviço mesmo em métodos anotados. As chamadas do
+ * {@link EjmAsync} e os lotes do {@link EjmBatch} usam a faixa de quem os disparou.
+ */
+public final class EjmCallPriority {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private EjmCallPriority() {
+    }
+
+    /** Define a faixa até o {@link Scope#close()}, que restaura a anterior. */
+    public static Scope use(String lane) {
+        String previous = CURRENT.get();
+        CURRENT.set(lane);
+        return () -> restore(previous);
+    }
+
+    /** Faixa definida para a thread atual, ou {@code null}. */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    static void restore(String lane) {
+        if (lane == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(lane);
+        }
+    }
+
+    /** Escopo de {@link #use(String)}. */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
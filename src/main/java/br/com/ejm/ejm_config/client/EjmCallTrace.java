@@ -0,0 +1,81 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.metrics.EjmMethodMetrics;
+import br.com.ejm.ejm_config.transport.EjmWireMeter;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * Dados de uma chamada do proxy para o evento JFR e o registro de chamadas lentas: bytes, endpoint
+ * e o tempo gasto antes da rede. Os bytes também seguem para as métricas do método, quando ligadas.
+ *
+ * Numa hedged request as duas tentativas escrevem aqui ao mesmo tempo, por isso os contadores são
+ * atômicos; o endpoint é o da última tentativa iniciada.
+ */
+final class EjmCallTrace implements EjmWireMeter.Sink {
+
+    private static final AtomicLongFieldUpdater<EjmCallTrace> BYTES_IN =
+            AtomicLongFieldUpdater.newUpdater(EjmCallTrace.class, "bytesIn");
+    private static final AtomicLongFieldUpdater<EjmCallTrace> BYTES_OUT =
+            AtomicLongFieldUpdater.newUpdater(EjmCallTrace.class, "bytesOut");
+    private static final AtomicLongFieldUpdater<EjmCallTrace> SERIALIZE =
+            AtomicLongFieldUpdater.newUpdater(EjmCallTrace.class, "serializeNanos");
+
+    // null = métricas desligadas
+    private final EjmMethodMetrics metrics;
+
+    private volatile long bytesIn;
+    private volatile long bytesOut;
+    private volatile long serializeNanos;
+    private volatile long queueNanos;
+    private volatile EjmEndpoint endpoint;
+
+    EjmCallTrace(EjmMethodMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void addBytesIn(long bytes) {
+        BYTES_IN.addAndGet(this, bytes);
+        if (metrics != null) metrics.addBytesIn(bytes);
+    }
+
+    @Override
+    public void addBytesOut(long bytes) {
+        BYTES_OUT.addAndGet(this, bytes);
+        if (metrics != null) metrics.addBytesOut(bytes);
+    }
+
+    void addSerializeNanos(long nanos) {
+        SERIALIZE.addAndGet(this, nanos);
+    }
+
+    void setQueueNanos(long nanos) {
+        this.queueNanos = nanos;
+    }
+
+    void setEndpoint(EjmEndpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    long bytesIn() {
+        return bytesIn;
+    }
+
+    long bytesOut() {
+        return bytesOut;
+    }
+
+    long serializeNanos() {
+        return serializeNanos;
+    }
+
+    long queueNanos() {
+        return queueNanos;
+    }
+
+    String endpoint() {
+        EjmEndpoint current = endpoint;
+        return current == null ? null : current.toString();
+    }
+}
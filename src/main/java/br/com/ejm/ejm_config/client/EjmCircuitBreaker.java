@@ -0,0 +1,58 @@
+package br.com.ejm.ejm_config.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Circuit breaker de um endpoint.
+ *
+ * Abre após {@code failureThreshold} falhas de transporte consecutivas. Depois de
+ * {@code openMillis} libera uma única chamada de teste (half-open): sucesso fecha o
+ * circuito, falha o mantém aberto por mais um período.
+ */
+public class EjmCircuitBreaker {
+
+    private static final long CLOSED = 0;
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    // CLOSED, ou o instante (nanoTime) a partir do qual uma chamada de teste é permitida
+    private final AtomicLong retryAt = new AtomicLong(CLOSED);
+
+    public EjmCircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000;
+    }
+
+    /** Indica se uma chamada pode seguir; no estado half-open apenas uma thread ganha a vez. */
+    public boolean allowRequest() {
+        if (failureThreshold <= 0) return true;
+
+        long at = retryAt.get();
+        if (at == CLOSED) return true;
+
+        long now = System.nanoTime();
+        return now - at >= 0 && retryAt.compareAndSet(at, now + openNanos);
+    }
+
+    public void onSuccess() {
+        if (failureThreshold <= 0) return;
+
+        failures.set(0);
+        retryAt.set(CLOSED);
+    }
+
+    public void onFailure() {
+        if (failureThreshold <= 0) return;
+
+        if (failures.incrementAndGet() >= failureThreshold) {
+            retryAt.set(Math.max(System.nanoTime() + openNanos, 1));
+        }
+    }
+
+    public boolean isOpen() {
+        return retryAt.get() != CLOSED;
+    }
+}
@@ -0,0 +1,754 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.annotations.EjmCacheable;
+import br.com.ejm.ejm_config.annotations.EjmIdempotent;
+import br.com.ejm.ejm_config.annotations.EjmLane;
+import br.com.ejm.ejm_config.annotations.EjmPriority;
+import br.com.ejm.ejm_config.annotations.EjmTimeout;
+import br.com.ejm.ejm_config.aot.EjmAot;
+import br.com.ejm.ejm_config.aot.EjmSkeleton;
+import br.com.ejm.ejm_config.client.cache.EjmCacheManager;
+import br.com.ejm.ejm_config.client.cache.EjmResultCache;
+import br.com.ejm.ejm_config.client.limit.EjmConcurrencyLimiter;
+import br.com.ejm.ejm_config.codec.EjmCodec;
+import br.com.ejm.ejm_config.codec.EjmCodecs;
+import br.com.ejm.ejm_config.codec.EjmTypeFilter;
+import br.com.ejm.ejm_config.exception.EjmCircuitOpenException;
+import br.com.ejm.ejm_config.exception.EjmOverloadException;
+import br.com.ejm.ejm_config.exception.EjmTimeoutException;
+import br.com.ejm.ejm_config.metrics.EjmClientCallEvent;
+import br.com.ejm.ejm_config.metrics.EjmMethodMetrics;
+import br.com.ejm.ejm_config.metrics.EjmMetrics;
+import br.com.ejm.ejm_config.metrics.EjmSlowCall;
+import br.com.ejm.ejm_config.metrics.EjmSlowCalls;
+import br.com.ejm.ejm_config.remote.EjmBatchCall;
+import br.com.ejm.ejm_config.remote.EjmBatchResult;
+import br.com.ejm.ejm_config.remote.EjmBlob;
+import br.com.ejm.ejm_config.remote.EjmInvocationEndpoint;
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+import br.com.ejm.ejm_config.remote.EjmStream;
+import br.com.ejm.ejm_config.transport.EjmDeadline;
+import br.com.ejm.ejm_config.transport.EjmWireMeter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.SocketTimeoutException;
+import java.rmi.ConnectException;
+import java.rmi.ConnectIOException;
+import java.rmi.MarshalException;
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.ServerError;
+import java.rmi.ServerException;
+import java.rmi.UnmarshalException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Proxy leve registrado como bean para cada interface remota.
+ *
+ * Cada chamada é encaminhada ao stub de um dos endpoints do serviço, escolhido pelo
+ * balanceador e liberado pelo circuit breaker e pelos limites de concorrência, com o
+ * deadline do método aplicado como timeout de leitura do socket. Os stubs podem ser
+ * resolvidos depois do startup ou trocados em tempo de execução sem recriar o bean.
+ *
+ * Com um {@code <codec>} configurado, argumentos e resultado trafegam codificados pelo
+ * {@link EjmInvocationEndpoint}; se o provider não aceitar o codec, o proxy volta à
+ * serialização padrão do RMI.
+ *
+ * Chamadas numa faixa de prioridade ({@link EjmPriority} ou {@link EjmCallPriority}) usam os stubs
+ * da faixa em cada endpoint e um limite de concorrência próprio.
+ *
+ * Com a interface compilada pelo {@code EjmAotProcessor}, o bean é o stub gerado em vez de um
+ * {@code Proxy} e os stubs RMI são chamados pelo switch do skeleton gerado, sem reflexão.
+ */
+public class EjmClientProxy implements InvocationHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmClientProxy.class);
+
+    private static final Object[] NO_ARGS = new Object[0];
+
+    // Nome dos lotes do EjmBatch nas métricas do serviço
+    private static final String BATCH_METRICS = "$batch";
+
+    // Threads das hedged requests (primária e secundária rodam fora da thread chamadora)
+    private static final ThreadPoolExecutor HEDGE_EXECUTOR = newHedgeExecutor();
+
+    private final Class<?> iface;
+    private final String serviceName;
+    private final EjmServiceEndpoints endpoints;
+    private final EjmServiceOptions options;
+    private final EjmConcurrencyLimiter limiter;
+    private final EjmCacheManager caches;
+
+    // null = interface sem classes geradas: chamadas aos stubs por reflexão
+    private final EjmSkeleton skeleton;
+
+    // Limites de concorrência das faixas de prioridade (só quando o do serviço está ligado)
+    private final Map<String, EjmConcurrencyLimiter> laneLimiters = new ConcurrentHashMap<>();
+
+    // null = coalescência desligada
+    private final EjmCallCoalescer coalescer;
+    private final long serviceTimeoutNanos;
+    private final Map<Method, MethodPolicy> policies = new ConcurrentHashMap<>();
+    private final EjmSlowCalls.Ring slowCalls;
+
+    // null = serialização padrão do RMI
+    private final EjmCodec codec;
+    private volatile boolean codecAccepted = true;
+
+    private EjmClientProxy(Class<?> iface, String serviceName, EjmServiceEndpoints endpoints,
+                           EjmServiceOptions options, EjmConcurrencyLimiter limiter, EjmCacheManager caches) {
+        this.iface = iface;
+        this.serviceName = serviceName;
+        this.endpoints = endpoints;
+        this.options = options;
+        this.limiter = limiter;
+        this.caches = caches;
+        this.skeleton = EjmAot.skeletonFor(iface);
+        this.coalescer = options.isCoalesce() ? new EjmCallCoalescer(options.getCoalesceMaxWaitMillis()) : null;
+
+        long serviceTimeout = options.getTimeoutMillis() > 0 ? options.getTimeoutMillis()
+                : iface.isAnnotationPresent(EjmTimeout.class) ? iface.getAnnotation(EjmTimeout.class).value() : 0;
+        this.serviceTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(serviceTimeout);
+        this.codec = EjmCodecs.isJava(options.getCodec()) ? null : EjmCodecs.get(options.getCodec());
+        this.slowCalls = EjmSlowCalls.global().ring(EjmMetrics.Side.CLIENT, serviceName);
+
+        if (caches != null) {
+            for (Method method : iface.getMethods()) {
+                if (method.isAnnotationPresent(EjmCacheable.class)) {
+                    caches.subscribe(serviceName, endpoints);
+                    break;
+                }
+            }
+        }
+    }
+
+    /** Handler EJM por trás de um bean de cliente, ou {@code null} se não for um proxy EJM. */
+    static EjmClientProxy handlerOf(Object service) {
+        return EjmAot.handlerOf(service) instanceof EjmClientProxy handler ? handler : null;
+    }
+
+    Class<?> getIface() {
+        return iface;
+    }
+
+    EjmCallCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    EjmServiceEndpoints getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Implementação da interface que chama sempre o endpoint informado, sem balanceamento nem failover.
+     * Usado por {@link EjmScatter}.
+     *
+     * @param deadline deadline absoluto ({@code System.nanoTime()}); 0 = o deadline do método
+     */
+    @SuppressWarnings("unchecked")
+    <T> T boundTo(EjmEndpoint endpoint, long deadline) {
+        return (T) EjmAot.newProxy(iface, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, method, args);
+            }
+            return invokeOnEndpoint(endpoint, method, args, deadline);
+        });
+    }
+
+    private Object invokeOnEndpoint(EjmEndpoint endpoint, Method method, Object[] args, long deadline) throws Throwable {
+        MethodPolicy policy = policies.computeIfAbsent(method, this::policyFor);
+        if (deadline == 0 && policy.timeoutNanos > 0) deadline = System.nanoTime() + policy.timeoutNanos;
+        if (!endpoint.getCircuitBreaker().allowRequest()) {
+            throw new EjmCircuitOpenException("[EJM] Circuito aberto em " + endpoint);
+        }
+
+        String lane = laneOf(policy.lane);
+        EndpointCall call = codec != null && codecAccepted
+                ? target -> invokeEncoded(target, lane, policy, method, args, null)
+                : target -> invokeMethod(target.getReference(lane), policy, method, args);
+        return invokeOn(endpoint, call, serviceName + "." + method.getName(), deadline);
+    }
+
+    /**
+     * @param limiter limite de concorrência do serviço, ou {@code null}
+     * @param caches  caches dos métodos {@link EjmCacheable}, ou {@code null} para ignorá-los
+     */
+    public static <T> T create(Class<T> iface, String serviceName, EjmServiceEndpoints endpoints,
+                               EjmServiceOptions options, EjmConcurrencyLimiter limiter, EjmCacheManager caches) {
+        return EjmAot.newProxy(iface, new EjmClientProxy(iface, serviceName, endpoints, options, limiter, caches));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(proxy, method, args);
+        }
+
+        MethodPolicy policy = policies.computeIfAbsent(method, this::policyFor);
+
+        Object argsKey = null;
+        long cacheGeneration = 0;
+        if (policy.cache != null) {
+            argsKey = policy.cache.keyFor(args);
+            if (argsKey != null) {
+                Object cached = policy.cache.get(argsKey);
+                if (cached != EjmResultCache.MISS) return cached;
+                cacheGeneration = policy.cache.generation();
+            }
+        }
+
+        long deadline = policy.timeoutNanos > 0 ? System.nanoTime() + policy.timeoutNanos : 0;
+        if (policy.coalesce) {
+            // chamada idêntica em andamento: aguarda o mesmo resultado em vez de ir ao provider
+            Object key = argsKey != null ? argsKey : EjmCallCoalescer.keyFor(args);
+            long generation = cacheGeneration;
+            return coalescer.call(method, key, deadline,
+                    () -> invokeRemote(policy, method, args, deadline, key, generation));
+        }
+        return invokeRemote(policy, method, args, deadline, argsKey, cacheGeneration);
+    }
+
+    private Object invokeRemote(MethodPolicy policy, Method method, Object[] args, long deadline,
+                                Object cacheKey, long cacheGeneration) throws Throwable {
+        EjmMethodMetrics metrics = EjmMetrics.enabled() ? policy.metrics : null;
+        boolean slowOn = EjmSlowCalls.enabled();
+        EjmClientCallEvent event = new EjmClientCallEvent();
+        if (metrics == null && !slowOn && !event.isEnabled()) {
+            return callRemote(policy, method, args, deadline, cacheKey, cacheGeneration, null);
+        }
+
+        EjmCallTrace trace = new EjmCallTrace(metrics);
+        if (metrics != null) metrics.begin();
+        event.begin();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return callRemote(policy, method, args, deadline, cacheKey, cacheGeneration, trace);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long end = System.nanoTime();
+            long total = end - start;
+            if (metrics != null) metrics.end(total, failure != null);
+
+            event.end();
+            boolean slow = slowOn && slowCalls.isCandidate(total, end);
+            if (slow || event.shouldCommit()) {
+                long serialize = codec != null ? trace.serializeNanos() : -1;
+                long remote = total - trace.queueNanos() - Math.max(serialize, 0);
+                String error = failure == null ? null : failure.getClass().getName();
+                long bytesOut = EjmWireMeter.isEnabled() ? trace.bytesOut() : -1;
+                long bytesIn = EjmWireMeter.isEnabled() ? trace.bytesIn() : -1;
+
+                if (event.shouldCommit()) {
+                    event.service = serviceName;
+                    event.method = policy.key;
+                    event.endpoint = trace.endpoint();
+                    event.queue = trace.queueNanos();
+                    event.serialize = Math.max(serialize, 0);
+                    event.remote = remote;
+                    event.bytesOut = Math.max(bytesOut, 0);
+                    event.bytesIn = Math.max(bytesIn, 0);
+                    event.error = error;
+                    event.commit();
+                }
+                if (slow) {
+                    slowCalls.add(new EjmSlowCall(EjmMetrics.Side.CLIENT, serviceName, policy.key, trace.endpoint(),
+                            Instant.now().minusNanos(total), total, trace.queueNanos(), serialize, remote,
+                            bytesOut, bytesIn, error, Thread.currentThread().getName(), end));
+                }
+            }
+        }
+    }
+
+    private Object callRemote(MethodPolicy policy, Method method, Object[] args, long deadline,
+                              Object cacheKey, long cacheGeneration, EjmCallTrace trace) throws Throwable {
+        String lane = laneOf(policy.lane);
+        EjmConcurrencyLimiter limiter = limiterFor(lane);
+        long queued = trace == null ? 0 : System.nanoTime();
+        EjmConcurrencyLimiter.Permit permit = limiter == null ? null : limiter.acquire();
+        long start = System.nanoTime();
+        if (trace != null) trace.setQueueNanos(start - queued);
+
+        String label = serviceName + "." + method.getName();
+        EndpointCall call = codec != null && codecAccepted
+                ? endpoint -> invokeEncoded(endpoint, lane, policy, method, args, trace)
+                : endpoint -> invokeMethod(endpoint.getReference(lane), policy, method, args);
+        if (trace != null) call = traced(call, trace);
+
+        try {
+            Object result = policy.hedged && endpoints.getAll().size() > 1
+                    ? invokeHedged(call, label, deadline, policy)
+                    : invokeWithFailover(call, label, deadline);
+
+            policy.latency.record(System.nanoTime() - start);
+            if (permit != null) permit.success();
+            if (cacheKey != null && policy.cache != null) policy.cache.put(cacheKey, result, cacheGeneration);
+            return result;
+        } catch (Throwable e) {
+            if (permit != null) release(permit, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Executa um lote de chamadas num único round trip pelo {@link EjmInvocationEndpoint}
+     * de um dos endpoints. Usado por {@link EjmBatch}.
+     */
+    List<EjmBatchResult> invokeBatch(List<EjmBatchCall> calls) throws Throwable {
+        EjmMethodMetrics metrics = EjmMetrics.enabled()
+                ? EjmMetrics.global().method(EjmMetrics.Side.CLIENT, serviceName, BATCH_METRICS)
+                : null;
+        if (metrics != null) metrics.begin();
+        long metricsStart = System.nanoTime();
+        boolean failed = true;
+
+        EjmConcurrencyLimiter.Permit permit = null;
+        String lane = laneOf(null);
+        EjmConcurrencyLimiter limiter = limiterFor(lane);
+        long deadline = serviceTimeoutNanos > 0 ? System.nanoTime() + serviceTimeoutNanos : 0;
+        EndpointCall call = endpoint -> invokeInvocationEndpoint(endpoint, lane, stub -> stub.invokeBatch(calls));
+        if (metrics != null) call = metered(call, metrics);
+        try {
+            permit = limiter == null ? null : limiter.acquire();
+            @SuppressWarnings("unchecked")
+            List<EjmBatchResult> results = (List<EjmBatchResult>) invokeWithFailover(call, serviceName + ".batch", deadline);
+            if (permit != null) permit.success();
+            failed = false;
+            return results;
+        } catch (Throwable e) {
+            if (permit != null) release(permit, e);
+            throw e;
+        } finally {
+            if (metrics != null) metrics.end(System.nanoTime() - metricsStart, failed);
+        }
+    }
+
+    /** Faixa da chamada: a da thread ({@link EjmCallPriority}) ou a do método; {@code null} = o serviço. */
+    private static String laneOf(String methodLane) {
+        String lane = EjmCallPriority.current();
+        if (lane == null) lane = methodLane;
+        return lane == null || lane.equals(EjmLane.DEFAULT) ? null : lane;
+    }
+
+    private EjmConcurrencyLimiter limiterFor(String lane) {
+        if (lane == null || limiter == null) return limiter;
+        return laneLimiters.computeIfAbsent(lane, name -> options.newLimiter(serviceName + EjmLane.SEPARATOR + name));
+    }
+
+    /** Associa os bytes da chamada ao método, na thread que de fato fala com o stub (inclusive nas hedged requests). */
+    private static EndpointCall metered(EndpointCall call, EjmWireMeter.Sink sink) {
+        return endpoint -> {
+            EjmWireMeter.Sink previous = EjmWireMeter.bind(sink);
+            try {
+                return call.call(endpoint);
+            } finally {
+                EjmWireMeter.restore(previous);
+            }
+        };
+    }
+
+    private Object invokeWithFailover(EndpointCall call, String label, long deadline) throws Throwable {
+        EjmEndpoint endpoint = acquire(null);
+        try {
+            return invokeOn(endpoint, call, label, deadline);
+        } catch (Throwable e) {
+            EjmOverloadException overload = overloadOf(e);
+            if (overload != null) {
+                // recusada pelo provider antes de executar: tenta outro endpoint sem marcá-lo como fora do ar
+                EjmEndpoint fallback = endpoints.acquire(endpoint);
+                if (fallback == null) throw overload;
+                try {
+                    return invokeOn(fallback, call, label, deadline);
+                } catch (Throwable again) {
+                    EjmOverloadException second = overloadOf(again);
+                    throw second != null ? second : again;
+                }
+            }
+            if (!isConnectFailure(e)) throw e;
+
+            // a chamada não chegou ao provider: é seguro repetir em outro endpoint
+            endpoints.setHealthy(endpoint, false);
+            EjmEndpoint fallback = endpoints.acquire(endpoint);
+            if (fallback == null) throw e;
+            return invokeOn(fallback, call, label, deadline);
+        }
+    }
+
+    /** Recusa por sobrecarga do provider, que chega embrulhada em ServerException como toda RemoteException remota. */
+    private static EjmOverloadException overloadOf(Throwable e) {
+        if (e instanceof EjmOverloadException overload) return overload;
+        if (e instanceof ServerException server && server.detail instanceof EjmOverloadException overload) return overload;
+        return null;
+    }
+
+    /**
+     * Dispara a chamada num endpoint e, se ela não terminar dentro do p95 observado (ou falhar antes
+     * disso no transporte), dispara a mesma chamada em outro endpoint; vale a primeira resposta com
+     * sucesso, e a chamada só falha quando todas as tentativas falharam.
+     */
+    private Object invokeHedged(EndpointCall call, String label, long deadline, MethodPolicy policy) throws Throwable {
+        long hedgeDelay = policy.latency.p95Nanos();
+        if (hedgeDelay == 0) {
+            // ainda sem amostras para estimar o p95
+            return invokeWithFailover(call, label, deadline);
+        }
+
+        EjmEndpoint primary = acquire(null);
+        HedgedCall hedged = new HedgedCall();
+        if (!hedged.launch(() -> invokeOn(primary, call, label, deadline))) {
+            return invokeWithFailover(call, label, deadline);
+        }
+
+        try {
+            try {
+                CompletableFuture.anyOf(hedged.result, hedged.firstFailure).get(hedgeDelay, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException | ExecutionException slow) {
+                // primária ainda em andamento
+            }
+            Throwable failure = hedged.firstFailure.getNow(null);
+            boolean retry = failure == null || isTransportFailure(failure) || overloadOf(failure) != null;
+            if (!hedged.result.isDone() && retry && (deadline == 0 || deadline - System.nanoTime() > 0)) {
+                EjmEndpoint secondary = endpoints.acquire(primary);
+                if (secondary != null) {
+                    hedged.launch(() -> invokeOn(secondary, call, label, deadline));
+                }
+            }
+        } finally {
+            hedged.seal();
+        }
+
+        try {
+            if (deadline == 0) return hedged.result.get();
+            return hedged.result.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new EjmTimeoutException("[EJM] Deadline excedido em " + label + " (hedged)", e);
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private EjmEndpoint acquire(EjmEndpoint excluded) throws EjmCircuitOpenException {
+        EjmEndpoint endpoint = endpoints.acquire(excluded);
+        if (endpoint == null) {
+            throw new EjmCircuitOpenException("[EJM] Circuito aberto em todos os endpoints de '" + serviceName + "'");
+        }
+        return endpoint;
+    }
+
+    /** Como {@link #metered}, registrando também o endpoint de cada tentativa. */
+    private static EndpointCall traced(EndpointCall call, EjmCallTrace trace) {
+        EndpointCall metered = metered(call, trace);
+        return endpoint -> {
+            trace.setEndpoint(endpoint);
+            return metered.call(endpoint);
+        };
+    }
+
+    private Object invokeOn(EjmEndpoint endpoint, EndpointCall call, String label, long deadline) throws Throwable {
+        EjmConcurrencyLimiter.Permit permit = endpoint.getLimiter() == null ? null : endpoint.getLimiter().acquire();
+        try {
+            Object result = invokeStub(endpoint, call, label, deadline);
+            if (permit != null) permit.success();
+            return result;
+        } catch (Throwable e) {
+            if (permit != null) release(permit, e);
+            throw e;
+        }
+    }
+
+    /** Timeouts, recusas por sobrecarga e falhas de transporte reduzem o limite; exceções da aplicação não influenciam. */
+    private static void release(EjmConcurrencyLimiter.Permit permit, Throwable e) {
+        if (e instanceof EjmTimeoutException || overloadOf(e) != null || isTimeout(e) || isTransportFailure(e)) {
+            permit.dropped();
+        } else {
+            permit.ignore();
+        }
+    }
+
+    private Object invokeStub(EjmEndpoint endpoint, EndpointCall call, String label, long deadline) throws Throwable {
+        EjmCircuitBreaker breaker = endpoint.getCircuitBreaker();
+        endpoint.beginCall();
+        long previousDeadline = EjmDeadline.set(deadline);
+        try {
+            Object result = call.call(endpoint);
+            breaker.onSuccess();
+            return result;
+        } catch (Throwable cause) {
+            if (isTransportFailure(cause)) {
+                breaker.onFailure();
+            } else {
+                // exceção da aplicação: o provider respondeu
+                breaker.onSuccess();
+            }
+
+            if (deadline != 0 && isTimeout(cause)) {
+                throw new EjmTimeoutException("[EJM] Deadline excedido em " + label + " (" + endpoint + ")", cause);
+            }
+            throw cause;
+        } finally {
+            EjmDeadline.restore(previousDeadline);
+            endpoint.endCall();
+        }
+    }
+
+    private static Object invokeMethod(EjmRemoteReference reference, MethodPolicy policy, Method method, Object[] args)
+            throws Throwable {
+        Remote stub = reference.get();
+        try {
+            if (policy.call != null) return policy.call.invoke(stub, args);
+            try {
+                return method.invoke(stub, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        } catch (Throwable e) {
+            if (isConnectFailure(e)) {
+                // stub obsoleto: força novo lookup na próxima chamada
+                reference.invalidate(stub);
+            }
+            throw e;
+        }
+    }
+
+    /** Chamada com argumentos e resultado serializados pelo codec do serviço; {@code trace} recebe o tempo do codec. */
+    private Object invokeEncoded(EjmEndpoint endpoint, String lane, MethodPolicy policy, Method method, Object[] args,
+                                 EjmCallTrace trace) throws Throwable {
+        long encodeStart = trace == null ? 0 : System.nanoTime();
+        byte[] request;
+        try {
+            request = codec.encode(args == null ? NO_ARGS : args);
+        } catch (IOException e) {
+            throw new MarshalException("[EJM] Falha ao codificar argumentos de " + serviceName + "." + method.getName(), e);
+        }
+        if (trace != null) trace.addSerializeNanos(System.nanoTime() - encodeStart);
+
+        byte[] response = (byte[]) invokeInvocationEndpoint(endpoint, lane, stub -> stub.invokeEncoded(codec.name(), policy.key, request));
+        if (response == null) {
+            if (codecAccepted) {
+                codecAccepted = false;
+                LOGGER.warn("[EJM] ⚠️ Provider de '{}' não aceita o codec '{}'; usando serialização Java.",
+                        serviceName, codec.name());
+            }
+            return invokeMethod(endpoint.getReference(lane), policy, method, args);
+        }
+
+        long decodeStart = trace == null ? 0 : System.nanoTime();
+        EjmBatchResult result;
+        try {
+            result = (EjmBatchResult) codec.decode(response, policy.results);
+        } catch (IOException | ClassCastException e) {
+            throw new UnmarshalException("[EJM] Falha ao decodificar resposta de " + serviceName + "." + method.getName(), e);
+        }
+        if (trace != null) trace.addSerializeNanos(System.nanoTime() - decodeStart);
+        Throwable error = result.error();
+        if (error == null) return result.value();
+
+        // mesma semântica do RMI: RemoteException/Error do provider chegam embrulhados
+        if (error instanceof RemoteException remote) throw new ServerException("[EJM] RemoteException no provider", remote);
+        if (error instanceof Error fatal) throw new ServerError("[EJM] Error no provider", fatal);
+        throw error;
+    }
+
+    private static Object invokeInvocationEndpoint(EjmEndpoint endpoint, String lane, InvocationEndpointCall call)
+            throws Throwable {
+        EjmRemoteReference reference = endpoint.getInvocationReference(lane);
+        EjmInvocationEndpoint stub = (EjmInvocationEndpoint) reference.get();
+        try {
+            return call.call(stub);
+        } catch (RemoteException e) {
+            if (isConnectFailure(e)) {
+                reference.invalidate(stub);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Precedência do deadline: método no XML, {@link EjmTimeout} no método, serviço no XML,
+     * {@link EjmTimeout} na interface.
+     */
+    private MethodPolicy policyFor(Method method) {
+        Map<String, Long> methodTimeouts = options.getMethodTimeouts();
+        Long timeout = methodTimeouts.get(iface.getSimpleName() + "." + method.getName());
+        if (timeout == null) timeout = methodTimeouts.get(method.getName());
+
+        if (timeout == null && method.isAnnotationPresent(EjmTimeout.class)) {
+            timeout = method.getAnnotation(EjmTimeout.class).value();
+        }
+        if (timeout == null && options.getTimeoutMillis() > 0) {
+            timeout = options.getTimeoutMillis();
+        }
+        if (timeout == null && iface.isAnnotationPresent(EjmTimeout.class)) {
+            timeout = iface.getAnnotation(EjmTimeout.class).value();
+        }
+
+        // um EjmStream é um cursor aberto no provider e um EjmBlob traz um token de uso único:
+        // não podem ser repetidos, guardados nem compartilhados
+        boolean stream = EjmStream.class.isAssignableFrom(method.getReturnType())
+                || EjmBlob.class.isAssignableFrom(method.getReturnType());
+        boolean hedged = !stream && options.isHedge() && method.isAnnotationPresent(EjmIdempotent.class);
+        EjmResultCache cache = !stream && caches != null && method.isAnnotationPresent(EjmCacheable.class)
+                ? caches.cacheFor(serviceName, method, method.getAnnotation(EjmCacheable.class))
+                : null;
+        // só leituras podem compartilhar o resultado entre chamadores
+        boolean coalesce = !stream && coalescer != null
+                && (method.isAnnotationPresent(EjmIdempotent.class) || method.isAnnotationPresent(EjmCacheable.class));
+        EjmPriority priority = method.isAnnotationPresent(EjmPriority.class)
+                ? method.getAnnotation(EjmPriority.class)
+                : iface.getAnnotation(EjmPriority.class);
+        String key = EjmMethodKey.of(method);
+        return new MethodPolicy(key, timeout == null ? 0 : TimeUnit.MILLISECONDS.toNanos(timeout), hedged, cache, coalesce,
+                priority == null ? null : priority.value(), EjmMetrics.global().method(EjmMetrics.Side.CLIENT, serviceName, key),
+                skeleton == null ? null : skeleton.call(key), EjmTypeFilter.forResult(method).allowing(EjmBatchResult.class));
+    }
+
+    private static boolean isConnectFailure(Throwable e) {
+        return e instanceof ConnectException
+                || e instanceof ConnectIOException
+                || e instanceof NoSuchObjectException;
+    }
+
+    /** Falha de comunicação com o provider (não inclui exceções lançadas pela implementação). */
+    private static boolean isTransportFailure(Throwable e) {
+        return e instanceof RemoteException
+                && !(e instanceof ServerException)
+                && !(e instanceof ServerError);
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException) return true;
+        }
+        return false;
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> "EjmClientProxy[" + serviceName + " -> " + endpoints.getAll() + "]";
+        };
+    }
+
+    private static ThreadPoolExecutor newHedgeExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(0, 256, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+            Thread thread = new Thread(r, "ejm-hedge-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Deadline, cache, faixa, estatísticas e chamada ao stub calculados uma única vez por método. */
+    private static final class MethodPolicy {
+        private final String key;
+        private final long timeoutNanos;
+        private final boolean hedged;
+        private final EjmResultCache cache;
+        private final boolean coalesce;
+
+        // null = o próprio serviço
+        private final String lane;
+        private final EjmLatencyTracker latency = new EjmLatencyTracker();
+        private final EjmMethodMetrics metrics;
+
+        // null = Method.invoke no stub
+        private final EjmSkeleton.Call call;
+
+        // Classes aceitas ao decodificar a resposta pelo codec do serviço
+        private final EjmTypeFilter results;
+
+        private MethodPolicy(String key, long timeoutNanos, boolean hedged, EjmResultCache cache, boolean coalesce,
+                             String lane, EjmMethodMetrics metrics, EjmSkeleton.Call call, EjmTypeFilter results) {
+            this.key = key;
+            this.call = call;
+            this.results = results;
+            this.lane = lane;
+            this.metrics = metrics;
+            this.timeoutNanos = timeoutNanos;
+            this.hedged = hedged;
+            this.cache = cache;
+            this.coalesce = coalesce;
+        }
+    }
+
+    /**
+     * Tentativas paralelas da mesma chamada: conclui com o primeiro sucesso ou, depois de {@link #seal()},
+     * com a falha da última tentativa.
+     */
+    private static final class HedgedCall {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        // concluído na primeira falha: antecipa a tentativa secundária
+        private final CompletableFuture<Throwable> firstFailure = new CompletableFuture<>();
+        // tentativas em andamento + 1 enquanto o chamador ainda pode disparar outra
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private volatile Throwable lastFailure;
+
+        private boolean launch(RemoteCall attempt) {
+            pending.incrementAndGet();
+            try {
+                HEDGE_EXECUTOR.execute(() -> {
+                    try {
+                        result.complete(attempt.call());
+                    } catch (Throwable e) {
+                        firstFailure.complete(e);
+                        fail(e);
+                    }
+                });
+                return true;
+            } catch (RejectedExecutionException e) {
+                pending.decrementAndGet();
+                return false;
+            }
+        }
+
+        /** O chamador não dispara mais tentativas. */
+        private void seal() {
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(lastFailure);
+            }
+        }
+
+        private void fail(Throwable e) {
+            lastFailure = e;
+            if (pending.decrementAndGet() == 0) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RemoteCall {
+        Object call() throws Throwable;
+    }
+
+    /** Operação remota executada sobre o endpoint escolhido. */
+    @FunctionalInterface
+    private interface EndpointCall {
+        Object call(EjmEndpoint endpoint) throws Throwable;
+    }
+
+    @FunctionalInterface
+    private interface InvocationEndpointCall {
+        Object call(EjmInvocationEndpoint stub) throws Throwable;
+    }
+}
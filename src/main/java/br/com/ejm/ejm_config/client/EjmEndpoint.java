@@ -0,0 +1,158 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.annotations.EjmLane;
+import br.com.ejm.ejm_config.client.limit.EjmConcurrencyLimiter;
+import br.com.ejm.ejm_config.remote.EjmInvocationEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.rmi.ConnectException;
+import java.rmi.NoSuchObjectException;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Uma instância (host:port) de provider para um serviço.
+ *
+ * Mantém o stub resolvido, o estado de saúde informado pelo monitor, o circuit breaker,
+ * o limite de concorrência e a quantidade de chamadas em andamento usada pelos balanceadores.
+ *
+ * Cada faixa de prioridade ({@link EjmLane}) usada nas chamadas tem as suas referências, resolvidas
+ * no primeiro uso: outra porta no provider e, portanto, outras conexões.
+ */
+public class EjmEndpoint {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmEndpoint.class);
+
+    // Faixa não publicada pelo provider: nova tentativa de lookup depois desse intervalo
+    private static final long MISSING_LANE_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final String url;
+    private final EjmStubResolver resolver;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final EjmRemoteReference reference;
+    private final EjmRemoteReference invocationReference;
+    private final EjmCircuitBreaker circuitBreaker;
+    private final EjmConcurrencyLimiter limiter;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile boolean healthy = true;
+
+    public EjmEndpoint(String url, EjmStubResolver resolver, EjmCircuitBreaker circuitBreaker,
+                       EjmConcurrencyLimiter limiter) {
+        this.url = url;
+        this.resolver = resolver;
+        this.reference = new EjmRemoteReference(url, resolver);
+        this.invocationReference = new EjmRemoteReference(url + EjmInvocationEndpoint.NAME_SUFFIX, resolver);
+        this.circuitBreaker = circuitBreaker;
+        this.limiter = limiter;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public EjmRemoteReference getReference() {
+        return reference;
+    }
+
+    /** Referência para o {@link EjmInvocationEndpoint} do serviço, resolvida no primeiro uso. */
+    public EjmRemoteReference getInvocationReference() {
+        return invocationReference;
+    }
+
+    /**
+     * Referência da faixa; a do serviço para {@code null}/{@link EjmLane#DEFAULT} ou se o provider não
+     * publica a faixa.
+     */
+    public EjmRemoteReference getReference(String lane) throws RemoteException {
+        return laneReference(lane, false);
+    }
+
+    /** Como {@link #getReference(String)}, para o endpoint embutido da faixa. */
+    public EjmRemoteReference getInvocationReference(String lane) throws RemoteException {
+        return laneReference(lane, true);
+    }
+
+    private EjmRemoteReference laneReference(String name, boolean invocation) throws RemoteException {
+        EjmRemoteReference fallback = invocation ? invocationReference : reference;
+        if (name == null || name.equals(EjmLane.DEFAULT)) return fallback;
+
+        Lane lane = lanes.computeIfAbsent(name, this::newLane);
+        if (lane.missingSince != 0 && System.nanoTime() - lane.missingSince < MISSING_LANE_RETRY_NANOS) {
+            return fallback;
+        }
+
+        EjmRemoteReference laneReference = invocation ? lane.invocationReference : lane.reference;
+        try {
+            laneReference.get();
+            lane.missingSince = 0;
+            return laneReference;
+        } catch (ConnectException e) {
+            if (!(e.getCause() instanceof NotBoundException) && !(e.getCause() instanceof NoSuchObjectException)) {
+                throw e;
+            }
+            if (lane.missingSince == 0) {
+                LOGGER.warn("[EJM] ⚠️ Faixa '{}' não publicada em {}; chamadas seguem pelo serviço.", name, url);
+            }
+            lane.missingSince = System.nanoTime();
+            return fallback;
+        }
+    }
+
+    private Lane newLane(String name) {
+        String laneUrl = url + EjmLane.SEPARATOR + name;
+        return new Lane(new EjmRemoteReference(laneUrl, resolver),
+                new EjmRemoteReference(laneUrl + EjmInvocationEndpoint.NAME_SUFFIX, resolver));
+    }
+
+    public EjmCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /** Limite de concorrência do endpoint, ou {@code null} quando desligado. */
+    public EjmConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    void beginCall() {
+        outstanding.incrementAndGet();
+    }
+
+    void endCall() {
+        outstanding.decrementAndGet();
+    }
+
+    @Override
+    public String toString() {
+        return url;
+    }
+
+    private static final class Lane {
+        private final EjmRemoteReference reference;
+        private final EjmRemoteReference invocationReference;
+
+        // 0 = publicada (ou ainda não verificada)
+        private volatile long missingSince;
+
+        private Lane(EjmRemoteReference reference, EjmRemoteReference invocationReference) {
+            this.reference = reference;
+            this.invocationReference = invocationReference;
+        }
+    }
+}
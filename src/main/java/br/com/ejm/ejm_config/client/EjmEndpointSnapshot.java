@@ -0,0 +1,125 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.codec.EjmTypeFilter;
+import br.com.ejm.ejm_config.remote.EjmServiceListing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Snapshot local dos diretórios resolvidos ({@code <snapshot-file>} no bloco {@code <client>}).
+ *
+ * No boot, os stubs salvos entram nas referências antes de qualquer lookup e o cliente já pode chamar
+ * os providers; a resolução normal segue em background e só revalida a versão de cada diretório. Um
+ * stub que não vale mais (provider reiniciado) é trocado por essa revalidação ou, no primeiro erro de
+ * conexão ({@code NoSuchObjectException}), descartado junto com a listagem salva.
+ *
+ * A leitura aceita apenas as classes de {@link EjmServiceListing} e dos stubs: o arquivo fica no disco
+ * da aplicação, mas não deve ser um caminho para desserializar classes arbitrárias.
+ */
+public class EjmEndpointSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmEndpointSnapshot.class);
+
+    private static final EjmTypeFilter FILTER = EjmTypeFilter.of(EjmServiceListing.class);
+
+    private final Path file;
+
+    public EjmEndpointSnapshot(Path file) {
+        this.file = file;
+    }
+
+    /** Listagens salvas por endereço do registry; vazio se o arquivo não existe ou não pode ser lido. */
+    public Map<String, EjmServiceListing> load() {
+        if (!Files.isRegularFile(file)) return Map.of();
+
+        try (InputStream input = Files.newInputStream(file);
+             ObjectInputStream in = new SnapshotInputStream(input)) {
+            @SuppressWarnings("unchecked")
+            Map<String, EjmServiceListing> saved = (Map<String, EjmServiceListing>) in.readObject();
+            LOGGER.info("[EJM] 💾 Snapshot de endpoints carregado de {} ({} registry(s)).", file, saved.size());
+            return saved;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.warn("[EJM] ⚠️ Snapshot de endpoints ignorado ({}): {}", file, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /** Grava as listagens num arquivo temporário e o move sobre o anterior. */
+    public synchronized void save(Map<String, EjmServiceListing> listings) {
+        if (listings.isEmpty()) return;
+
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream output = Files.newOutputStream(temp);
+                     ObjectOutputStream out = new ObjectOutputStream(output)) {
+                    out.writeObject(new HashMap<>(listings));
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            LOGGER.debug("[EJM] Snapshot de endpoints salvo em {}.", file);
+        } catch (IOException e) {
+            LOGGER.warn("[EJM] ⚠️ Falha ao salvar o snapshot de endpoints em {}: {}", file, e.getMessage());
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /** Resolve as interfaces dos stubs pelo classloader da thread (fat jars do Spring Boot). */
+    private static class SnapshotInputStream extends ObjectInputStream {
+
+        SnapshotInputStream(InputStream in) throws IOException {
+            super(in);
+            setObjectInputFilter(FILTER.asObjectInputFilter());
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            try {
+                return Class.forName(desc.getName(), false, loader());
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+            ClassLoader loader = loader();
+            Class<?>[] types = new Class<?>[interfaces.length];
+            for (int i = 0; i < interfaces.length; i++) {
+                types[i] = Class.forName(interfaces[i], false, loader);
+            }
+            return Proxy.getProxyClass(loader, types);
+        }
+
+        private static ClassLoader loader() {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            return loader != null ? loader : EjmEndpointSnapshot.class.getClassLoader();
+        }
+    }
+}
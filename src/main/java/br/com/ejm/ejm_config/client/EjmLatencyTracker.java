@@ -0,0 +1,44 @@
+package br.com.ejm.ejm_config.client;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Janela com as latências mais recentes de um método, usada para estimar o p95
+ * que define o atraso das hedged requests.
+ */
+public class EjmLatencyTracker {
+
+    private static final int WINDOW = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final long[] samples = new long[WINDOW];
+    // Só cresce; depois de dar a volta no int fica negativo, e aí a janela já está cheia
+    private final AtomicInteger count;
+    private volatile long p95Nanos;
+
+    public EjmLatencyTracker() {
+        this(0);
+    }
+
+    EjmLatencyTracker(int initialCount) {
+        this.count = new AtomicInteger(initialCount);
+    }
+
+    public void record(long nanos) {
+        int n = count.getAndIncrement();
+        samples[n & (WINDOW - 1)] = nanos;
+
+        if ((n & (RECOMPUTE_EVERY - 1)) == RECOMPUTE_EVERY - 1) {
+            int filled = n >= 0 && n < WINDOW ? n + 1 : WINDOW;
+            long[] copy = Arrays.copyOf(samples, filled);
+            Arrays.sort(copy);
+            p95Nanos = copy[(int) (copy.length * 0.95)];
+        }
+    }
+
+    /** p95 estimado em nanossegundos, ou 0 enquanto não houver amostras suficientes. */
+    public long p95Nanos() {
+        return p95Nanos;
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.aot.EjmAot;
+import br.com.ejm.ejm_config.codec.EjmCodec;
+import br.com.ejm.ejm_config.codec.EjmCodecs;
+import br.com.ejm.ejm_config.codec.EjmTypeFilter;
+import br.com.ejm.ejm_config.codec.JavaSerializationCodec;
+import br.com.ejm.ejm_config.remote.EjmBatchResult;
+import br.com.ejm.ejm_config.remote.EjmInvocationEndpoint;
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+import br.com.ejm.ejm_config.transport.EjmMuxClient;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.rmi.MarshalException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.ServerError;
+import java.rmi.ServerException;
+import java.rmi.UnmarshalException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stub local de um serviço no transporte multiplexado, no lugar do stub RMI: implementa a interface
+ * remota e envia cada chamada pelo {@link EjmMuxClient}. O proxy do cliente, o balanceamento e o
+ * monitor o usam como a qualquer stub.
+ *
+ * Sem codec, argumentos e resultado vão com serialização Java. No endpoint embutido ({@code $ejm}),
+ * {@code invokeEncoded} vira uma requisição do próprio serviço com o codec pedido, sem codificar
+ * duas vezes.
+ */
+final class EjmMuxStub implements InvocationHandler {
+
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private static final EjmCodec JAVA = EjmCodecs.get(JavaSerializationCodec.NAME);
+
+    private final EjmMuxClient client;
+    private final String address;
+    private final String target;
+    private final Map<Method, Signature> signatures = new ConcurrentHashMap<>();
+
+    private EjmMuxStub(EjmMuxClient client, String address, String target) {
+        this.client = client;
+        this.address = address;
+        this.target = target;
+    }
+
+    /**
+     * Equivalente ao {@code Naming.lookup} para URLs {@code ejm://host:port/Servico}: confirma no provider
+     * que o serviço está exportado e monta o stub com a interface informada por ele.
+     */
+    static Remote lookup(EjmMuxClient client, String url) throws RemoteException, ClassNotFoundException {
+        String path = url.substring(EjmMuxClient.SCHEME.length());
+        int slash = path.indexOf('/');
+        if (slash < 0) throw new IllegalArgumentException("[EJM] URL multiplexada inválida: " + url);
+        String address = path.substring(0, slash);
+        String target = path.substring(slash + 1);
+
+        byte[] reply = client.call(address, target, "", "", NO_BYTES);
+        String ifaceName = new String(reply, StandardCharsets.UTF_8);
+
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) loader = EjmMuxStub.class.getClassLoader();
+        Class<?> iface = Class.forName(ifaceName, false, loader);
+        return (Remote) EjmAot.newProxy(iface, new EjmMuxStub(client, address, target));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "EjmMuxStub[" + EjmMuxClient.SCHEME + address + "/" + target + "]";
+            };
+        }
+
+        if (method.getDeclaringClass() == EjmInvocationEndpoint.class && method.getName().equals("invokeEncoded")) {
+            // codec, método e argumentos já codificados: a resposta é o EjmBatchResult codificado (ou null)
+            String service = target.substring(0, target.length() - EjmInvocationEndpoint.NAME_SUFFIX.length());
+            return client.call(address, service, (String) args[1], (String) args[0], (byte[]) args[2]);
+        }
+
+        Signature signature = signatures.computeIfAbsent(method, Signature::of);
+        byte[] request;
+        try {
+            request = JAVA.encode(args == null ? NO_ARGS : args);
+        } catch (IOException e) {
+            throw new MarshalException("[EJM] Falha ao codificar argumentos de " + target + "." + method.getName(), e);
+        }
+
+        byte[] response = client.call(address, target, signature.key(), JAVA.name(), request);
+        EjmBatchResult result;
+        try {
+            result = (EjmBatchResult) JAVA.decode(response, signature.results());
+        } catch (IOException | ClassCastException e) {
+            throw new UnmarshalException("[EJM] Falha ao decodificar resposta de " + target + "." + method.getName(), e);
+        }
+
+        Throwable error = result.error();
+        if (error == null) return result.value();
+
+        // mesma semântica do RMI: RemoteException/Error do provider chegam embrulhados
+        if (error instanceof RemoteException remote) throw new ServerException("[EJM] RemoteException no provider", remote);
+        if (error instanceof Error fatal) throw new ServerError("[EJM] Error no provider", fatal);
+        throw error;
+    }
+
+    /** Chave do método e classes aceitas na resposta, calculadas na primeira chamada. */
+    private record Signature(String key, EjmTypeFilter results) {
+        static Signature of(Method method) {
+            return new Signature(EjmMethodKey.of(method), EjmTypeFilter.forResult(method).allowing(EjmBatchResult.class));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.ejm.ejm_config.client;
+
+/**
+ * Chamada a um serviço remoto executada por {@link EjmAsync}.
+ */
+@FunctionalInterface
+public interface EjmRemoteCall<T, R> {
+
+    R call(T service) throws Exception;
+}
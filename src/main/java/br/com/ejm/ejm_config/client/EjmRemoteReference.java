@@ -0,0 +1,110 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.exception.EjmTimeoutException;
+import br.com.ejm.ejm_config.transport.EjmDeadline;
+
+import java.rmi.ConnectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Referência para o stub RMI de um serviço (ou o stub local do transporte multiplexado).
+ *
+ * O stub é resolvido em background pelo {@link EjmStubResolver}; se ainda não estiver
+ * disponível, a primeira chamada aguarda o lookup pendente (ou dispara um novo) até o deadline dela
+ * ou, sem deadline, até o lookup-timeout do resolver.
+ */
+public class EjmRemoteReference {
+
+    private final String url;
+    private final EjmStubResolver resolver;
+    private final AtomicReference<Remote> stub = new AtomicReference<>();
+    private volatile CompletableFuture<Remote> pending;
+
+    public EjmRemoteReference(String url, EjmStubResolver resolver) {
+        this.url = url;
+        this.resolver = resolver;
+    }
+
+    /** Dispara o lookup assíncrono do stub. */
+    public synchronized CompletableFuture<Remote> refresh() {
+        CompletableFuture<Remote> current = pending;
+        if (current != null && !current.isDone()) {
+            return current;
+        }
+
+        CompletableFuture<Remote> future = resolver.resolve(url).thenApply(resolved -> {
+            stub.set(resolved);
+            return resolved;
+        });
+        pending = future;
+        return future;
+    }
+
+    /** Retorna o stub atual, aguardando o lookup caso ainda não tenha sido resolvido. */
+    public Remote get() throws RemoteException {
+        Remote current = stub.get();
+        if (current != null) {
+            return current;
+        }
+
+        CompletableFuture<Remote> future = pending;
+        if (future == null || future.isDone()) {
+            future = refresh();
+        }
+
+        int remaining = EjmDeadline.remainingMillis();
+        try {
+            // sem deadline, o lookup-timeout: um registry que não responde não prende o chamador
+            return future.get(remaining == 0 ? resolver.getLookupTimeoutMillis() : Math.max(remaining, 0),
+                    TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (remaining == 0) {
+                throw new ConnectException("[EJM] Lookup de " + url + " sem resposta em "
+                        + resolver.getLookupTimeoutMillis() + " ms", e);
+            }
+            throw new EjmTimeoutException("[EJM] Deadline excedido aguardando lookup de " + url, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectException("[EJM] Lookup interrompido: " + url, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalStateException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw new ConnectException("[EJM] Serviço indisponível: " + url, cause instanceof Exception ex ? ex : e);
+        }
+    }
+
+    /** Lookup síncrono, fora do executor do resolver (usado pelo monitor na reconexão). */
+    public Remote lookup() throws Exception {
+        return resolver.lookup(url);
+    }
+
+    /** Troca o stub atual de forma atômica. */
+    public void swap(Remote novoStub) {
+        stub.set(novoStub);
+    }
+
+    /**
+     * Descarta o stub atual; a próxima chamada fará um novo lookup. A listagem guardada no resolver
+     * (ou carregada do snapshot) com esse stub também é descartada, para o lookup não devolvê-lo de novo.
+     */
+    public void invalidate(Remote expected) {
+        stub.compareAndSet(expected, null);
+        resolver.forget(url, expected);
+    }
+
+    public boolean isResolved() {
+        return stub.get() != null;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+}
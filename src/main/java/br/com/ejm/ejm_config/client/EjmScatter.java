@@ -0,0 +1,216 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.exception.EjmTimeoutException;
+import br.com.ejm.ejm_config.utils.EjmExecutors;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Chama o mesmo método em todos os endpoints de um serviço em paralelo e junta as respostas
+ * (busca em shards, estatísticas por nó...).
+ *
+ * <pre>
+ * EjmScatterResult&lt;List&lt;Hit&gt;&gt; busca = EjmScatter.of(buscaService)
+ *         .deadline(200)
+ *         .policy(EjmScatter.Policy.quorum())
+ *         .gather(s -&gt; s.buscar(termo), EjmScatter.flattening());
+ * List&lt;Hit&gt; hits = busca.require();
+ * </pre>
+ *
+ * As respostas são reduzidas pelo {@link Collector} na thread chamadora, na ordem de chegada, e podem
+ * ser acompanhadas uma a uma. O retorno acontece quando a política é atendida, quando ela não pode
+ * mais ser atendida ou no deadline, o que vier primeiro: um nó lento não segura o resultado. Chamadas
+ * ainda em andamento terminam em background e são descartadas.
+ *
+ * Cada chamada passa pelo circuit breaker, pelo limite de concorrência e pela faixa de prioridade do
+ * endpoint, sem balanceamento nem failover. As instâncias são imutáveis e podem ser compartilhadas.
+ */
+public final class EjmScatter<T> {
+
+    // Chamadas simultâneas de todos os scatter-gathers quando não há virtual threads
+    private static final int MAX_THREADS = 256;
+
+    private static final ExecutorService EXECUTOR = EjmExecutors.newPerTaskExecutor("ejm-scatter", MAX_THREADS);
+
+    private final EjmClientProxy handler;
+    private final long deadlineMillis;
+    private final Policy policy;
+
+    private EjmScatter(EjmClientProxy handler, long deadlineMillis, Policy policy) {
+        this.handler = handler;
+        this.deadlineMillis = deadlineMillis;
+        this.policy = policy;
+    }
+
+    /** Scatter-gather nos endpoints do bean de cliente, esperando todos e com o deadline de cada método. */
+    public static <T> EjmScatter<T> of(T service) {
+        EjmClientProxy handler = EjmClientProxy.handlerOf(service);
+        if (handler == null) {
+            throw new IllegalArgumentException("[EJM] EjmScatter requer um bean de cliente EJM: " + service);
+        }
+        return new EjmScatter<>(handler, 0, Policy.all());
+    }
+
+    /** Deadline único para todas as chamadas e para a espera (ms); 0 = o deadline de cada método. */
+    public EjmScatter<T> deadline(long millis) {
+        return new EjmScatter<>(handler, Math.max(0, millis), policy);
+    }
+
+    public EjmScatter<T> policy(Policy policy) {
+        return new EjmScatter<>(handler, deadlineMillis, policy);
+    }
+
+    public <R, A> EjmScatterResult<A> gather(EjmRemoteCall<T, R> call, Collector<? super R, ?, A> reducer) {
+        return gather(call, reducer, null);
+    }
+
+    /**
+     * @param call       chamada feita em cada endpoint (o serviço recebido fala só com ele)
+     * @param reducer    junta as respostas; ex: {@code Collectors.toList()}, {@link #flattening()}
+     * @param onResponse recebe cada resposta (URL do endpoint e valor) assim que chega, na thread chamadora;
+     *                   pode ser {@code null}
+     */
+    public <R, A> EjmScatterResult<A> gather(EjmRemoteCall<T, R> call, Collector<? super R, ?, A> reducer,
+                                             BiConsumer<String, ? super R> onResponse) {
+        return run(call, reducer, onResponse);
+    }
+
+    private <R, C, A> EjmScatterResult<A> run(EjmRemoteCall<T, R> call, Collector<? super R, C, A> reducer,
+                                              BiConsumer<String, ? super R> onResponse) {
+        List<EjmEndpoint> targets = handler.getEndpoints().getAll();
+        int required = policy.required(targets.size());
+        long deadline = deadlineMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis) : 0;
+
+        String lane = EjmCallPriority.current();
+        BlockingQueue<Reply> replies = new LinkedBlockingQueue<>();
+        for (EjmEndpoint endpoint : targets) {
+            T bound = handler.boundTo(endpoint, deadline);
+            try {
+                EXECUTOR.execute(() -> {
+                    EjmCallPriority.Scope scope = EjmCallPriority.use(lane);
+                    try {
+                        replies.add(new Reply(endpoint, call.call(bound), null));
+                    } catch (Throwable e) {
+                        replies.add(new Reply(endpoint, null, e));
+                    } finally {
+                        scope.close();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                replies.add(new Reply(endpoint, null, e));
+            }
+        }
+
+        C container = reducer.supplier().get();
+        List<String> responded = new ArrayList<>();
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        boolean timedOut = false;
+
+        while (responded.size() < required && responded.size() + failures.size() < targets.size()
+                && targets.size() - failures.size() >= required) {
+            Reply reply;
+            try {
+                if (deadline == 0) {
+                    reply = replies.take();
+                } else {
+                    reply = replies.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (reply == null) {
+                timedOut = true;
+                break;
+            }
+
+            String url = reply.endpoint.getUrl();
+            if (reply.error != null) {
+                // o deadline compartilhado chega antes como timeout de leitura no socket do endpoint
+                if (reply.error instanceof EjmTimeoutException) timedOut = true;
+                failures.put(url, reply.error);
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            R value = (R) reply.value;
+            reducer.accumulator().accept(container, value);
+            responded.add(url);
+            if (onResponse != null) onResponse.accept(url, value);
+        }
+
+        List<String> pending = new ArrayList<>();
+        for (EjmEndpoint endpoint : targets) {
+            if (!responded.contains(endpoint.getUrl()) && !failures.containsKey(endpoint.getUrl())) {
+                pending.add(endpoint.getUrl());
+            }
+        }
+        return new EjmScatterResult<>(reducer.finisher().apply(container), responded.size() >= required,
+                List.copyOf(responded), failures, List.copyOf(pending), timedOut);
+    }
+
+    /** Reducer que concatena respostas que já são coleções (ex: um shard de resultados por nó). */
+    public static <E> Collector<Iterable<? extends E>, ?, List<E>> flattening() {
+        return Collector.of(ArrayList::new,
+                (List<E> all, Iterable<? extends E> part) -> {
+                    if (part != null) part.forEach(all::add);
+                },
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                });
+    }
+
+    /** Quantas respostas com sucesso bastam para o resultado. */
+    public static final class Policy {
+
+        private static final Policy ALL = new Policy(-1);
+        private static final Policy QUORUM = new Policy(0);
+
+        // -1 = todos, 0 = maioria, n = as n primeiras
+        private final int count;
+
+        private Policy(int count) {
+            this.count = count;
+        }
+
+        /** Todos os endpoints precisam responder. */
+        public static Policy all() {
+            return ALL;
+        }
+
+        /** A maioria dos endpoints ({@code n/2 + 1}). */
+        public static Policy quorum() {
+            return QUORUM;
+        }
+
+        /** As {@code n} primeiras respostas (ou todas, se houver menos endpoints). */
+        public static Policy first(int n) {
+            if (n <= 0) throw new IllegalArgumentException("[EJM] Política first(n) requer n > 0: " + n);
+            return new Policy(n);
+        }
+
+        int required(int endpoints) {
+            if (count < 0) return endpoints;
+            if (count == 0) return endpoints / 2 + 1;
+            return Math.min(count, endpoints);
+        }
+
+        @Override
+        public String toString() {
+            return count < 0 ? "all" : count == 0 ? "quorum" : "first(" + count + ")";
+        }
+    }
+
+    private record Reply(EjmEndpoint endpoint, Object value, Throwable error) {}
+}
@@ -0,0 +1,41 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.exception.EjmTimeoutException;
+
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de um {@link EjmScatter}: o valor reduzido a partir das respostas recebidas e o que
+ * aconteceu com cada endpoint (URL).
+ *
+ * @param value     respostas reduzidas pelo coletor (só as que chegaram antes do retorno)
+ * @param satisfied se a política foi atendida
+ * @param responded endpoints que responderam, na ordem de chegada
+ * @param failures  endpoints que falharam e a exceção de cada um
+ * @param pending   endpoints sem resposta quando o resultado foi montado
+ * @param timedOut  se o deadline terminou antes da política ser atendida
+ */
+public record EjmScatterResult<A>(A value, boolean satisfied, List<String> responded,
+                                  Map<String, Throwable> failures, List<String> pending, boolean timedOut) {
+
+    /**
+     * O valor, se a política foi atendida.
+     *
+     * @throws EjmTimeoutException se faltaram respostas por causa do deadline
+     * @throws RemoteException     se faltaram respostas por falhas nos endpoints
+     */
+    public A require() throws RemoteException {
+        if (satisfied) return value;
+
+        String detail = responded.size() + " resposta(s), " + failures.size() + " falha(s), "
+                + pending.size() + " sem resposta";
+        if (timedOut) {
+            throw new EjmTimeoutException("[EJM] Deadline excedido no scatter-gather: " + detail, null);
+        }
+        RemoteException error = new RemoteException("[EJM] Política do scatter-gather não atendida: " + detail);
+        failures.values().forEach(error::addSuppressed);
+        throw error;
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.client.balancer.EjmLoadBalancer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conjunto de endpoints de um serviço e a estratégia de balanceamento entre eles.
+ *
+ * Endpoints marcados como indisponíveis pelo monitor saem do rodízio e voltam quando
+ * respondem novamente. Se todos estiverem indisponíveis, todos continuam candidatos.
+ */
+public class EjmServiceEndpoints {
+
+    private final List<EjmEndpoint> all;
+    private final EjmLoadBalancer balancer;
+    private volatile List<EjmEndpoint> available;
+
+    public EjmServiceEndpoints(List<EjmEndpoint> endpoints, EjmLoadBalancer balancer) {
+        this.all = List.copyOf(endpoints);
+        this.balancer = balancer;
+        this.available = this.all;
+    }
+
+    /**
+     * Escolhe um endpoint cujo circuit breaker permita a chamada, diferente de {@code excluded}.
+     * Tenta primeiro o balanceador e depois os demais endpoints, saudáveis antes dos
+     * indisponíveis.
+     *
+     * @return o endpoint escolhido, ou {@code null} se nenhum estiver disponível
+     */
+    public EjmEndpoint acquire(EjmEndpoint excluded) {
+        List<EjmEndpoint> candidates = available;
+        if (excluded != null) {
+            candidates = new ArrayList<>(candidates);
+            candidates.remove(excluded);
+        }
+
+        if (!candidates.isEmpty()) {
+            EjmEndpoint chosen = balancer.select(candidates);
+            if (chosen.getCircuitBreaker().allowRequest()) return chosen;
+
+            for (EjmEndpoint endpoint : candidates) {
+                if (endpoint != chosen && endpoint.getCircuitBreaker().allowRequest()) return endpoint;
+            }
+        }
+
+        for (EjmEndpoint endpoint : all) {
+            if (endpoint != excluded && !candidates.contains(endpoint) && endpoint.getCircuitBreaker().allowRequest()) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    public synchronized void setHealthy(EjmEndpoint endpoint, boolean healthy) {
+        if (endpoint.isHealthy() == healthy) return;
+        endpoint.setHealthy(healthy);
+
+        List<EjmEndpoint> healthyEndpoints = new ArrayList<>(all.size());
+        for (EjmEndpoint candidate : all) {
+            if (candidate.isHealthy()) healthyEndpoints.add(candidate);
+        }
+        available = healthyEndpoints.isEmpty() ? all : List.copyOf(healthyEndpoints);
+    }
+
+    public List<EjmEndpoint> getAll() {
+        return all;
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.client.limit.EjmConcurrencyLimiter;
+import br.com.ejm.ejm_config.client.limit.EjmLimitAlgorithm;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opções de um bloco {@code <rmi>} do config-ejm.xml aplicadas aos proxies do cliente.
+ */
+public class EjmServiceOptions {
+
+    // Deadline padrão das chamadas (ms); 0 = sem deadline
+    private long timeoutMillis;
+
+    // Deadlines por método, chave "Interface.metodo" ou apenas "metodo"
+    private final Map<String, Long> methodTimeouts = new HashMap<>();
+
+    // Falhas consecutivas para abrir o circuito de um endpoint; 0 = desligado
+    private int circuitFailures = 5;
+
+    // Tempo em que o circuito fica aberto antes da chamada de teste
+    private long circuitOpenMillis = 10_000;
+
+    // Hedged requests para métodos @EjmIdempotent
+    private boolean hedge;
+
+    // Limite adaptativo de concorrência: aimd, gradient ou null (desligado)
+    private String concurrencyLimiter;
+    private int concurrencyInitial = 20;
+    private int concurrencyMax = 200;
+
+    // Tempo máximo na fila do limitador antes da rejeição (ms)
+    private long concurrencyQueueTimeoutMillis;
+
+    // Coalescência de chamadas idênticas simultâneas (métodos @EjmIdempotent/@EjmCacheable)
+    private boolean coalesce;
+
+    // Espera máxima por uma chamada idêntica em andamento (ms); 0 = até ela terminar
+    private long coalesceMaxWaitMillis;
+
+    // Codec das chamadas (ex: "binary"); null ou "java" = serialização padrão do RMI
+    private String codec;
+
+    // Transporte: "rmi" (registry + exportPort) ou "mux" (conexões multiplexadas no muxPort do provider)
+    private String transport;
+
+    /** Cria um limitador com as opções do serviço, ou {@code null} quando desligado. */
+    public EjmConcurrencyLimiter newLimiter(String name) {
+        if (concurrencyLimiter == null || concurrencyLimiter.isBlank() || "none".equalsIgnoreCase(concurrencyLimiter)) {
+            return null;
+        }
+        return new EjmConcurrencyLimiter(name, EjmLimitAlgorithm.of(concurrencyLimiter, concurrencyMax),
+                Math.min(concurrencyInitial, concurrencyMax), concurrencyQueueTimeoutMillis);
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public Map<String, Long> getMethodTimeouts() {
+        return methodTimeouts;
+    }
+
+    public int getCircuitFailures() {
+        return circuitFailures;
+    }
+
+    public void setCircuitFailures(int circuitFailures) {
+        this.circuitFailures = circuitFailures;
+    }
+
+    public long getCircuitOpenMillis() {
+        return circuitOpenMillis;
+    }
+
+    public void setCircuitOpenMillis(long circuitOpenMillis) {
+        this.circuitOpenMillis = circuitOpenMillis;
+    }
+
+    public boolean isHedge() {
+        return hedge;
+    }
+
+    public void setHedge(boolean hedge) {
+        this.hedge = hedge;
+    }
+
+    public String getConcurrencyLimiter() {
+        return concurrencyLimiter;
+    }
+
+    public void setConcurrencyLimiter(String concurrencyLimiter) {
+        this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    public int getConcurrencyInitial() {
+        return concurrencyInitial;
+    }
+
+    public void setConcurrencyInitial(int concurrencyInitial) {
+        this.concurrencyInitial = concurrencyInitial;
+    }
+
+    public int getConcurrencyMax() {
+        return concurrencyMax;
+    }
+
+    public void setConcurrencyMax(int concurrencyMax) {
+        this.concurrencyMax = concurrencyMax;
+    }
+
+    public long getConcurrencyQueueTimeoutMillis() {
+        return concurrencyQueueTimeoutMillis;
+    }
+
+    public void setConcurrencyQueueTimeoutMillis(long concurrencyQueueTimeoutMillis) {
+        this.concurrencyQueueTimeoutMillis = concurrencyQueueTimeoutMillis;
+    }
+
+    public String getCodec() {
+        return codec;
+    }
+
+    public void setCodec(String codec) {
+        this.codec = codec;
+    }
+
+    public String getTransport() {
+        return transport;
+    }
+
+    public void setTransport(String transport) {
+        this.transport = transport;
+    }
+
+    /** Chamadas pelo transporte multiplexado em vez do RMI. */
+    public boolean isMux() {
+        return "mux".equalsIgnoreCase(transport);
+    }
+
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public long getCoalesceMaxWaitMillis() {
+        return coalesceMaxWaitMillis;
+    }
+
+    public void setCoalesceMaxWaitMillis(long coalesceMaxWaitMillis) {
+        this.coalesceMaxWaitMillis = coalesceMaxWaitMillis;
+    }
+}
@@ -0,0 +1,256 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.remote.EjmServiceDirectory;
+import br.com.ejm.ejm_config.remote.EjmServiceListing;
+import br.com.ejm.ejm_config.transport.EjmClientSocketFactory;
+import br.com.ejm.ejm_config.transport.EjmDeadline;
+import br.com.ejm.ejm_config.transport.EjmMuxClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.rmi.Naming;
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolve stubs RMI em paralelo num executor limitado.
+ *
+ * O tempo total de resolução cresce com o provider mais lento e não com a soma de todos.
+ * URLs {@code ejm://} são resolvidas no transporte multiplexado, sem registry.
+ *
+ * URLs {@code rmi://} são resolvidas pelo {@link EjmServiceDirectory} do registry: uma consulta traz os
+ * stubs de todos os serviços daquele provider, e os lookups simultâneos do mesmo endereço aguardam a
+ * mesma consulta. A última listagem de cada endereço fica guardada; revalidá-la custa uma resposta
+ * vazia quando nada mudou. Registries sem diretório continuam resolvidos com lookup direto no registry.
+ * As conexões com o registry seguem o {@link EjmDeadline} da thread, como as chamadas.
+ */
+public class EjmStubResolver {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmStubResolver.class);
+
+    // Lookups agendados que reutilizam uma listagem obtida há menos que isso
+    private static final long FRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public static final long DEFAULT_LOOKUP_TIMEOUT_MILLIS = 10_000;
+
+    private static final EjmClientSocketFactory REGISTRY_SOCKETS = new EjmClientSocketFactory();
+
+    private final ThreadPoolExecutor executor;
+
+    // Última listagem de cada registry (host:port) e consultas em andamento
+    private final Map<String, Listing> listings = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Listing>> fetches = new ConcurrentHashMap<>();
+
+    // null = somente RMI
+    private final EjmMuxClient mux;
+
+    private final long lookupTimeoutMillis;
+
+    public EjmStubResolver(int threads) {
+        this(threads, null, DEFAULT_LOOKUP_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param lookupTimeoutMillis quanto uma chamada sem deadline aguarda o lookup do stub; um registry
+     *                            que não responde não prende os chamadores além disso
+     */
+    public EjmStubResolver(int threads, EjmMuxClient mux, long lookupTimeoutMillis) {
+        this.mux = mux;
+        this.lookupTimeoutMillis = lookupTimeoutMillis;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "ejm-lookup-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Agenda o lookup da URL informada sem bloquear o chamador. Uma listagem do diretório obtida há
+     * pouco (por outro serviço do mesmo provider) é reaproveitada.
+     */
+    public CompletableFuture<Remote> resolve(String rmiUrl) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return lookup(rmiUrl, FRESH_NANOS);
+            } catch (Exception e) {
+                throw new IllegalStateException("[EJM] Falha no lookup de " + rmiUrl + ": " + e.getMessage(), e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Lookup síncrono, no registry RMI ou no transporte multiplexado conforme a URL. Sempre consulta o
+     * provider (o monitor usa o lookup como verificação).
+     */
+    public Remote lookup(String url) throws Exception {
+        return lookup(url, 0);
+    }
+
+    private Remote lookup(String url, long freshNanos) throws Exception {
+        if (url.startsWith(EjmMuxClient.SCHEME)) {
+            if (mux == null) throw new IllegalStateException("[EJM] Transporte multiplexado não configurado: " + url);
+            return EjmMuxStub.lookup(mux, url);
+        }
+
+        String[] target = parse(url);
+        if (target != null) {
+            Listing listing = listings.get(target[0]);
+            if (listing == null || System.nanoTime() - listing.fetchedAt() >= freshNanos) {
+                listing = fetch(target[0]);
+            }
+            Remote stub = listing == null ? null : listing.listing().services().get(target[1]);
+            if (stub != null) return stub;
+            return registry(target[0]).lookup(target[1]);
+        }
+        return Naming.lookup(url);
+    }
+
+    /**
+     * Stub do registry com sockets que seguem o {@link EjmDeadline} da thread: um registry que aceita a
+     * conexão e não responde não prende a thread de lookup além do deadline de quem consulta.
+     */
+    private static Registry registry(String address) throws RemoteException {
+        int colon = address.lastIndexOf(':');
+        if (colon < 0) return LocateRegistry.getRegistry(address, Registry.REGISTRY_PORT, REGISTRY_SOCKETS);
+        return LocateRegistry.getRegistry(address.substring(0, colon), Integer.parseInt(address.substring(colon + 1)),
+                REGISTRY_SOCKETS);
+    }
+
+    /**
+     * Consulta o diretório do registry, ou aguarda a consulta já em andamento para o mesmo endereço.
+     *
+     * @return a listagem atual, ou {@code null} se o registry não publica diretório
+     */
+    private Listing fetch(String address) throws Exception {
+        CompletableFuture<Listing> own = new CompletableFuture<>();
+        CompletableFuture<Listing> running = fetches.putIfAbsent(address, own);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+        }
+
+        try {
+            Listing known = listings.get(address);
+            Listing current;
+            try {
+                EjmServiceDirectory directory = (EjmServiceDirectory) registry(address).lookup(EjmServiceDirectory.NAME);
+                EjmServiceListing latest = directory.list(known == null ? 0 : known.listing().version());
+                current = new Listing(latest == null ? known.listing() : latest, System.nanoTime());
+                listings.put(address, current);
+                if (latest != null && known != null) {
+                    LOGGER.info("[EJM] 📒 Diretório de {} atualizado (v{} -> v{}).",
+                            address, known.listing().version(), latest.version());
+                }
+            } catch (NotBoundException e) {
+                current = null;
+            }
+            own.complete(current);
+            return current;
+        } catch (Exception e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            fetches.remove(address, own);
+        }
+    }
+
+    /** {@code rmi://host:port/Servico} -> {host:port, Servico}; {@code null} para outros formatos. */
+    private static String[] parse(String url) {
+        if (!url.startsWith("rmi://")) return null;
+        String path = url.substring("rmi://".length());
+        int slash = path.indexOf('/');
+        if (slash <= 0 || slash == path.length() - 1) return null;
+        return new String[]{path.substring(0, slash), path.substring(slash + 1)};
+    }
+
+    /**
+     * Usa listagens salvas (snapshot de uma execução anterior) como ponto de partida: os stubs ficam
+     * disponíveis em {@link #cached(String)} e a próxima consulta só revalida a versão.
+     */
+    public void seed(Map<String, EjmServiceListing> saved) {
+        // fetchedAt antigo: nenhum lookup as trata como recentes
+        long stale = System.nanoTime() - FRESH_NANOS;
+        saved.forEach((address, listing) -> listings.putIfAbsent(address, new Listing(listing, stale)));
+    }
+
+    /** Stub conhecido para a URL, sem consultar o provider; {@code null} se não houver. */
+    public Remote cached(String url) {
+        String[] target = parse(url);
+        if (target == null) return null;
+        Listing listing = listings.get(target[0]);
+        return listing == null ? null : listing.listing().services().get(target[1]);
+    }
+
+    /**
+     * Descarta a listagem de onde veio {@code stub}, que falhou na conexão: ele deixa de sair em
+     * {@link #cached(String)} e no snapshot, e a próxima consulta ao registry traz a listagem completa.
+     */
+    public void forget(String url, Remote stub) {
+        String[] target = parse(url);
+        if (target == null) return;
+        listings.computeIfPresent(target[0],
+                (address, listing) -> listing.listing().services().get(target[1]) == stub ? null : listing);
+    }
+
+    /** Listagens atuais por endereço, para o snapshot. */
+    public Map<String, EjmServiceListing> listings() {
+        Map<String, EjmServiceListing> current = new HashMap<>();
+        listings.forEach((address, listing) -> current.put(address, listing.listing()));
+        return current;
+    }
+
+    /**
+     * Aguarda os lookups informados (os do startup) até o timeout.
+     *
+     * @return quantidade de stubs resolvidos com sucesso dentro do prazo
+     */
+    public int awaitAll(List<CompletableFuture<Remote>> lookups, long timeoutMillis) {
+        try {
+            CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new))
+                    .get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.warn("[EJM] ⏱️ Timeout de {} ms aguardando lookups RMI — restantes serão resolvidos na primeira chamada.",
+                    timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // falhas individuais são tratadas por cada referência
+        }
+
+        int resolved = 0;
+        for (CompletableFuture<Remote> future : lookups) {
+            if (future.isDone() && !future.isCompletedExceptionally()) resolved++;
+        }
+        return resolved;
+    }
+
+    public long getLookupTimeoutMillis() {
+        return lookupTimeoutMillis;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Listing(EjmServiceListing listing, long fetchedAt) {}
+}
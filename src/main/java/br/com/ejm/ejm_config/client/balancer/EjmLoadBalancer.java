@@ -0,0 +1,33 @@
+package br.com.ejm.ejm_config.client.balancer;
+
+import br.com.ejm.ejm_config.client.EjmEndpoint;
+
+import java.util.List;
+
+/**
+ * Estratégia de escolha do endpoint para cada chamada.
+ *
+ * Recebe apenas os endpoints candidatos (saudáveis, quando houver algum).
+ */
+public interface EjmLoadBalancer {
+
+    EjmEndpoint select(List<EjmEndpoint> candidates);
+
+    /**
+     * Cria a estratégia a partir do nome usado no config-ejm.xml.
+     *
+     * @param name round-robin, least-outstanding ou p2c (padrão: round-robin)
+     */
+    static EjmLoadBalancer of(String name) {
+        if (name == null || name.isBlank()) {
+            return new RoundRobinLoadBalancer();
+        }
+
+        return switch (name.trim().toLowerCase()) {
+            case "round-robin" -> new RoundRobinLoadBalancer();
+            case "least-outstanding" -> new LeastOutstandingLoadBalancer();
+            case "p2c", "power-of-two-choices" -> new PowerOfTwoChoicesLoadBalancer();
+            default -> throw new IllegalArgumentException("[EJM] Load balancer desconhecido: " + name);
+        };
+    }
+}
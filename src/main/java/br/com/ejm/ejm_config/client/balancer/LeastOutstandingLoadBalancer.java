@@ -0,0 +1,25 @@
+package br.com.ejm.ejm_config.client.balancer;
+
+import br.com.ejm.ejm_config.client.EjmEndpoint;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Escolhe o endpoint com menos chamadas em andamento; empates são desfeitos aleatoriamente. */
+public class LeastOutstandingLoadBalancer implements EjmLoadBalancer {
+
+    @Override
+    public EjmEndpoint select(List<EjmEndpoint> candidates) {
+        int size = candidates.size();
+        int start = ThreadLocalRandom.current().nextInt(size);
+
+        EjmEndpoint best = null;
+        for (int i = 0; i < size; i++) {
+            EjmEndpoint endpoint = candidates.get((start + i) % size);
+            if (best == null || endpoint.getOutstanding() < best.getOutstanding()) {
+                best = endpoint;
+            }
+        }
+        return best;
+    }
+}
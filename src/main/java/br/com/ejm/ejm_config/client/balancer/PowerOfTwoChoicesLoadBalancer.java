@@ -0,0 +1,27 @@
+package br.com.ejm.ejm_config.client.balancer;
+
+import br.com.ejm.ejm_config.client.EjmEndpoint;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Sorteia dois endpoints distintos e usa o que tiver menos chamadas em andamento. */
+public class PowerOfTwoChoicesLoadBalancer implements EjmLoadBalancer {
+
+    @Override
+    public EjmEndpoint select(List<EjmEndpoint> candidates) {
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) second++;
+
+        EjmEndpoint a = candidates.get(first);
+        EjmEndpoint b = candidates.get(second);
+        return a.getOutstanding() <= b.getOutstanding() ? a : b;
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.ejm.ejm_config.client.balancer;
+
+import br.com.ejm.ejm_config.client.EjmEndpoint;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RoundRobinLoadBalancer implements EjmLoadBalancer {
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public EjmEndpoint select(List<EjmEndpoint> candidates) {
+        int index = next.getAndIncrement() & Integer.MAX_VALUE;
+        return candidates.get(index % candidates.size());
+    }
+}
@@ -0,0 +1,99 @@
+package br.com.ejm.ejm_config.client.cache;
+
+import br.com.ejm.ejm_config.codec.EjmBinaryCodec;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Chave compacta a partir dos argumentos da chamada, usada pelo cache e pela coalescência
+ * (as duas já separam as chaves por método).
+ *
+ * Um único argumento imutável é a própria chave; vários argumentos imutáveis viram uma
+ * tupla; qualquer outro argumento (DTOs, coleções, arrays) é codificado pelo codec binário,
+ * o que isola a chave de alterações posteriores no objeto do chamador.
+ */
+public final class EjmCacheKey {
+
+    private static final Object NO_ARGS = new Object();
+    private static final Object NULL_ARG = new Object();
+
+    private static final EjmBinaryCodec CODEC = new EjmBinaryCodec();
+
+    private static final Set<Class<?>> VALUE_TYPES = Set.of(
+            String.class, Integer.class, Long.class, Short.class, Byte.class, Double.class, Float.class,
+            Boolean.class, Character.class, BigDecimal.class, BigInteger.class, UUID.class,
+            LocalDate.class, LocalDateTime.class, Instant.class);
+
+    private EjmCacheKey() {
+    }
+
+    /** @throws IOException se algum argumento não puder ser codificado */
+    public static Object of(Object[] args) throws IOException {
+        if (args == null || args.length == 0) {
+            return NO_ARGS;
+        }
+        if (args.length == 1 && isValue(args[0])) {
+            return args[0] == null ? NULL_ARG : args[0];
+        }
+
+        for (Object arg : args) {
+            if (!isValue(arg)) {
+                return new BytesKey(CODEC.encode(args));
+            }
+        }
+        return new TupleKey(args.clone());
+    }
+
+    /** Valor imutável: usado direto como chave e guardado sem cópia pelo {@link EjmResultCache}. */
+    static boolean isValue(Object arg) {
+        return arg == null || arg instanceof Enum<?> || VALUE_TYPES.contains(arg.getClass());
+    }
+
+    private static final class TupleKey {
+        private final Object[] values;
+        private final int hash;
+
+        private TupleKey(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof TupleKey key && key.hash == hash && Arrays.equals(key.values, values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static final class BytesKey {
+        private final byte[] bytes;
+        private final int hash;
+
+        private BytesKey(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof BytesKey key && key.hash == hash && Arrays.equals(key.bytes, bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
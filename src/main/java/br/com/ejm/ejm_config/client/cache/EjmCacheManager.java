@@ -0,0 +1,170 @@
+package br.com.ejm.ejm_config.client.cache;
+
+import br.com.ejm.ejm_config.annotations.EjmCacheable;
+import br.com.ejm.ejm_config.client.EjmEndpoint;
+import br.com.ejm.ejm_config.client.EjmServiceEndpoints;
+import br.com.ejm.ejm_config.remote.EjmCacheListener;
+import br.com.ejm.ejm_config.remote.EjmInvocationEndpoint;
+import br.com.ejm.ejm_config.transport.EjmClientSocketFactory;
+import br.com.ejm.ejm_config.transport.EjmDeadline;
+import br.com.ejm.ejm_config.utils.EjmExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches {@code @EjmCacheable} do cliente e a assinatura das invalidações enviadas pelos providers.
+ *
+ * O cliente exporta um {@link EjmCacheListener} e o assina em cada endpoint dos serviços
+ * com métodos cacheáveis, renovando a assinatura periodicamente. Se a renovação falha ou o
+ * provider não conhecia a assinatura (ex.: reiniciou), os caches do serviço são limpos:
+ * nesse intervalo invalidações podem ter sido perdidas.
+ */
+public class EjmCacheManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmCacheManager.class);
+
+    // A assinatura vale por algumas renovações: uma renovação atrasada não a derruba
+    private static final int LEASE_RENEWALS = 3;
+
+    private final long renewMillis;
+    private final int callbackPort;
+    private final Map<String, List<EjmResultCache>> regions = new ConcurrentHashMap<>();
+    private final Map<String, List<EjmResultCache>> serviceCaches = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> subscribedServices = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private Listener listener;
+    private EjmCacheListener listenerStub;
+
+    /**
+     * @param renewMillis  intervalo de renovação das assinaturas
+     * @param callbackPort porta em que o listener é exportado (0 = qualquer porta livre)
+     */
+    public EjmCacheManager(long renewMillis, int callbackPort) {
+        this.renewMillis = renewMillis;
+        this.callbackPort = callbackPort;
+    }
+
+    /** Cria o cache de um método e o associa à região (padrão: nome do serviço). */
+    public EjmResultCache cacheFor(String serviceName, Method method, EjmCacheable spec) {
+        String region = spec.region().isEmpty() ? serviceName : spec.region();
+        EjmResultCache cache = new EjmResultCache(serviceName + "." + method.getName(), spec.ttl(), spec.maxEntries());
+        regions.computeIfAbsent(region, r -> new CopyOnWriteArrayList<>()).add(cache);
+        serviceCaches.computeIfAbsent(serviceName, s -> new CopyOnWriteArrayList<>()).add(cache);
+        return cache;
+    }
+
+    /** Passa a assinar as invalidações em todos os endpoints do serviço. */
+    public synchronized void subscribe(String serviceName, EjmServiceEndpoints endpoints) {
+        if (subscribedServices.putIfAbsent(serviceName, Boolean.TRUE) != null) return;
+
+        try {
+            if (listenerStub == null) {
+                listener = new Listener();
+                listenerStub = (EjmCacheListener) UnicastRemoteObject.exportObject(listener, callbackPort,
+                        new EjmClientSocketFactory(), null);
+                scheduler = Executors.newSingleThreadScheduledExecutor(EjmExecutors.daemon("ejm-cache-subscription"));
+            }
+        } catch (RemoteException e) {
+            LOGGER.error("[EJM] ❌ Falha ao exportar o listener de cache; '{}' usará apenas o TTL: {}",
+                    serviceName, e.getMessage());
+            return;
+        }
+
+        for (EjmEndpoint endpoint : endpoints.getAll()) {
+            SubscriptionState state = new SubscriptionState(serviceName, endpoint);
+            scheduler.scheduleWithFixedDelay(() -> renew(state), 0, renewMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void renew(SubscriptionState state) {
+        long previousDeadline = EjmDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(renewMillis));
+        EjmInvocationEndpoint stub = null;
+        try {
+            stub = (EjmInvocationEndpoint) state.endpoint.getInvocationReference().get();
+            boolean known = stub.subscribeInvalidations(listenerStub, renewMillis * LEASE_RENEWALS);
+            if (!known) {
+                clearService(state.serviceName);
+                LOGGER.info("[EJM] 🔔 Invalidações de cache de '{}' assinadas em {}.", state.serviceName, state.endpoint);
+            }
+            state.subscribed = true;
+        } catch (Exception e) {
+            if (stub != null) {
+                // força novo lookup na próxima renovação (provider pode ter reiniciado)
+                state.endpoint.getInvocationReference().invalidate(stub);
+            }
+            if (state.subscribed) {
+                state.subscribed = false;
+                clearService(state.serviceName);
+                LOGGER.warn("[EJM] ⚠️ Assinatura de cache de '{}' perdida em {}: {}",
+                        state.serviceName, state.endpoint, e.getMessage());
+            } else {
+                LOGGER.debug("[EJM] Assinatura de cache de '{}' pendente em {}: {}",
+                        state.serviceName, state.endpoint, e.getMessage());
+            }
+        } finally {
+            EjmDeadline.restore(previousDeadline);
+        }
+    }
+
+    /** Limpa os caches da região ({@link EjmCacheListener#ALL_REGIONS} = todos). */
+    public void invalidate(String region) {
+        if (EjmCacheListener.ALL_REGIONS.equals(region)) {
+            regions.values().forEach(caches -> caches.forEach(EjmResultCache::clear));
+            return;
+        }
+        List<EjmResultCache> caches = regions.get(region);
+        if (caches != null) {
+            caches.forEach(EjmResultCache::clear);
+        }
+    }
+
+    private void clearService(String serviceName) {
+        List<EjmResultCache> caches = serviceCaches.get(serviceName);
+        if (caches != null) {
+            caches.forEach(EjmResultCache::clear);
+        }
+    }
+
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (listener != null) {
+            try {
+                UnicastRemoteObject.unexportObject(listener, true);
+            } catch (RemoteException e) {
+                // já removido
+            }
+        }
+    }
+
+    private final class Listener implements EjmCacheListener {
+        @Override
+        public void invalidate(String region) {
+            LOGGER.debug("[EJM] Invalidação de cache recebida: {}", region);
+            EjmCacheManager.this.invalidate(region);
+        }
+    }
+
+    private static final class SubscriptionState {
+        private final String serviceName;
+        private final EjmEndpoint endpoint;
+        private volatile boolean subscribed;
+
+        private SubscriptionState(String serviceName, EjmEndpoint endpoint) {
+            this.serviceName = serviceName;
+            this.endpoint = endpoint;
+        }
+    }
+}
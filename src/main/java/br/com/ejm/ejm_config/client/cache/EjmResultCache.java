@@ -0,0 +1,181 @@
+package br.com.ejm.ejm_config.client.cache;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de resultados de um método {@code @EjmCacheable}.
+ *
+ * LRU limitado e dividido em segmentos, cada um com seu lock, para não serializar as
+ * leituras concorrentes. Entradas expiram pelo TTL; {@link #clear()} avança a geração, e
+ * resultados de chamadas iniciadas antes da invalidação não entram no cache.
+ *
+ * Cada acerto recebe o seu objeto ({@link EjmResultCopy}): um chamador que altere o resultado
+ * não afeta os outros nem o cache.
+ */
+public final class EjmResultCache {
+
+    /** Retornado por {@link #get(Object)} quando não há entrada válida. */
+    public static final Object MISS = new Object();
+
+
+    private final String name;
+    private final long ttlNanos;
+    private final Segment[] segments;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EjmResultCache(String name, long ttlMillis, int maxEntries) {
+        this.name = name;
+        this.ttlNanos = ttlMillis <= 0 ? 0 : TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+
+        int max = Math.max(1, maxEntries);
+        // segmentos com ao menos 8 entradas: com poucos itens o LRU fica próximo do exato
+        int count = Integer.highestOneBit(Math.max(1, Math.min(16, max / 8)));
+        int perSegment = (max + count - 1) / count;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /** Chave para os argumentos; {@code null} se não puderem ser usados como chave. */
+    public Object keyFor(Object[] args) {
+        try {
+            return EjmCacheKey.of(args);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Valor em cache (pode ser {@code null}) ou {@link #MISS}. */
+    public Object get(Object key) {
+        Segment segment = segmentFor(key);
+        EjmResultCopy copy;
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry == null) {
+                copy = null;
+            } else if (entry.expiresAt != 0 && System.nanoTime() - entry.expiresAt > 0) {
+                segment.remove(key);
+                copy = null;
+            } else {
+                copy = entry.copy;
+            }
+        }
+
+        Object value = MISS;
+        if (copy != null) {
+            try {
+                value = copy.get();
+            } catch (IOException e) {
+                // gravado pelo mesmo codec; se falhar, vale como miss
+            }
+        }
+        if (value == MISS) {
+            misses.increment();
+            return MISS;
+        }
+        hits.increment();
+        return value;
+    }
+
+    /** Geração atual; deve ser lida antes de iniciar a chamada remota. */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Guarda o resultado se não houve invalidação desde {@code expectedGeneration}. Resultados que
+     * o codec binário não consegue gravar (ciclos, tipos não serializáveis) não são guardados.
+     */
+    public void put(Object key, Object value, long expectedGeneration) {
+        EjmResultCopy copy;
+        try {
+            copy = EjmResultCopy.of(value);
+        } catch (IOException e) {
+            return;
+        }
+
+        long expiresAt = ttlNanos == 0 ? 0 : System.nanoTime() + ttlNanos;
+        if (expiresAt == 0 && ttlNanos != 0) expiresAt = 1;
+
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            if (generation.get() != expectedGeneration) return;
+            segment.put(key, new Entry(copy, expiresAt));
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private Segment segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    private record Entry(EjmResultCopy copy, long expiresAt) {
+    }
+
+    /** LinkedHashMap em ordem de acesso: o mais antigo sai quando o segmento enche. */
+    private final class Segment extends LinkedHashMap<Object, Entry> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(Math.min(capacity, 1024) * 4 / 3 + 1, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package br.com.ejm.ejm_config.client.cache;
+
+import br.com.ejm.ejm_config.codec.EjmBinaryCodec;
+
+import java.io.IOException;
+
+/**
+ * Resultado entregue a mais de um chamador (acertos de cache, chamadas coalescidas).
+ *
+ * Valores imutáveis são compartilhados como vieram; os demais são gravados pelo codec binário
+ * na captura e cada {@link #get()} decodifica um objeto novo, de modo que um chamador que altere
+ * o resultado não afete os outros.
+ */
+public final class EjmResultCopy {
+
+    private static final EjmBinaryCodec CODEC = new EjmBinaryCodec();
+
+    private final Object value;
+    private final byte[] bytes;
+
+    private EjmResultCopy(Object value, byte[] bytes) {
+        this.value = value;
+        this.bytes = bytes;
+    }
+
+    /** @throws IOException se o codec binário não conseguir gravar o resultado (ciclos, tipos não serializáveis) */
+    public static EjmResultCopy of(Object value) throws IOException {
+        if (EjmCacheKey.isValue(value)) {
+            return new EjmResultCopy(value, null);
+        }
+        return new EjmResultCopy(null, CODEC.encode(value));
+    }
+
+    public Object get() throws IOException {
+        return bytes == null ? value : CODEC.decode(bytes);
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.ejm.ejm_config.client.limit;
+
+/**
+ * Additive increase / multiplicative decrease: cresce 1 a cada sucesso com o limite em uso
+ * e reduz 10% a cada timeout ou sobrecarga.
+ */
+public class AimdLimit implements EjmLimitAlgorithm {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int maxLimit;
+
+    public AimdLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public int update(int limit, long rttNanos, int inflight, boolean dropped) {
+        if (dropped) {
+            return Math.max(1, (int) (limit * BACKOFF_RATIO));
+        }
+        if (inflight * 2 >= limit) {
+            return Math.min(maxLimit, limit + 1);
+        }
+        return limit;
+    }
+}
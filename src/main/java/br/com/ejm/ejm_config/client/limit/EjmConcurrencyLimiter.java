@@ -0,0 +1,145 @@
+package br.com.ejm.ejm_config.client.limit;
+
+import br.com.ejm.ejm_config.exception.EjmRejectedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite adaptativo de chamadas simultâneas de um serviço ou de um endpoint.
+ *
+ * Chamadas acima do limite aguardam até {@code queueTimeout}; depois disso são rejeitadas
+ * com {@link EjmRejectedException}. O limite é recalculado pelo {@link EjmLimitAlgorithm}
+ * a cada chamada concluída.
+ */
+public class EjmConcurrencyLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmConcurrencyLimiter.class);
+
+    private final String name;
+    private final EjmLimitAlgorithm algorithm;
+    private final long queueTimeoutNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile int limit;
+    private int inflight;
+
+    public EjmConcurrencyLimiter(String name, EjmLimitAlgorithm algorithm, int initialLimit, long queueTimeoutMillis) {
+        this.name = name;
+        this.algorithm = algorithm;
+        this.limit = initialLimit;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+    }
+
+    /**
+     * Obtém uma permissão, aguardando na fila até o timeout configurado.
+     *
+     * @throws EjmRejectedException se o limite continuar ocupado após o timeout
+     */
+    public Permit acquire() throws EjmRejectedException {
+        lock.lock();
+        try {
+            long remaining = queueTimeoutNanos;
+            while (inflight >= limit) {
+                if (remaining <= 0) {
+                    rejected.increment();
+                    logRejection();
+                    throw new EjmRejectedException("[EJM] Limite de concorrência atingido em '" + name
+                            + "' (limite=" + limit + ")");
+                }
+                remaining = released.awaitNanos(remaining);
+            }
+            return new Permit(++inflight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new EjmRejectedException("[EJM] Espera por permissão interrompida em '" + name + "'");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void logRejection() {
+        long total = rejected.sum();
+        if (total == 1 || total % 1000 == 0) {
+            LOGGER.warn("[EJM] 🚦 '{}' rejeitou {} chamada(s) por limite de concorrência (limite atual={}).",
+                    name, total, limit);
+        }
+    }
+
+    private void release(Permit permit, long rttNanos, boolean dropped, boolean ignored) {
+        lock.lock();
+        try {
+            inflight--;
+            int previous = limit;
+            if (!ignored) {
+                int updated = algorithm.update(previous, rttNanos, permit.inflight, dropped);
+                if (updated != previous) {
+                    limit = updated;
+                    LOGGER.debug("[EJM] 🎚️ Limite de concorrência de '{}': {} -> {}", name, previous, updated);
+                }
+            }
+
+            if (limit > previous) {
+                released.signalAll();
+            } else {
+                released.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        lock.lock();
+        try {
+            return inflight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /** Permissão de uma chamada; deve ser liberada exatamente uma vez. */
+    public final class Permit {
+
+        private final long start = System.nanoTime();
+        private final int inflight;
+
+        private Permit(int inflight) {
+            this.inflight = inflight;
+        }
+
+        /** A chamada terminou normalmente; a latência entra no cálculo do limite. */
+        public void success() {
+            release(this, System.nanoTime() - start, false, false);
+        }
+
+        /** A chamada falhou por timeout ou sobrecarga do provider. */
+        public void dropped() {
+            release(this, System.nanoTime() - start, true, false);
+        }
+
+        /** A chamada falhou por outro motivo; não influencia o limite. */
+        public void ignore() {
+            release(this, 0, false, true);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.ejm.ejm_config.client.limit;
+
+/**
+ * Algoritmo que ajusta o limite de chamadas simultâneas a partir da latência observada.
+ */
+public interface EjmLimitAlgorithm {
+
+    /**
+     * Calcula o novo limite após uma chamada concluída.
+     *
+     * @param limit    limite atual
+     * @param rttNanos latência da chamada
+     * @param inflight chamadas em andamento quando esta começou
+     * @param dropped  a chamada falhou por timeout ou sobrecarga
+     */
+    int update(int limit, long rttNanos, int inflight, boolean dropped);
+
+    /**
+     * Cria o algoritmo a partir do nome usado no config-ejm.xml.
+     *
+     * @param name aimd ou gradient
+     */
+    static EjmLimitAlgorithm of(String name, int maxLimit) {
+        return switch (name.trim().toLowerCase()) {
+            case "aimd" -> new AimdLimit(maxLimit);
+            case "gradient", "vegas" -> new GradientLimit(maxLimit);
+            default -> throw new IllegalArgumentException("[EJM] Limitador de concorrência desconhecido: " + name);
+        };
+    }
+}
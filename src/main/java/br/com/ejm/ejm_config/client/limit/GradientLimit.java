@@ -0,0 +1,51 @@
+package br.com.ejm.ejm_config.client.limit;
+
+/**
+ * Limite no estilo Vegas/Gradient: compara a latência atual com a menor latência observada
+ * (a latência "sem carga" do provider). Quando a fila cresce no provider a razão cai e o
+ * limite diminui; perto da latência base o limite cresce devagar.
+ */
+public class GradientLimit implements EjmLimitAlgorithm {
+
+    // A cada N amostras a latência base é reavaliada, para acompanhar mudanças no provider
+    private static final int MIN_RTT_RESET_SAMPLES = 1000;
+    private static final double SMOOTHING = 0.2;
+    private static final double TOLERANCE = 1.5;
+
+    private final int maxLimit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private double smoothedRttNanos;
+    private int samples;
+
+    public GradientLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public synchronized int update(int limit, long rttNanos, int inflight, boolean dropped) {
+        if (dropped) {
+            return Math.max(1, limit / 2);
+        }
+
+        if (++samples % MIN_RTT_RESET_SAMPLES == 0) {
+            minRttNanos = Long.MAX_VALUE;
+        }
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+        smoothedRttNanos = smoothedRttNanos == 0
+                ? rttNanos
+                : smoothedRttNanos * (1 - SMOOTHING) + rttNanos * SMOOTHING;
+
+        // só ajusta quando o limite está de fato sendo usado
+        if (inflight * 2 < limit) return limit;
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * minRttNanos / smoothedRttNanos));
+        double queueSize = Math.sqrt(limit);
+        double target = limit * gradient + queueSize;
+
+        // suaviza para não oscilar, arredondando na direção do alvo: truncar perderia todo passo
+        // menor que uma permissão e o limite nunca voltaria a subir depois de uma queda
+        double smoothed = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        int newLimit = (int) (target > limit ? Math.ceil(smoothed) : Math.floor(smoothed));
+        return Math.max(1, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,859 @@
+package br.com.ejm.ejm_config.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Codec binário baseado no schema das classes.
+ *
+ * Os campos de cada classe são descobertos uma única vez e acessados por {@link MethodHandle}s
+ * cacheados; primitivos são gravados sem boxing e inteiros em varint. O nome de cada classe vai
+ * uma vez por mensagem — as ocorrências seguintes usam um índice.
+ *
+ * Tipos que o schema não cobre (serialização customizada, Externalizable, classes do JDK fora
+ * da lista suportada, classes sem construtor vazio) são gravados com serialização Java, de modo
+ * que qualquer {@link Serializable} continua funcionando. O formato binário só representa árvores:
+ * um grafo em que o mesmo objeto aparece duas vezes (referência compartilhada ou ciclo) é gravado
+ * inteiro com serialização Java, que preserva as identidades, ou recusado se não for Serializable.
+ *
+ * Como na serialização Java, cliente e servidor precisam da mesma versão das classes: os
+ * campos são gravados na ordem do schema, sem nomes. Na leitura, cada classe citada na mensagem
+ * passa pelo {@link EjmTypeFilter} do método antes de ser carregada no grafo ou instanciada.
+ */
+public class EjmBinaryCodec implements EjmCodec {
+
+    public static final String NAME = "binary";
+
+    private static final byte NULL = 0, TRUE = 1, FALSE = 2, BYTE = 3, SHORT = 4, INT = 5, LONG = 6,
+            FLOAT = 7, DOUBLE = 8, CHAR = 9, STRING = 10, BYTES = 11, INTS = 12, LONGS = 13, DOUBLES = 14,
+            ARRAY = 15, COLLECTION = 16, MAP = 17, ENUM = 18, DECIMAL = 19, BIG_INTEGER = 20,
+            LOCAL_DATE = 21, LOCAL_DATE_TIME = 22, INSTANT = 23, UUID_TAG = 24, DATE = 25, OBJECT = 26, JAVA = 27;
+
+    private static final int MAX_DEPTH = 512;
+
+    // buffers maiores que isso não ficam retidos na thread
+    private static final int MAX_RETAINED_BUFFER = 1 << 20;
+
+    private static final ThreadLocal<Output> BUFFER = ThreadLocal.withInitial(() -> new Output(4096));
+
+    private static final ClassValue<Schema> SCHEMAS = new ClassValue<>() {
+        @Override
+        protected Schema computeValue(Class<?> type) {
+            return Schema.of(type);
+        }
+    };
+
+    private static final ClassValue<Supplier<Object>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected Supplier<Object> computeValue(Class<?> type) {
+            return publicFactory(type);
+        }
+    };
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        Output out = BUFFER.get();
+        out.reset();
+        try {
+            try {
+                new Writer(out).write(value, 0);
+            } catch (SharedReference shared) {
+                out.reset();
+                new Writer(out).writeShared(value);
+            }
+            return out.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IOException("[EJM] Falha ao codificar " + value.getClass().getName() + ": " + e.getMessage(), e);
+        } finally {
+            if (out.buf.length > MAX_RETAINED_BUFFER) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    @Override
+    public Object decode(byte[] data) throws IOException {
+        return decode(data, EjmTypeFilter.OPEN);
+    }
+
+    @Override
+    public Object decode(byte[] data, EjmTypeFilter filter) throws IOException {
+        try {
+            return new Reader(data, filter).read(0);
+        } catch (IOException e) {
+            throw e;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("[EJM] Mensagem truncada", e);
+        } catch (Throwable e) {
+            throw new IOException("[EJM] Falha ao decodificar: " + e.getMessage(), e);
+        }
+    }
+
+    // ------------------------------------------------------------------ escrita
+
+    private static final class Writer {
+        private final Output out;
+        private final Map<Class<?>, Integer> classes = new IdentityHashMap<>();
+        // objetos mutáveis já gravados: o formato não tem referências, então uma repetição muda o grafo
+        private final Map<Object, Boolean> seen = new IdentityHashMap<>();
+
+        Writer(Output out) {
+            this.out = out;
+        }
+
+        void write(Object value, int depth) throws Throwable {
+            if (depth > MAX_DEPTH) {
+                throw new IOException("[EJM] Grafo muito profundo (ciclo?)");
+            }
+            if (value == null) {
+                out.writeByte(NULL);
+                return;
+            }
+
+            Class<?> type = value.getClass();
+            if (type == String.class) {
+                out.writeByte(STRING);
+                out.writeString((String) value);
+            } else if (type == Integer.class) {
+                out.writeByte(INT);
+                out.writeVarLong((Integer) value);
+            } else if (type == Long.class) {
+                out.writeByte(LONG);
+                out.writeVarLong((Long) value);
+            } else if (type == Boolean.class) {
+                out.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (type == Double.class) {
+                out.writeByte(DOUBLE);
+                out.writeLong(Double.doubleToRawLongBits((Double) value));
+            } else if (type == Float.class) {
+                out.writeByte(FLOAT);
+                out.writeInt(Float.floatToRawIntBits((Float) value));
+            } else if (type == Short.class) {
+                out.writeByte(SHORT);
+                out.writeVarLong((Short) value);
+            } else if (type == Byte.class) {
+                out.writeByte(BYTE);
+                out.writeByte((Byte) value);
+            } else if (type == Character.class) {
+                out.writeByte(CHAR);
+                out.writeVarLong((Character) value);
+            } else if (type == byte[].class) {
+                byte[] bytes = (byte[]) value;
+                track(value);
+                out.writeByte(BYTES);
+                out.writeVarInt(bytes.length);
+                out.writeBytes(bytes, 0, bytes.length);
+            } else if (type == int[].class) {
+                int[] ints = (int[]) value;
+                track(value);
+                out.writeByte(INTS);
+                out.writeVarInt(ints.length);
+                for (int i : ints) out.writeVarLong(i);
+            } else if (type == long[].class) {
+                long[] longs = (long[]) value;
+                track(value);
+                out.writeByte(LONGS);
+                out.writeVarInt(longs.length);
+                for (long l : longs) out.writeVarLong(l);
+            } else if (type == double[].class) {
+                double[] doubles = (double[]) value;
+                track(value);
+                out.writeByte(DOUBLES);
+                out.writeVarInt(doubles.length);
+                for (double d : doubles) out.writeLong(Double.doubleToRawLongBits(d));
+            } else if (type == BigDecimal.class) {
+                BigDecimal decimal = (BigDecimal) value;
+                out.writeByte(DECIMAL);
+                out.writeVarLong(decimal.scale());
+                writeRaw(decimal.unscaledValue().toByteArray());
+            } else if (type == BigInteger.class) {
+                out.writeByte(BIG_INTEGER);
+                writeRaw(((BigInteger) value).toByteArray());
+            } else if (type == LocalDate.class) {
+                out.writeByte(LOCAL_DATE);
+                out.writeVarLong(((LocalDate) value).toEpochDay());
+            } else if (type == LocalDateTime.class) {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                out.writeByte(LOCAL_DATE_TIME);
+                out.writeVarLong(dateTime.toLocalDate().toEpochDay());
+                out.writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+            } else if (type == Instant.class) {
+                Instant instant = (Instant) value;
+                out.writeByte(INSTANT);
+                out.writeVarLong(instant.getEpochSecond());
+                out.writeVarLong(instant.getNano());
+            } else if (type == UUID.class) {
+                UUID uuid = (UUID) value;
+                out.writeByte(UUID_TAG);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            } else if (type == Date.class) {
+                out.writeByte(DATE);
+                out.writeVarLong(((Date) value).getTime());
+            } else if (type.isEnum() || (type.getSuperclass() != null && type.getSuperclass().isEnum())) {
+                Enum<?> constant = (Enum<?>) value;
+                out.writeByte(ENUM);
+                writeClass(constant.getDeclaringClass());
+                out.writeVarInt(constant.ordinal());
+            } else if (type.isArray() && !type.getComponentType().isPrimitive()) {
+                Object[] array = (Object[]) value;
+                track(value);
+                out.writeByte(ARRAY);
+                writeClass(type.getComponentType());
+                out.writeVarInt(array.length);
+                for (Object element : array) write(element, depth + 1);
+            } else if (value instanceof Collection<?> collection && isPlainCollection(collection)) {
+                track(value);
+                out.writeByte(COLLECTION);
+                writeClass(type);
+                out.writeVarInt(collection.size());
+                for (Object element : collection) write(element, depth + 1);
+            } else if (value instanceof Map<?, ?> map && isPlainMap(map)) {
+                track(value);
+                out.writeByte(MAP);
+                writeClass(type);
+                out.writeVarInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    write(entry.getKey(), depth + 1);
+                    write(entry.getValue(), depth + 1);
+                }
+            } else {
+                track(value);
+                Schema schema = SCHEMAS.get(type);
+                if (schema.supported) {
+                    out.writeByte(OBJECT);
+                    writeClass(type);
+                    schema.write(this, value, depth + 1);
+                } else {
+                    writeJava(value);
+                }
+            }
+        }
+
+        private void track(Object value) {
+            if (seen.put(value, Boolean.TRUE) != null) throw SharedReference.INSTANCE;
+        }
+
+        /** Grafo com referências compartilhadas ou ciclos: vai inteiro pela serialização Java. */
+        private void writeShared(Object value) throws IOException {
+            if (!(value instanceof Serializable)) {
+                throw new IOException("[EJM] Referência compartilhada ou ciclo no grafo de "
+                        + value.getClass().getName() + ", que não é Serializable");
+            }
+            writeJava(value);
+        }
+
+        private void writeClass(Class<?> type) {
+            Integer id = classes.get(type);
+            if (id != null) {
+                out.writeVarInt(id + 1);
+                return;
+            }
+            classes.put(type, classes.size());
+            out.writeVarInt(0);
+            out.writeString(type.getName());
+        }
+
+        private void writeRaw(byte[] bytes) {
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+        }
+
+        private void writeJava(Object value) throws IOException {
+            if (!(value instanceof Serializable)) {
+                throw new IOException("[EJM] Tipo não serializável: " + value.getClass().getName());
+            }
+            out.writeByte(JAVA);
+            int lengthPos = out.reserveInt();
+            int start = out.pos;
+            try (ObjectOutputStream stream = new ObjectOutputStream(out)) {
+                stream.writeObject(value);
+            }
+            out.putInt(lengthPos, out.pos - start);
+        }
+    }
+
+    /** Sinaliza um objeto repetido no grafo; sem stack trace, é só controle de fluxo. */
+    private static final class SharedReference extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private static final SharedReference INSTANCE = new SharedReference();
+
+        private SharedReference() {
+            super(null, null, false, false);
+        }
+    }
+
+    // ------------------------------------------------------------------ leitura
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+        private final List<Class<?>> classes = new ArrayList<>();
+        private final EjmTypeFilter filter;
+
+        Reader(byte[] buf, EjmTypeFilter filter) {
+            this.buf = buf;
+            this.filter = filter;
+        }
+
+        Object read(int depth) throws Throwable {
+            if (depth > MAX_DEPTH) {
+                throw new IOException("[EJM] Grafo muito profundo");
+            }
+            byte tag = buf[pos++];
+            switch (tag) {
+                case NULL:
+                    return null;
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case BYTE:
+                    return buf[pos++];
+                case SHORT:
+                    return (short) readVarLong();
+                case INT:
+                    return (int) readVarLong();
+                case LONG:
+                    return readVarLong();
+                case FLOAT:
+                    return Float.intBitsToFloat(readInt());
+                case DOUBLE:
+                    return Double.longBitsToDouble(readLong());
+                case CHAR:
+                    return (char) readVarLong();
+                case STRING:
+                    return readString();
+                case BYTES:
+                    return readRaw();
+                case INTS: {
+                    int[] ints = new int[checkedLength(readVarInt())];
+                    for (int i = 0; i < ints.length; i++) ints[i] = (int) readVarLong();
+                    return ints;
+                }
+                case LONGS: {
+                    long[] longs = new long[checkedLength(readVarInt())];
+                    for (int i = 0; i < longs.length; i++) longs[i] = readVarLong();
+                    return longs;
+                }
+                case DOUBLES: {
+                    double[] doubles = new double[checkedLength(readVarInt())];
+                    for (int i = 0; i < doubles.length; i++) doubles[i] = Double.longBitsToDouble(readLong());
+                    return doubles;
+                }
+                case DECIMAL: {
+                    int scale = (int) readVarLong();
+                    return new BigDecimal(new BigInteger(readRaw()), scale);
+                }
+                case BIG_INTEGER:
+                    return new BigInteger(readRaw());
+                case LOCAL_DATE:
+                    return LocalDate.ofEpochDay(readVarLong());
+                case LOCAL_DATE_TIME: {
+                    LocalDate date = LocalDate.ofEpochDay(readVarLong());
+                    return LocalDateTime.of(date, java.time.LocalTime.ofNanoOfDay(readVarLong()));
+                }
+                case INSTANT: {
+                    long seconds = readVarLong();
+                    return Instant.ofEpochSecond(seconds, readVarLong());
+                }
+                case UUID_TAG: {
+                    long most = readLong();
+                    return new UUID(most, readLong());
+                }
+                case DATE:
+                    return new Date(readVarLong());
+                case ENUM: {
+                    Class<?> type = readClass();
+                    if (!type.isEnum()) throw new IOException("[EJM] Não é enum: " + type.getName());
+                    return type.getEnumConstants()[readVarInt()];
+                }
+                case ARRAY: {
+                    Class<?> component = readClass();
+                    Object[] array = (Object[]) java.lang.reflect.Array.newInstance(component, checkedLength(readVarInt()));
+                    for (int i = 0; i < array.length; i++) array[i] = read(depth + 1);
+                    return array;
+                }
+                case COLLECTION: {
+                    Class<?> type = readClass();
+                    int size = checkedLength(readVarInt());
+                    Collection<Object> collection = newCollection(type, size);
+                    for (int i = 0; i < size; i++) collection.add(read(depth + 1));
+                    return collection;
+                }
+                case MAP: {
+                    Class<?> type = readClass();
+                    int size = checkedLength(readVarInt());
+                    Map<Object, Object> map = newMap(type, size);
+                    for (int i = 0; i < size; i++) map.put(read(depth + 1), read(depth + 1));
+                    return map;
+                }
+                case OBJECT: {
+                    Class<?> type = readClass();
+                    Schema schema = SCHEMAS.get(type);
+                    if (!schema.supported) throw new IOException("[EJM] Tipo sem schema binário: " + type.getName());
+                    return schema.read(this, depth + 1);
+                }
+                case JAVA: {
+                    int length = checkedLength(readInt());
+                    int start = pos;
+                    pos += length;
+                    return JavaSerializationCodec.readObject(new ByteArrayInputStream(buf, start, length), filter);
+                }
+                default:
+                    throw new IOException("[EJM] Tag desconhecida: " + tag);
+            }
+        }
+
+        private Class<?> readClass() throws IOException {
+            int id = readVarInt();
+            if (id > 0) return classes.get(id - 1);
+
+            String name = readString();
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            if (loader == null) loader = EjmBinaryCodec.class.getClassLoader();
+            Class<?> type;
+            try {
+                type = Class.forName(name, false, loader);
+            } catch (ClassNotFoundException e) {
+                throw new IOException("[EJM] Classe não encontrada ao decodificar: " + name, e);
+            }
+            // antes de qualquer construtor rodar: só tipos alcançáveis pela assinatura do método
+            if (!filter.allows(type)) {
+                throw new InvalidClassException(name, "[EJM] Classe não permitida pela assinatura do método");
+            }
+            classes.add(type);
+            return type;
+        }
+
+        private int checkedLength(int length) throws IOException {
+            // cada elemento ocupa ao menos um byte: barra tamanhos forjados antes de alocar
+            if (length < 0 || length > buf.length - pos) {
+                throw new IOException("[EJM] Tamanho inválido: " + length);
+            }
+            return length;
+        }
+
+        byte[] readRaw() throws IOException {
+            int length = checkedLength(readVarInt());
+            byte[] bytes = new byte[length];
+            System.arraycopy(buf, pos, bytes, 0, length);
+            pos += length;
+            return bytes;
+        }
+
+        String readString() throws IOException {
+            int length = checkedLength(readVarInt());
+            String value = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return value;
+        }
+
+        int readVarInt() {
+            return (int) readUnsigned();
+        }
+
+        long readVarLong() {
+            long raw = readUnsigned();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        private long readUnsigned() {
+            long result = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buf[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return result;
+            }
+        }
+
+        int readInt() {
+            int value = ((buf[pos] & 0xFF) << 24) | ((buf[pos + 1] & 0xFF) << 16)
+                    | ((buf[pos + 2] & 0xFF) << 8) | (buf[pos + 3] & 0xFF);
+            pos += 4;
+            return value;
+        }
+
+        long readLong() {
+            long high = readInt() & 0xFFFFFFFFL;
+            return (high << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+    }
+
+    // ------------------------------------------------------------------ coleções
+
+    private static boolean isPlainCollection(Collection<?> collection) {
+        // ordenação customizada não cabe no formato: cai na serialização Java
+        return !(collection instanceof SortedSet<?> sorted && sorted.comparator() != null);
+    }
+
+    private static boolean isPlainMap(Map<?, ?> map) {
+        return !(map instanceof SortedMap<?, ?> sorted && sorted.comparator() != null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> newCollection(Class<?> type, int size) throws IOException {
+        if (!Collection.class.isAssignableFrom(type)) throw new IOException("[EJM] Não é coleção: " + type.getName());
+        Supplier<Object> factory = FACTORIES.get(type);
+        if (factory != null) return (Collection<Object>) factory.get();
+        // List.of(), Arrays.asList() etc. não têm construtor público: usa o equivalente mutável
+        return Set.class.isAssignableFrom(type) ? new LinkedHashSet<>(Math.max(16, size * 4 / 3 + 1)) : new ArrayList<>(size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> newMap(Class<?> type, int size) throws IOException {
+        if (!Map.class.isAssignableFrom(type)) throw new IOException("[EJM] Não é mapa: " + type.getName());
+        Supplier<Object> factory = FACTORIES.get(type);
+        if (factory != null) return (Map<Object, Object>) factory.get();
+        return new LinkedHashMap<>(Math.max(16, size * 4 / 3 + 1));
+    }
+
+    private static Supplier<Object> publicFactory(Class<?> type) {
+        if (!Modifier.isPublic(type.getModifiers()) || Modifier.isAbstract(type.getModifiers())) return null;
+        try {
+            MethodHandle constructor = MethodHandles.publicLookup()
+                    .findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return constructor.invokeExact();
+                } catch (Throwable e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    // ------------------------------------------------------------------ schema
+
+    /** Campos de uma classe e os handles para ler/gravar cada um, calculados uma única vez. */
+    private static final class Schema {
+        private static final Schema UNSUPPORTED = new Schema(false, null, null, null);
+
+        private final boolean supported;
+        private final FieldAccessor[] fields;
+        private final MethodHandle constructor;  // ()Object ou, em records, (Object[])Object
+        private final boolean record;
+
+        private Schema(boolean supported, FieldAccessor[] fields, MethodHandle constructor, Boolean record) {
+            this.supported = supported;
+            this.fields = fields;
+            this.constructor = constructor;
+            this.record = Boolean.TRUE.equals(record);
+        }
+
+        static Schema of(Class<?> type) {
+            if (!Serializable.class.isAssignableFrom(type)
+                    || Externalizable.class.isAssignableFrom(type)
+                    || type.isInterface() || type.isArray() || type.isHidden() || type.isSynthetic()
+                    || Modifier.isAbstract(type.getModifiers())
+                    || isPlatformClass(type)
+                    || hasCustomSerialization(type)) {
+                return UNSUPPORTED;
+            }
+
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                if (type.isRecord()) {
+                    RecordComponent[] components = type.getRecordComponents();
+                    FieldAccessor[] fields = new FieldAccessor[components.length];
+                    Class<?>[] types = new Class<?>[components.length];
+                    for (int i = 0; i < components.length; i++) {
+                        components[i].getAccessor().setAccessible(true);
+                        MethodHandle getter = lookup.unreflect(components[i].getAccessor());
+                        fields[i] = new FieldAccessor(components[i].getType(), getter, null);
+                        types[i] = components[i].getType();
+                    }
+                    Constructor<?> canonical = type.getDeclaredConstructor(types);
+                    canonical.setAccessible(true);
+                    MethodHandle constructor = lookup.unreflectConstructor(canonical)
+                            .asSpreader(Object[].class, components.length)
+                            .asType(MethodType.methodType(Object.class, Object[].class));
+                    return new Schema(true, fields, constructor, true);
+                }
+
+                Constructor<?> noArgs = type.getDeclaredConstructor();
+                noArgs.setAccessible(true);
+                MethodHandle constructor = lookup.unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+
+                List<FieldAccessor> fields = new ArrayList<>();
+                for (Class<?> current : hierarchy(type)) {
+                    Field[] declared = current.getDeclaredFields();
+                    java.util.Arrays.sort(declared, Comparator.comparing(Field::getName));
+                    for (Field field : declared) {
+                        int modifiers = field.getModifiers();
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) continue;
+                        field.setAccessible(true);
+                        fields.add(new FieldAccessor(field.getType(), lookup.unreflectGetter(field), lookup.unreflectSetter(field)));
+                    }
+                }
+                return new Schema(true, fields.toArray(new FieldAccessor[0]), constructor, false);
+
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // sem construtor vazio, módulo fechado etc.: fica com a serialização Java
+                return UNSUPPORTED;
+            }
+        }
+
+        void write(Writer writer, Object value, int depth) throws Throwable {
+            for (FieldAccessor field : fields) {
+                field.write(writer, value, depth);
+            }
+        }
+
+        Object read(Reader reader, int depth) throws Throwable {
+            if (record) {
+                Object[] values = new Object[fields.length];
+                for (int i = 0; i < fields.length; i++) {
+                    values[i] = fields[i].readBoxed(reader, depth);
+                }
+                return constructor.invokeExact(values);
+            }
+            Object instance = constructor.invokeExact();
+            for (FieldAccessor field : fields) {
+                field.read(reader, instance, depth);
+            }
+            return instance;
+        }
+
+        private static List<Class<?>> hierarchy(Class<?> type) {
+            List<Class<?>> chain = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                if (isPlatformClass(current)) {
+                    throw new IllegalStateException("superclasse do JDK: " + current.getName());
+                }
+                chain.add(0, current);
+            }
+            return chain;
+        }
+
+        private static boolean isPlatformClass(Class<?> type) {
+            String name = type.getName();
+            return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+        }
+
+        private static boolean hasCustomSerialization(Class<?> type) {
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (java.lang.reflect.Method method : current.getDeclaredMethods()) {
+                    String name = method.getName();
+                    if (!Modifier.isStatic(method.getModifiers())
+                            && (name.equals("writeObject") || name.equals("readObject") || name.equals("readObjectNoData")
+                            || name.equals("writeReplace") || name.equals("readResolve"))) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /** Acesso a um campo: primitivos usam handles com tipo exato, sem boxing. */
+    private static final class FieldAccessor {
+        private final Class<?> type;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        FieldAccessor(Class<?> type, MethodHandle getter, MethodHandle setter) {
+            Class<?> exposed = type.isPrimitive() ? type : Object.class;
+            this.type = type;
+            this.getter = getter.asType(MethodType.methodType(exposed, Object.class));
+            this.setter = setter == null ? null : setter.asType(MethodType.methodType(void.class, Object.class, exposed));
+        }
+
+        void write(Writer writer, Object target, int depth) throws Throwable {
+            Output out = writer.out;
+            if (type == int.class) out.writeVarLong((int) getter.invokeExact(target));
+            else if (type == long.class) out.writeVarLong((long) getter.invokeExact(target));
+            else if (type == boolean.class) out.writeByte((boolean) getter.invokeExact(target) ? 1 : 0);
+            else if (type == double.class) out.writeLong(Double.doubleToRawLongBits((double) getter.invokeExact(target)));
+            else if (type == float.class) out.writeInt(Float.floatToRawIntBits((float) getter.invokeExact(target)));
+            else if (type == short.class) out.writeVarLong((short) getter.invokeExact(target));
+            else if (type == byte.class) out.writeByte((byte) getter.invokeExact(target));
+            else if (type == char.class) out.writeVarLong((char) getter.invokeExact(target));
+            else writer.write((Object) getter.invokeExact(target), depth);
+        }
+
+        void read(Reader reader, Object target, int depth) throws Throwable {
+            if (type == int.class) setter.invokeExact(target, (int) reader.readVarLong());
+            else if (type == long.class) setter.invokeExact(target, reader.readVarLong());
+            else if (type == boolean.class) setter.invokeExact(target, reader.buf[reader.pos++] != 0);
+            else if (type == double.class) setter.invokeExact(target, Double.longBitsToDouble(reader.readLong()));
+            else if (type == float.class) setter.invokeExact(target, Float.intBitsToFloat(reader.readInt()));
+            else if (type == short.class) setter.invokeExact(target, (short) reader.readVarLong());
+            else if (type == byte.class) setter.invokeExact(target, reader.buf[reader.pos++]);
+            else if (type == char.class) setter.invokeExact(target, (char) reader.readVarLong());
+            else setter.invokeExact(target, checkType(reader.read(depth)));
+        }
+
+        Object readBoxed(Reader reader, int depth) throws Throwable {
+            if (type == int.class) return (int) reader.readVarLong();
+            if (type == long.class) return reader.readVarLong();
+            if (type == boolean.class) return reader.buf[reader.pos++] != 0;
+            if (type == double.class) return Double.longBitsToDouble(reader.readLong());
+            if (type == float.class) return Float.intBitsToFloat(reader.readInt());
+            if (type == short.class) return (short) reader.readVarLong();
+            if (type == byte.class) return reader.buf[reader.pos++];
+            if (type == char.class) return (char) reader.readVarLong();
+            return checkType(reader.read(depth));
+        }
+
+        private Object checkType(Object value) throws IOException {
+            if (value != null && !type.isInstance(value)) {
+                throw new IOException("[EJM] Tipo incompatível: esperado " + type.getName() + ", recebido " + value.getClass().getName());
+            }
+            return value;
+        }
+    }
+
+    // ------------------------------------------------------------------ buffer
+
+    /** Buffer de escrita reaproveitado por thread; também serve de destino para o fallback Java. */
+    private static final class Output extends java.io.OutputStream {
+        private byte[] buf;
+        private int pos;
+
+        Output(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void reset() {
+            pos = 0;
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = java.util.Arrays.copyOf(buf, Math.max(buf.length << 1, pos + extra));
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int off, int len) {
+            writeBytes(bytes, off, len);
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        void writeBytes(byte[] bytes, int off, int len) {
+            ensure(len);
+            System.arraycopy(bytes, off, buf, pos, len);
+            pos += len;
+        }
+
+        void writeVarInt(int value) {
+            writeUnsigned(value & 0xFFFFFFFFL);
+        }
+
+        /** ZigZag + varint: números pequenos (inclusive negativos) ocupam poucos bytes. */
+        void writeVarLong(long value) {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        private void writeUnsigned(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            putInt(pos, value);
+            pos += 4;
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        int reserveInt() {
+            ensure(4);
+            int at = pos;
+            pos += 4;
+            return at;
+        }
+
+        void putInt(int at, int value) {
+            buf[at] = (byte) (value >>> 24);
+            buf[at + 1] = (byte) (value >>> 16);
+            buf[at + 2] = (byte) (value >>> 8);
+            buf[at + 3] = (byte) value;
+        }
+
+        void writeString(String value) {
+            int length = value.length();
+            // caminho rápido para ASCII: sem array intermediário
+            ensure(5 + length);
+            int start = pos;
+            writeVarInt(length);
+            int body = pos;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    pos = start;
+                    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                    writeVarInt(utf8.length);
+                    writeBytes(utf8, 0, utf8.length);
+                    return;
+                }
+                buf[body + i] = (byte) c;
+            }
+            pos = body + length;
+        }
+
+        byte[] toByteArray() {
+            return java.util.Arrays.copyOf(buf, pos);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.ejm.ejm_config.codec;
+
+import java.io.IOException;
+
+/**
+ * Codec usado para serializar argumentos e resultados das chamadas remotas.
+ *
+ * Implementações adicionais podem ser registradas via {@link java.util.ServiceLoader}
+ * ({@code META-INF/services/br.com.ejm.ejm_config.codec.EjmCodec}) e selecionadas pelo
+ * nome em {@code @EjmService(codec = ...)} e no {@code <codec>} do config-ejm.xml.
+ */
+public interface EjmCodec {
+
+    String name();
+
+    byte[] encode(Object value) throws IOException;
+
+    Object decode(byte[] data) throws IOException;
+
+    /**
+     * Decodifica aceitando só as classes permitidas por {@code filter}. Codecs cujo formato não traz
+     * nomes de classes podem ignorá-lo; o padrão delega a {@link #decode(byte[])}.
+     */
+    default Object decode(byte[] data, EjmTypeFilter filter) throws IOException {
+        return decode(data);
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.ejm.ejm_config.codec;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro dos codecs disponíveis: os embutidos e os encontrados via {@link ServiceLoader}.
+ */
+public final class EjmCodecs {
+
+    private static final Map<String, EjmCodec> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        register(new JavaSerializationCodec());
+        register(new EjmBinaryCodec());
+        for (EjmCodec codec : ServiceLoader.load(EjmCodec.class, EjmCodecs.class.getClassLoader())) {
+            register(codec);
+        }
+    }
+
+    private EjmCodecs() {
+    }
+
+    public static void register(EjmCodec codec) {
+        CODECS.put(codec.name(), codec);
+    }
+
+    /**
+     * @throws IllegalArgumentException se não houver codec com esse nome
+     */
+    public static EjmCodec get(String name) {
+        EjmCodec codec = CODECS.get(name);
+        if (codec == null) {
+            throw new IllegalArgumentException("[EJM] Codec desconhecido: " + name + " (disponíveis: " + CODECS.keySet() + ")");
+        }
+        return codec;
+    }
+
+    public static boolean isJava(String name) {
+        return name == null || name.isBlank() || JavaSerializationCodec.NAME.equals(name);
+    }
+}
@@ -0,0 +1,241 @@
+package br.com.ejm.ejm_config.codec;
+
+import java.io.ObjectInputFilter;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.rmi.Remote;
+import java.rmi.server.RemoteObject;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classes que uma decodificação pode carregar, calculadas a partir da assinatura do método remoto.
+ *
+ * As mensagens trazem o nome das classes: sem filtro, quem envia escolhe qualquer classe do
+ * classpath, e o codec binário ainda chamaria o construtor vazio dela. O filtro aceita os tipos
+ * declarados nos parâmetros (ou no retorno e nas exceções) e o que eles alcançam — argumentos
+ * genéricos, componentes de arrays, campos e superclasses das classes da aplicação e as subclasses
+ * delas que chegarem — além dos tipos de valor do JDK gravados nativamente pelo codec binário, das
+ * coleções de {@code java.util} e dos stubs RMI.
+ *
+ * Posições declaradas sem tipo ({@code Object}, {@code Serializable}, coleções cruas, variáveis de
+ * tipo sem limite) não dizem o que pode chegar: nelas o filtro aceita qualquer classe, como o RMI.
+ */
+public final class EjmTypeFilter {
+
+    /** Sem restrição de classes; só os limites de {@link #asObjectInputFilter()}. */
+    public static final EjmTypeFilter OPEN = new EjmTypeFilter(false, true);
+
+    private static final int MAX_DEPTH = 512;
+
+    private static final Set<Class<?>> VALUES = Set.of(Object.class, String.class, Boolean.class, Byte.class,
+            Short.class, Integer.class, Long.class, Float.class, Double.class, Character.class, Number.class,
+            Enum.class, BigDecimal.class, BigInteger.class, LocalDate.class, LocalDateTime.class, Instant.class,
+            UUID.class, Date.class);
+
+    // Tipos que não restringem o que chega na posição declarada
+    private static final Set<Class<?>> UNTYPED = Set.of(Object.class, Serializable.class, Comparable.class,
+            Cloneable.class, Iterable.class, Collection.class, List.class, Set.class, Map.class);
+
+    // Exceções lançadas pela implementação chegam no resultado mesmo sem declaração, como no RMI
+    private final boolean throwables;
+
+    private final Set<Class<?>> allowed = ConcurrentHashMap.newKeySet();
+
+    // Classes da aplicação não finais aceitas: subclasses delas também são
+    private final Set<Class<?>> roots = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean open;
+
+    private EjmTypeFilter(boolean throwables, boolean open) {
+        this.throwables = throwables;
+        this.open = open;
+    }
+
+    /** Filtro dos argumentos de {@code method}. */
+    public static EjmTypeFilter forArguments(Method method) {
+        EjmTypeFilter filter = new EjmTypeFilter(false, false);
+        Set<Object> visited = new HashSet<>();
+        for (Type type : method.getGenericParameterTypes()) {
+            filter.add(type, Map.of(), visited);
+        }
+        return filter;
+    }
+
+    /** Filtro de um objeto gravado como {@code types} (arquivos locais, fora de uma chamada remota). */
+    public static EjmTypeFilter of(Type... types) {
+        EjmTypeFilter filter = new EjmTypeFilter(false, false);
+        Set<Object> visited = new HashSet<>();
+        for (Type type : types) {
+            filter.add(type, Map.of(), visited);
+        }
+        return filter;
+    }
+
+    /** Filtro do resultado de {@code method}: o tipo retornado e as exceções lançadas. */
+    public static EjmTypeFilter forResult(Method method) {
+        EjmTypeFilter filter = new EjmTypeFilter(true, false);
+        Set<Object> visited = new HashSet<>();
+        filter.add(method.getGenericReturnType(), Map.of(), visited);
+        for (Type type : method.getGenericExceptionTypes()) {
+            filter.add(type, Map.of(), visited);
+        }
+        return filter;
+    }
+
+    /** Aceita também {@code types} (envelopes do protocolo), sem seguir os campos deles. */
+    public EjmTypeFilter allowing(Class<?>... types) {
+        allowed.addAll(List.of(types));
+        return this;
+    }
+
+    public boolean allows(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (open || type.isPrimitive() || VALUES.contains(type) || allowed.contains(type)) return true;
+        if (isPlatformCollection(type)) return true;
+        // stubs RMI: a classe do proxy é aceita e as interfaces dele passam pelo filtro uma a uma;
+        // interfaces remotas não têm estado nem construtor
+        if (Proxy.isProxyClass(type) || type == Proxy.class
+                || (isPlatform(type) && RemoteObject.class.isAssignableFrom(type))
+                || (type.isInterface() && Remote.class.isAssignableFrom(type))) return true;
+        if (throwables && (Throwable.class.isAssignableFrom(type) || type == StackTraceElement.class)) {
+            if (!isPlatform(type)) accept(type);
+            return true;
+        }
+        if (isPlatform(type)) return false;
+
+        for (Class<?> root : roots) {
+            if (root.isAssignableFrom(type)) {
+                accept(type);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** O filtro como {@link ObjectInputFilter}, combinado com o filtro global da JVM ({@code jdk.serialFilter}). */
+    public ObjectInputFilter asObjectInputFilter() {
+        ObjectInputFilter global = ObjectInputFilter.Config.getSerialFilter();
+        return info -> {
+            if (global != null && global.checkInput(info) == ObjectInputFilter.Status.REJECTED) {
+                return ObjectInputFilter.Status.REJECTED;
+            }
+            if (info.depth() > MAX_DEPTH) return ObjectInputFilter.Status.REJECTED;
+            Class<?> type = info.serialClass();
+            if (type == null) return ObjectInputFilter.Status.UNDECIDED;
+            return allows(type) ? ObjectInputFilter.Status.ALLOWED : ObjectInputFilter.Status.REJECTED;
+        };
+    }
+
+    private synchronized void accept(Class<?> type) {
+        add(type, Map.of(), new HashSet<>());
+    }
+
+    private void add(Type type, Map<TypeVariable<?>, Type> bindings, Set<Object> visited) {
+        if (type instanceof Class<?> raw) {
+            while (raw.isArray()) {
+                raw = raw.getComponentType();
+            }
+            if (UNTYPED.contains(raw)) {
+                open = true;
+                return;
+            }
+            addClass(raw, Map.of(), visited);
+        } else if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            TypeVariable<?>[] variables = raw.getTypeParameters();
+            Type[] arguments = parameterized.getActualTypeArguments();
+            Map<TypeVariable<?>, Type> resolved = new HashMap<>();
+            List<Object> key = new ArrayList<>();
+            key.add(raw);
+            for (int i = 0; i < arguments.length && i < variables.length; i++) {
+                Type argument = arguments[i] instanceof TypeVariable<?> variable && bindings.containsKey(variable)
+                        ? bindings.get(variable)
+                        : arguments[i];
+                resolved.put(variables[i], argument);
+                key.add(argument);
+            }
+            if (!visited.add(key)) return;
+            for (Type argument : resolved.values()) {
+                add(argument, bindings, visited);
+            }
+            addClass(raw, resolved, visited);
+        } else if (type instanceof GenericArrayType array) {
+            add(array.getGenericComponentType(), bindings, visited);
+        } else if (type instanceof WildcardType wildcard) {
+            for (Type bound : wildcard.getUpperBounds()) {
+                add(bound, bindings, visited);
+            }
+        } else if (type instanceof TypeVariable<?> variable) {
+            Type bound = bindings.get(variable);
+            if (bound != null) {
+                add(bound, Map.of(), visited);
+            } else {
+                for (Type upper : variable.getBounds()) {
+                    add(upper, bindings, visited);
+                }
+            }
+        }
+    }
+
+    private void addClass(Class<?> type, Map<TypeVariable<?>, Type> bindings, Set<Object> visited) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) return;
+        if (bindings.isEmpty() && !visited.add(type)) return;
+
+        allowed.add(type);
+        if (isPlatform(type)) return;
+        if (!Modifier.isFinal(type.getModifiers())) {
+            roots.add(type);
+        }
+
+        // campos da aplicação e superclasse, com as variáveis de tipo resolvidas
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) continue;
+            add(field.getGenericType(), bindings, visited);
+        }
+        Type superclass = type.getGenericSuperclass();
+        if (superclass != null && superclass != Object.class) {
+            add(superclass, bindings, visited);
+        }
+    }
+
+    private static boolean isPlatformCollection(Class<?> type) {
+        String name = type.getName();
+        // Map.Entry[]: HashMap e HashSet validam a tabela interna no filtro antes de criá-la
+        return name.startsWith("java.util.")
+                && (Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)
+                || Map.Entry.class.isAssignableFrom(type) || name.equals("java.util.CollSer"));
+    }
+
+    private static boolean isPlatform(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.ejm.ejm_config.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+
+/**
+ * Serialização padrão do Java: o mesmo formato que o RMI usa, mantido como fallback.
+ */
+public class JavaSerializationCodec implements EjmCodec {
+
+    public static final String NAME = "java";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] data) throws IOException {
+        return decode(data, EjmTypeFilter.OPEN);
+    }
+
+    @Override
+    public Object decode(byte[] data, EjmTypeFilter filter) throws IOException {
+        return readObject(new ByteArrayInputStream(data), filter);
+    }
+
+    static Object readObject(InputStream input, EjmTypeFilter filter) throws IOException {
+        try (ObjectInputStream in = new ContextObjectInputStream(input)) {
+            in.setObjectInputFilter(filter.asObjectInputFilter());
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("[EJM] Classe não encontrada ao decodificar: " + e.getMessage(), e);
+        }
+    }
+
+    /** Resolve classes pelo classloader da thread (fat jars do Spring Boot). */
+    private static class ContextObjectInputStream extends ObjectInputStream {
+
+        ContextObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            if (loader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, loader);
+                } catch (ClassNotFoundException e) {
+                    // tenta o resolvedor padrão
+                }
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -1,10 +1,26 @@
 package br.com.ejm.ejm_config.config;
 
+import br.com.ejm.ejm_config.client.EjmAsync;
+import br.com.ejm.ejm_config.client.EjmAsyncInvoker;
+import br.com.ejm.ejm_config.client.EjmCircuitBreaker;
+import br.com.ejm.ejm_config.client.EjmClientProxy;
+import br.com.ejm.ejm_config.client.EjmEndpoint;
+import br.com.ejm.ejm_config.client.EjmEndpointSnapshot;
+import br.com.ejm.ejm_config.client.EjmServiceEndpoints;
+import br.com.ejm.ejm_config.client.EjmServiceOptions;
+import br.com.ejm.ejm_config.client.EjmStubResolver;
+import br.com.ejm.ejm_config.client.balancer.EjmLoadBalancer;
+import br.com.ejm.ejm_config.client.cache.EjmCacheManager;
+import br.com.ejm.ejm_config.client.limit.EjmConcurrencyLimiter;
 import br.com.ejm.ejm_config.monitor.RmiReconnectionMonitor;
+import br.com.ejm.ejm_config.transport.EjmMuxClient;
+import br.com.ejm.ejm_config.utils.EjmExecutors;
 import br.com.ejm.ejm_config.utils.PackageScanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
@@ -14,6 +30,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
@@ -21,16 +38,48 @@ import org.w3c.dom.NodeList;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.InputStream;
-import java.rmi.Naming;
+import java.nio.file.Path;
+import java.rmi.Remote;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 
 @Configuration(proxyBeanMethods = false)
-public class EjmClientAutoConfig implements BeanDefinitionRegistryPostProcessor, SmartInitializingSingleton, ApplicationContextAware {
+public class EjmClientAutoConfig implements BeanDefinitionRegistryPostProcessor, SmartInitializingSingleton, ApplicationContextAware, DisposableBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(EjmClientAutoConfig.class);
 
+    // Threads usadas para resolver os stubs em paralelo
+    private static final int DEFAULT_LOOKUP_THREADS = 8;
+
+    // Espera máxima de uma chamada sem deadline pelo lookup do stub
+    private static final int DEFAULT_LOOKUP_TIMEOUT = 10000;
+
+    // Monitor: intervalo entre pings, backoff máximo após falhas e timeout de cada ping
+    private static final int DEFAULT_MONITOR_INTERVAL = 5000;
+    private static final int DEFAULT_MONITOR_MAX_BACKOFF = 60000;
+    private static final int DEFAULT_PING_TIMEOUT = 2000;
+
+    // Máximo de chamadas EjmAsync simultâneas (somando todos os serviços)
+    private static final int DEFAULT_ASYNC_MAX_CONCURRENCY = 256;
+
+    // Renovação das assinaturas de invalidação de cache e porta do listener (0 = livre)
+    private static final int DEFAULT_CACHE_RENEW_INTERVAL = 10000;
+    private static final int DEFAULT_CACHE_CALLBACK_PORT = 0;
+
+    // Conexões persistentes por provider no transporte multiplexado
+    private static final int DEFAULT_MUX_CONNECTIONS = 2;
+
     private final List<RmiServiceConfig> services = new ArrayList<>();
     private ConfigurableApplicationContext context;
+    private Document config;
+    private RmiReconnectionMonitor monitor;
+    private ExecutorService asyncExecutor;
+    private EjmCacheManager cacheManager;
+    private EjmMuxClient muxClient;
+    private EjmStubResolver resolver;
+    private EjmEndpointSnapshot snapshot;
 
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
@@ -55,33 +104,100 @@ public class EjmClientAutoConfig implements BeanDefinitionRegistryPostProcessor,
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = factory.newDocumentBuilder();
             Document doc = builder.parse(input);
+            this.config = doc;
             NodeList rmiNodes = doc.getElementsByTagName("rmi");
 
+            int lookupThreads = intSetting(doc, "lookup-threads", DEFAULT_LOOKUP_THREADS);
+            long startupTimeout = intSetting(doc, "startup-timeout", 0);
+            muxClient = new EjmMuxClient(intSetting(doc, "mux-connections", DEFAULT_MUX_CONNECTIONS));
+            EjmStubResolver resolver = new EjmStubResolver(lookupThreads, muxClient,
+                    intSetting(doc, "lookup-timeout", DEFAULT_LOOKUP_TIMEOUT));
+            this.resolver = resolver;
+            int lookups = 0;
+            List<CompletableFuture<Remote>> initialLookups = new ArrayList<>();
+
+            // 🔹 Snapshot opcional: stubs da execução anterior, usados já no boot e revalidados em background
+            String snapshotFile = textSetting(doc, "snapshot-file");
+            int fromSnapshot = 0;
+            if (snapshotFile != null && !snapshotFile.isEmpty()) {
+                snapshot = new EjmEndpointSnapshot(Path.of(snapshotFile));
+                resolver.seed(snapshot.load());
+            }
+
+            int asyncMaxConcurrency = intSetting(doc, "async-max-concurrency", DEFAULT_ASYNC_MAX_CONCURRENCY);
+            asyncExecutor = EjmExecutors.newPerTaskExecutor("ejm-async", asyncMaxConcurrency);
+            Semaphore asyncPermits = new Semaphore(asyncMaxConcurrency);
+
+            EjmCacheManager caches = new EjmCacheManager(
+                    intSetting(doc, "cache-renew-interval", DEFAULT_CACHE_RENEW_INTERVAL),
+                    intSetting(doc, "cache-callback-port", DEFAULT_CACHE_CALLBACK_PORT));
+            this.cacheManager = caches;
+
             for (int i = 0; i < rmiNodes.getLength(); i++) {
                 Element rmiElem = (Element) rmiNodes.item(i);
                 String basePackage = rmiElem.getElementsByTagName("base-package").item(0).getTextContent();
-                String host = rmiElem.getElementsByTagName("host").item(0).getTextContent();
-                int port = Integer.parseInt(rmiElem.getElementsByTagName("port").item(0).getTextContent());
+                List<String> hosts = parseEndpoints(rmiElem);
+                String loadBalancer = childText(rmiElem, "load-balancer");
+                EjmServiceOptions options = parseOptions(rmiElem);
 
                 for (Class<?> iface : PackageScanner.findInterfaces(basePackage)) {
                     String serviceName = iface.getSimpleName();
-                    String rmiUrl = String.format("rmi://%s:%d/%s", host, port, serviceName);
-                    LOGGER.info("[EJM] 📡 Registrando stub: {} -> {}", serviceName, rmiUrl);
-
-                    try {
-                        Object stub = Naming.lookup(rmiUrl);
-                        RootBeanDefinition def = new RootBeanDefinition(iface);
-                        def.setInstanceSupplier(() -> iface.cast(stub));
-                        registry.registerBeanDefinition(serviceName, def);
-
-                        services.add(new RmiServiceConfig(serviceName, rmiUrl, iface));
-                        LOGGER.info("[EJM] ✅ Bean '{}' registrado como RMI stub.", serviceName);
-                    } catch (Exception ex) {
-                        LOGGER.error("[EJM] ❌ Falha ao conectar '{}': {}", serviceName, ex.getMessage());
+
+                    // 🔹 Lookup em background — o bean é registrado mesmo com o provider fora do ar
+                    List<EjmEndpoint> endpoints = new ArrayList<>();
+                    for (String hostPort : hosts) {
+                        // 🔹 Transporte multiplexado: conexão direta no muxPort do provider, sem registry
+                        String rmiUrl = options.isMux()
+                                ? EjmMuxClient.SCHEME + hostPort + "/" + serviceName
+                                : String.format("rmi://%s/%s", hostPort, serviceName);
+                        LOGGER.info("[EJM] 📡 Registrando stub: {} -> {}", serviceName, rmiUrl);
+
+                        EjmEndpoint endpoint = new EjmEndpoint(rmiUrl, resolver,
+                                new EjmCircuitBreaker(options.getCircuitFailures(), options.getCircuitOpenMillis()),
+                                options.newLimiter(rmiUrl));
+                        Remote saved = resolver.cached(rmiUrl);
+                        if (saved != null) {
+                            endpoint.getReference().swap(saved);
+                            fromSnapshot++;
+                        }
+                        initialLookups.add(endpoint.getReference().refresh());
+                        endpoints.add(endpoint);
+                        lookups++;
                     }
+                    EjmServiceEndpoints serviceEndpoints = new EjmServiceEndpoints(endpoints, EjmLoadBalancer.of(loadBalancer));
+                    EjmConcurrencyLimiter limiter = options.newLimiter(serviceName);
+
+                    RootBeanDefinition def = new RootBeanDefinition(iface);
+                    def.setInstanceSupplier(() -> EjmClientProxy.create(iface, serviceName, serviceEndpoints, options, limiter, caches));
+                    registry.registerBeanDefinition(serviceName, def);
+
+                    // 🔹 Variante assíncrona: injetável como EjmAsync<Interface>
+                    RootBeanDefinition asyncDef = new RootBeanDefinition(EjmAsync.class);
+                    asyncDef.setTargetType(ResolvableType.forClassWithGenerics(EjmAsync.class, iface));
+                    asyncDef.setInstanceSupplier(() -> new EjmAsyncInvoker<>(
+                            ((BeanFactory) registry).getBean(serviceName, iface), asyncExecutor, asyncPermits));
+                    registry.registerBeanDefinition(serviceName + "Async", asyncDef);
+
+                    services.add(new RmiServiceConfig(serviceName, iface, serviceEndpoints, limiter));
+                    LOGGER.info("[EJM] ✅ Bean '{}' registrado como proxy RMI ({} endpoint(s)).", serviceName, endpoints.size());
                 }
             }
 
+            if (snapshot != null) {
+                if (fromSnapshot > 0) {
+                    LOGGER.info("[EJM] 💾 {}/{} stubs carregados do snapshot; revalidação em background.", fromSnapshot, lookups);
+                }
+                EjmEndpointSnapshot target = snapshot;
+                CompletableFuture.allOf(initialLookups.toArray(CompletableFuture[]::new))
+                        .whenComplete((ignored, error) -> target.save(resolver.listings()));
+            }
+
+            // 🔹 Fase opcional: aguarda todos os lookups até o timeout configurado
+            if (startupTimeout > 0 && lookups > 0) {
+                int resolved = resolver.awaitAll(initialLookups, startupTimeout);
+                LOGGER.info("[EJM] 🔗 {}/{} stubs RMI resolvidos no startup.", resolved, lookups);
+            }
+
             LOGGER.info("[EJM] ✅ Registro de RMI Clients concluído.");
         } catch (Exception e) {
             LOGGER.error("[EJM] ❌ Erro geral ao registrar RMI clients: {}", e.getMessage(), e);
@@ -102,15 +218,119 @@ public class EjmClientAutoConfig implements BeanDefinitionRegistryPostProcessor,
 
         LOGGER.info("[EJM] 🧠 Iniciando monitoramento RMI em background...");
 
-        Thread monitorThread = new Thread(new RmiReconnectionMonitor(context, services), "ejm-rmi-monitor");
-        monitorThread.setDaemon(true);
-        monitorThread.start();
+        monitor = new RmiReconnectionMonitor(services,
+                intSetting(config, "monitor-interval", DEFAULT_MONITOR_INTERVAL),
+                intSetting(config, "monitor-max-backoff", DEFAULT_MONITOR_MAX_BACKOFF),
+                intSetting(config, "ping-timeout", DEFAULT_PING_TIMEOUT));
+        monitor.start();
+    }
+
+    @Override
+    public void destroy() {
+        if (monitor != null) {
+            monitor.stop();
+        }
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdownNow();
+        }
+        if (cacheManager != null) {
+            cacheManager.shutdown();
+        }
+        if (muxClient != null) {
+            muxClient.close();
+        }
+        if (snapshot != null) {
+            snapshot.save(resolver.listings());
+        }
+        if (resolver != null) {
+            resolver.shutdown();
+        }
     }
 
     public List<RmiServiceConfig> getServices() {
         return services;
     }
 
+    /**
+     * Lê os endpoints de um bloco {@code <rmi>}: vários {@code <endpoint>} com host/port
+     * ou, no formato simples, um único host/port direto no bloco.
+     */
+    private static List<String> parseEndpoints(Element rmiElem) {
+        List<String> endpoints = new ArrayList<>();
+        NodeList endpointNodes = rmiElem.getElementsByTagName("endpoint");
+
+        if (endpointNodes.getLength() == 0) {
+            endpoints.add(childText(rmiElem, "host") + ":" + Integer.parseInt(childText(rmiElem, "port")));
+            return endpoints;
+        }
+
+        for (int i = 0; i < endpointNodes.getLength(); i++) {
+            Element endpointElem = (Element) endpointNodes.item(i);
+            endpoints.add(childText(endpointElem, "host") + ":" + Integer.parseInt(childText(endpointElem, "port")));
+        }
+        return endpoints;
+    }
+
+    /** Deadlines, circuit breaker, hedging e limite de concorrência de um bloco {@code <rmi>}. */
+    private static EjmServiceOptions parseOptions(Element rmiElem) {
+        EjmServiceOptions options = new EjmServiceOptions();
+
+        String timeout = childText(rmiElem, "timeout");
+        if (timeout != null) options.setTimeoutMillis(Long.parseLong(timeout));
+
+        NodeList methodTimeouts = rmiElem.getElementsByTagName("method-timeout");
+        for (int i = 0; i < methodTimeouts.getLength(); i++) {
+            Element methodElem = (Element) methodTimeouts.item(i);
+            options.getMethodTimeouts().put(methodElem.getAttribute("method"),
+                    Long.parseLong(methodElem.getTextContent().trim()));
+        }
+
+        String circuitFailures = childText(rmiElem, "circuit-failures");
+        if (circuitFailures != null) options.setCircuitFailures(Integer.parseInt(circuitFailures));
+
+        String circuitOpenTimeout = childText(rmiElem, "circuit-open-timeout");
+        if (circuitOpenTimeout != null) options.setCircuitOpenMillis(Long.parseLong(circuitOpenTimeout));
+
+        options.setHedge(Boolean.parseBoolean(childText(rmiElem, "hedge")));
+
+        options.setConcurrencyLimiter(childText(rmiElem, "concurrency-limiter"));
+        String concurrencyInitial = childText(rmiElem, "concurrency-initial");
+        if (concurrencyInitial != null) options.setConcurrencyInitial(Integer.parseInt(concurrencyInitial));
+        String concurrencyMax = childText(rmiElem, "concurrency-max");
+        if (concurrencyMax != null) options.setConcurrencyMax(Integer.parseInt(concurrencyMax));
+        String queueTimeout = childText(rmiElem, "concurrency-queue-timeout");
+        if (queueTimeout != null) options.setConcurrencyQueueTimeoutMillis(Long.parseLong(queueTimeout));
+
+        options.setCoalesce(Boolean.parseBoolean(childText(rmiElem, "coalesce")));
+        String coalesceMaxWait = childText(rmiElem, "coalesce-max-wait");
+        if (coalesceMaxWait != null) options.setCoalesceMaxWaitMillis(Long.parseLong(coalesceMaxWait));
+
+        options.setCodec(childText(rmiElem, "codec"));
+        options.setTransport(childText(rmiElem, "transport"));
+        return options;
+    }
+
+    /** Texto do primeiro elemento filho com a tag informada, ou {@code null}. */
+    private static String childText(Element parent, String tag) {
+        NodeList nodes = parent.getElementsByTagName(tag);
+        return nodes.getLength() == 0 ? null : nodes.item(0).getTextContent().trim();
+    }
+
+    /** Lê um valor inteiro opcional do bloco {@code <client>} do config-ejm.xml. */
+    private static int intSetting(Document doc, String tag, int defaultValue) {
+        String value = textSetting(doc, tag);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    /** Lê um valor opcional do bloco {@code <client>} do config-ejm.xml, ou {@code null}. */
+    private static String textSetting(Document doc, String tag) {
+        NodeList clientNodes = doc.getElementsByTagName("client");
+        if (clientNodes.getLength() == 0) return null;
+        return childText((Element) clientNodes.item(0), tag);
+    }
+
     // Classe auxiliar para armazenar configs de cada serviço
-    public record RmiServiceConfig(String name, String url, Class<?> iface) {}
+    // limiter: limite de concorrência do serviço (null quando desligado)
+    public record RmiServiceConfig(String name, Class<?> iface, EjmServiceEndpoints endpoints,
+                                   EjmConcurrencyLimiter limiter) {}
 }
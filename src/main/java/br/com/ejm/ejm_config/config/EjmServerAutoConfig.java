@@ -1,28 +1,70 @@
 package br.com.ejm.ejm_config.config;
 
+import br.com.ejm.ejm_config.annotations.EjmLane;
 import br.com.ejm.ejm_config.annotations.EjmService;
+import br.com.ejm.ejm_config.registry.EjmRegistryManager;
+import br.com.ejm.ejm_config.remote.EjmInvocationEndpoint;
+import br.com.ejm.ejm_config.server.EjmBlobExporter;
+import br.com.ejm.ejm_config.server.EjmCacheInvalidator;
+import br.com.ejm.ejm_config.server.EjmDispatcher;
+import br.com.ejm.ejm_config.server.EjmInterceptor;
+import br.com.ejm.ejm_config.server.EjmInvocationEndpointImpl;
+import br.com.ejm.ejm_config.server.EjmMetricsInterceptor;
+import br.com.ejm.ejm_config.server.EjmMuxEndpoint;
+import br.com.ejm.ejm_config.server.EjmServiceInvoker;
+import br.com.ejm.ejm_config.server.EjmStreamExporter;
+import br.com.ejm.ejm_config.transport.EjmClientSocketFactory;
+import br.com.ejm.ejm_config.transport.EjmCompressionClientSocketFactory;
+import br.com.ejm.ejm_config.transport.EjmCompressionServerSocketFactory;
+import br.com.ejm.ejm_config.transport.EjmServerSocketFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.stereotype.Component;
 
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
-import java.rmi.Naming;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.rmi.NoSuchObjectException;
 import java.rmi.Remote;
-import java.rmi.registry.LocateRegistry;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
 import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
-public class EjmServerAutoConfig implements ApplicationContextAware, SmartInitializingSingleton {
+public class EjmServerAutoConfig implements ApplicationContextAware, SmartInitializingSingleton, DisposableBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EjmServerAutoConfig.class);
     private ApplicationContext context;
 
+    // Controle de admissão por serviço exportado (apenas os que definem maxConcurrency)
+    private final Map<String, EjmDispatcher> dispatchers = new ConcurrentHashMap<>();
+
+    // Objetos exportados aqui, liberados no fechamento do contexto
+    private final List<Remote> exported = new ArrayList<>();
+    private final List<EjmStreamExporter> streamExporters = new ArrayList<>();
+
+    // Registries por porta (criados no máximo uma vez) e o diretório de serviços de cada um
+    private final EjmRegistryManager registryManager = new EjmRegistryManager();
+
+    // Transporte multiplexado por porta (serviços com o mesmo muxPort compartilham o selector)
+    private final Map<Integer, EjmMuxEndpoint> muxEndpoints = new ConcurrentHashMap<>();
+
+    // Canais de blobs por porta (serviços com o mesmo blobPort compartilham o canal)
+    private final Map<Integer, EjmBlobExporter> blobExporters = new ConcurrentHashMap<>();
+
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
         this.context = applicationContext;
@@ -68,6 +110,18 @@ public class EjmServerAutoConfig implements ApplicationContextAware, SmartInitia
             return;
         }
 
+        EjmCacheInvalidator invalidator = context.getBeanProvider(EjmCacheInvalidator.class)
+                .getIfAvailable(EjmCacheInvalidator::new);
+
+        // Interceptors da aplicação, na ordem de @Order/Ordered
+        List<EjmInterceptor> interceptors = context.getBeanProvider(EjmInterceptor.class).orderedStream().toList();
+        if (!interceptors.isEmpty()) {
+            LOGGER.info("[EJM] 🔗 {} interceptor(s) aplicados aos serviços exportados.", interceptors.size());
+        }
+
+        // Nomes de cada registry, publicados de uma vez depois de exportar todos os serviços
+        Map<Integer, Bindings> bindings = new LinkedHashMap<>();
+
         for (Map.Entry<String, Object> entry : remotes.entrySet()) {
             Object bean = entry.getValue();
             EjmService annotation = bean.getClass().getAnnotation(EjmService.class);
@@ -80,62 +134,168 @@ public class EjmServerAutoConfig implements ApplicationContextAware, SmartInitia
                     : annotation.name();
 
             try {
-                // 🔹 Sobe um registry na porta informada (1099 normalmente)
-                try {
-                    LocateRegistry.createRegistry(registryPort);
-                    LOGGER.info("[EJM] 🚀 RMI Registry iniciado na porta {}.", registryPort);
-                } catch (Exception e) {
-                    LOGGER.info("[EJM] ℹ️ RMI Registry já em execução na porta {}.", registryPort);
-                }
-
-                // 🔹 Injeta ping() caso a interface não tenha
-                Object wrapped = wrapIfMissingPing(bean, bean.getClass().getInterfaces()[0]);
-
                 // 🔹 EXPORTAÇÃO CORRIGIDA — usa porta fixa (NÃO usar 0 no Kubernetes)
-                Remote stub = (Remote) UnicastRemoteObject.exportObject((Remote) wrapped, exportPort);
+                // 🔹 O client socket factory aplica no cliente o deadline de cada chamada
+                // 🔹 Com compressão, cliente e servidor trocam frames comprimidos acima do threshold
+                RMIClientSocketFactory csf = annotation.compression()
+                        ? new EjmCompressionClientSocketFactory(annotation.compressionThreshold())
+                        : new EjmClientSocketFactory();
+                RMIServerSocketFactory ssf = annotation.compression()
+                        ? new EjmCompressionServerSocketFactory(annotation.compressionThreshold())
+                        : new EjmServerSocketFactory();
 
                 // 🔹 Define URL com hostname público configurado no inicio
                 String host = System.getProperty("java.rmi.server.hostname");
                 String rmiUrl = String.format("rmi://%s:%d/%s", host, registryPort, name);
+                Bindings names = bindings.computeIfAbsent(registryPort, port -> new Bindings(exportPort, csf, ssf));
 
-                Naming.rebind(rmiUrl, stub);
+                Set<Integer> lanePorts = new HashSet<>();
+                for (EjmLane lane : annotation.lanes()) {
+                    if (lane.name().isBlank() || lane.name().equals(EjmLane.DEFAULT) || lane.exportPort() == exportPort) {
+                        throw new IllegalArgumentException("[EJM] Faixa inválida em '" + name + "': '" + lane.name()
+                                + "' (exportPort=" + lane.exportPort() + ")");
+                    }
+                    // duas faixas na mesma porta dividiriam as conexões que deveriam separar
+                    if (!lanePorts.add(lane.exportPort())) {
+                        throw new IllegalArgumentException("[EJM] Faixas de '" + name + "' com a mesma exportPort="
+                                + lane.exportPort() + ": '" + lane.name() + "'");
+                    }
+                }
+
+                Class<?> iface = bean.getClass().getInterfaces()[0];
+                export(name, bean, iface, annotation, exportPort, annotation.maxConcurrency(), annotation.queueDepth(),
+                        annotation.queueTimeout(), csf, ssf, interceptors, invalidator, names.stubs());
+
+                // 🔹 Faixas de prioridade: o mesmo bean em outra porta, com admissão própria (Servico@faixa)
+                for (EjmLane lane : annotation.lanes()) {
+                    export(name + EjmLane.SEPARATOR + lane.name(), bean, iface, annotation, lane.exportPort(),
+                            lane.maxConcurrency(), lane.queueDepth(), lane.queueTimeout(), csf, ssf, interceptors,
+                            invalidator, names.stubs());
+                    LOGGER.info("[EJM] 🛣️ Faixa '{}' de '{}' exportada. (exportPort={}, maxConcurrency={})",
+                            lane.name(), name, lane.exportPort(),
+                            lane.maxConcurrency() > 0 ? lane.maxConcurrency() + " (fila " + lane.queueDepth() + ")" : "off");
+                }
 
-                LOGGER.info("[EJM] ✅ Serviço '{}' exportado em '{}'. (exportPort={})",
-                        name, rmiUrl, exportPort);
+                LOGGER.info("[EJM] ✅ Serviço '{}' exportado em '{}'. (exportPort={}, codec={}, compression={}, maxConcurrency={})",
+                        name, rmiUrl, exportPort, annotation.codec(),
+                        annotation.compression() ? "> " + annotation.compressionThreshold() + " bytes" : "off",
+                        annotation.maxConcurrency() > 0
+                                ? annotation.maxConcurrency() + " (fila " + annotation.queueDepth() + ")"
+                                : "off");
 
             } catch (Exception e) {
                 LOGGER.error("[EJM] ❌ Falha ao exportar '{}': {}", name, e.getMessage(), e);
             }
         }
+
+        // 🔹 Um registry por porta (1099 normalmente), com todos os nomes e o diretório versionado
+        for (Map.Entry<Integer, Bindings> entry : bindings.entrySet()) {
+            Bindings names = entry.getValue();
+            try {
+                registryManager.bindAll(entry.getKey(), names.stubs(), names.exportPort(), names.csf(), names.ssf());
+            } catch (Exception e) {
+                LOGGER.error("[EJM] ❌ Falha ao publicar {} no registry da porta {}: {}",
+                        names.stubs().keySet(), entry.getKey(), e.getMessage(), e);
+            }
+        }
     }
 
+    /** Stubs de um registry; o diretório é exportado com a porta e os factories do primeiro serviço. */
+    private record Bindings(int exportPort, RMIClientSocketFactory csf, RMIServerSocketFactory ssf,
+                            Map<String, Remote> stubs) {
+        Bindings(int exportPort, RMIClientSocketFactory csf, RMIServerSocketFactory ssf) {
+            this(exportPort, csf, ssf, new LinkedHashMap<>());
+        }
+    }
 
-    /** Injeta automaticamente um método ping() se não existir */
-    private Object wrapIfMissingPing(Object target, Class<?> iface) {
-        boolean hasPing = false;
-        for (Method method : iface.getMethods()) {
-            if (method.getName().equals("ping") && method.getParameterCount() == 0) {
-                hasPing = true;
-                break;
-            }
+    /**
+     * Exporta o serviço (ou uma faixa dele) e o endpoint embutido na porta informada, com uma cadeia
+     * própria, e acrescenta os stubs aos nomes do registry.
+     */
+    private void export(String name, Object bean, Class<?> iface, EjmService annotation, int exportPort,
+                        int maxConcurrency, int queueDepth, long queueTimeout,
+                        RMIClientSocketFactory csf, RMIServerSocketFactory ssf, List<EjmInterceptor> interceptors,
+                        EjmCacheInvalidator invalidator, Map<String, Remote> stubs) throws Exception {
+        // 🔹 Pipeline de invocação: invoker direto por método + interceptors, montados uma vez aqui
+        // 🔹 Métricas por método (JMX) primeiro, para medir também a espera na fila de admissão
+        // 🔹 Com maxConcurrency, o excesso de chamadas é recusado em vez de esgotar threads do provider
+        List<EjmInterceptor> chain = new ArrayList<>();
+        chain.add(new EjmMetricsInterceptor());
+        if (maxConcurrency > 0) {
+            EjmDispatcher dispatcher = new EjmDispatcher(name, maxConcurrency, queueDepth, queueTimeout);
+            chain.add(dispatcher);
+            dispatchers.put(name, dispatcher);
         }
+        chain.addAll(interceptors);
+        // 🔹 Métodos que retornam EjmStream: cursor remoto na mesma porta, no lugar da fonte
+        EjmStreamExporter streams = new EjmStreamExporter(exportPort, csf, ssf);
+        chain.add(streams);
+        streamExporters.add(streams);
+        // 🔹 Métodos que retornam EjmBlob: bytes por um canal próprio (blobPort), fora da serialização do RMI
+        chain.add(blobExporters.computeIfAbsent(annotation.blobPort(), EjmBlobExporter::new));
+        EjmServiceInvoker invoker = new EjmServiceInvoker(name, bean, iface, chain);
+
+        Remote proxy = (Remote) invoker.getProxy();
+        Remote stub = UnicastRemoteObject.exportObject(proxy, exportPort, csf, ssf);
+        exported.add(proxy);
+        stubs.put(name, stub);
 
-        if (hasPing) {
-            LOGGER.debug("[EJM] Interface '{}' já possui ping().", iface.getSimpleName());
-            return target;
+        // 🔹 Endpoint embutido (lotes, chamadas codificadas e assinaturas de cache) na mesma porta de exportação
+        Remote invocationEndpoint = new EjmInvocationEndpointImpl(invoker, annotation.codec(), invalidator);
+        Remote invocationStub = UnicastRemoteObject.exportObject(invocationEndpoint, exportPort, csf, ssf);
+        exported.add(invocationEndpoint);
+        stubs.put(name + EjmInvocationEndpoint.NAME_SUFFIX, invocationStub);
+
+        // 🔹 Transporte multiplexado: mesmas cadeias do serviço e do endpoint embutido, numa porta NIO
+        // 🔹 As faixas compartilham as conexões multiplexadas; a admissão continua separada
+        if (annotation.muxPort() > 0) {
+            EjmMuxEndpoint mux = muxEndpoints.computeIfAbsent(annotation.muxPort(), EjmServerAutoConfig::openMux);
+            mux.register(name, invoker, annotation.codec());
+            mux.register(name + EjmInvocationEndpoint.NAME_SUFFIX, new EjmServiceInvoker(
+                    name + EjmInvocationEndpoint.NAME_SUFFIX, invocationEndpoint, EjmInvocationEndpoint.class, List.of()),
+                    null);
+            LOGGER.info("[EJM] 🔀 Serviço '{}' disponível no transporte multiplexado (muxPort={}).", name, mux.getPort());
         }
+    }
 
-        LOGGER.debug("[EJM] Interface '{}' sem ping() — injetando ping automático.", iface.getSimpleName());
+    private static EjmMuxEndpoint openMux(int port) {
+        try {
+            return new EjmMuxEndpoint(port);
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EJM] Não foi possível abrir o transporte multiplexado na porta " + port, e);
+        }
+    }
 
-        return Proxy.newProxyInstance(
-                iface.getClassLoader(),
-                new Class[]{iface},
-                (proxy, method, args) -> {
-                    if (method.getName().equals("ping") && method.getParameterCount() == 0) {
-                        return true;
-                    }
-                    return method.invoke(target, args);
-                }
-        );
+    /**
+     * Fecha os streams abertos, os canais de blobs e o transporte multiplexado, remove os serviços do
+     * RMI e fecha os registries criados por este contexto, liberando as portas (e as threads do RMI)
+     * para um novo contexto no mesmo processo.
+     */
+    @Override
+    public void destroy() {
+        streamExporters.forEach(EjmStreamExporter::closeAll);
+        streamExporters.clear();
+        blobExporters.values().forEach(EjmBlobExporter::close);
+        blobExporters.clear();
+        muxEndpoints.values().forEach(EjmMuxEndpoint::close);
+        muxEndpoints.clear();
+
+        registryManager.close();
+        for (Remote object : exported) {
+            try {
+                UnicastRemoteObject.unexportObject(object, true);
+            } catch (NoSuchObjectException e) {
+                // já removido
+            }
+        }
+        if (!exported.isEmpty()) {
+            LOGGER.info("[EJM] 🛑 {} objeto(s) RMI removidos da exportação.", exported.size());
+        }
+        exported.clear();
+    }
+
+    /** Controles de admissão dos serviços exportados com maxConcurrency. */
+    public Collection<EjmDispatcher> getDispatchers() {
+        return Collections.unmodifiableCollection(dispatchers.values());
     }
 }
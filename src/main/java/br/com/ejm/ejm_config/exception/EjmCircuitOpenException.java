@@ -0,0 +1,13 @@
+package br.com.ejm.ejm_config.exception;
+
+import java.rmi.RemoteException;
+
+/** Todos os endpoints do serviço estão com o circuit breaker aberto. */
+public class EjmCircuitOpenException extends RemoteException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EjmCircuitOpenException(String message) {
+        super(message);
+    }
+}
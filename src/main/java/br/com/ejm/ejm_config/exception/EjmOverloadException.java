@@ -0,0 +1,13 @@
+package br.com.ejm.ejm_config.exception;
+
+import java.rmi.RemoteException;
+
+/** Chamada recusada pelo provider por excesso de carga; não chegou a ser executada. */
+public class EjmOverloadException extends RemoteException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EjmOverloadException(String message) {
+        super(message);
+    }
+}
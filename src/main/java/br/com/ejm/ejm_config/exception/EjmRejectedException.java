@@ -0,0 +1,13 @@
+package br.com.ejm.ejm_config.exception;
+
+import java.rmi.RemoteException;
+
+/** Chamada rejeitada no cliente pelo limite de concorrência do serviço ou do endpoint. */
+public class EjmRejectedException extends RemoteException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EjmRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package br.com.ejm.ejm_config.exception;
+
+import java.rmi.RemoteException;
+
+/** Chamada remota não concluída dentro do deadline configurado. */
+public class EjmTimeoutException extends RemoteException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EjmTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.ejm.ejm_config.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de uma chamada remota feita pelo proxy do cliente. O threshold padrão (20 ms) pode
+ * ser trocado na configuração da gravação ({@code br.com.ejm.ClientCall#threshold}).
+ */
+@Name("br.com.ejm.ClientCall")
+@Label("EJM Client Call")
+@Category({"EJM", "RMI"})
+@Description("Chamada remota feita pelo proxy EJM")
+@Threshold("20 ms")
+public class EjmClientCallEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Queue Time")
+    @Description("Espera no limite de concorrência do cliente")
+    @Timespan
+    public long queue;
+
+    @Label("Serialize Time")
+    @Description("Codificação e decodificação pelo codec; 0 com a serialização do RMI")
+    @Timespan
+    public long serialize;
+
+    @Label("Network + Server Time")
+    @Timespan
+    public long remote;
+
+    @Label("Bytes Out")
+    @DataAmount
+    public long bytesOut;
+
+    @Label("Bytes In")
+    @DataAmount
+    public long bytesIn;
+
+    @Label("Error")
+    public String error;
+}
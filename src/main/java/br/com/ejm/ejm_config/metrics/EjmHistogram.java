@@ -0,0 +1,108 @@
+package br.com.ejm.ejm_config.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências com buckets logarítmicos: 4 por potência de 2, de ~1 µs a ~36 min
+ * (erro relativo máximo de 25% nos percentis). Fora dessa faixa o percentil é limitado pelo máximo observado. Cada bucket é um {@link LongAdder}, então
+ * threads que registram ao mesmo tempo não disputam a mesma linha de cache.
+ */
+public class EjmHistogram {
+
+    private static final int SUB_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    // 2^10 ns ≈ 1 µs; abaixo disso tudo cai no primeiro bucket
+    private static final int MIN_EXP = 10;
+    // 2^40 ns ≈ 18 min; de 2^41 ns para cima tudo cai no último bucket, que não tem limite superior
+    private static final int MAX_EXP = 40;
+
+    private static final int BUCKETS = 2 + (MAX_EXP - MIN_EXP + 1) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public EjmHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets[index(nanos)].increment();
+        count.increment();
+        sumNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    static int index(long nanos) {
+        if (nanos < (1L << MIN_EXP)) return 0;
+
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exp > MAX_EXP) return BUCKETS - 1;
+
+        int sub = (int) (nanos >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return 1 + (exp - MIN_EXP) * SUB_BUCKETS + sub;
+    }
+
+    /** Limite superior (exclusivo) do bucket, em nanossegundos. */
+    static long upperBound(int index) {
+        if (index == 0) return 1L << MIN_EXP;
+        if (index == BUCKETS - 1) return Long.MAX_VALUE;
+
+        int exp = MIN_EXP + (index - 1) / SUB_BUCKETS;
+        int sub = (index - 1) % SUB_BUCKETS;
+        long step = 1L << (exp - SUB_BITS);
+        return (1L << exp) + (sub + 1) * step;
+    }
+
+    /**
+     * Latência abaixo da qual está a fração {@code quantile} das chamadas (limite superior do
+     * bucket, nunca acima do máximo observado); 0 sem amostras.
+     */
+    public long percentileNanos(double quantile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) return 0;
+
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double meanNanos() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sumNanos.sum() / n;
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        sumNanos.reset();
+        maxNanos.reset();
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.ejm.ejm_config.metrics;
+
+import br.com.ejm.ejm_config.transport.EjmWireMeter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de um método remoto, no cliente ou no servidor.
+ *
+ * Uso: {@code metrics.begin(); ... metrics.end(duracao, falhou);}. Todos os contadores
+ * são {@link LongAdder}s; os bytes chegam pelo {@link EjmWireMeter}.
+ */
+public class EjmMethodMetrics implements EjmMethodMetricsMBean, EjmWireMeter.Sink {
+
+    private final String service;
+    private final String method;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final EjmHistogram latency = new EjmHistogram();
+
+    EjmMethodMetrics(String service, String method) {
+        this.service = service;
+        this.method = method;
+    }
+
+    public void begin() {
+        inFlight.increment();
+    }
+
+    public void end(long durationNanos, boolean failed) {
+        latency.record(durationNanos);
+        inFlight.decrement();
+        calls.increment();
+        if (failed) errors.increment();
+    }
+
+    @Override
+    public void addBytesIn(long bytes) {
+        bytesIn.add(bytes);
+    }
+
+    @Override
+    public void addBytesOut(long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    public EjmHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String getService() {
+        return service;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    @Override
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    @Override
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.meanNanos() / 1000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latency.percentileNanos(0.50) / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latency.percentileNanos(0.99) / 1000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latency.percentileNanos(0.999) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latency.maxNanos() / 1000.0;
+    }
+
+    /** Zera os contadores; chamadas em andamento continuam contadas em {@code inFlight}. */
+    @Override
+    public void reset() {
+        calls.reset();
+        errors.reset();
+        bytesIn.reset();
+        bytesOut.reset();
+        latency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s.%s calls=%d errors=%d p50=%.0fus p99=%.0fus p999=%.0fus in=%dB out=%dB",
+                service, method, getCalls(), getErrors(), getP50Micros(), getP99Micros(), getP999Micros(),
+                getBytesIn(), getBytesOut());
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.ejm.ejm_config.metrics;
+
+/**
+ * Métricas de um método remoto expostas via JMX ({@code br.com.ejm:type=Client|Server,service=...,method=...}).
+ * Latências em microssegundos.
+ */
+public interface EjmMethodMetricsMBean {
+
+    String getService();
+
+    String getMethod();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getInFlight();
+
+    long getBytesIn();
+
+    long getBytesOut();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
@@ -0,0 +1,111 @@
+package br.com.ejm.ejm_config.metrics;
+
+import br.com.ejm.ejm_config.transport.EjmWireMeter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Métricas por serviço e método, do cliente e do servidor, somadas para todo o processo.
+ *
+ * Cada método ganha um MBean {@code br.com.ejm:type=Client|Server,service=...,method=...} na
+ * primeira chamada; {@code br.com.ejm:type=Metrics} liga e desliga a coleta em tempo de execução.
+ * O estado inicial vem da propriedade de sistema {@code ejm.metrics} (padrão: ligada).
+ */
+public final class EjmMetrics implements EjmMetricsMBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmMetrics.class);
+
+    private static final String DOMAIN = "br.com.ejm";
+
+    public enum Side {
+        CLIENT("Client"), SERVER("Server");
+
+        private final String type;
+
+        Side(String type) {
+            this.type = type;
+        }
+    }
+
+    private static final EjmMetrics GLOBAL = new EjmMetrics();
+
+    static {
+        GLOBAL.enabled = Boolean.parseBoolean(System.getProperty("ejm.metrics", "true"));
+        EjmWireMeter.setEnabled(GLOBAL.enabled);
+        register(DOMAIN + ":type=Metrics", GLOBAL);
+    }
+
+    private final Map<String, EjmMethodMetrics> methods = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    private EjmMetrics() {
+    }
+
+    public static EjmMetrics global() {
+        return GLOBAL;
+    }
+
+    /** Leitura do chaveamento no caminho de cada chamada. */
+    public static boolean enabled() {
+        return GLOBAL.enabled;
+    }
+
+    /** Métricas do método, criadas (e registradas no JMX) na primeira vez. */
+    public EjmMethodMetrics method(Side side, String service, String method) {
+        return methods.computeIfAbsent(side.type + '|' + service + '|' + method, key -> {
+            EjmMethodMetrics metrics = new EjmMethodMetrics(service, method);
+            register(DOMAIN + ":type=" + side.type + ",service=" + ObjectName.quote(service)
+                    + ",method=" + ObjectName.quote(method), metrics);
+            return metrics;
+        });
+    }
+
+    public List<EjmMethodMetrics> getAll() {
+        return new ArrayList<>(methods.values());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        EjmWireMeter.setEnabled(enabled);
+        LOGGER.info("[EJM] 📊 Métricas {}.", enabled ? "ligadas" : "desligadas");
+    }
+
+    @Override
+    public int getMethodCount() {
+        return methods.size();
+    }
+
+    @Override
+    public void reset() {
+        for (EjmMethodMetrics metrics : methods.values()) {
+            metrics.reset();
+        }
+    }
+
+    static void register(String name, Object mbean) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(mbean, new ObjectName(name));
+        } catch (InstanceAlreadyExistsException e) {
+            // outro class loader da lib no mesmo processo já registrou o nome
+            LOGGER.debug("[EJM] MBean {} já registrado.", name);
+        } catch (Exception e) {
+            LOGGER.warn("[EJM] ⚠️ Falha ao registrar o MBean {}: {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.ejm.ejm_config.metrics;
+
+/**
+ * Controle das métricas via JMX ({@code br.com.ejm:type=Metrics}).
+ */
+public interface EjmMetricsMBean {
+
+    boolean isEnabled();
+
+    /** Liga/desliga a coleta em tempo de execução; desligada, o custo por chamada é uma leitura volátil. */
+    void setEnabled(boolean enabled);
+
+    int getMethodCount();
+
+    /** Zera as métricas de todos os métodos. */
+    void reset();
+}
@@ -0,0 +1,50 @@
+package br.com.ejm.ejm_config.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento JFR de uma chamada recebida por um serviço exportado. O threshold padrão (20 ms) pode
+ * ser trocado na configuração da gravação ({@code br.com.ejm.ServerCall#threshold}).
+ */
+@Name("br.com.ejm.ServerCall")
+@Label("EJM Server Call")
+@Category({"EJM", "RMI"})
+@Description("Chamada recebida por um serviço @EjmService")
+@Threshold("20 ms")
+@StackTrace(false)
+public class EjmServerCallEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Client Host")
+    public String client;
+
+    @Label("Queue Time")
+    @Description("Espera na fila de admissão (maxConcurrency)")
+    @Timespan
+    public long queue;
+
+    @Label("Execution Time")
+    @Timespan
+    public long execution;
+
+    @Label("Bytes In")
+    @Description("Bytes dos argumentos no fio")
+    @DataAmount
+    public long bytesIn;
+
+    @Label("Error")
+    public String error;
+}
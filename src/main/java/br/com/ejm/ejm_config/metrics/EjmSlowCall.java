@@ -0,0 +1,43 @@
+package br.com.ejm.ejm_config.metrics;
+
+import java.time.Instant;
+
+/**
+ * Uma chamada lenta guardada pelo {@link EjmSlowCalls}. Tempos em nanossegundos; -1 = não medido.
+ *
+ * @param side           cliente ou servidor
+ * @param peer           endpoint chamado (cliente) ou host do cliente (servidor)
+ * @param startedAt      início da chamada
+ * @param totalNanos     duração total
+ * @param queueNanos     espera no limite de concorrência (cliente) ou na fila de admissão (servidor)
+ * @param serializeNanos codificação/decodificação pelo codec (apenas cliente com {@code <codec>})
+ * @param remoteNanos    rede + provider (cliente) ou execução do bean (servidor)
+ * @param bytesOut       bytes enviados (cliente)
+ * @param bytesIn        bytes recebidos: resposta (cliente) ou argumentos (servidor)
+ * @param error          classe da exceção, ou {@code null}
+ * @param endNanos       {@link System#nanoTime()} do fim, usado para expirar a entrada
+ */
+public record EjmSlowCall(EjmMetrics.Side side, String service, String method, String peer, Instant startedAt,
+                          long totalNanos, long queueNanos, long serializeNanos, long remoteNanos,
+                          long bytesOut, long bytesIn, String error, String thread, long endNanos) {
+
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder()
+                .append(startedAt).append(' ').append(side).append(' ')
+                .append(service).append('.').append(method)
+                .append(" total=").append(micros(totalNanos))
+                .append(" queue=").append(micros(queueNanos));
+        if (serializeNanos >= 0) line.append(" serialize=").append(micros(serializeNanos));
+        line.append(side == EjmMetrics.Side.CLIENT ? " network+server=" : " execution=").append(micros(remoteNanos));
+        if (bytesOut >= 0) line.append(" out=").append(bytesOut).append('B');
+        if (bytesIn >= 0) line.append(" in=").append(bytesIn).append('B');
+        if (peer != null) line.append(" peer=").append(peer);
+        if (error != null) line.append(" error=").append(error);
+        return line.append(" thread=").append(thread).toString();
+    }
+
+    private static String micros(long nanos) {
+        return nanos < 0 ? "?" : (nanos / 1000) + "us";
+    }
+}
@@ -0,0 +1,203 @@
+package br.com.ejm.ejm_config.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Registro sempre ligado das chamadas mais lentas recentes, por serviço e lado (cliente/servidor).
+ *
+ * Cada serviço tem um array fixo de {@code capacity} posições: uma chamada entra no lugar da mais
+ * rápida (ou de uma que já saiu da janela) por CAS, sem locks. Quem chama consulta antes
+ * {@link Ring#isCandidate(long, long)}, que compara só com um piso volátil; o objeto da chamada
+ * só é montado para as que de fato entram. Consulta via JMX ({@code br.com.ejm:type=SlowCalls})
+ * ou {@link #snapshot(String)}.
+ *
+ * Propriedades de sistema: {@code ejm.slow-calls} (padrão: ligado), {@code ejm.slow-calls.capacity}
+ * (32), {@code ejm.slow-calls.threshold} (ms, 0) e {@code ejm.slow-calls.window} (s, 300).
+ */
+public final class EjmSlowCalls implements EjmSlowCallsMBean {
+
+    private static final EjmSlowCalls GLOBAL = new EjmSlowCalls();
+
+    static {
+        EjmMetrics.register("br.com.ejm:type=SlowCalls", GLOBAL);
+    }
+
+    private final int capacity = Integer.getInteger("ejm.slow-calls.capacity", 32);
+    private final Map<String, Ring> rings = new ConcurrentHashMap<>();
+
+    private volatile boolean enabled = Boolean.parseBoolean(System.getProperty("ejm.slow-calls", "true"));
+    private volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("ejm.slow-calls.threshold", 0));
+    private volatile long windowNanos = TimeUnit.SECONDS.toNanos(Long.getLong("ejm.slow-calls.window", 300));
+
+    private EjmSlowCalls() {
+    }
+
+    public static EjmSlowCalls global() {
+        return GLOBAL;
+    }
+
+    /** Leitura do chaveamento no caminho de cada chamada. */
+    public static boolean enabled() {
+        return GLOBAL.enabled;
+    }
+
+    /** Registro do serviço; resolvido uma vez por proxy/método, não por chamada. */
+    public Ring ring(EjmMetrics.Side side, String service) {
+        return rings.computeIfAbsent(side.name() + '|' + service, key -> new Ring(capacity));
+    }
+
+    /** Chamadas lentas ainda na janela, da mais lenta para a mais rápida; {@code null} = todos os serviços. */
+    public List<EjmSlowCall> snapshot(String service) {
+        long now = System.nanoTime();
+        List<EjmSlowCall> calls = new ArrayList<>();
+        for (Ring ring : rings.values()) {
+            for (int i = 0; i < ring.slots.length(); i++) {
+                EjmSlowCall call = ring.slots.get(i);
+                if (call != null && now - call.endNanos() <= windowNanos
+                        && (service == null || service.equals(call.service()))) {
+                    calls.add(call);
+                }
+            }
+        }
+        calls.sort(Comparator.comparingLong(EjmSlowCall::totalNanos).reversed());
+        return calls;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    @Override
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, thresholdMillis));
+        rings.values().forEach(ring -> ring.refreshFloor(System.nanoTime()));
+    }
+
+    @Override
+    public long getWindowSeconds() {
+        return TimeUnit.NANOSECONDS.toSeconds(windowNanos);
+    }
+
+    @Override
+    public void setWindowSeconds(long windowSeconds) {
+        this.windowNanos = TimeUnit.SECONDS.toNanos(Math.max(1, windowSeconds));
+        rings.values().forEach(ring -> ring.refreshFloor(System.nanoTime()));
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public String[] dump() {
+        return snapshot(null).stream().map(EjmSlowCall::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public String[] dumpService(String service) {
+        return snapshot(service).stream().map(EjmSlowCall::toString).toArray(String[]::new);
+    }
+
+    @Override
+    public void clear() {
+        for (Ring ring : rings.values()) {
+            for (int i = 0; i < ring.slots.length(); i++) {
+                ring.slots.set(i, null);
+            }
+            ring.refreshFloor(System.nanoTime());
+        }
+    }
+
+    /** As chamadas lentas de um serviço num dos lados. */
+    public final class Ring {
+
+        private final AtomicReferenceArray<EjmSlowCall> slots;
+
+        // Chamadas mais rápidas que o piso não entram enquanto nenhuma entrada sair da janela
+        private volatile long floorNanos;
+        private volatile long floorValidUntil;
+
+        private Ring(int capacity) {
+            this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+            refreshFloor(System.nanoTime());
+        }
+
+        /** Teste barato, antes de montar o {@link EjmSlowCall}. */
+        public boolean isCandidate(long totalNanos, long nowNanos) {
+            return totalNanos >= floorNanos || nowNanos - floorValidUntil >= 0;
+        }
+
+        public void add(EjmSlowCall call) {
+            long now = call.endNanos();
+            if (call.totalNanos() < thresholdNanos) return;
+
+            for (int attempt = 0; attempt < 4; attempt++) {
+                int victim = -1;
+                EjmSlowCall victimCall = null;
+                for (int i = 0; i < slots.length(); i++) {
+                    EjmSlowCall current = slots.get(i);
+                    if (current == null || now - current.endNanos() > windowNanos) {
+                        victim = i;
+                        victimCall = current;
+                        break;
+                    }
+                    if (victim < 0 || current.totalNanos() < victimCall.totalNanos()) {
+                        victim = i;
+                        victimCall = current;
+                    }
+                }
+
+                boolean free = victimCall == null || now - victimCall.endNanos() > windowNanos;
+                if (!free && victimCall.totalNanos() >= call.totalNanos()) {
+                    break;
+                }
+                if (slots.compareAndSet(victim, victimCall, call)) {
+                    break;
+                }
+            }
+            refreshFloor(now);
+        }
+
+        private void refreshFloor(long now) {
+            long threshold = thresholdNanos;
+            long window = windowNanos;
+            long min = Long.MAX_VALUE;
+            long oldestEnd = now;
+            int live = 0;
+            for (int i = 0; i < slots.length(); i++) {
+                EjmSlowCall call = slots.get(i);
+                if (call == null || now - call.endNanos() > window) continue;
+                live++;
+                min = Math.min(min, call.totalNanos());
+                if (call.endNanos() - oldestEnd < 0) oldestEnd = call.endNanos();
+            }
+
+            if (live < slots.length()) {
+                // há espaço: entra tudo acima do threshold
+                floorNanos = threshold;
+                floorValidUntil = now + Long.MAX_VALUE / 2;
+            } else {
+                floorNanos = Math.max(threshold, min);
+                floorValidUntil = oldestEnd + window;
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.ejm.ejm_config.metrics;
+
+/**
+ * Controle e consulta das chamadas lentas via JMX ({@code br.com.ejm:type=SlowCalls}).
+ */
+public interface EjmSlowCallsMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /** Duração mínima para uma chamada entrar no registro. */
+    long getThresholdMillis();
+
+    void setThresholdMillis(long thresholdMillis);
+
+    /** Por quanto tempo uma chamada continua no registro. */
+    long getWindowSeconds();
+
+    void setWindowSeconds(long windowSeconds);
+
+    /** Chamadas guardadas por serviço (cliente e servidor separados). */
+    int getCapacity();
+
+    /** Chamadas lentas de todos os serviços, da mais lenta para a mais rápida. */
+    String[] dump();
+
+    /** Chamadas lentas de um serviço, da mais lenta para a mais rápida. */
+    String[] dumpService(String service);
+
+    void clear();
+}
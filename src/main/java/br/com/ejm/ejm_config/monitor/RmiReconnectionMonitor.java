@@ -1,84 +1,219 @@
 package br.com.ejm.ejm_config.monitor;
 
+import br.com.ejm.ejm_config.client.EjmEndpoint;
 import br.com.ejm.ejm_config.config.EjmClientAutoConfig;
+import br.com.ejm.ejm_config.remote.EjmDelegate;
+import br.com.ejm.ejm_config.transport.EjmDeadline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.support.DefaultListableBeanFactory;
-import org.springframework.context.ConfigurableApplicationContext;
 
-import java.rmi.Naming;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.rmi.Remote;
 import java.util.List;
-
-public class RmiReconnectionMonitor implements Runnable {
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monitor de saúde dos serviços RMI consumidos.
+ *
+ * Cada endpoint tem seu próprio agendamento: os pings rodam em paralelo, com timeout, e após
+ * falhas o intervalo cresce exponencialmente (com jitter) até o limite configurado. Endpoints
+ * com falha saem do balanceamento; na reconexão o stub é trocado dentro do proxy, sem recriar beans.
+ *
+ * Um endpoint nunca tem dois pings em andamento: enquanto um ping travado não termina, as próximas
+ * verificações só o registram como falha. As reconexões rodam em outro executor, com o mesmo deadline
+ * do ping no lookup, para que endpoints lentos não atrasem a verificação dos demais.
+ */
+public class RmiReconnectionMonitor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RmiReconnectionMonitor.class);
-    private final ConfigurableApplicationContext context;
+
+    // Handles de ping() das interfaces que não estendem EjmDelegate — vazio quando não declaram ping()
+    private static final Map<Class<?>, Optional<MethodHandle>> PING_HANDLES = new ConcurrentHashMap<>();
+
     private final List<EjmClientAutoConfig.RmiServiceConfig> services;
+    private final long intervalMillis;
+    private final long maxBackoffMillis;
+    private final long pingTimeoutMillis;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService pingExecutor;
+    private final ExecutorService reconnectExecutor;
     private volatile boolean running = true;
 
-    public RmiReconnectionMonitor(ConfigurableApplicationContext context,
-                                  List<EjmClientAutoConfig.RmiServiceConfig> services) {
-        this.context = context;
+    public RmiReconnectionMonitor(List<EjmClientAutoConfig.RmiServiceConfig> services,
+                                  long intervalMillis, long maxBackoffMillis, long pingTimeoutMillis) {
         this.services = services;
+        this.intervalMillis = intervalMillis;
+        this.maxBackoffMillis = Math.max(intervalMillis, maxBackoffMillis);
+        this.pingTimeoutMillis = pingTimeoutMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("ejm-rmi-monitor"));
+        // no máximo um ping em andamento por endpoint: o pool não cresce além do número de endpoints
+        this.pingExecutor = Executors.newCachedThreadPool(daemon("ejm-rmi-ping"));
+        this.reconnectExecutor = Executors.newCachedThreadPool(daemon("ejm-rmi-reconnect"));
     }
 
-    @Override
-    public void run() {
-        LOGGER.info("[EJM] 🔍 Monitor RMI iniciado — verificando conexões a cada 5 segundos...");
+    public void start() {
+        LOGGER.info("[EJM] 🔍 Monitor RMI iniciado — verificando {} serviço(s) a cada {} ms...",
+                services.size(), intervalMillis);
 
-        while (running) {
-            try {
-                Thread.sleep(5000);
+        for (EjmClientAutoConfig.RmiServiceConfig service : services) {
+            for (EjmEndpoint endpoint : service.endpoints().getAll()) {
+                schedule(new EndpointState(service, endpoint), jitter(intervalMillis));
+            }
+        }
+    }
 
-                for (EjmClientAutoConfig.RmiServiceConfig service : services) {
-                    verificarServico(service);
-                }
+    private void schedule(EndpointState state, long delayMillis) {
+        if (!running) return;
+        scheduler.schedule(() -> verificarServico(state), delayMillis, TimeUnit.MILLISECONDS);
+    }
 
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                LOGGER.warn("[EJM] 💤 Monitor RMI interrompido.");
-                break;
-            } catch (Exception e) {
-                LOGGER.error("[EJM] ❌ Erro inesperado no monitor RMI: {}", e.getMessage(), e);
-            }
+    private void verificarServico(EndpointState state) {
+        CompletableFuture<Boolean> previous = state.inFlight;
+        if (previous != null && !previous.isDone()) {
+            // o ping anterior segue preso no socket: conta como falha sem ocupar outra thread
+            int failures = state.failures.incrementAndGet();
+            LOGGER.debug("[EJM] ⏳ Ping anterior de '{}' em {} ainda em andamento.", state.service.name(), state.endpoint);
+            state.service.endpoints().setHealthy(state.endpoint, false);
+            schedule(state, backoff(failures));
+            return;
         }
+
+        CompletableFuture<Boolean> ping = CompletableFuture.supplyAsync(() -> ping(state), pingExecutor);
+        state.inFlight = ping;
+        // orTimeout numa cópia: o timeout libera o agendamento, e inFlight só termina com o ping de fato
+        ping.copy()
+                .orTimeout(pingTimeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((ok, error) -> {
+                    if (!running) return;
+
+                    if (error == null && Boolean.TRUE.equals(ok)) {
+                        if (state.failures.getAndSet(0) > 0) {
+                            LOGGER.info("[EJM] ✅ Serviço '{}' voltou a responder em {}.", state.service.name(), state.endpoint);
+                        }
+                        state.service.endpoints().setHealthy(state.endpoint, true);
+                        LOGGER.debug("[EJM] ✅ Serviço '{}' está ativo em {}.", state.service.name(), state.endpoint);
+                        schedule(state, jitter(intervalMillis));
+                        return;
+                    }
+
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    String motivo = cause instanceof TimeoutException
+                            ? "ping excedeu " + pingTimeoutMillis + " ms"
+                            : cause != null ? cause.getMessage() : "ping retornou false";
+                    LOGGER.warn("[EJM] ⚠️ Erro ao verificar '{}' em {}: {}", state.service.name(), state.endpoint, motivo);
+
+                    int failures = state.failures.incrementAndGet();
+                    state.service.endpoints().setHealthy(state.endpoint, false);
+                    reconnectExecutor.execute(() -> {
+                        tentarReconectar(state);
+                        schedule(state, backoff(failures));
+                    });
+                });
     }
 
-    private void verificarServico(EjmClientAutoConfig.RmiServiceConfig service) {
+    private boolean ping(EndpointState state) {
+        // o deadline vira timeout de leitura no socket: um ping travado não prende a thread
+        long previousDeadline = EjmDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pingTimeoutMillis));
         try {
-            Object bean = context.getBean(service.name());
-            var pingMethod = bean.getClass().getMethod("ping");
-            Object result = pingMethod.invoke(bean);
-
-            if (Boolean.TRUE.equals(result)) {
-                LOGGER.debug("[EJM] ✅ Serviço '{}' está ativo.", service.name());
+            Remote stub = state.endpoint.getReference().get();
+            if (stub instanceof EjmDelegate delegate) {
+                return delegate.ping();
+            }
+            Optional<MethodHandle> handle = PING_HANDLES.computeIfAbsent(state.service.iface(), RmiReconnectionMonitor::findPing);
+            if (handle.isPresent()) {
+                return (boolean) handle.get().invoke(stub);
             }
 
-        } catch (Exception ex) {
-            LOGGER.warn("[EJM] ⚠️ Erro ao verificar '{}': {}", service.name(), ex.getMessage());
-            tentarReconectar(service);
+            // Interface sem ping(): o lookup no registry serve como verificação
+            state.endpoint.getReference().swap(state.endpoint.getReference().lookup());
+            return true;
+        } catch (Throwable e) {
+            throw new CompletionException(e);
+        } finally {
+            EjmDeadline.restore(previousDeadline);
         }
     }
 
-    private void tentarReconectar(EjmClientAutoConfig.RmiServiceConfig service) {
+    private static Optional<MethodHandle> findPing(Class<?> iface) {
         try {
-            Object novoStub = Naming.lookup(service.url());
-            DefaultListableBeanFactory factory = (DefaultListableBeanFactory) context.getBeanFactory();
+            return Optional.of(MethodHandles.publicLookup()
+                    .findVirtual(iface, "ping", MethodType.methodType(boolean.class))
+                    .asType(MethodType.methodType(boolean.class, Remote.class)));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return Optional.empty();
+        }
+    }
 
-            if (factory.containsSingleton(service.name())) {
-                factory.destroySingleton(service.name());
-            }
+    private void tentarReconectar(EndpointState state) {
+        // sem deadline o lookup num registry que não responde prenderia a thread indefinidamente
+        long previousDeadline = EjmDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pingTimeoutMillis));
+        try {
+            Remote novoStub = state.endpoint.getReference().lookup();
 
-            factory.registerSingleton(service.name(), novoStub);
-            LOGGER.info("[EJM] 🔁 Reconectado com sucesso ao serviço '{}'", service.name());
+            // 🔹 Troca o stub dentro do proxy — quem já injetou o bean passa a usar o novo
+            state.endpoint.getReference().swap(novoStub);
+            LOGGER.info("[EJM] 🔁 Reconectado com sucesso ao serviço '{}' em {}", state.service.name(), state.endpoint);
 
         } catch (Exception e) {
-            LOGGER.error("[EJM] ❌ Falha ao reconectar '{}': {}", service.name(), e.getMessage());
+            LOGGER.error("[EJM] ❌ Falha ao reconectar '{}' em {}: {}", state.service.name(), state.endpoint, e.getMessage());
+        } finally {
+            EjmDeadline.restore(previousDeadline);
         }
     }
 
+    /** Backoff exponencial limitado a {@code maxBackoffMillis}, com jitter. */
+    long backoff(int failures) {
+        long delay = intervalMillis << Math.min(failures - 1, 20);
+        return jitter(Math.min(delay, maxBackoffMillis));
+    }
+
+    /** Aplica ±20% de jitter para não sincronizar os pings de vários serviços/clientes. */
+    static long jitter(long millis) {
+        long spread = millis / 5;
+        return spread <= 0 ? millis : millis - spread + ThreadLocalRandom.current().nextLong(2 * spread + 1);
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     public void stop() {
         this.running = false;
+        scheduler.shutdownNow();
+        pingExecutor.shutdownNow();
+        reconnectExecutor.shutdownNow();
         LOGGER.info("[EJM] 🛑 Monitor RMI finalizado.");
     }
+
+    private static final class EndpointState {
+        private final EjmClientAutoConfig.RmiServiceConfig service;
+        private final EjmEndpoint endpoint;
+        private final AtomicInteger failures = new AtomicInteger();
+        // último ping disparado (sem o timeout): ainda não concluído = thread presa no provider
+        private volatile CompletableFuture<Boolean> inFlight;
+
+        private EndpointState(EjmClientAutoConfig.RmiServiceConfig service, EjmEndpoint endpoint) {
+            this.service = service;
+            this.endpoint = endpoint;
+        }
+    }
 }
@@ -0,0 +1,467 @@
+package br.com.ejm.ejm_config.processor;
+
+import br.com.ejm.ejm_config.aot.EjmAot;
+import br.com.ejm.ejm_config.aot.EjmGeneratedStub;
+import br.com.ejm.ejm_config.aot.EjmSkeleton;
+import br.com.ejm.ejm_config.remote.EjmDelegate;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Gera, em tempo de compilação da lib delegate, as classes usadas pelo {@link EjmAot} para cada
+ * interface {@link EjmDelegate} pública e não genérica:
+ * <ul>
+ *   <li>{@code <Interface>$EjmStub}: implementação concreta que repassa as chamadas a um
+ *       {@code InvocationHandler}, no lugar do {@code java.lang.reflect.Proxy};</li>
+ *   <li>{@code <Interface>$EjmSkeleton}: chamada dos métodos num {@code switch}, no lugar de reflexão
+ *       e das classes montadas pelo {@code LambdaMetafactory} na exportação;</li>
+ *   <li>{@code META-INF/native-image/ejm/<Interface>/}: metadados de reflexão, proxy (stubs RMI) e
+ *       serialização (tipos dos argumentos, retornos e exceções) para o GraalVM native-image.</li>
+ * </ul>
+ *
+ * Roda junto com o {@link EjmServiceIndexProcessor}; {@code -Aejm.aot=false} desliga a geração.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(EjmAotProcessor.OPTION)
+public class EjmAotProcessor extends AbstractProcessor {
+
+    static final String OPTION = "ejm.aot";
+
+    private static final String NATIVE_IMAGE_DIR = "META-INF/native-image/ejm/";
+
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver() || "false".equals(processingEnv.getOptions().get(OPTION))) return false;
+
+        TypeElement delegate = processingEnv.getElementUtils().getTypeElement(EjmDelegate.class.getName());
+        if (delegate == null) return false;
+
+        for (Element element : roundEnv.getRootElements()) {
+            collect(element, delegate);
+        }
+        return false;
+    }
+
+    private void collect(Element element, TypeElement delegate) {
+        if (element.getKind() == ElementKind.INTERFACE && !element.equals(delegate)) {
+            TypeMirror type = types().erasure(element.asType());
+            if (types().isAssignable(type, delegate.asType())) {
+                generate((TypeElement) element);
+            }
+        }
+
+        for (Element enclosed : element.getEnclosedElements()) {
+            if (enclosed.getKind().isInterface() || enclosed.getKind().isClass()) {
+                collect(enclosed, delegate);
+            }
+        }
+    }
+
+    private void generate(TypeElement iface) {
+        String binaryName = elements().getBinaryName(iface).toString();
+        if (!generated.add(binaryName)) return;
+
+        if (!isAccessible(iface) || !iface.getTypeParameters().isEmpty()) {
+            note(iface, "[EJM] " + binaryName + " sem classes AOT (interface genérica ou não pública); usando reflexão.");
+            return;
+        }
+
+        Map<String, ExecutableElement> methods = remoteMethods(iface);
+        if (methods.values().stream().anyMatch(method -> method.getSimpleName().contentEquals("ejmInvocationHandler")
+                && method.getParameters().isEmpty())) {
+            note(iface, "[EJM] " + binaryName + " sem classes AOT (declara ejmInvocationHandler()); usando reflexão.");
+            return;
+        }
+
+        try {
+            writeStub(iface, binaryName, methods);
+            writeSkeleton(iface, binaryName, methods);
+            writeNativeImageConfig(iface, binaryName, methods);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "[EJM] Falha ao gerar as classes AOT de " + binaryName + ": " + e.getMessage(), iface);
+        }
+    }
+
+    /** Métodos remotos da interface (inclusive herdados), por chave do {@code EjmMethodKey}, em ordem estável. */
+    private Map<String, ExecutableElement> remoteMethods(TypeElement iface) {
+        List<ExecutableElement> all = new ArrayList<>(ElementFilter.methodsIn(elements().getAllMembers(iface)));
+        Map<String, ExecutableElement> methods = new LinkedHashMap<>();
+        all.stream()
+                .filter(method -> method.getEnclosingElement().getKind() == ElementKind.INTERFACE)
+                .filter(method -> !method.getModifiers().contains(Modifier.STATIC)
+                        && !method.getModifiers().contains(Modifier.PRIVATE))
+                .sorted(Comparator.comparing(this::methodKey))
+                .forEach(method -> methods.putIfAbsent(methodKey(method), method));
+
+        // equals/hashCode/toString redeclarados na interface continuam sendo os de Object
+        methods.keySet().removeAll(List.of("equals(java.lang.Object)", "hashCode()", "toString()"));
+        return methods;
+    }
+
+    private void writeStub(TypeElement iface, String binaryName, Map<String, ExecutableElement> methods) throws IOException {
+        String pkg = elements().getPackageOf(iface).getQualifiedName().toString();
+        String simpleName = simpleName(binaryName, pkg) + EjmAot.STUB_SUFFIX;
+        String type = iface.getQualifiedName().toString();
+
+        StringBuilder src = header(pkg);
+        src.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(simpleName).append(" implements ").append(type).append(", ")
+                .append(EjmGeneratedStub.class.getName()).append(" {\n\n");
+
+        int index = 0;
+        for (ExecutableElement method : methods.values()) {
+            src.append("    private static final java.lang.reflect.Method M").append(index++).append(" = ")
+                    .append(EjmAot.class.getName()).append(".method(").append(type).append(".class, \"")
+                    .append(method.getSimpleName()).append('"');
+            for (VariableElement parameter : method.getParameters()) {
+                src.append(", ").append(types().erasure(parameter.asType())).append(".class");
+            }
+            src.append(");\n");
+        }
+
+        src.append("\n    private final java.lang.reflect.InvocationHandler handler;\n\n")
+                .append("    public ").append(simpleName).append("(java.lang.reflect.InvocationHandler handler) {\n")
+                .append("        this.handler = handler;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public java.lang.reflect.InvocationHandler ejmInvocationHandler() {\n")
+                .append("        return handler;\n")
+                .append("    }\n");
+
+        index = 0;
+        for (ExecutableElement method : methods.values()) {
+            String field = "M" + index++;
+            src.append("\n    @Override\n    public ");
+            appendTypeParameters(src, method);
+            src.append(method.getReturnType()).append(' ').append(method.getSimpleName()).append('(');
+            appendParameters(src, method);
+            src.append(')');
+            appendThrows(src, method);
+            src.append(" {\n        try {\n            ");
+
+            TypeMirror returnType = method.getReturnType();
+            if (returnType.getKind() != TypeKind.VOID) {
+                src.append("return (").append(returnType.getKind().isPrimitive()
+                        ? boxed(returnType) : returnType.toString()).append(") ");
+            }
+            src.append("handler.invoke(this, ").append(field).append(", ");
+            appendArgsArray(src, method);
+            src.append(");\n        } catch (Throwable e) {\n            throw ").append(EjmAot.class.getName())
+                    .append(".rethrow(e, ").append(field).append(");\n        }\n    }\n");
+        }
+
+        appendObjectMethod(src, "boolean equals(Object other)", "Boolean", "EQUALS", "new Object[]{other}");
+        appendObjectMethod(src, "int hashCode()", "Integer", "HASH_CODE", "null");
+        appendObjectMethod(src, "String toString()", "String", "TO_STRING", "null");
+        src.append("}\n");
+
+        write(binaryName + EjmAot.STUB_SUFFIX, iface, src);
+    }
+
+    private void writeSkeleton(TypeElement iface, String binaryName, Map<String, ExecutableElement> methods)
+            throws IOException {
+        String pkg = elements().getPackageOf(iface).getQualifiedName().toString();
+        String simpleName = simpleName(binaryName, pkg) + EjmAot.SKELETON_SUFFIX;
+        String type = iface.getQualifiedName().toString();
+
+        StringBuilder src = header(pkg);
+        src.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(simpleName).append(" extends ")
+                .append(EjmSkeleton.class.getName()).append(" {\n\n")
+                .append("    public ").append(simpleName).append("() {\n")
+                .append("        super(");
+        int index = 0;
+        for (String key : methods.keySet()) {
+            if (index++ > 0) src.append(",\n                ");
+            src.append('"').append(key).append('"');
+        }
+        src.append(");\n    }\n\n")
+                .append("    @Override\n")
+                .append("    public Object invoke(int method, Object target, Object[] args) throws Throwable {\n")
+                .append("        ").append(type).append(" service = (").append(type).append(") target;\n")
+                .append("        switch (method) {\n");
+
+        index = 0;
+        for (ExecutableElement method : methods.values()) {
+            src.append("            case ").append(index++).append(":\n                ");
+            boolean isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+            if (!isVoid) src.append("return ");
+            src.append("service.").append(method.getSimpleName()).append('(');
+            List<? extends VariableElement> parameters = method.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                if (i > 0) src.append(", ");
+                TypeMirror parameter = parameters.get(i).asType();
+                src.append('(').append(parameter.getKind().isPrimitive() ? boxed(parameter) : types().erasure(parameter))
+                        .append(") args[").append(i).append(']');
+            }
+            src.append(");\n");
+            if (isVoid) src.append("                return null;\n");
+        }
+
+        src.append("            default:\n")
+                .append("                throw new IllegalArgumentException(\"[EJM] M\\u00e9todo inexistente em ")
+                .append(simpleName(binaryName, pkg)).append(": \" + method);\n")
+                .append("        }\n    }\n}\n");
+
+        write(binaryName + EjmAot.SKELETON_SUFFIX, iface, src);
+    }
+
+    /** Metadados do native-image num diretório por interface: gerados por round, sem juntar arquivos. */
+    private void writeNativeImageConfig(TypeElement iface, String binaryName, Map<String, ExecutableElement> methods)
+            throws IOException {
+        String dir = NATIVE_IMAGE_DIR + binaryName + "/";
+
+        String reflect = "[\n"
+                + "  {\"name\": \"" + binaryName + "\", \"allPublicMethods\": true},\n"
+                + "  {\"name\": \"" + binaryName + EjmAot.STUB_SUFFIX + "\", \"methods\": [{\"name\": \"<init>\", "
+                + "\"parameterTypes\": [\"java.lang.reflect.InvocationHandler\"]}]},\n"
+                + "  {\"name\": \"" + binaryName + EjmAot.SKELETON_SUFFIX + "\", \"methods\": [{\"name\": \"<init>\", "
+                + "\"parameterTypes\": []}]}\n"
+                + "]\n";
+        writeResource(dir + "reflect-config.json", iface, reflect);
+
+        // stubs RMI do lado do cliente são proxies dinâmicos da interface
+        writeResource(dir + "proxy-config.json", iface, "[\n  {\"interfaces\": [\"" + binaryName + "\"]}\n]\n");
+
+        Set<String> serializable = new TreeSet<>();
+        for (ExecutableElement method : methods.values()) {
+            collectSerializable(method.getReturnType(), serializable);
+            method.getParameters().forEach(parameter -> collectSerializable(parameter.asType(), serializable));
+            method.getThrownTypes().forEach(thrown -> collectSerializable(thrown, serializable));
+        }
+        StringBuilder serialization = new StringBuilder("{\n  \"types\": [");
+        int index = 0;
+        for (String name : serializable) {
+            serialization.append(index++ > 0 ? ",\n" : "\n").append("    {\"name\": \"").append(name).append("\"}");
+        }
+        serialization.append(index > 0 ? "\n  ]" : "]").append(",\n  \"lambdaCapturingTypes\": [],\n  \"proxies\": []\n}\n");
+        writeResource(dir + "serialization-config.json", iface, serialization.toString());
+    }
+
+    /**
+     * Tipos concretos serializáveis que aparecem na assinatura, nos argumentos de tipo e nos campos dos
+     * DTOs da aplicação. Implementações escolhidas em runtime (ex: o {@code ArrayList} de um {@code List})
+     * ficam por conta da configuração da aplicação.
+     */
+    private void collectSerializable(TypeMirror type, Set<String> found) {
+        switch (type.getKind()) {
+            case ARRAY -> collectSerializable(((ArrayType) type).getComponentType(), found);
+            case WILDCARD -> {
+                TypeMirror bound = ((WildcardType) type).getExtendsBound();
+                if (bound != null) collectSerializable(bound, found);
+            }
+            case DECLARED -> {
+                DeclaredType declared = (DeclaredType) type;
+                declared.getTypeArguments().forEach(argument -> collectSerializable(argument, found));
+
+                TypeElement element = (TypeElement) declared.asElement();
+                if (!element.getKind().isClass() || element.getModifiers().contains(Modifier.ABSTRACT)) return;
+
+                TypeMirror erased = types().erasure(type);
+                TypeElement remote = elements().getTypeElement("java.rmi.Remote");
+                if (remote != null && types().isAssignable(erased, remote.asType())) return;
+                if (!types().isAssignable(erased, elements().getTypeElement("java.io.Serializable").asType())) return;
+
+                String name = elements().getBinaryName(element).toString();
+                if (!found.add(name) || name.startsWith("java.") || name.startsWith("javax.")) return;
+
+                for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+                    if (!field.getModifiers().contains(Modifier.STATIC) && !field.getModifiers().contains(Modifier.TRANSIENT)) {
+                        collectSerializable(field.asType(), found);
+                    }
+                }
+                collectSerializable(element.getSuperclass(), found);
+            }
+            default -> {
+                // primitivos, variáveis de tipo e void
+            }
+        }
+    }
+
+    private void appendTypeParameters(StringBuilder src, ExecutableElement method) {
+        List<? extends TypeParameterElement> parameters = method.getTypeParameters();
+        if (parameters.isEmpty()) return;
+
+        src.append('<');
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) src.append(", ");
+            TypeParameterElement parameter = parameters.get(i);
+            src.append(parameter.getSimpleName());
+            List<? extends TypeMirror> bounds = parameter.getBounds();
+            if (bounds.size() == 1 && bounds.get(0).toString().equals("java.lang.Object")) continue;
+            for (int b = 0; b < bounds.size(); b++) {
+                src.append(b == 0 ? " extends " : " & ").append(bounds.get(b));
+            }
+        }
+        src.append("> ");
+    }
+
+    private void appendParameters(StringBuilder src, ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) src.append(", ");
+            String type = parameters.get(i).asType().toString();
+            if (method.isVarArgs() && i == parameters.size() - 1 && type.endsWith("[]")) {
+                type = type.substring(0, type.length() - 2) + "...";
+            }
+            src.append(type).append(" a").append(i);
+        }
+    }
+
+    private static void appendThrows(StringBuilder src, ExecutableElement method) {
+        List<? extends TypeMirror> thrown = method.getThrownTypes();
+        for (int i = 0; i < thrown.size(); i++) {
+            src.append(i == 0 ? " throws " : ", ").append(thrown.get(i));
+        }
+    }
+
+    /** Mesmo contrato do {@code Proxy}: sem parâmetros, o handler recebe {@code null}. */
+    private static void appendArgsArray(StringBuilder src, ExecutableElement method) {
+        int count = method.getParameters().size();
+        if (count == 0) {
+            src.append("null");
+            return;
+        }
+        src.append("new Object[]{");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) src.append(", ");
+            src.append('a').append(i);
+        }
+        src.append('}');
+    }
+
+    private static void appendObjectMethod(StringBuilder src, String signature, String boxed, String method, String args) {
+        String field = EjmAot.class.getName() + "." + method;
+        src.append("\n    @Override\n    public ").append(signature).append(" {\n")
+                .append("        try {\n")
+                .append("            return (").append(boxed).append(") handler.invoke(this, ").append(field)
+                .append(", ").append(args).append(");\n")
+                .append("        } catch (Throwable e) {\n")
+                .append("            throw ").append(EjmAot.class.getName()).append(".rethrow(e, ").append(field).append(");\n")
+                .append("        }\n    }\n");
+    }
+
+    private StringBuilder header(String pkg) {
+        StringBuilder src = new StringBuilder();
+        if (!pkg.isEmpty()) src.append("package ").append(pkg).append(";\n\n");
+        src.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        return src;
+    }
+
+    /** Mesma chave do {@code EjmMethodKey}: nome e {@code Class.getName()} dos parâmetros. */
+    private String methodKey(ExecutableElement method) {
+        StringBuilder key = new StringBuilder(method.getSimpleName()).append('(');
+        List<? extends VariableElement> parameters = method.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) key.append(',');
+            key.append(className(types().erasure(parameters.get(i).asType())));
+        }
+        return key.append(')').toString();
+    }
+
+    private String className(TypeMirror type) {
+        return switch (type.getKind()) {
+            case ARRAY -> "[" + descriptor(((ArrayType) type).getComponentType());
+            case DECLARED -> elements().getBinaryName((TypeElement) types().asElement(type)).toString();
+            default -> type.getKind().name().toLowerCase();
+        };
+    }
+
+    private String descriptor(TypeMirror type) {
+        return switch (type.getKind()) {
+            case BOOLEAN -> "Z";
+            case BYTE -> "B";
+            case CHAR -> "C";
+            case SHORT -> "S";
+            case INT -> "I";
+            case LONG -> "J";
+            case FLOAT -> "F";
+            case DOUBLE -> "D";
+            case ARRAY -> "[" + descriptor(((ArrayType) type).getComponentType());
+            default -> "L" + className(types().erasure(type)) + ";";
+        };
+    }
+
+    private String boxed(TypeMirror primitive) {
+        return types().boxedClass(types().getPrimitiveType(primitive.getKind())).getQualifiedName().toString();
+    }
+
+    /** A interface e as classes que a contêm precisam ser públicas para o código gerado no pacote. */
+    private static boolean isAccessible(TypeElement iface) {
+        for (Element element = iface; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (!element.getModifiers().contains(Modifier.PUBLIC)) return false;
+        }
+        return true;
+    }
+
+    private static String simpleName(String binaryName, String pkg) {
+        return pkg.isEmpty() ? binaryName : binaryName.substring(pkg.length() + 1);
+    }
+
+    private void write(String className, TypeElement origin, StringBuilder src) throws IOException {
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(className, origin);
+        try (Writer writer = file.openWriter()) {
+            writer.write(src.toString());
+        }
+    }
+
+    private void writeResource(String path, TypeElement origin, String content) throws IOException {
+        FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path, origin);
+        try (Writer writer = file.openWriter()) {
+            writer.write(content);
+        }
+    }
+
+    private void note(TypeElement iface, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, iface);
+    }
+
+    private Elements elements() {
+        return processingEnv.getElementUtils();
+    }
+
+    private Types types() {
+        return processingEnv.getTypeUtils();
+    }
+}
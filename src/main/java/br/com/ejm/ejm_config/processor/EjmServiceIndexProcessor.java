@@ -0,0 +1,110 @@
+package br.com.ejm.ejm_config.processor;
+
+import br.com.ejm.ejm_config.utils.PackageScanner;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Gera, em tempo de compilação, o índice {@code META-INF/ejm/services.idx} com as interfaces
+ * remotas (subtipos de {@link java.rmi.Remote}) da lib delegate.
+ *
+ * Basta ter o ejm-config no classpath de compilação da lib delegate; o {@link PackageScanner}
+ * usa o índice no startup e evita varrer o jar carregando DTOs e models.
+ */
+@SupportedAnnotationTypes("*")
+public class EjmServiceIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> interfaces = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        TypeElement remote = processingEnv.getElementUtils().getTypeElement("java.rmi.Remote");
+        if (remote == null) return false;
+
+        for (Element element : roundEnv.getRootElements()) {
+            collect(element, remote.asType());
+        }
+        return false;
+    }
+
+    private void collect(Element element, TypeMirror remote) {
+        if (element.getKind() == ElementKind.INTERFACE) {
+            TypeMirror type = processingEnv.getTypeUtils().erasure(element.asType());
+            if (processingEnv.getTypeUtils().isAssignable(type, remote)) {
+                interfaces.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+            }
+        }
+
+        for (Element enclosed : element.getEnclosedElements()) {
+            if (enclosed.getKind().isInterface() || enclosed.getKind().isClass()) {
+                collect(enclosed, remote);
+            }
+        }
+    }
+
+    private void writeIndex() {
+        mergeExistingIndex();
+        if (interfaces.isEmpty()) return;
+
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", PackageScanner.SERVICE_INDEX);
+            try (Writer writer = file.openWriter()) {
+                for (String name : interfaces) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "[EJM] Falha ao gravar " + PackageScanner.SERVICE_INDEX + ": " + e.getMessage());
+        }
+    }
+
+    /** Compilação incremental: mantém entradas de um índice anterior cujas interfaces ainda existem. */
+    private void mergeExistingIndex() {
+        try {
+            FileObject existing = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", PackageScanner.SERVICE_INDEX);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && processingEnv.getElementUtils().getTypeElement(line.replace('$', '.')) != null) {
+                        interfaces.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // índice anterior inexistente: compilação completa
+        }
+    }
+}
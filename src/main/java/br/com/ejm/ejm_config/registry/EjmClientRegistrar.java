@@ -9,7 +9,6 @@ import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
 import org.springframework.core.type.AnnotationMetadata;
 
 import java.rmi.Naming;
-import java.rmi.Remote;
 import java.util.Map;
 
 public class EjmClientRegistrar implements ImportBeanDefinitionRegistrar {
@@ -34,7 +33,7 @@ public class EjmClientRegistrar implements ImportBeanDefinitionRegistrar {
                 beanDef.setTargetType(service);
                 beanDef.setInstanceSupplier(() -> {
                     try {
-                        return (Remote) Naming.lookup(rmiUrl); // força o cast para Remote
+                        return Naming.lookup(rmiUrl);
                     } catch (Exception e) {
                         throw new RuntimeException("Erro ao conectar ao serviço RMI: " + rmiUrl, e);
                     }
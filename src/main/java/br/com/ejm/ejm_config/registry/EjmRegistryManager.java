@@ -0,0 +1,140 @@
+package br.com.ejm.ejm_config.registry;
+
+import br.com.ejm.ejm_config.remote.EjmServiceDirectory;
+import br.com.ejm.ejm_config.remote.EjmServiceListing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.ExportException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registries RMI usados pelos serviços exportados de um contexto.
+ *
+ * Cada porta é resolvida uma única vez: o registry é criado neste processo ou, se a porta já está em
+ * uso, o existente é usado. Os serviços de um registry são publicados de uma vez, junto com o
+ * {@link EjmServiceDirectory} versionado que os clientes usam no lugar de um lookup por interface.
+ */
+public class EjmRegistryManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmRegistryManager.class);
+
+    private final Map<Integer, Published> registries = new LinkedHashMap<>();
+
+    /**
+     * Publica os stubs no registry da porta e atualiza o diretório dele.
+     *
+     * O diretório é exportado na primeira publicação, na porta e com os socket factories informados
+     * (os mesmos de um dos serviços, para não abrir outra porta).
+     */
+    public synchronized void bindAll(int port, Map<String, Remote> stubs, int exportPort,
+                                     RMIClientSocketFactory csf, RMIServerSocketFactory ssf) throws RemoteException {
+        Published published = registries.get(port);
+        if (published == null) {
+            published = new Published(port);
+            registries.put(port, published);
+        }
+
+        for (Map.Entry<String, Remote> entry : stubs.entrySet()) {
+            published.registry.rebind(entry.getKey(), entry.getValue());
+        }
+        published.directory.publish(stubs);
+
+        if (published.directoryStub == null) {
+            published.directoryStub = UnicastRemoteObject.exportObject(published.directory, exportPort, csf, ssf);
+        }
+        published.registry.rebind(EjmServiceDirectory.NAME, published.directoryStub);
+        LOGGER.info("[EJM] 📒 {} nome(s) publicados no registry da porta {} (diretório v{}).",
+                stubs.size(), port, published.directory.version);
+    }
+
+    /** Remove os nomes publicados, o diretório e os registries criados aqui. */
+    public synchronized void close() {
+        for (Published published : registries.values()) {
+            published.close();
+        }
+        registries.clear();
+    }
+
+    private static final class Published {
+
+        private final int port;
+        private final Registry registry;
+
+        // false = registry de outro contexto/processo, que continua no ar
+        private final boolean created;
+        private final Directory directory = new Directory();
+        private Remote directoryStub;
+
+        private Published(int port) throws RemoteException {
+            this.port = port;
+            Registry located;
+            boolean owned;
+            try {
+                located = LocateRegistry.createRegistry(port);
+                owned = true;
+                LOGGER.info("[EJM] 🚀 RMI Registry iniciado na porta {}.", port);
+            } catch (ExportException e) {
+                located = LocateRegistry.getRegistry(port);
+                owned = false;
+                LOGGER.info("[EJM] ℹ️ RMI Registry já em execução na porta {}.", port);
+            }
+            this.registry = located;
+            this.created = owned;
+        }
+
+        private void close() {
+            try {
+                if (!created) {
+                    for (String name : directory.names()) {
+                        registry.unbind(name);
+                    }
+                    registry.unbind(EjmServiceDirectory.NAME);
+                }
+            } catch (RemoteException | NotBoundException e) {
+                LOGGER.debug("[EJM] Falha ao remover nomes do registry {}: {}", port, e.getMessage());
+            }
+
+            try {
+                if (directoryStub != null) UnicastRemoteObject.unexportObject(directory, true);
+                if (created) UnicastRemoteObject.unexportObject(registry, true);
+            } catch (NoSuchObjectException e) {
+                // já removido
+            }
+        }
+    }
+
+    private static final class Directory implements EjmServiceDirectory {
+
+        // Nova a cada processo: um cliente com snapshot de um provider reiniciado nunca vê a mesma versão
+        private volatile long version = System.currentTimeMillis();
+        private volatile EjmServiceListing listing = new EjmServiceListing(version, Map.of());
+
+        private synchronized void publish(Map<String, Remote> stubs) {
+            Map<String, Remote> services = new LinkedHashMap<>(listing.services());
+            services.putAll(stubs);
+            version++;
+            listing = new EjmServiceListing(version, Map.copyOf(services));
+        }
+
+        private Iterable<String> names() {
+            return listing.services().keySet();
+        }
+
+        @Override
+        public EjmServiceListing list(long knownVersion) {
+            EjmServiceListing current = listing;
+            return current.version() == knownVersion ? null : current;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.io.Serializable;
+
+/**
+ * Uma chamada dentro de um lote enviado ao {@link EjmInvocationEndpoint}.
+ *
+ * @param method chave do método ({@link EjmMethodKey})
+ * @param args   argumentos da chamada
+ */
+public record EjmBatchCall(String method, Object[] args) implements Serializable {
+}
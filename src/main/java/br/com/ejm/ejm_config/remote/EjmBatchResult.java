@@ -0,0 +1,17 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.io.Serializable;
+
+/**
+ * Resultado de uma chamada do lote: o valor retornado ou a exceção lançada pela implementação.
+ */
+public record EjmBatchResult(Object value, Throwable error) implements Serializable {
+
+    public static EjmBatchResult success(Object value) {
+        return new EjmBatchResult(value, null);
+    }
+
+    public static EjmBatchResult failure(Throwable error) {
+        return new EjmBatchResult(null, error);
+    }
+}
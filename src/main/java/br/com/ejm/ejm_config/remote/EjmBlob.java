@@ -0,0 +1,70 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Conteúdo binário grande (PDFs, arquivos gerados) devolvido por um método remoto sem passar pelos
+ * object streams do RMI.
+ *
+ * No provider o método devolve {@link #of(Path)} ou {@link #of(byte[])}; a resposta leva só um
+ * handle, e os bytes seguem por um canal NIO próprio do provider quando o cliente abre o conteúdo
+ * ({@link #openChannel()}, {@link #openStream()} ou {@link #transferTo(Path)}). Arquivos saem do disco
+ * para o socket com {@link FileChannel#transferTo}, sem passar pelo heap.
+ *
+ * O conteúdo pode ser aberto uma única vez e expira se não for aberto logo após a chamada.
+ */
+public interface EjmBlob {
+
+    /** Arquivo lido só no envio; o tamanho é o do momento da chamada. */
+    static EjmBlob of(Path file) {
+        try {
+            return new EjmLocalBlob(file, null, Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EJM] Arquivo do blob inacessível: " + file, e);
+        }
+    }
+
+    /** Conteúdo já em memória; o array não é copiado. */
+    static EjmBlob of(byte[] bytes) {
+        return new EjmLocalBlob(null, bytes, bytes.length);
+    }
+
+    /** Tamanho em bytes. */
+    long size();
+
+    /** Canal com o conteúdo, do início ao fim; fechá-lo encerra a transferência. */
+    ReadableByteChannel openChannel() throws IOException;
+
+    /** Grava o conteúdo inteiro no canal e devolve os bytes escritos. */
+    long transferTo(WritableByteChannel target) throws IOException;
+
+    default InputStream openStream() throws IOException {
+        return Channels.newInputStream(openChannel());
+    }
+
+    /** Grava o conteúdo no arquivo (criado ou substituído) e devolve os bytes escritos. */
+    default long transferTo(Path target) throws IOException {
+        long size = size();
+        try (ReadableByteChannel in = openChannel();
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            while (position < size) {
+                long written = out.transferFrom(in, position, size - position);
+                if (written <= 0) throw new EOFException("[EJM] Blob terminou em " + position + " de " + size + " bytes");
+                position += written;
+            }
+            return position;
+        }
+    }
+}
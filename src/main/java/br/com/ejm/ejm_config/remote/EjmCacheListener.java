@@ -0,0 +1,15 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Callback exportado pelo cliente para receber as invalidações de cache do provider.
+ */
+public interface EjmCacheListener extends Remote {
+
+    /** Região que invalida todos os caches do cliente. */
+    String ALL_REGIONS = "*";
+
+    void invalidate(String region) throws RemoteException;
+}
@@ -0,0 +1,37 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.List;
+
+/**
+ * Endpoint embutido exportado pelo servidor ao lado de cada serviço, registrado como
+ * {@code <nome do serviço>$ejm}.
+ */
+public interface EjmInvocationEndpoint extends Remote {
+
+    String NAME_SUFFIX = "$ejm";
+
+    /**
+     * Executa as chamadas em ordem, num único round trip, devolvendo o resultado ou a
+     * exceção de cada uma na mesma posição.
+     */
+    List<EjmBatchResult> invokeBatch(List<EjmBatchCall> calls) throws RemoteException;
+
+    /**
+     * Executa uma chamada com argumentos e resultado serializados pelo codec informado.
+     *
+     * @param method chave do método ({@link EjmMethodKey})
+     * @param args   {@code Object[]} dos argumentos codificado
+     * @return {@link EjmBatchResult} codificado, ou {@code null} se o serviço não aceita esse codec
+     */
+    byte[] invokeEncoded(String codec, String method, byte[] args) throws RemoteException;
+
+    /**
+     * Assina (ou renova) as invalidações de cache do provider por {@code leaseMillis}.
+     *
+     * @return {@code false} se o listener não estava assinado — o cliente não pode confiar
+     *         no que está em cache (ex.: o provider reiniciou e perdeu as assinaturas)
+     */
+    boolean subscribeInvalidations(EjmCacheListener listener, long leaseMillis) throws RemoteException;
+}
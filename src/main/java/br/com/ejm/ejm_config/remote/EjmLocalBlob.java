@@ -0,0 +1,60 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Conteúdo de um {@link EjmBlob} no provider. Não é serializável: só trafega como handle. */
+final class EjmLocalBlob implements EjmBlob {
+
+    // um dos dois
+    private final Path file;
+    private final byte[] bytes;
+    private final long size;
+
+    EjmLocalBlob(Path file, byte[] bytes, long size) {
+        this.file = file;
+        this.bytes = bytes;
+        this.size = size;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public ReadableByteChannel openChannel() throws IOException {
+        return file != null ? FileChannel.open(file, StandardOpenOption.READ) : Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+
+    @Override
+    public long transferTo(WritableByteChannel target) throws IOException {
+        if (bytes != null) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            return size;
+        }
+
+        // FileChannel -> SocketChannel: sendfile no Linux, sem cópia para o heap
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            while (position < size) {
+                long sent = channel.transferTo(position, size - position, target);
+                if (sent <= 0 && position >= channel.size()) {
+                    throw new IOException("[EJM] Arquivo do blob encolheu durante o envio: " + file);
+                }
+                position += sent;
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.lang.reflect.Method;
+
+/**
+ * Identificação estável de um método remoto, igual no cliente e no servidor:
+ * {@code nome(tipo1,tipo2)}.
+ */
+public final class EjmMethodKey {
+
+    private EjmMethodKey() {
+    }
+
+    public static String of(Method method) {
+        StringBuilder key = new StringBuilder(method.getName()).append('(');
+        Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (i > 0) key.append(',');
+            key.append(types[i].getName());
+        }
+        return key.append(')').toString();
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.ejm.ejm_config.remote;
+
+import br.com.ejm.ejm_config.transport.EjmDeadline;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link EjmBlob} como chega ao cliente: endereço do canal de blobs do provider, token de uso único
+ * e tamanho. Os bytes chegam por um {@link SocketChannel} dedicado.
+ *
+ * Protocolo: o cliente envia {@link #MAGIC} e o token; o provider responde um byte de status e, com
+ * {@link #STATUS_OK}, o tamanho seguido do conteúdo, e fecha a conexão.
+ *
+ * As leituras passam pelo stream do socket para respeitar o timeout: o {@link EjmDeadline} da thread
+ * que lê, ou {@link #READ_TIMEOUT_MILLIS} sem dados quando ela não tem deadline.
+ */
+public final class EjmRemoteBlob implements EjmBlob, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAGIC = 0x454A4D42; // "EJMB"
+    public static final int TOKEN_LENGTH = 16;
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_GONE = 1;
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+    private static final int READ_TIMEOUT_MILLIS = 30_000;
+    private static final int COPY_BUFFER = 64 * 1024;
+
+    private final String host;
+    private final int port;
+    private final byte[] token;
+    private final long size;
+
+    public EjmRemoteBlob(String host, int port, byte[] token, long size) {
+        this.host = host;
+        this.port = port;
+        this.token = token;
+        this.size = size;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public ReadableByteChannel openChannel() throws IOException {
+        int remaining = EjmDeadline.remainingMillis();
+        if (remaining < 0) {
+            throw new SocketTimeoutException("[EJM] Deadline expirado antes de conectar em " + host + ":" + port);
+        }
+
+        SocketChannel channel = SocketChannel.open();
+        try {
+            Socket socket = channel.socket();
+            socket.connect(new InetSocketAddress(host, port),
+                    remaining == 0 ? CONNECT_TIMEOUT_MILLIS : Math.min(remaining, CONNECT_TIMEOUT_MILLIS));
+            ReadableByteChannel in = Channels.newChannel(socket.getInputStream());
+
+            ByteBuffer request = ByteBuffer.allocate(4 + TOKEN_LENGTH).putInt(MAGIC).put(token).flip();
+            while (request.hasRemaining()) {
+                channel.write(request);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(1 + 8);
+            readFully(socket, in, header.limit(1));
+            if (header.get(0) != STATUS_OK) {
+                throw new IOException("[EJM] Blob expirado ou já lido (" + host + ":" + port + ")");
+            }
+            readFully(socket, in, header.limit(9));
+            return new Content(channel, in, header.getLong(1));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public long transferTo(WritableByteChannel target) throws IOException {
+        try (ReadableByteChannel in = openChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(COPY_BUFFER);
+            long total = 0;
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    total += target.write(buffer);
+                }
+                buffer.clear();
+            }
+            return total;
+        }
+    }
+
+    private static void readFully(Socket socket, ReadableByteChannel in, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            applyTimeout(socket);
+            if (in.read(buffer) < 0) throw new EOFException("[EJM] Canal de blobs fechou a conexão");
+        }
+    }
+
+    /** Leituras direto no {@link SocketChannel} ignoram o SO_TIMEOUT; as do stream do socket não. */
+    private static void applyTimeout(Socket socket) throws IOException {
+        int remaining = EjmDeadline.remainingMillis();
+        if (remaining < 0) {
+            throw new SocketTimeoutException("[EJM] Deadline expirado lendo blob de " + socket.getRemoteSocketAddress());
+        }
+        socket.setSoTimeout(remaining == 0 ? READ_TIMEOUT_MILLIS : remaining);
+    }
+
+    /** Conteúdo limitado ao tamanho anunciado; fim antecipado é erro, não fim de arquivo. */
+    private static final class Content implements ReadableByteChannel {
+
+        private final SocketChannel channel;
+        private final ReadableByteChannel in;
+        private long remaining;
+
+        Content(SocketChannel channel, ReadableByteChannel in, long size) {
+            this.channel = channel;
+            this.in = in;
+            this.remaining = size;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (remaining == 0) return -1;
+            int limit = dst.limit();
+            if (dst.remaining() > remaining) dst.limit(dst.position() + (int) remaining);
+            try {
+                applyTimeout(channel.socket());
+                int read = in.read(dst);
+                if (read < 0) throw new EOFException("[EJM] Blob truncado: faltam " + remaining + " bytes");
+                remaining -= read;
+                return read;
+            } finally {
+                dst.limit(limit);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.ejm.ejm_config.remote;
+
+import br.com.ejm.ejm_config.utils.EjmExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.rmi.RemoteException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@link EjmStream} como chega ao cliente: o primeiro bloco, já incluído na resposta da chamada, e o
+ * stub do {@link EjmStreamCursor} para os seguintes.
+ *
+ * Os próximos {@code prefetch} blocos são pedidos em background, um depois do outro (o cursor é
+ * sequencial), enquanto o bloco atual é consumido. Falhas de rede aparecem no {@link #hasNext()} como
+ * {@link UncheckedIOException}; exceções da fonte no provider chegam como foram lançadas.
+ *
+ * Uma instância é consumida por uma thread por vez, como qualquer {@link Iterator}.
+ */
+public final class EjmRemoteStream<T> implements EjmStream<T>, Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmRemoteStream.class);
+
+    private static final EjmStreamChunk END = new EjmStreamChunk(List.of(), true);
+
+    // Busca dos blocos à frente do consumo
+    private static final ExecutorService PREFETCH = EjmExecutors.newPerTaskExecutor("ejm-stream", 64);
+
+    // null quando o resultado inteiro coube no primeiro bloco
+    private final EjmStreamCursor cursor;
+    private final EjmStreamChunk first;
+    private final int prefetch;
+
+    private transient Iterator<Object> current;
+    private transient Deque<CompletableFuture<EjmStreamChunk>> ahead;
+    private transient boolean done;
+
+    public EjmRemoteStream(EjmStreamCursor cursor, EjmStreamChunk first, int prefetch) {
+        this.cursor = first.last() ? null : cursor;
+        this.first = first;
+        this.prefetch = Math.max(0, prefetch);
+        init();
+    }
+
+    private void init() {
+        current = first.items().iterator();
+        ahead = new ArrayDeque<>();
+        done = first.last();
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        init();
+        request();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (done) return false;
+            EjmStreamChunk chunk = take();
+            current = chunk.items().iterator();
+            if (chunk.last()) {
+                done = true;
+                ahead.clear();
+            } else {
+                request();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return (T) current.next();
+    }
+
+    @Override
+    public void close() {
+        current = Collections.emptyIterator();
+        if (done) return;
+        done = true;
+        ahead.forEach(fetch -> fetch.cancel(false));
+        ahead.clear();
+        try {
+            cursor.close();
+        } catch (RemoteException e) {
+            // o provider fecha o cursor sozinho por inatividade
+            LOGGER.debug("[EJM] Falha ao fechar cursor remoto: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Completa a janela de prefetch, encadeando cada pedido ao anterior; pedidos depois do último
+     * bloco terminam vazios, sem ir ao provider.
+     */
+    private void request() {
+        while (!done && ahead.size() < prefetch) {
+            CompletableFuture<EjmStreamChunk> previous = ahead.peekLast();
+            ahead.addLast(previous == null
+                    ? CompletableFuture.supplyAsync(this::fetch, PREFETCH)
+                    : previous.thenApplyAsync(chunk -> chunk.last() ? END : fetch(), PREFETCH));
+        }
+    }
+
+    private EjmStreamChunk take() {
+        CompletableFuture<EjmStreamChunk> fetch = ahead.pollFirst();
+        if (fetch == null) {
+            // sem prefetch: busca na thread do consumidor
+            return fetch();
+        }
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            done = true;
+            ahead.clear();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private EjmStreamChunk fetch() {
+        try {
+            return cursor.next();
+        } catch (RemoteException e) {
+            throw new UncheckedIOException("[EJM] Falha ao buscar o próximo bloco do stream", e);
+        }
+    }
+}
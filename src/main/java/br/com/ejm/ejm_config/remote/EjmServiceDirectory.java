@@ -0,0 +1,21 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Diretório dos serviços publicados num registry, registrado como {@value #NAME} ao lado deles.
+ *
+ * O cliente resolve todos os serviços de um provider numa única chamada, em vez de um
+ * {@code Naming.lookup} por interface, e revalida a cópia local pela versão.
+ */
+public interface EjmServiceDirectory extends Remote {
+
+    String NAME = "$ejm-directory";
+
+    /**
+     * @param knownVersion versão que o cliente já tem; 0 = nenhuma
+     * @return os serviços e stubs publicados, ou {@code null} se a versão não mudou
+     */
+    EjmServiceListing list(long knownVersion) throws RemoteException;
+}
@@ -0,0 +1,13 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.io.Serializable;
+import java.rmi.Remote;
+import java.util.Map;
+
+/**
+ * Conteúdo do {@link EjmServiceDirectory}: nome de cada serviço (e do endpoint {@code $ejm}) e o stub.
+ *
+ * A versão muda a cada publicação e a cada restart do provider.
+ */
+public record EjmServiceListing(long version, Map<String, Remote> services) implements Serializable {
+}
@@ -0,0 +1,41 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.util.Iterator;
+
+/** Fonte de um {@link EjmStream} no provider. Não é serializável: só trafega como cursor. */
+final class EjmSourceStream<T> implements EjmStream<T> {
+
+    private final Iterator<? extends T> source;
+    private final AutoCloseable resource;
+    private boolean closed;
+
+    EjmSourceStream(Iterator<? extends T> source, AutoCloseable resource) {
+        this.source = source;
+        this.resource = resource;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !closed && source.hasNext();
+    }
+
+    @Override
+    public T next() {
+        return source.next();
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("[EJM] Falha ao fechar a fonte do stream", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Resultado remoto entregue aos poucos, para listagens e exportações que não cabem numa resposta.
+ *
+ * No provider o método devolve a fonte com {@link #of(Iterator)}, {@link #of(Iterable)} ou
+ * {@link #of(Stream)}; a EJM a mantém num cursor remoto e a lê sob demanda. No cliente o mesmo tipo
+ * é um iterador que busca os blocos do cursor conforme é consumido. Feche-o (try-with-resources)
+ * quando não for até o fim: o provider libera a fonte na hora, sem esperar o timeout de inatividade.
+ *
+ * <pre>
+ * EjmStream&lt;UsuarioDto&gt; exportar(String filtro) throws RemoteException;
+ * </pre>
+ *
+ * @see br.com.ejm.ejm_config.annotations.EjmStreaming
+ */
+public interface EjmStream<T> extends Iterator<T>, AutoCloseable {
+
+    /** Fonte lida sob demanda pelo provider; se for {@link AutoCloseable}, é fechada junto. */
+    static <T> EjmStream<T> of(Iterator<? extends T> source) {
+        return new EjmSourceStream<>(source, source instanceof AutoCloseable closeable ? closeable : null);
+    }
+
+    static <T> EjmStream<T> of(Iterable<? extends T> source) {
+        return of(source.iterator());
+    }
+
+    /** O {@link Stream} é fechado quando o cursor fecha (fim, cancelamento ou inatividade). */
+    static <T> EjmStream<T> of(Stream<? extends T> source) {
+        return new EjmSourceStream<>(source.iterator(), source);
+    }
+
+    /** Libera o cursor (no cliente) ou a fonte (no provider). Pode ser chamado mais de uma vez. */
+    @Override
+    void close();
+
+    /** Os itens restantes como {@link Stream}; fechar o stream fecha este cursor. */
+    default Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                .onClose(this::close);
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Bloco de itens de um {@link EjmStream}.
+ *
+ * @param last {@code true} se a fonte acabou (o cursor já foi fechado no provider)
+ */
+public record EjmStreamChunk(List<Object> items, boolean last) implements Serializable {
+}
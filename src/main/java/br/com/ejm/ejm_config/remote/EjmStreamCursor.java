@@ -0,0 +1,16 @@
+package br.com.ejm.ejm_config.remote;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/**
+ * Cursor exportado pelo provider para cada {@link EjmStream} devolvido, na mesma porta e com os
+ * mesmos socket factories do serviço. Usado apenas pelo {@link EjmRemoteStream}.
+ */
+public interface EjmStreamCursor extends Remote {
+
+    /** Próximo bloco, lido da fonte nesta chamada; o cursor fecha sozinho ao entregar o último. */
+    EjmStreamChunk next() throws RemoteException;
+
+    void close() throws RemoteException;
+}
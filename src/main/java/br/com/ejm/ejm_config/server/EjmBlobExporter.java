@@ -0,0 +1,193 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.remote.EjmBlob;
+import br.com.ejm.ejm_config.remote.EjmRemoteBlob;
+import br.com.ejm.ejm_config.utils.EjmExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Canal de blobs do provider: último elo da cadeia dos métodos que retornam {@link EjmBlob}.
+ *
+ * O conteúdo devolvido pelo bean fica guardado sob um token aleatório e a resposta leva um
+ * {@link EjmRemoteBlob}. O cliente conecta no {@code blobPort} do serviço, apresenta o token e recebe
+ * os bytes escritos direto no {@link SocketChannel} ({@code transferTo} para arquivos). O socket só
+ * é aberto quando algum método exportado retorna {@link EjmBlob}.
+ */
+public class EjmBlobExporter implements EjmInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmBlobExporter.class);
+
+    // Conteúdo não aberto nesse prazo é descartado
+    private static final long DEFAULT_TTL_MILLIS = 60_000;
+
+    // Prazo para o cliente enviar o token depois de conectar
+    private static final int REQUEST_TIMEOUT_MILLIS = 10_000;
+
+    private static final int MAX_SENDERS = 32;
+
+    private static final ScheduledExecutorService REAPER =
+            Executors.newSingleThreadScheduledExecutor(EjmExecutors.daemon("ejm-blob-reaper"));
+
+    private final int port;
+    private final long ttlNanos;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+
+    // Abertos no primeiro método que retorna EjmBlob
+    private ServerSocketChannel server;
+    private ExecutorService senders;
+    private ScheduledFuture<?> sweep;
+
+    /** @param port porta do canal; 0 = porta livre escolhida pelo sistema */
+    public EjmBlobExporter(int port) {
+        this(port, DEFAULT_TTL_MILLIS);
+    }
+
+    EjmBlobExporter(int port, long ttlMillis) {
+        this.port = port;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    @Override
+    public EjmInterceptor bind(EjmServerMethod method) {
+        if (!EjmBlob.class.isAssignableFrom(method.method().getReturnType())) return null;
+
+        start();
+        return (called, args, next) -> export(next.proceed(args));
+    }
+
+    @Override
+    public Object intercept(EjmServerMethod method, Object[] args, Chain next) throws Throwable {
+        // interceptor usado sem bind (fora do EjmServiceInvoker)
+        EjmInterceptor bound = bind(method);
+        return bound == null ? next.proceed(args) : bound.intercept(method, args, next);
+    }
+
+    private synchronized void start() {
+        if (server != null) return;
+        try {
+            server = ServerSocketChannel.open().bind(new InetSocketAddress(port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EJM] Não foi possível abrir o canal de blobs na porta " + port, e);
+        }
+        senders = EjmExecutors.newPerTaskExecutor("ejm-blob", MAX_SENDERS);
+        sweep = REAPER.scheduleWithFixedDelay(this::expire, 5, 5, TimeUnit.SECONDS);
+
+        Thread acceptor = new Thread(this::acceptLoop, "ejm-blob-accept-" + getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+        LOGGER.info("[EJM] 📦 Canal de blobs aberto na porta {}.", getPort());
+    }
+
+    private Object export(Object result) {
+        if (!(result instanceof EjmBlob blob) || result instanceof EjmRemoteBlob) return result;
+
+        byte[] token = new byte[EjmRemoteBlob.TOKEN_LENGTH];
+        random.nextBytes(token);
+        pending.put(HexFormat.of().formatHex(token), new Pending(blob, System.nanoTime() + ttlNanos));
+
+        String host = System.getProperty("java.rmi.server.hostname", "localhost");
+        return new EjmRemoteBlob(host, getPort(), token, blob.size());
+    }
+
+    private void acceptLoop() {
+        ServerSocketChannel channel = server;
+        while (channel.isOpen()) {
+            try {
+                SocketChannel client = channel.accept();
+                senders.execute(() -> send(client));
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("[EJM] ⚠️ Falha ao aceitar conexão no canal de blobs: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void send(SocketChannel client) {
+        try (client) {
+            Socket socket = client.socket();
+            socket.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            if (in.readInt() != EjmRemoteBlob.MAGIC) return;
+            byte[] token = in.readNBytes(EjmRemoteBlob.TOKEN_LENGTH);
+
+            // uso único: o token sai do mapa antes do envio
+            Pending entry = pending.remove(HexFormat.of().formatHex(token));
+            if (entry == null || entry.isExpired(System.nanoTime())) {
+                write(client, ByteBuffer.allocate(1).put(EjmRemoteBlob.STATUS_GONE).flip());
+                return;
+            }
+
+            write(client, ByteBuffer.allocate(1 + 8).put(EjmRemoteBlob.STATUS_OK).putLong(entry.blob().size()).flip());
+            entry.blob().transferTo(client);
+        } catch (IOException e) {
+            LOGGER.debug("[EJM] Envio de blob interrompido: {}", e.getMessage());
+        }
+    }
+
+    private static void write(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    void expire() {
+        long now = System.nanoTime();
+        pending.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    /** Porta efetiva do canal, ou a configurada se ainda não foi aberto. */
+    public synchronized int getPort() {
+        if (server == null) return port;
+        try {
+            return ((InetSocketAddress) server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            return port;
+        }
+    }
+
+    /** Blobs devolvidos e ainda não abertos pelo cliente. */
+    public int getPendingBlobs() {
+        return pending.size();
+    }
+
+    public synchronized void close() {
+        pending.clear();
+        if (server == null) return;
+        sweep.cancel(false);
+        senders.shutdownNow();
+        try {
+            server.close();
+        } catch (IOException e) {
+            LOGGER.debug("[EJM] Falha ao fechar o canal de blobs: {}", e.getMessage());
+        }
+        server = null;
+    }
+
+    private record Pending(EjmBlob blob, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
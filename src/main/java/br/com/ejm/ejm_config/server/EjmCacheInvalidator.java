@@ -0,0 +1,88 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.remote.EjmCacheListener;
+import br.com.ejm.ejm_config.transport.EjmDeadline;
+import br.com.ejm.ejm_config.utils.EjmExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.rmi.ConnectException;
+import java.rmi.NoSuchObjectException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envia invalidações de cache aos clientes assinados.
+ *
+ * Injetável no provider: após alterar dados de referência, chame
+ * {@link #invalidate(String)} com a região usada no {@code @EjmCacheable} do cliente.
+ * Os clientes renovam a assinatura periodicamente; assinaturas vencidas são descartadas.
+ */
+@Component
+public class EjmCacheInvalidator implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmCacheInvalidator.class);
+
+    // Tempo máximo de cada callback para um cliente
+    private static final long PUSH_TIMEOUT_MILLIS = 5000;
+
+    private final Map<EjmCacheListener, Long> listeners = new ConcurrentHashMap<>();
+    private final ExecutorService pushExecutor = EjmExecutors.newPerTaskExecutor("ejm-cache-push", 8);
+
+    /** @return se o listener já estava assinado */
+    boolean subscribe(EjmCacheListener listener, long leaseMillis) {
+        long expiresAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(leaseMillis);
+        return listeners.put(listener, expiresAt) != null;
+    }
+
+    /** Invalida a região em todos os clientes assinados (assíncrono). */
+    public void invalidate(String region) {
+        long now = System.nanoTime();
+        for (Map.Entry<EjmCacheListener, Long> entry : listeners.entrySet()) {
+            EjmCacheListener listener = entry.getKey();
+            if (now - entry.getValue() > 0) {
+                listeners.remove(listener, entry.getValue());
+                continue;
+            }
+            try {
+                pushExecutor.execute(() -> push(listener, region));
+            } catch (RejectedExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    /** Invalida todos os caches dos clientes assinados. */
+    public void invalidateAll() {
+        invalidate(EjmCacheListener.ALL_REGIONS);
+    }
+
+    public int getSubscribers() {
+        return listeners.size();
+    }
+
+    private void push(EjmCacheListener listener, String region) {
+        long previousDeadline = EjmDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PUSH_TIMEOUT_MILLIS));
+        try {
+            listener.invalidate(region);
+        } catch (ConnectException | NoSuchObjectException e) {
+            // cliente encerrado: a assinatura não volta sem uma nova renovação
+            listeners.remove(listener);
+            LOGGER.debug("[EJM] Listener de cache removido: {}", e.getMessage());
+        } catch (Exception e) {
+            LOGGER.warn("[EJM] ⚠️ Falha ao invalidar a região '{}' em um cliente: {}", region, e.getMessage());
+        } finally {
+            EjmDeadline.restore(previousDeadline);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pushExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,148 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.exception.EjmOverloadException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Controle de admissão das chamadas a um serviço exportado.
+ *
+ * No máximo {@code maxConcurrency} chamadas executam ao mesmo tempo no bean; até {@code queueDepth}
+ * aguardam vaga por no máximo {@code queueTimeout}. As demais são recusadas na hora com
+ * {@link EjmOverloadException}, antes de consumir CPU ou memória do provider. A chamada roda na
+ * própria thread da conexão RMI, que fica ocupada até a resposta de qualquer forma.
+ *
+ * É o primeiro interceptor da cadeia dos serviços com {@code maxConcurrency}.
+ */
+public class EjmDispatcher implements EjmInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmDispatcher.class);
+
+    private final String service;
+    private final int maxConcurrency;
+    private final int queueDepth;
+    private final long queueTimeoutNanos;
+
+    // Justo: quem está na fila é atendido antes de novas chamadas
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    // Espera na fila da última chamada admitida (ou recusada por timeout) nesta thread, lida pelo EjmMetricsInterceptor
+    private static final ThreadLocal<long[]> QUEUE_WAIT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queueTimeouts = new LongAdder();
+
+    public EjmDispatcher(String service, int maxConcurrency, int queueDepth, long queueTimeoutMillis) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("[EJM] maxConcurrency deve ser maior que zero: " + maxConcurrency);
+        }
+        this.service = service;
+        this.maxConcurrency = maxConcurrency;
+        this.queueDepth = Math.max(0, queueDepth);
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, queueTimeoutMillis));
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public Object intercept(EjmServerMethod method, Object[] args, Chain next) throws Throwable {
+        admit(method);
+        try {
+            return next.proceed(args);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** ping() não entra na fila: o provider continua respondendo ao monitor enquanto recusa chamadas. */
+    @Override
+    public EjmInterceptor bind(EjmServerMethod method) {
+        return method.isPing() ? null : this;
+    }
+
+    private void admit(EjmServerMethod method) throws EjmOverloadException {
+        long[] queueWait = QUEUE_WAIT.get();
+        queueWait[0] = 0;
+        try {
+            // tryAcquire com timeout respeita a ordem da fila
+            if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                admitted.increment();
+                return;
+            }
+
+            if (queued.incrementAndGet() > queueDepth) {
+                queued.decrementAndGet();
+                rejected.increment();
+                LOGGER.debug("[EJM] Fila cheia em '{}', chamada {} recusada.", service, method.method().getName());
+                throw new EjmOverloadException("[EJM] Provider '" + service + "' sobrecarregado: fila cheia ("
+                        + maxConcurrency + " em execução, " + queueDepth + " na fila)");
+            }
+
+            long waitStart = System.nanoTime();
+            try {
+                boolean acquired = permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+                queueWait[0] = System.nanoTime() - waitStart;
+                if (!acquired) {
+                    queueTimeouts.increment();
+                    rejected.increment();
+                    LOGGER.debug("[EJM] Timeout na fila de '{}', chamada {} recusada.", service, method.method().getName());
+                    throw new EjmOverloadException("[EJM] Provider '" + service + "' sobrecarregado: "
+                            + TimeUnit.NANOSECONDS.toMillis(queueTimeoutNanos) + " ms na fila sem vaga");
+                }
+            } finally {
+                queued.decrementAndGet();
+            }
+            admitted.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new EjmOverloadException("[EJM] Espera na fila de '" + service + "' interrompida");
+        }
+    }
+
+    /** Espera na fila da última chamada desta thread (0 se não esperou ou se o serviço não tem fila). */
+    static long lastQueueNanos() {
+        return QUEUE_WAIT.get()[0];
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /** Chamadas executando no bean agora. */
+    public int getActive() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /** Chamadas aguardando vaga agora. */
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getAdmitted() {
+        return admitted.sum();
+    }
+
+    /** Chamadas recusadas, por fila cheia ou por timeout na fila. */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getQueueTimeouts() {
+        return queueTimeouts.sum();
+    }
+}
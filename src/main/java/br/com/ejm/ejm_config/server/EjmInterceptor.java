@@ -0,0 +1,32 @@
+package br.com.ejm.ejm_config.server;
+
+/**
+ * Interceptor das chamadas recebidas pelo provider (autenticação, métricas, tracing...).
+ *
+ * Beans deste tipo são aplicados a todos os serviços exportados, na ordem de {@code @Order}/{@code Ordered}.
+ * A cadeia de cada método é montada uma vez na exportação: a chamada em si não aloca nada além
+ * do que o interceptor alocar.
+ */
+public interface EjmInterceptor {
+
+    /**
+     * @param method método chamado
+     * @param args   argumentos recebidos (não copiados: alterações chegam ao bean)
+     * @param next   restante da cadeia; não chamar {@code next.proceed} interrompe a chamada
+     */
+    Object intercept(EjmServerMethod method, Object[] args, Chain next) throws Throwable;
+
+    /**
+     * Chamado na exportação, uma vez por método: devolve o interceptor usado nas chamadas desse método
+     * (pode ser outro objeto, com estado já resolvido para ele) ou {@code null} para deixá-lo de fora.
+     */
+    default EjmInterceptor bind(EjmServerMethod method) {
+        return this;
+    }
+
+    /** Próximo elo da cadeia; o último chama o bean. */
+    @FunctionalInterface
+    interface Chain {
+        Object proceed(Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,94 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.codec.EjmCodec;
+import br.com.ejm.ejm_config.codec.EjmCodecs;
+import br.com.ejm.ejm_config.codec.EjmTypeFilter;
+import br.com.ejm.ejm_config.remote.EjmBatchCall;
+import br.com.ejm.ejm_config.remote.EjmBatchResult;
+import br.com.ejm.ejm_config.remote.EjmCacheListener;
+import br.com.ejm.ejm_config.remote.EjmInvocationEndpoint;
+
+import java.io.IOException;
+import java.rmi.MarshalException;
+import java.rmi.RemoteException;
+import java.rmi.UnmarshalException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementação do {@link EjmInvocationEndpoint} de um serviço exportado.
+ *
+ * As chamadas passam pelas mesmas cadeias de interceptors do serviço ({@link EjmServiceInvoker}).
+ */
+public class EjmInvocationEndpointImpl implements EjmInvocationEndpoint {
+
+    private final EjmServiceInvoker invoker;
+
+    // Codec aceito em invokeEncoded; null = somente serialização Java do RMI
+    private final EjmCodec codec;
+
+    private final EjmCacheInvalidator invalidator;
+
+    /**
+     * @throws IllegalArgumentException se o codec não estiver registrado em {@link EjmCodecs}
+     */
+    public EjmInvocationEndpointImpl(EjmServiceInvoker invoker, String codec, EjmCacheInvalidator invalidator) {
+        this.invoker = invoker;
+        this.invalidator = invalidator;
+        this.codec = EjmCodecs.isJava(codec) ? null : EjmCodecs.get(codec);
+    }
+
+    @Override
+    public List<EjmBatchResult> invokeBatch(List<EjmBatchCall> calls) throws RemoteException {
+        List<EjmBatchResult> results = new ArrayList<>(calls.size());
+        for (EjmBatchCall call : calls) {
+            results.add(invoke(call));
+        }
+        return results;
+    }
+
+    @Override
+    public byte[] invokeEncoded(String codecName, String method, byte[] args) throws RemoteException {
+        if (codec == null || !codec.name().equals(codecName)) {
+            return null;
+        }
+
+        EjmTypeFilter filter = invoker.argumentFilter(method);
+        EjmBatchResult result;
+        if (filter == null) {
+            result = EjmBatchResult.failure(new NoSuchMethodException("[EJM] Método remoto inexistente: " + method));
+        } else {
+            Object[] decoded;
+            try {
+                decoded = (Object[]) codec.decode(args, filter);
+            } catch (IOException | ClassCastException e) {
+                throw new UnmarshalException("[EJM] Falha ao decodificar argumentos de " + method, e);
+            }
+            result = invoke(new EjmBatchCall(method, decoded));
+        }
+        try {
+            return codec.encode(result);
+        } catch (IOException e) {
+            throw new MarshalException("[EJM] Falha ao codificar resultado de " + method, e);
+        }
+    }
+
+    @Override
+    public boolean subscribeInvalidations(EjmCacheListener listener, long leaseMillis) throws RemoteException {
+        return invalidator.subscribe(listener, leaseMillis);
+    }
+
+    private EjmBatchResult invoke(EjmBatchCall call) {
+        EjmInterceptor.Chain chain = invoker.chainFor(call.method());
+        if (chain == null) {
+            return EjmBatchResult.failure(new NoSuchMethodException("[EJM] Método remoto inexistente: " + call.method()));
+        }
+
+        try {
+            invoker.checkArguments(call.method(), call.args());
+            return EjmBatchResult.success(chain.proceed(call.args()));
+        } catch (Throwable e) {
+            return EjmBatchResult.failure(e);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.aot.EjmAot;
+import br.com.ejm.ejm_config.aot.EjmSkeleton;
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Chamada direta de um método exportado, resolvida uma vez na exportação.
+ *
+ * Se a interface foi compilada com o {@code EjmAotProcessor}, a chamada passa pelo switch do skeleton
+ * gerado, sem nada a montar no startup. Senão, métodos com retorno e até {@link #MAX_GENERATED_ARITY} parâmetros ganham uma classe gerada pelo
+ * {@link LambdaMetafactory}, que o JIT trata como uma chamada comum à interface. Os demais usam um
+ * {@link MethodHandle} com os argumentos espalhados a partir do array. Em nenhum caso há reflexão
+ * ou cópia de argumentos por chamada, e exceções do bean chegam sem {@code InvocationTargetException}.
+ */
+public abstract class EjmMethodInvoker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmMethodInvoker.class);
+
+    static final int MAX_GENERATED_ARITY = 4;
+
+    private static final MethodType GENERIC = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private static final Class<?>[] CALL_TYPES = {Call0.class, Call1.class, Call2.class, Call3.class, Call4.class};
+
+    public abstract Object invoke(Object target, Object[] args) throws Throwable;
+
+    /** Invoker do método da interface remota, pelo skeleton gerado quando houver. */
+    public static EjmMethodInvoker of(Class<?> iface, Method method) {
+        EjmSkeleton skeleton = EjmAot.skeletonFor(iface);
+        EjmSkeleton.Call call = skeleton == null ? null : skeleton.call(EjmMethodKey.of(method));
+        return call != null ? new SkeletonInvoker(call) : of(method);
+    }
+
+    public static EjmMethodInvoker of(Method method) {
+        if (method.getReturnType() != void.class && method.getParameterCount() <= MAX_GENERATED_ARITY) {
+            try {
+                return generated(method);
+            } catch (Throwable e) {
+                // ex: interface em outro class loader que a lib; o MethodHandle atende igual, um pouco mais lento
+                LOGGER.debug("[EJM] Invoker gerado indisponível para {}: {}", method, e.toString());
+            }
+        }
+
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(GENERIC);
+            return new HandleInvoker(handle);
+        } catch (IllegalAccessException e) {
+            // interface não pública: mantém a chamada por reflexão
+            method.setAccessible(true);
+            return new ReflectiveInvoker(method);
+        }
+    }
+
+    private static EjmMethodInvoker generated(Method method) throws Throwable {
+        int arity = method.getParameterCount();
+        Class<?> callType = CALL_TYPES[arity];
+
+        // lookup na própria interface: a classe gerada fica no class loader que enxerga os tipos do método
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+        MethodHandle impl = lookup.unreflect(method);
+        Object call = LambdaMetafactory.metafactory(lookup, "call", MethodType.methodType(callType),
+                        MethodType.genericMethodType(arity + 1), impl, impl.type().wrap())
+                .getTarget()
+                .invoke();
+
+        return switch (arity) {
+            case 0 -> new Arity0((Call0) call);
+            case 1 -> new Arity1((Call1) call);
+            case 2 -> new Arity2((Call2) call);
+            case 3 -> new Arity3((Call3) call);
+            default -> new Arity4((Call4) call);
+        };
+    }
+
+    // Interfaces implementadas pelas classes geradas; públicas porque elas ficam no pacote da interface remota
+
+    @FunctionalInterface
+    public interface Call0 {
+        Object call(Object target) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface Call1 {
+        Object call(Object target, Object a0) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface Call2 {
+        Object call(Object target, Object a0, Object a1) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface Call3 {
+        Object call(Object target, Object a0, Object a1, Object a2) throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface Call4 {
+        Object call(Object target, Object a0, Object a1, Object a2, Object a3) throws Throwable;
+    }
+
+    private static final class Arity0 extends EjmMethodInvoker {
+        private final Call0 call;
+
+        Arity0(Call0 call) {
+            this.call = call;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) throws Throwable {
+            return call.call(target);
+        }
+    }
+
+    private static final class Arity1 extends EjmMethodInvoker {
+        private final Call1 call;
+
+        Arity1(Call1 call) {
+            this.call = call;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) throws Throwable {
+            return call.call(target, args[0]);
+        }
+    }
+
+    private static final class Arity2 extends EjmMethodInvoker {
+        private final Call2 call;
+
+        Arity2(Call2 call) {
+            this.call = call;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) throws Throwable {
+            return call.call(target, args[0], args[1]);
+        }
+    }
+
+    private static final class Arity3 extends EjmMethodInvoker {
+        private final Call3 call;
+
+        Arity3(Call3 call) {
+            this.call = call;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) throws Throwable {
+            return call.call(target, args[0], args[1], args[2]);
+        }
+    }
+
+    private static final class Arity4 extends EjmMethodInvoker {
+        private final Call4 call;
+
+        Arity4(Call4 call) {
+            this.call = call;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) throws Throwable {
+            return call.call(target, args[0], args[1], args[2], args[3]);
+        }
+    }
+
+    private static final class SkeletonInvoker extends EjmMethodInvoker {
+
+        private final EjmSkeleton.Call call;
+
+        SkeletonInvoker(EjmSkeleton.Call call) {
+            this.call = call;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) throws Throwable {
+            return call.invoke(target, args);
+        }
+    }
+
+    private static final class HandleInvoker extends EjmMethodInvoker {
+
+        private final MethodHandle handle;
+
+        HandleInvoker(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) throws Throwable {
+            return handle.invokeExact(target, args);
+        }
+    }
+
+    private static final class ReflectiveInvoker extends EjmMethodInvoker {
+
+        private final Method method;
+
+        ReflectiveInvoker(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Object invoke(Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
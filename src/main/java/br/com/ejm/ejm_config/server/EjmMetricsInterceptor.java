@@ -0,0 +1,115 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.metrics.EjmMethodMetrics;
+import br.com.ejm.ejm_config.metrics.EjmMetrics;
+import br.com.ejm.ejm_config.metrics.EjmServerCallEvent;
+import br.com.ejm.ejm_config.metrics.EjmSlowCall;
+import br.com.ejm.ejm_config.metrics.EjmSlowCalls;
+import br.com.ejm.ejm_config.transport.EjmWireMeter;
+
+import java.rmi.server.RemoteServer;
+import java.rmi.server.ServerNotActiveException;
+import java.time.Instant;
+
+/**
+ * Registra chamadas, erros, chamadas em andamento, latência e bytes de cada método exportado
+ * ({@link EjmMetrics}, lado {@code Server}), as chamadas lentas ({@link EjmSlowCalls}) e o evento
+ * JFR {@link EjmServerCallEvent}.
+ *
+ * É o primeiro elo da cadeia: a latência inclui a espera na fila de admissão e as recusas por
+ * sobrecarga contam como erro. Com tudo desligado, a chamada passa direto.
+ */
+public class EjmMetricsInterceptor implements EjmInterceptor {
+
+    // null enquanto não associado a um método
+    private final EjmServerMethod method;
+    private final EjmMethodMetrics metrics;
+    private final EjmSlowCalls.Ring slowCalls;
+
+    public EjmMetricsInterceptor() {
+        this(null, null, null);
+    }
+
+    private EjmMetricsInterceptor(EjmServerMethod method, EjmMethodMetrics metrics, EjmSlowCalls.Ring slowCalls) {
+        this.method = method;
+        this.metrics = metrics;
+        this.slowCalls = slowCalls;
+    }
+
+    @Override
+    public EjmInterceptor bind(EjmServerMethod method) {
+        return new EjmMetricsInterceptor(method,
+                EjmMetrics.global().method(EjmMetrics.Side.SERVER, method.service(), method.key()),
+                EjmSlowCalls.global().ring(EjmMetrics.Side.SERVER, method.service()));
+    }
+
+    @Override
+    public Object intercept(EjmServerMethod called, Object[] args, Chain next) throws Throwable {
+        if (this.method == null) {
+            // interceptor usado sem bind (fora do EjmServiceInvoker)
+            return ((EjmMetricsInterceptor) bind(called)).intercept(called, args, next);
+        }
+
+        boolean metered = EjmMetrics.enabled();
+        boolean slowOn = EjmSlowCalls.enabled();
+        EjmServerCallEvent event = new EjmServerCallEvent();
+        if (!metered && !slowOn && !event.isEnabled()) {
+            return next.proceed(args);
+        }
+
+        long bytesIn = EjmWireMeter.takePendingIn();
+        if (metered) {
+            metrics.addBytesIn(bytesIn);
+            metrics.begin();
+            // sem restaurar: a resposta é escrita nesta thread depois do retorno e conta para este método
+            EjmWireMeter.bind(metrics);
+        }
+
+        event.begin();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return next.proceed(args);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            long end = System.nanoTime();
+            long total = end - start;
+            if (metered) metrics.end(total, failure != null);
+
+            event.end();
+            boolean slow = slowOn && slowCalls.isCandidate(total, end);
+            if (slow || event.shouldCommit()) {
+                long queue = EjmDispatcher.lastQueueNanos();
+                String client = clientHost();
+                String error = failure == null ? null : failure.getClass().getName();
+                long inBytes = metered ? bytesIn : -1;
+
+                if (event.shouldCommit()) {
+                    event.service = method.service();
+                    event.method = method.key();
+                    event.client = client;
+                    event.queue = queue;
+                    event.execution = total - queue;
+                    event.bytesIn = Math.max(inBytes, 0);
+                    event.error = error;
+                    event.commit();
+                }
+                if (slow) {
+                    slowCalls.add(new EjmSlowCall(EjmMetrics.Side.SERVER, method.service(), method.key(), client,
+                            Instant.now().minusNanos(total), total, queue, -1, total - queue, -1, inBytes, error,
+                            Thread.currentThread().getName(), end));
+                }
+            }
+        }
+    }
+
+    private static String clientHost() {
+        try {
+            return RemoteServer.getClientHost();
+        } catch (ServerNotActiveException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.codec.EjmCodec;
+import br.com.ejm.ejm_config.codec.EjmCodecs;
+import br.com.ejm.ejm_config.codec.EjmTypeFilter;
+import br.com.ejm.ejm_config.codec.JavaSerializationCodec;
+import br.com.ejm.ejm_config.remote.EjmBatchResult;
+import br.com.ejm.ejm_config.transport.EjmMuxProtocol;
+import br.com.ejm.ejm_config.transport.EjmMuxServer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.rmi.MarshalException;
+import java.rmi.UnmarshalException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serviços de uma porta do transporte multiplexado ({@code @EjmService(muxPort = ...)}).
+ *
+ * Cada serviço é registrado pelo nome, e o endpoint embutido pelo nome com {@code $ejm}. As chamadas
+ * passam pelas mesmas cadeias de interceptors do {@link EjmServiceInvoker} usadas pelo RMI. Argumentos
+ * e resultado usam a serialização Java ou o codec do serviço, o que o cliente pedir.
+ */
+public class EjmMuxEndpoint implements AutoCloseable {
+
+    // Workers quando não há virtual threads
+    private static final int MAX_THREADS = 256;
+
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+    private final EjmMuxServer server;
+
+    public EjmMuxEndpoint(int port) throws IOException {
+        this.server = new EjmMuxServer(port, this::handle, MAX_THREADS);
+    }
+
+    /**
+     * @param codec codec do serviço aceito além da serialização Java
+     */
+    public void register(String name, EjmServiceInvoker invoker, String codec) {
+        EjmCodec accepted = EjmCodecs.isJava(codec) ? null : EjmCodecs.get(codec);
+        targets.put(name, new Target(invoker, accepted));
+    }
+
+    public int getPort() {
+        return server.getPort();
+    }
+
+    private EjmMuxProtocol.Reply handle(String name, String method, String codecName, byte[] payload) {
+        Target target = targets.get(name);
+        if (target == null) {
+            return EjmMuxProtocol.Reply.error(EjmMuxProtocol.STATUS_NO_SUCH_OBJECT,
+                    "[EJM] Serviço não exportado no transporte multiplexado: " + name);
+        }
+        if (method.isEmpty()) {
+            // lookup: o cliente monta o stub com a interface remota
+            return EjmMuxProtocol.Reply.ok(target.invoker.getInterface().getName().getBytes(StandardCharsets.UTF_8));
+        }
+
+        EjmCodec codec = target.codecFor(codecName);
+        if (codec == null) {
+            return EjmMuxProtocol.Reply.error(EjmMuxProtocol.STATUS_UNKNOWN_CODEC,
+                    "[EJM] Codec não aceito por " + name + ": " + codecName);
+        }
+
+        EjmTypeFilter filter = target.invoker.argumentFilter(method);
+        EjmBatchResult result;
+        if (filter == null) {
+            result = EjmBatchResult.failure(new NoSuchMethodException("[EJM] Método remoto inexistente: " + method));
+        } else {
+            try {
+                result = invoke(target.invoker, method, (Object[]) codec.decode(payload, filter));
+            } catch (IOException | ClassCastException e) {
+                result = EjmBatchResult.failure(new UnmarshalException("[EJM] Falha ao decodificar argumentos de " + method, e));
+            }
+        }
+
+        try {
+            return EjmMuxProtocol.Reply.ok(codec.encode(result));
+        } catch (IOException e) {
+            try {
+                return EjmMuxProtocol.Reply.ok(codec.encode(EjmBatchResult.failure(
+                        new MarshalException("[EJM] Falha ao codificar resultado de " + method + ": " + e.getMessage()))));
+            } catch (IOException again) {
+                return EjmMuxProtocol.Reply.error(EjmMuxProtocol.STATUS_FAILURE,
+                        "[EJM] Falha ao codificar resultado de " + method + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static EjmBatchResult invoke(EjmServiceInvoker invoker, String method, Object[] args) {
+        EjmInterceptor.Chain chain = invoker.chainFor(method);
+        if (chain == null) {
+            return EjmBatchResult.failure(new NoSuchMethodException("[EJM] Método remoto inexistente: " + method));
+        }
+
+        try {
+            invoker.checkArguments(method, args);
+            return EjmBatchResult.success(chain.proceed(args));
+        } catch (Throwable e) {
+            return EjmBatchResult.failure(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.close();
+        targets.clear();
+    }
+
+    private record Target(EjmServiceInvoker invoker, EjmCodec codec) {
+        EjmCodec codecFor(String name) {
+            if (EjmCodecs.isJava(name)) return EjmCodecs.get(JavaSerializationCodec.NAME);
+            return codec != null && codec.name().equals(name) ? codec : null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.ejm.ejm_config.server;
+
+import java.lang.reflect.Method;
+
+/**
+ * Método exportado de um serviço, como visto pelos {@link EjmInterceptor}s.
+ *
+ * @param service nome do serviço no Registry
+ * @param method  método da interface remota
+ * @param key     chave estável do método ({@code EjmMethodKey})
+ */
+public record EjmServerMethod(String service, Method method, String key) {
+
+    public boolean isPing() {
+        return method.getName().equals("ping") && method.getParameterCount() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return service + "." + key;
+    }
+}
@@ -0,0 +1,142 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.aot.EjmAot;
+import br.com.ejm.ejm_config.codec.EjmTypeFilter;
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pipeline de invocação de um serviço exportado.
+ *
+ * Na exportação monta, para cada método da interface remota, um {@link EjmMethodInvoker} direto
+ * e a cadeia de {@link EjmInterceptor}s que se aplicam a ele. O objeto exportado no RMI é um proxy
+ * da interface (o stub gerado pelo {@code EjmAotProcessor}, quando houver) cujo handler só localiza
+ * a cadeia do método e a executa; o endpoint embutido usa as mesmas cadeias pela chave do método.
+ */
+public class EjmServiceInvoker implements InvocationHandler {
+
+    private final Object target;
+    private final Class<?> iface;
+
+    // Somente leitura após o construtor
+    private final Map<Method, EjmInterceptor.Chain> byMethod = new HashMap<>();
+    private final Map<String, EjmInterceptor.Chain> byKey = new HashMap<>();
+    private final Map<String, Method> methods = new HashMap<>();
+
+    // Filtros dos argumentos decodificados pelo endpoint embutido, montados no primeiro uso de cada método
+    private final Map<String, EjmTypeFilter> filters = new ConcurrentHashMap<>();
+
+    // Cópia por identidade dos Methods que o proxy repassa (sempre as mesmas instâncias por método),
+    // para a busca não pagar Method.equals a cada chamada; republicada a cada método novo
+    private volatile Map<Method, EjmInterceptor.Chain> resolved = new IdentityHashMap<>();
+
+    private final Object proxy;
+
+    public EjmServiceInvoker(String service, Object target, Class<?> iface, List<? extends EjmInterceptor> interceptors) {
+        this.target = target;
+        this.iface = iface;
+
+        for (Method method : iface.getMethods()) {
+            EjmServerMethod serverMethod = new EjmServerMethod(service, method, EjmMethodKey.of(method));
+            EjmInterceptor.Chain chain = chain(serverMethod, EjmMethodInvoker.of(iface, method), interceptors);
+            byMethod.put(method, chain);
+            byKey.put(serverMethod.key(), chain);
+            methods.put(serverMethod.key(), method);
+        }
+
+        this.proxy = EjmAot.newProxy(iface, this);
+    }
+
+    private EjmInterceptor.Chain chain(EjmServerMethod method, EjmMethodInvoker invoker,
+                                       List<? extends EjmInterceptor> interceptors) {
+        EjmInterceptor.Chain chain = args -> invoker.invoke(target, args);
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            EjmInterceptor interceptor = interceptors.get(i).bind(method);
+            if (interceptor == null) continue;
+
+            EjmInterceptor.Chain next = chain;
+            chain = args -> interceptor.intercept(method, args, next);
+        }
+        return chain;
+    }
+
+    /** Objeto que implementa a interface remota e passa as chamadas pelo pipeline; é ele que vai para o RMI. */
+    public Object getProxy() {
+        return proxy;
+    }
+
+    public Class<?> getInterface() {
+        return iface;
+    }
+
+    /** Cadeia do método pela chave do {@code EjmMethodKey}; {@code null} se o método não existe. */
+    public EjmInterceptor.Chain chainFor(String key) {
+        return byKey.get(key);
+    }
+
+    /** Classes aceitas ao decodificar os argumentos do método; {@code null} se o método não existe. */
+    public EjmTypeFilter argumentFilter(String key) {
+        Method method = methods.get(key);
+        return method == null ? null : filters.computeIfAbsent(key, k -> EjmTypeFilter.forArguments(method));
+    }
+
+    /**
+     * Confere argumentos que chegaram fora do RMI (lote, codec, transporte multiplexado) com a
+     * assinatura do método, como o unmarshalling do RMI faz, antes de entregá-los à cadeia.
+     *
+     * @throws IllegalArgumentException se a quantidade ou o tipo de algum argumento não bate
+     */
+    public void checkArguments(String key, Object[] args) {
+        Class<?>[] types = methods.get(key).getParameterTypes();
+        int count = args == null ? 0 : args.length;
+        if (count != types.length) {
+            throw new IllegalArgumentException("[EJM] " + key + " espera " + types.length + " argumento(s), recebeu " + count);
+        }
+        for (int i = 0; i < count; i++) {
+            Object arg = args[i];
+            boolean valid = arg == null
+                    ? !types[i].isPrimitive()
+                    : MethodType.methodType(types[i]).wrap().returnType().isInstance(arg);
+            if (!valid) {
+                throw new IllegalArgumentException("[EJM] Argumento " + i + " de " + key + " incompatível: esperado "
+                        + types[i].getName() + ", recebido " + (arg == null ? "null" : arg.getClass().getName()));
+            }
+        }
+    }
+
+    private synchronized EjmInterceptor.Chain resolve(Method method) {
+        EjmInterceptor.Chain chain = byMethod.get(method);
+        if (chain != null) {
+            Map<Method, EjmInterceptor.Chain> copy = new IdentityHashMap<>(resolved);
+            copy.put(method, chain);
+            resolved = copy;
+        }
+        return chain;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        EjmInterceptor.Chain chain = resolved.get(method);
+        if (chain == null) {
+            chain = resolve(method);
+        }
+        if (chain != null) {
+            return chain.proceed(args);
+        }
+
+        // equals/hashCode/toString de Object
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> "EjmServiceInvoker[" + iface.getSimpleName() + " -> " + target + "]";
+        };
+    }
+}
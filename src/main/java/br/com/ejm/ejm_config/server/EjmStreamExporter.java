@@ -0,0 +1,191 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.annotations.EjmStreaming;
+import br.com.ejm.ejm_config.remote.EjmRemoteStream;
+import br.com.ejm.ejm_config.remote.EjmStream;
+import br.com.ejm.ejm_config.remote.EjmStreamChunk;
+import br.com.ejm.ejm_config.remote.EjmStreamCursor;
+import br.com.ejm.ejm_config.utils.EjmExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.server.RMIClientSocketFactory;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.UnicastRemoteObject;
+import java.rmi.server.Unreferenced;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Último elo da cadeia dos métodos que retornam {@link EjmStream}: troca a fonte devolvida pelo bean
+ * por um {@link EjmRemoteStream}, com o primeiro bloco já lido e um {@link EjmStreamCursor} exportado
+ * na porta do serviço para os demais.
+ *
+ * Cada cursor segura a fonte até o último bloco, o {@code close()} do cliente, o fim das referências
+ * do cliente (DGC do RMI) ou o {@link EjmStreaming#idleTimeout()}, o que vier primeiro.
+ */
+public class EjmStreamExporter implements EjmInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmStreamExporter.class);
+
+    // Verificação de cursores inativos e remoção da exportação fora das threads do RMI
+    private static final ScheduledExecutorService REAPER =
+            Executors.newSingleThreadScheduledExecutor(EjmExecutors.daemon("ejm-stream-reaper"));
+
+    private static final long SWEEP_INTERVAL_MILLIS = 5_000;
+
+    private final int exportPort;
+    private final RMIClientSocketFactory csf;
+    private final RMIServerSocketFactory ssf;
+
+    private final Set<Cursor> open = ConcurrentHashMap.newKeySet();
+    private final ScheduledFuture<?> sweep;
+
+    public EjmStreamExporter(int exportPort, RMIClientSocketFactory csf, RMIServerSocketFactory ssf) {
+        this.exportPort = exportPort;
+        this.csf = csf;
+        this.ssf = ssf;
+        this.sweep = REAPER.scheduleWithFixedDelay(this::closeIdle,
+                SWEEP_INTERVAL_MILLIS, SWEEP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public EjmInterceptor bind(EjmServerMethod method) {
+        if (!EjmStream.class.isAssignableFrom(method.method().getReturnType())) return null;
+
+        EjmStreaming streaming = method.method().getAnnotation(EjmStreaming.class);
+        int chunkSize = streaming == null ? 256 : Math.max(1, streaming.chunkSize());
+        int prefetch = streaming == null ? 1 : streaming.prefetch();
+        long idleTimeout = streaming == null ? 60_000 : streaming.idleTimeout();
+        return (called, args, next) -> export(next.proceed(args), chunkSize, prefetch, idleTimeout);
+    }
+
+    @Override
+    public Object intercept(EjmServerMethod method, Object[] args, Chain next) throws Throwable {
+        // interceptor usado sem bind (fora do EjmServiceInvoker)
+        EjmInterceptor bound = bind(method);
+        return bound == null ? next.proceed(args) : bound.intercept(method, args, next);
+    }
+
+    private Object export(Object result, int chunkSize, int prefetch, long idleTimeout) throws RemoteException {
+        if (!(result instanceof EjmStream<?> source) || result instanceof EjmRemoteStream) return result;
+
+        Cursor cursor = new Cursor(source, chunkSize, TimeUnit.MILLISECONDS.toNanos(idleTimeout));
+        EjmStreamChunk first = cursor.read();
+        if (first.last()) {
+            // coube tudo no primeiro bloco: nada fica aberto no provider
+            return new EjmRemoteStream<>(null, first, prefetch);
+        }
+
+        open.add(cursor);
+        try {
+            EjmStreamCursor stub = (EjmStreamCursor) UnicastRemoteObject.exportObject(cursor, exportPort, csf, ssf);
+            return new EjmRemoteStream<>(stub, first, prefetch);
+        } catch (RemoteException | RuntimeException e) {
+            cursor.close();
+            throw e;
+        }
+    }
+
+    /** Cursores abertos neste serviço. */
+    public int getOpenStreams() {
+        return open.size();
+    }
+
+    /** Fecha todos os cursores (contexto encerrando). */
+    public void closeAll() {
+        sweep.cancel(false);
+        for (Cursor cursor : new ArrayList<>(open)) {
+            cursor.close();
+        }
+    }
+
+    void closeIdle() {
+        long now = System.nanoTime();
+        for (Cursor cursor : open) {
+            if (cursor.isIdle(now)) {
+                LOGGER.debug("[EJM] Cursor de stream inativo fechado.");
+                cursor.close();
+            }
+        }
+    }
+
+    private final class Cursor implements EjmStreamCursor, Unreferenced {
+
+        private final EjmStream<?> source;
+        private final int chunkSize;
+        private final long idleTimeoutNanos;
+
+        private volatile long lastAccess = System.nanoTime();
+        private boolean closed;
+
+        Cursor(EjmStream<?> source, int chunkSize, long idleTimeoutNanos) {
+            this.source = source;
+            this.chunkSize = chunkSize;
+            this.idleTimeoutNanos = idleTimeoutNanos;
+        }
+
+        @Override
+        public synchronized EjmStreamChunk next() throws RemoteException {
+            if (closed) throw new NoSuchObjectException("[EJM] Stream já fechado no provider");
+            return read();
+        }
+
+        synchronized EjmStreamChunk read() {
+            lastAccess = System.nanoTime();
+            try {
+                ArrayList<Object> items = new ArrayList<>(chunkSize);
+                while (items.size() < chunkSize && source.hasNext()) {
+                    items.add(source.next());
+                }
+                boolean last = !source.hasNext();
+                if (last) close();
+                return new EjmStreamChunk(items, last);
+            } catch (RuntimeException | Error e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (closed) return;
+                closed = true;
+            }
+            open.remove(this);
+            try {
+                source.close();
+            } catch (RuntimeException e) {
+                LOGGER.warn("[EJM] ⚠️ Falha ao fechar a fonte de um stream: {}", e.getMessage());
+            }
+            // pode estar dentro de uma chamada deste cursor: remove fora dela
+            REAPER.execute(this::unexport);
+        }
+
+        private void unexport() {
+            try {
+                UnicastRemoteObject.unexportObject(this, true);
+            } catch (NoSuchObjectException e) {
+                // nunca exportado (resultado num bloco só) ou já removido
+            }
+        }
+
+        @Override
+        public void unreferenced() {
+            // cliente descartou o stream sem fechar (ou caiu)
+            close();
+        }
+
+        boolean isIdle(long now) {
+            return now - lastAccess > idleTimeoutNanos;
+        }
+    }
+}
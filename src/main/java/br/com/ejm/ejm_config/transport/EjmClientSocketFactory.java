@@ -0,0 +1,112 @@
+package br.com.ejm.ejm_config.transport;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.rmi.server.RMIClientSocketFactory;
+
+/**
+ * Fábrica de sockets do lado cliente, serializada junto com o stub exportado pelo servidor.
+ *
+ * Antes de cada leitura o socket aplica como SO_TIMEOUT o tempo restante do
+ * {@link EjmDeadline} da thread chamadora, então uma chamada nunca bloqueia além do prazo.
+ * Os bytes lidos e escritos são atribuídos à chamada pelo {@link EjmWireMeter}.
+ */
+public class EjmClientSocketFactory implements RMIClientSocketFactory, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Timeout de conexão quando a chamada não tem deadline
+    private static final int DEFAULT_CONNECT_TIMEOUT = 10_000;
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        Socket socket = newSocket();
+        int remaining = EjmDeadline.remainingMillis();
+        if (remaining < 0) {
+            throw new SocketTimeoutException("[EJM] Deadline expirado antes de conectar em " + host + ":" + port);
+        }
+
+        int connectTimeout = remaining == 0 ? DEFAULT_CONNECT_TIMEOUT : Math.min(remaining, DEFAULT_CONNECT_TIMEOUT);
+        socket.connect(new InetSocketAddress(host, port), connectTimeout);
+        socket.setTcpNoDelay(true);
+        return socket;
+    }
+
+    /** Socket ainda não conectado; subclasses podem acrescentar camadas aos streams. */
+    protected Socket newSocket() {
+        return new DeadlineSocket();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other != null && other.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    /** Socket que converte o deadline da thread atual em timeout de leitura. */
+    static class DeadlineSocket extends Socket {
+
+        private InputStream input;
+        private OutputStream output;
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (input == null) {
+                input = new DeadlineInputStream(super.getInputStream(), this);
+            }
+            return input;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (output == null) {
+                output = new EjmWireMeter.MeteredOutputStream(super.getOutputStream());
+            }
+            return output;
+        }
+    }
+
+    static class DeadlineInputStream extends FilterInputStream {
+
+        private final Socket socket;
+
+        DeadlineInputStream(InputStream in, Socket socket) {
+            super(in);
+            this.socket = socket;
+        }
+
+        @Override
+        public int read() throws IOException {
+            applyDeadline();
+            int b = super.read();
+            if (b >= 0) EjmWireMeter.clientRead(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            applyDeadline();
+            int n = super.read(b, off, len);
+            EjmWireMeter.clientRead(n);
+            return n;
+        }
+
+        private void applyDeadline() throws IOException {
+            int remaining = EjmDeadline.remainingMillis();
+            if (remaining < 0) {
+                throw new SocketTimeoutException("[EJM] Deadline da chamada expirado");
+            }
+            socket.setSoTimeout(remaining);
+        }
+    }
+}
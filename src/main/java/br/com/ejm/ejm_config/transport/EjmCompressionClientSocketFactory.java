@@ -0,0 +1,66 @@
+package br.com.ejm.ejm_config.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * Fábrica de sockets do cliente para serviços com compressão, par da
+ * {@link EjmCompressionServerSocketFactory}: mantém o deadline da {@link EjmClientSocketFactory}
+ * e troca frames comprimidos acima do threshold.
+ */
+public class EjmCompressionClientSocketFactory extends EjmClientSocketFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int threshold;
+
+    public EjmCompressionClientSocketFactory(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected Socket newSocket() {
+        return new CompressedDeadlineSocket(threshold);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof EjmCompressionClientSocketFactory factory
+                && factory.getClass() == getClass()
+                && factory.threshold == threshold;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * getClass().hashCode() + threshold;
+    }
+
+    static class CompressedDeadlineSocket extends DeadlineSocket {
+
+        private final int threshold;
+        private InputStream input;
+        private OutputStream output;
+
+        CompressedDeadlineSocket(int threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (input == null) {
+                input = new EjmCompressionInputStream(super.getInputStream());
+            }
+            return input;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (output == null) {
+                output = new EjmCompressionOutputStream(super.getOutputStream(), threshold);
+            }
+            return output;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.ejm.ejm_config.transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lado leitor do {@link EjmCompressionOutputStream}: frames RAW são lidos direto do
+ * socket, frames DEFLATE são descomprimidos com um {@link Inflater} reaproveitado.
+ */
+final class EjmCompressionInputStream extends InputStream {
+
+    private static final int MAX_RETAINED_BUFFER = 256 * 1024;
+
+    private final InputStream in;
+    private final Inflater inflater = new Inflater(true);
+    private final byte[] header = new byte[4];
+    private byte[] frame = new byte[0];
+    private byte[] compressed = new byte[0];
+    private int pos;
+    private int limit;
+    private int rawRemaining;
+
+    EjmCompressionInputStream(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextData()) return -1;
+        if (rawRemaining > 0) {
+            int b = in.read();
+            if (b < 0) throw new EOFException("[EJM] Conexão encerrada no meio de um frame");
+            rawRemaining--;
+            return b;
+        }
+        return frame[pos++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (!nextData()) return -1;
+        if (rawRemaining > 0) {
+            int n = in.read(b, off, Math.min(len, rawRemaining));
+            if (n < 0) throw new EOFException("[EJM] Conexão encerrada no meio de um frame");
+            rawRemaining -= n;
+            return n;
+        }
+        int n = Math.min(len, limit - pos);
+        System.arraycopy(frame, pos, b, off, n);
+        pos += n;
+        return n;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return rawRemaining > 0 ? Math.min(rawRemaining, in.available()) : limit - pos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            in.close();
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /** Garante dados no frame atual, lendo o próximo cabeçalho se preciso; false no fim do stream. */
+    private boolean nextData() throws IOException {
+        while (rawRemaining == 0 && pos == limit) {
+            int type = in.read();
+            if (type < 0) return false;
+
+            int length = readInt();
+            if (length < 0 || length > EjmCompressionOutputStream.MAX_FRAME) {
+                throw new IOException("[EJM] Tamanho de frame inválido: " + length);
+            }
+
+            if (type == EjmCompressionOutputStream.RAW) {
+                rawRemaining = length;
+            } else if (type == EjmCompressionOutputStream.DEFLATE) {
+                inflate(length, readInt());
+            } else {
+                throw new IOException("[EJM] Tipo de frame desconhecido: " + type + " (cliente e servidor com compressão diferente?)");
+            }
+        }
+        return true;
+    }
+
+    private void inflate(int length, int original) throws IOException {
+        if (original < 0 || original > EjmCompressionOutputStream.MAX_FRAME) {
+            throw new IOException("[EJM] Tamanho de frame inválido: " + original);
+        }
+        if (compressed.length < length || compressed.length > MAX_RETAINED_BUFFER) compressed = new byte[length];
+        if (frame.length < original || frame.length > MAX_RETAINED_BUFFER) frame = new byte[original];
+        readFully(compressed, length);
+
+        long start = System.nanoTime();
+        inflater.reset();
+        inflater.setInput(compressed, 0, length);
+        try {
+            int size = 0;
+            while (size < original && !inflater.finished()) {
+                int n = inflater.inflate(frame, size, original - size);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                size += n;
+            }
+            if (size != original) {
+                throw new IOException("[EJM] Frame comprimido corrompido");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("[EJM] Frame comprimido corrompido", e);
+        }
+        EjmCompressionStats.global().recordDecompressed(System.nanoTime() - start);
+
+        pos = 0;
+        limit = original;
+    }
+
+    private int readInt() throws IOException {
+        readFully(header, 4);
+        return ((header[0] & 0xFF) << 24) | ((header[1] & 0xFF) << 16) | ((header[2] & 0xFF) << 8) | (header[3] & 0xFF);
+    }
+
+    private void readFully(byte[] target, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            int n = in.read(target, read, length - read);
+            if (n < 0) throw new EOFException("[EJM] Conexão encerrada no meio de um frame");
+            read += n;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.ejm.ejm_config.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+/**
+ * Agrupa o que o RMI escreve até cada {@code flush()} num frame e comprime o frame quando
+ * ele passa do threshold e a compressão reduz o tamanho.
+ *
+ * Formato: {@code [RAW][tamanho][bytes]} ou {@code [DEFLATE][tamanho][tamanho original][bytes]}.
+ * O {@link Deflater} e os buffers são reaproveitados durante toda a conexão.
+ */
+final class EjmCompressionOutputStream extends OutputStream {
+
+    static final int RAW = 0;
+    static final int DEFLATE = 1;
+
+    // Frames maiores são quebrados; também limita o que o leitor aceita alocar
+    static final int MAX_FRAME = 1 << 20;
+
+    private static final int INITIAL_BUFFER = 8192;
+    private static final int MAX_RETAINED_BUFFER = 256 * 1024;
+
+    private final OutputStream out;
+    private final int threshold;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+    private final byte[] header = new byte[9];
+    private byte[] buf = new byte[INITIAL_BUFFER];
+    private byte[] compressed = new byte[0];
+    private int count;
+
+    EjmCompressionOutputStream(OutputStream out, int threshold) {
+        this.out = out;
+        this.threshold = Math.max(1, threshold);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == MAX_FRAME) writeFrame();
+        ensure(1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == MAX_FRAME) writeFrame();
+            int n = Math.min(len, MAX_FRAME - count);
+            ensure(n);
+            System.arraycopy(b, off, buf, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeFrame();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void ensure(int extra) {
+        if (count + extra > buf.length) {
+            buf = java.util.Arrays.copyOf(buf, Math.min(MAX_FRAME, Math.max(buf.length << 1, count + extra)));
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        if (count == 0) return;
+
+        if (count >= threshold) {
+            long start = System.nanoTime();
+            int size = deflate();
+            long nanos = System.nanoTime() - start;
+
+            // só compensa se sobrar ganho depois do cabeçalho maior
+            if (size > 0 && size + 4 < count) {
+                writeHeader(DEFLATE, size, count);
+                out.write(compressed, 0, size);
+                EjmCompressionStats.global().recordCompressed(count, size, nanos);
+                reset();
+                return;
+            }
+            EjmCompressionStats.global().recordDiscarded(nanos);
+        } else {
+            EjmCompressionStats.global().recordRaw();
+        }
+
+        writeHeader(RAW, count, -1);
+        out.write(buf, 0, count);
+        reset();
+    }
+
+    /** Comprime o frame atual; -1 se o resultado não couber num buffer do tamanho do original. */
+    private int deflate() {
+        if (compressed.length < count) {
+            compressed = new byte[count];
+        }
+        deflater.reset();
+        deflater.setInput(buf, 0, count);
+        deflater.finish();
+
+        int size = 0;
+        while (!deflater.finished() && size < count) {
+            size += deflater.deflate(compressed, size, count - size);
+        }
+        return deflater.finished() ? size : -1;
+    }
+
+    private void writeHeader(int type, int length, int original) throws IOException {
+        header[0] = (byte) type;
+        putInt(1, length);
+        if (original < 0) {
+            out.write(header, 0, 5);
+        } else {
+            putInt(5, original);
+            out.write(header, 0, 9);
+        }
+    }
+
+    private void putInt(int at, int value) {
+        header[at] = (byte) (value >>> 24);
+        header[at + 1] = (byte) (value >>> 16);
+        header[at + 2] = (byte) (value >>> 8);
+        header[at + 3] = (byte) value;
+    }
+
+    private void reset() {
+        count = 0;
+        // uma resposta grande não deve prender memória na conexão do pool
+        if (buf.length > MAX_RETAINED_BUFFER) buf = new byte[INITIAL_BUFFER];
+        if (compressed.length > MAX_RETAINED_BUFFER) compressed = new byte[0];
+    }
+}
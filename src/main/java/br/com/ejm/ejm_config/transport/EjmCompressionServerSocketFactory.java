@@ -0,0 +1,66 @@
+package br.com.ejm.ejm_config.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * Fábrica de server sockets para serviços com compressão, par da
+ * {@link EjmCompressionClientSocketFactory}.
+ *
+ * O RMI compartilha a porta de exportação entre objetos com fábricas iguais; serviços na
+ * mesma {@code exportPort} precisam usar a mesma configuração de compressão.
+ */
+public class EjmCompressionServerSocketFactory extends EjmServerSocketFactory {
+
+    private final int threshold;
+
+    public EjmCompressionServerSocketFactory(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected Socket newSocket() {
+        return new CompressedSocket(threshold);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof EjmCompressionServerSocketFactory factory
+                && factory.getClass() == getClass()
+                && factory.threshold == threshold;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * getClass().hashCode() + threshold;
+    }
+
+    private static final class CompressedSocket extends MeteredSocket {
+
+        private final int threshold;
+        private InputStream input;
+        private OutputStream output;
+
+        private CompressedSocket(int threshold) {
+            this.threshold = threshold;
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (input == null) {
+                input = new EjmCompressionInputStream(super.getInputStream());
+            }
+            return input;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (output == null) {
+                output = new EjmCompressionOutputStream(super.getOutputStream(), threshold);
+            }
+            return output;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package br.com.ejm.ejm_config.transport;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores da compressão de frames, somados para todas as conexões do processo.
+ */
+public final class EjmCompressionStats {
+
+    private static final EjmCompressionStats GLOBAL = new EjmCompressionStats();
+
+    // Frames enviados sem compressão (abaixo do threshold ou sem ganho)
+    private final LongAdder rawFrames = new LongAdder();
+    private final LongAdder compressedFrames = new LongAdder();
+
+    // Frames comprimidos recebidos
+    private final LongAdder decompressedFrames = new LongAdder();
+
+    // Bytes dos frames comprimidos antes e depois da compressão
+    private final LongAdder bytesBeforeCompression = new LongAdder();
+    private final LongAdder bytesAfterCompression = new LongAdder();
+
+    // Tempo gasto comprimindo e descomprimindo
+    private final LongAdder compressNanos = new LongAdder();
+    private final LongAdder decompressNanos = new LongAdder();
+
+    private EjmCompressionStats() {
+    }
+
+    public static EjmCompressionStats global() {
+        return GLOBAL;
+    }
+
+    void recordRaw() {
+        rawFrames.increment();
+    }
+
+    void recordCompressed(int original, int compressed, long nanos) {
+        compressedFrames.increment();
+        bytesBeforeCompression.add(original);
+        bytesAfterCompression.add(compressed);
+        compressNanos.add(nanos);
+    }
+
+    /** Tentativa de compressão descartada por não reduzir o frame: o custo conta, o ganho não. */
+    void recordDiscarded(long nanos) {
+        rawFrames.increment();
+        compressNanos.add(nanos);
+    }
+
+    void recordDecompressed(long nanos) {
+        decompressedFrames.increment();
+        decompressNanos.add(nanos);
+    }
+
+    public long getRawFrames() {
+        return rawFrames.sum();
+    }
+
+    public long getCompressedFrames() {
+        return compressedFrames.sum();
+    }
+
+    public long getDecompressedFrames() {
+        return decompressedFrames.sum();
+    }
+
+    public long getBytesBeforeCompression() {
+        return bytesBeforeCompression.sum();
+    }
+
+    public long getBytesAfterCompression() {
+        return bytesAfterCompression.sum();
+    }
+
+    /** Bytes originais / bytes comprimidos; 1.0 enquanto nada foi comprimido. */
+    public double getCompressionRatio() {
+        long after = bytesAfterCompression.sum();
+        return after == 0 ? 1.0 : (double) bytesBeforeCompression.sum() / after;
+    }
+
+    public long getCompressNanos() {
+        return compressNanos.sum();
+    }
+
+    public long getDecompressNanos() {
+        return decompressNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("frames=%d/%d comprimidos, ratio=%.2f, compress=%d ms, recebidos=%d, decompress=%d ms",
+                getCompressedFrames(), getCompressedFrames() + getRawFrames(), getCompressionRatio(),
+                getCompressNanos() / 1_000_000, getDecompressedFrames(), getDecompressNanos() / 1_000_000);
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.ejm.ejm_config.transport;
+
+/**
+ * Deadline da chamada remota em andamento na thread atual.
+ *
+ * O proxy do cliente define o deadline antes de chamar o stub; os sockets criados pelo
+ * {@link EjmClientSocketFactory} o convertem em timeout de leitura.
+ */
+public final class EjmDeadline {
+
+    private static final ThreadLocal<long[]> CURRENT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private EjmDeadline() {
+    }
+
+    /**
+     * Define o deadline absoluto (em {@link System#nanoTime()}) da thread atual.
+     *
+     * @return o deadline anterior, para ser restaurado com {@link #restore(long)}
+     */
+    public static long set(long deadlineNanos) {
+        long[] holder = CURRENT.get();
+        long previous = holder[0];
+        holder[0] = deadlineNanos;
+        return previous;
+    }
+
+    public static void restore(long previous) {
+        CURRENT.get()[0] = previous;
+    }
+
+    /** Deadline da thread atual, ou 0 quando não há deadline. */
+    public static long current() {
+        return CURRENT.get()[0];
+    }
+
+    /**
+     * Milissegundos restantes até o deadline: 0 = sem deadline; negativo = já expirou.
+     */
+    public static int remainingMillis() {
+        long deadline = CURRENT.get()[0];
+        if (deadline == 0) return 0;
+
+        long remaining = (deadline - System.nanoTime()) / 1_000_000;
+        if (remaining <= 0) return -1;
+        return (int) Math.min(remaining, Integer.MAX_VALUE);
+    }
+
+    public static boolean isExpired() {
+        long deadline = CURRENT.get()[0];
+        return deadline != 0 && deadline - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,275 @@
+package br.com.ejm.ejm_config.transport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.rmi.ConnectException;
+import java.rmi.ConnectIOException;
+import java.rmi.MarshalException;
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.UnmarshalException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lado cliente do transporte multiplexado: poucas conexões persistentes por provider ({@code host:port}),
+ * compartilhadas por todos os serviços e threads do cliente.
+ *
+ * A thread chamadora escreve o frame (um lock por conexão) e aguarda a resposta pelo id de correlação;
+ * uma thread leitora por conexão só separa os frames e entrega cada resposta a quem espera. O deadline
+ * da thread ({@link EjmDeadline}) limita a espera, sem afetar as demais chamadas da conexão.
+ *
+ * As falhas seguem as exceções do RMI: sem conexão, {@link ConnectException}/{@link ConnectIOException}
+ * (a requisição não saiu, pode ser repetida); conexão perdida ou deadline durante a espera,
+ * {@link UnmarshalException}.
+ */
+public class EjmMuxClient implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmMuxClient.class);
+
+    /** Prefixo das URLs de serviços no transporte multiplexado: {@code ejm://host:port/Servico}. */
+    public static final String SCHEME = "ejm://";
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 5_000;
+
+    private final int connectionsPerEndpoint;
+    private final Map<String, Connection[]> pools = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private volatile boolean closed;
+
+    public EjmMuxClient(int connectionsPerEndpoint) {
+        this.connectionsPerEndpoint = Math.max(1, connectionsPerEndpoint);
+    }
+
+    /**
+     * Envia uma requisição e aguarda a resposta.
+     *
+     * @param address {@code host:port} do provider
+     * @return o conteúdo da resposta, ou {@code null} se o provider não aceita o codec
+     * @throws NoSuchObjectException se o alvo não está exportado nesse provider
+     */
+    public byte[] call(String address, String target, String method, String codec, byte[] payload)
+            throws RemoteException {
+        long id = ids.incrementAndGet();
+        Connection connection = connection(address, id);
+
+        byte[] targetBytes = target.getBytes(StandardCharsets.UTF_8);
+        byte[] methodBytes = method.getBytes(StandardCharsets.UTF_8);
+        byte[] codecBytes = codec.getBytes(StandardCharsets.UTF_8);
+        int length = 8 + EjmMuxProtocol.sizeOf(targetBytes) + EjmMuxProtocol.sizeOf(methodBytes)
+                + EjmMuxProtocol.sizeOf(codecBytes) + payload.length;
+        if (length > EjmMuxProtocol.MAX_FRAME_BYTES) {
+            throw new MarshalException("[EJM] Requisição de " + length + " bytes excede o frame multiplexado");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(4 + length - payload.length).putInt(length).putLong(id);
+        EjmMuxProtocol.putString(header, targetBytes);
+        EjmMuxProtocol.putString(header, methodBytes);
+        EjmMuxProtocol.putString(header, codecBytes);
+        header.flip();
+
+        CompletableFuture<EjmMuxProtocol.Reply> response;
+        try {
+            response = connection.send(id, header, ByteBuffer.wrap(payload));
+        } catch (IOException e) {
+            throw new ConnectIOException("[EJM] Falha ao enviar requisição para " + address, e);
+        }
+        EjmWireMeter.written(4 + length);
+
+        EjmMuxProtocol.Reply reply = await(connection, id, response, address, target, method);
+        EjmWireMeter.clientRead(4 + EjmMuxProtocol.REPLY_HEADER + reply.payload().length);
+
+        return switch (reply.status()) {
+            case EjmMuxProtocol.STATUS_OK -> reply.payload();
+            case EjmMuxProtocol.STATUS_UNKNOWN_CODEC -> null;
+            case EjmMuxProtocol.STATUS_NO_SUCH_OBJECT -> throw new NoSuchObjectException(reply.message());
+            default -> throw new UnmarshalException(reply.message());
+        };
+    }
+
+    private static EjmMuxProtocol.Reply await(Connection connection, long id, CompletableFuture<EjmMuxProtocol.Reply> response,
+                                              String address, String target, String method) throws RemoteException {
+        try {
+            int remaining = EjmDeadline.remainingMillis();
+            if (remaining == 0) return response.get();
+            if (remaining < 0) throw new TimeoutException();
+            return response.get(remaining, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            connection.abandon(id);
+            throw new UnmarshalException("[EJM] Sem resposta de " + address + " para " + target + "." + method,
+                    new SocketTimeoutException("deadline"));
+        } catch (InterruptedException e) {
+            connection.abandon(id);
+            Thread.currentThread().interrupt();
+            throw new UnmarshalException("[EJM] Espera interrompida: " + target + "." + method, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new UnmarshalException("[EJM] Conexão com " + address + " perdida durante " + target + "." + method,
+                    cause instanceof Exception ex ? ex : e);
+        }
+    }
+
+    /** Conexões distribuídas pelo id da requisição; uma conexão caída é reaberta na próxima chamada. */
+    private Connection connection(String address, long id) throws RemoteException {
+        if (closed) throw new ConnectException("[EJM] Cliente multiplexado encerrado");
+
+        Connection[] pool = pools.computeIfAbsent(address, key -> new Connection[connectionsPerEndpoint]);
+        int slot = (int) Math.floorMod(id, (long) pool.length);
+        Connection connection = pool[slot];
+        if (connection != null && connection.open) return connection;
+
+        synchronized (pool) {
+            connection = pool[slot];
+            if (connection != null && connection.open) return connection;
+            try {
+                connection = new Connection(address);
+            } catch (IOException e) {
+                throw new ConnectException("[EJM] Falha ao conectar em " + address, e);
+            }
+            pool[slot] = connection;
+            return connection;
+        }
+    }
+
+    /** Conexões abertas com o provider. */
+    public int getConnections(String address) {
+        Connection[] pool = pools.get(address);
+        if (pool == null) return 0;
+        int open = 0;
+        for (Connection connection : pool) {
+            if (connection != null && connection.open) open++;
+        }
+        return open;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Connection[] pool : pools.values()) {
+            for (Connection connection : pool) {
+                if (connection != null) connection.close(new ClosedChannelException());
+            }
+        }
+        pools.clear();
+    }
+
+    private static final class Connection {
+
+        private final String address;
+        private final SocketChannel channel;
+        private final Map<Long, CompletableFuture<EjmMuxProtocol.Reply>> pending = new ConcurrentHashMap<>();
+
+        // ReentrantLock em vez de synchronized: não prende a thread portadora de uma virtual thread
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private volatile boolean open = true;
+
+        private Connection(String address) throws IOException {
+            this.address = address;
+            int separator = address.lastIndexOf(':');
+            String host = address.substring(0, separator);
+            int port = Integer.parseInt(address.substring(separator + 1));
+
+            int remaining = EjmDeadline.remainingMillis();
+            int timeout = remaining > 0 ? Math.min(remaining, CONNECT_TIMEOUT_MILLIS) : CONNECT_TIMEOUT_MILLIS;
+            this.channel = SocketChannel.open();
+            try {
+                channel.socket().connect(new InetSocketAddress(host, port), timeout);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+
+            Thread reader = new Thread(this::readLoop, "ejm-mux-reader-" + address);
+            reader.setDaemon(true);
+            reader.start();
+            LOGGER.debug("[EJM] Conexão multiplexada aberta com {}.", address);
+        }
+
+        private CompletableFuture<EjmMuxProtocol.Reply> send(long id, ByteBuffer header, ByteBuffer payload)
+                throws IOException {
+            CompletableFuture<EjmMuxProtocol.Reply> response = new CompletableFuture<>();
+            pending.put(id, response);
+
+            ByteBuffer[] frame = {header, payload};
+            writeLock.lock();
+            try {
+                if (!open) throw new ClosedChannelException();
+                while (payload.hasRemaining() || header.hasRemaining()) {
+                    channel.write(frame);
+                }
+            } catch (IOException e) {
+                pending.remove(id);
+                close(e);
+                throw e;
+            } finally {
+                writeLock.unlock();
+            }
+            return response;
+        }
+
+        /** Resposta que ninguém mais espera (deadline): descartada quando chegar. */
+        private void abandon(long id) {
+            pending.remove(id);
+        }
+
+        private void readLoop() {
+            ByteBuffer header = ByteBuffer.allocate(4 + EjmMuxProtocol.REPLY_HEADER);
+            try {
+                while (open) {
+                    header.clear();
+                    readFully(header);
+                    int length = header.getInt(0);
+                    if (length < EjmMuxProtocol.REPLY_HEADER || length > EjmMuxProtocol.MAX_FRAME_BYTES) {
+                        throw new IOException("[EJM] Frame multiplexado inválido (" + length + " bytes)");
+                    }
+
+                    byte[] payload = new byte[length - EjmMuxProtocol.REPLY_HEADER];
+                    readFully(ByteBuffer.wrap(payload));
+                    CompletableFuture<EjmMuxProtocol.Reply> response = pending.remove(header.getLong(4));
+                    if (response != null) {
+                        response.complete(new EjmMuxProtocol.Reply(header.get(12), payload));
+                    }
+                }
+            } catch (IOException e) {
+                close(e);
+            }
+        }
+
+        private void readFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) throw new EOFException("[EJM] Conexão fechada por " + address);
+            }
+        }
+
+        private void close(IOException cause) {
+            if (!open) return;
+            open = false;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // já fechada
+            }
+            pending.values().forEach(response -> response.completeExceptionally(cause));
+            pending.clear();
+        }
+    }
+}
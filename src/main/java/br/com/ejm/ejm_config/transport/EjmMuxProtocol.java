@@ -0,0 +1,66 @@
+package br.com.ejm.ejm_config.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formato dos frames do transporte multiplexado ({@link EjmMuxServer} / {@link EjmMuxClient}).
+ *
+ * Todo frame começa com o tamanho do restante ({@code int}) e o id de correlação ({@code long}):
+ * <pre>
+ * requisição: tamanho | id | alvo | método | codec | argumentos codificados
+ * resposta:   tamanho | id | status | conteúdo
+ * </pre>
+ * Strings vão como {@code short} + UTF-8. Com {@link #STATUS_OK}, o conteúdo é o {@code EjmBatchResult}
+ * codificado pelo mesmo codec da requisição. Uma requisição com método vazio só verifica se o alvo
+ * existe e recebe o nome da interface remota.
+ */
+public final class EjmMuxProtocol {
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_NO_SUCH_OBJECT = 1;
+    public static final byte STATUS_UNKNOWN_CODEC = 2;
+    public static final byte STATUS_FAILURE = 3;
+
+    // Frames maiores fecham a conexão; conteúdo grande deve ir por EjmStream ou EjmBlob
+    public static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+
+    // id + status
+    static final int REPLY_HEADER = 8 + 1;
+
+    private EjmMuxProtocol() {
+    }
+
+    /** Resposta de uma requisição: status e conteúdo. */
+    public record Reply(byte status, byte[] payload) {
+
+        public static Reply ok(byte[] payload) {
+            return new Reply(STATUS_OK, payload);
+        }
+
+        public static Reply error(byte status, String message) {
+            return new Reply(status, message == null ? new byte[0] : message.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public String message() {
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+    }
+
+    static int sizeOf(byte[] utf8) {
+        return 2 + utf8.length;
+    }
+
+    static void putString(ByteBuffer buffer, byte[] utf8) {
+        buffer.putShort((short) utf8.length).put(utf8);
+    }
+
+    static String getString(ByteBuffer buffer) throws IOException {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length > buffer.remaining()) throw new IOException("[EJM] Frame multiplexado truncado");
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
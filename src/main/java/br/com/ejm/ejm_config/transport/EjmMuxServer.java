@@ -0,0 +1,295 @@
+package br.com.ejm.ejm_config.transport;
+
+import br.com.ejm.ejm_config.utils.EjmExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Lado servidor do transporte multiplexado: uma porta, poucas conexões persistentes por cliente e
+ * várias requisições em andamento em cada uma, identificadas pelo id de correlação
+ * ({@link EjmMuxProtocol}).
+ *
+ * Uma única thread com {@link Selector} aceita conexões, lê e separa os frames e termina as escritas
+ * pendentes. Cada requisição roda no executor de workers (virtual threads quando disponíveis) e a
+ * resposta é escrita direto da thread do worker; só o que não couber no buffer do socket volta para
+ * o selector. Respostas saem na ordem em que terminam, não na ordem das requisições.
+ */
+public class EjmMuxServer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmMuxServer.class);
+
+    private static final int READ_BUFFER = 64 * 1024;
+
+    /** Executa uma requisição; chamado na thread do worker. */
+    @FunctionalInterface
+    public interface Handler {
+        EjmMuxProtocol.Reply handle(String target, String method, String codec, byte[] payload);
+    }
+
+    private final Handler handler;
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final ExecutorService workers;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+
+    // Conexões com resposta parcial, aguardando OP_WRITE (a interestOps é alterada só no selector)
+    private final Queue<Connection> flushes = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running = true;
+
+    /**
+     * @param port       porta do transporte
+     * @param maxThreads workers quando não há virtual threads
+     */
+    public EjmMuxServer(int port, Handler handler, int maxThreads) throws IOException {
+        this.handler = handler;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        try {
+            server.bind(new InetSocketAddress(port));
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            server.close();
+            selector.close();
+            throw e;
+        }
+        this.workers = EjmExecutors.newPerTaskExecutor("ejm-mux", maxThreads);
+
+        Thread loop = new Thread(this::run, "ejm-mux-selector-" + getPort());
+        loop.setDaemon(true);
+        loop.start();
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /** Conexões de clientes abertas. */
+    public int getConnections() {
+        return connections.size();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                selector.select();
+
+                Connection pending;
+                while ((pending = flushes.poll()) != null) {
+                    pending.awaitWritable();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) connection.read();
+                        if (key.isValid() && key.isWritable()) connection.flush();
+                    } catch (IOException | RuntimeException e) {
+                        LOGGER.debug("[EJM] Conexão multiplexada encerrada: {}", e.getMessage());
+                        connection.close();
+                    }
+                }
+            } catch (ClosedSelectorException e) {
+                return;
+            } catch (IOException | RuntimeException e) {
+                if (running) LOGGER.warn("[EJM] ⚠️ Falha no selector do transporte multiplexado: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        connections.add(connection);
+    }
+
+    private void handle(Connection connection, byte[] frame) {
+        ByteBuffer request = ByteBuffer.wrap(frame);
+        long id = request.getLong();
+
+        EjmMuxProtocol.Reply reply;
+        EjmWireMeter.serverRead(frame.length + 4);
+        try {
+            String target = EjmMuxProtocol.getString(request);
+            String method = EjmMuxProtocol.getString(request);
+            String codec = EjmMuxProtocol.getString(request);
+            byte[] payload = Arrays.copyOfRange(frame, request.position(), frame.length);
+            reply = handler.handle(target, method, codec, payload);
+        } catch (IOException | RuntimeException e) {
+            reply = EjmMuxProtocol.Reply.error(EjmMuxProtocol.STATUS_FAILURE,
+                    "[EJM] Requisição multiplexada inválida: " + e.getMessage());
+        } finally {
+            // bytes de requisições que não passaram pelas métricas não contam para a próxima
+            EjmWireMeter.takePendingIn();
+        }
+
+        byte[] payload = reply.payload();
+        if (payload.length > EjmMuxProtocol.MAX_FRAME_BYTES - EjmMuxProtocol.REPLY_HEADER) {
+            reply = EjmMuxProtocol.Reply.error(EjmMuxProtocol.STATUS_FAILURE,
+                    "[EJM] Resposta de " + payload.length + " bytes excede o frame multiplexado; use EjmStream ou EjmBlob");
+            payload = reply.payload();
+        }
+        ByteBuffer header = ByteBuffer.allocate(4 + EjmMuxProtocol.REPLY_HEADER)
+                .putInt(EjmMuxProtocol.REPLY_HEADER + payload.length)
+                .putLong(id)
+                .put(reply.status())
+                .flip();
+        connection.send(header, ByteBuffer.wrap(payload));
+
+        // a resposta conta para o método que acabou de executar nesta thread
+        EjmWireMeter.written(header.capacity() + payload.length);
+        EjmWireMeter.restore(null);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            selector.close();
+            server.close();
+        } catch (IOException e) {
+            LOGGER.debug("[EJM] Falha ao fechar o transporte multiplexado: {}", e.getMessage());
+        }
+        connections.forEach(Connection::close);
+        workers.shutdownNow();
+    }
+
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private SelectionKey key;
+
+        // Só o selector lê; cresce para um frame maior e volta ao tamanho padrão
+        private ByteBuffer in = ByteBuffer.allocate(READ_BUFFER);
+
+        // Buffers ainda não escritos, em ordem; guardado por si mesmo
+        private final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void read() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+
+            in.flip();
+            while (in.remaining() >= 4) {
+                int length = in.getInt(in.position());
+                if (length < 8 || length > EjmMuxProtocol.MAX_FRAME_BYTES) {
+                    throw new IOException("[EJM] Frame multiplexado inválido (" + length + " bytes)");
+                }
+                if (in.remaining() < 4 + length) {
+                    if (in.capacity() < 4 + length) {
+                        ByteBuffer larger = ByteBuffer.allocate(4 + length);
+                        larger.put(in);
+                        in = larger;
+                        return;
+                    }
+                    break;
+                }
+
+                in.getInt();
+                byte[] frame = new byte[length];
+                in.get(frame);
+                workers.execute(() -> handle(this, frame));
+            }
+            in.compact();
+
+            if (in.capacity() > READ_BUFFER && in.position() <= READ_BUFFER) {
+                ByteBuffer standard = ByteBuffer.allocate(READ_BUFFER);
+                standard.put(in.flip());
+                in = standard;
+            }
+        }
+
+        /** Escreve o que couber agora; o restante fica para o selector. */
+        private void send(ByteBuffer... buffers) {
+            synchronized (out) {
+                if (out.isEmpty()) {
+                    try {
+                        channel.write(buffers);
+                    } catch (IOException e) {
+                        close();
+                        return;
+                    }
+                }
+
+                boolean idle = out.isEmpty();
+                for (ByteBuffer buffer : buffers) {
+                    if (buffer.hasRemaining()) out.add(buffer);
+                }
+                if (idle && !out.isEmpty()) {
+                    flushes.add(this);
+                    selector.wakeup();
+                }
+            }
+        }
+
+        private void awaitWritable() {
+            if (key.isValid()) key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+
+        private void flush() throws IOException {
+            synchronized (out) {
+                while (!out.isEmpty()) {
+                    ByteBuffer head = out.peek();
+                    channel.write(head);
+                    if (head.hasRemaining()) return;
+                    out.poll();
+                }
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        private void close() {
+            connections.remove(this);
+            if (key != null) key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // já fechada
+            }
+            synchronized (out) {
+                out.clear();
+            }
+        }
+    }
+}
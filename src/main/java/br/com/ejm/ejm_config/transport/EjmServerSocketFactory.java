@@ -0,0 +1,79 @@
+package br.com.ejm.ejm_config.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.rmi.server.RMIServerSocketFactory;
+
+/**
+ * Fábrica de server sockets dos serviços exportados: conexões com TCP_NODELAY e bytes contados
+ * pelo {@link EjmWireMeter}.
+ *
+ * O RMI compartilha a porta de exportação entre objetos com fábricas iguais; a igualdade é
+ * pela classe (e pela configuração, nas subclasses).
+ */
+public class EjmServerSocketFactory implements RMIServerSocketFactory {
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+        return new EjmServerSocket(port);
+    }
+
+    /** Socket ainda não aceito; subclasses podem acrescentar camadas aos streams. */
+    protected Socket newSocket() {
+        return new MeteredSocket();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other != null && other.getClass() == getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    private final class EjmServerSocket extends ServerSocket {
+
+        private EjmServerSocket(int port) throws IOException {
+            super(port);
+        }
+
+        @Override
+        public Socket accept() throws IOException {
+            if (isClosed()) throw new SocketException("Socket is closed");
+            if (!isBound()) throw new SocketException("Socket is not bound yet");
+
+            Socket socket = newSocket();
+            implAccept(socket);
+            socket.setTcpNoDelay(true);
+            return socket;
+        }
+    }
+
+    static class MeteredSocket extends Socket {
+
+        private InputStream input;
+        private OutputStream output;
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            if (input == null) {
+                input = new EjmWireMeter.ServerInputStream(super.getInputStream());
+            }
+            return input;
+        }
+
+        @Override
+        public synchronized OutputStream getOutputStream() throws IOException {
+            if (output == null) {
+                output = new EjmWireMeter.MeteredOutputStream(super.getOutputStream());
+            }
+            return output;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.ejm.ejm_config.transport;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Atribui os bytes trafegados nos sockets da EJM à chamada em andamento na thread atual.
+ *
+ * No cliente, o proxy associa um {@link Sink} à thread antes de chamar o stub: leituras e escritas
+ * do RMI acontecem nela e vão direto para o método chamado. No servidor, os argumentos são lidos
+ * antes de se saber o método; esses bytes ficam pendentes até o início da chamada
+ * ({@link #takePendingIn()}), e a resposta, escrita depois que o bean retorna, vai para o último
+ * sink associado à thread da conexão.
+ */
+public final class EjmWireMeter {
+
+    /** Destino dos bytes de uma chamada. */
+    public interface Sink {
+        void addBytesIn(long bytes);
+
+        void addBytesOut(long bytes);
+    }
+
+    private static final ThreadLocal<State> CURRENT = ThreadLocal.withInitial(State::new);
+
+    // Desligado: os sockets não consultam o ThreadLocal
+    private static volatile boolean enabled;
+
+    private EjmWireMeter() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        EjmWireMeter.enabled = enabled;
+    }
+
+    /**
+     * Associa o sink à thread atual.
+     *
+     * @return o sink anterior, para ser restaurado com {@link #restore(Sink)}
+     */
+    public static Sink bind(Sink sink) {
+        State state = CURRENT.get();
+        Sink previous = state.sink;
+        state.sink = sink;
+        return previous;
+    }
+
+    public static void restore(Sink previous) {
+        CURRENT.get().sink = previous;
+    }
+
+    /** Bytes lidos pelo servidor nesta thread desde a última chamada (cabeçalho e argumentos da atual). */
+    public static long takePendingIn() {
+        State state = CURRENT.get();
+        long pending = state.pendingIn;
+        state.pendingIn = 0;
+        return pending;
+    }
+
+    static void clientRead(int bytes) {
+        if (!enabled || bytes <= 0) return;
+        Sink sink = CURRENT.get().sink;
+        if (sink != null) sink.addBytesIn(bytes);
+    }
+
+    static void serverRead(int bytes) {
+        if (!enabled || bytes <= 0) return;
+        CURRENT.get().pendingIn += bytes;
+    }
+
+    static void written(int bytes) {
+        if (!enabled) return;
+        Sink sink = CURRENT.get().sink;
+        if (sink != null) sink.addBytesOut(bytes);
+    }
+
+    /** Saída do socket, contada antes de qualquer compressão (bytes reais no fio). */
+    static final class MeteredOutputStream extends FilterOutputStream {
+
+        MeteredOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            written(1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            written(len);
+        }
+    }
+
+    /** Entrada dos sockets do servidor; no cliente a contagem fica no {@code DeadlineInputStream}. */
+    static final class ServerInputStream extends FilterInputStream {
+
+        ServerInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) serverRead(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            serverRead(n);
+            return n;
+        }
+    }
+
+    private static final class State {
+        private Sink sink;
+        private long pendingIn;
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.ejm.ejm_config.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executores usados pela lib.
+ *
+ * A lib compila em Java 17; quando roda em Java 21+ as tarefas usam virtual threads
+ * (obtidas por reflexão), senão um pool de threads de plataforma com o mesmo limite.
+ */
+public final class EjmExecutors {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EjmExecutors.class);
+
+    private static final Method VIRTUAL_PER_TASK = findVirtualPerTask();
+
+    private EjmExecutors() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL_PER_TASK != null;
+    }
+
+    /**
+     * Executor de uma thread por tarefa: virtual threads quando disponíveis, senão um pool
+     * de até {@code maxThreads} threads daemon com fila.
+     */
+    public static ExecutorService newPerTaskExecutor(String prefix, int maxThreads) {
+        if (VIRTUAL_PER_TASK != null) {
+            try {
+                return (ExecutorService) VIRTUAL_PER_TASK.invoke(null);
+            } catch (Exception e) {
+                LOGGER.debug("[EJM] Virtual threads indisponíveis: {}", e.getMessage());
+            }
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemon(prefix));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    public static ThreadFactory daemon(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static Method findVirtualPerTask() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -1,22 +1,84 @@
 package br.com.ejm.ejm_config.utils;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.rmi.Remote;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
+/**
+ * Localiza as interfaces remotas (subtipos de {@link Remote}) de um pacote da lib delegate.
+ *
+ * Um diretório ou jar do classpath cujo {@link #SERVICE_INDEX} lista o pacote é lido só pelo índice;
+ * os que contribuem para o mesmo pacote sem índice (compilados sem o processador) são varridos.
+ */
 public class PackageScanner {
 
-    public static List<Class<?>> findInterfaces(String packageName) throws IOException, ClassNotFoundException {
-        List<Class<?>> classes = new ArrayList<>();
-        String path = packageName.replace('.', '/');
+    /** Índice gerado pelo {@code EjmServiceIndexProcessor} na compilação da lib delegate. */
+    public static final String SERVICE_INDEX = "META-INF/ejm/services.idx";
+
+    private static final int CLASS_MAGIC = 0xCAFEBABE;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ANNOTATION = 0x2000;
 
+    public static List<Class<?>> findInterfaces(String packageName) throws IOException, ClassNotFoundException {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        // ✅ Índices gerados em build
+        Set<String> indexed = readIndex(classLoader, packageName);
+        List<Class<?>> found = load(indexed, classLoader);
+
+        // ✅ Raízes do pacote cujo índice não o lista (ou sem índice, compiladas sem o processador): lê
+        // apenas o cabeçalho do bytecode e carrega só as interfaces, sem inicializá-las
+        Set<String> scanned = scanInterfaceNames(classLoader, packageName);
+        scanned.removeAll(indexed);
+        for (Class<?> type : load(scanned, classLoader)) {
+            // interfaces auxiliares do pacote não são serviços: o índice também só lista as remotas
+            if (Remote.class.isAssignableFrom(type)) found.add(type);
+        }
+        return found;
+    }
+
+    private static Set<String> readIndex(ClassLoader classLoader, String packageName) throws IOException {
+        Set<String> names = new LinkedHashSet<>();
+        Enumeration<URL> indexes = classLoader.getResources(SERVICE_INDEX);
+        while (indexes.hasMoreElements()) {
+            try (InputStream in = indexes.nextElement().openStream()) {
+                names.addAll(readIndex(in, packageName));
+            }
+        }
+        return names;
+    }
+
+    private static Set<String> readIndex(InputStream in, String packageName) throws IOException {
+        Set<String> names = new LinkedHashSet<>();
+        String prefix = packageName + ".";
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.startsWith(prefix)) names.add(line);
+        }
+        return names;
+    }
+
+    private static Set<String> scanInterfaceNames(ClassLoader classLoader, String packageName) throws IOException {
+        Set<String> names = new LinkedHashSet<>();
+        String path = packageName.replace('.', '/');
         Enumeration<URL> resources = classLoader.getResources(path);
 
         while (resources.hasMoreElements()) {
@@ -25,36 +87,113 @@ public class PackageScanner {
 
             if ("file".equals(protocol)) {
                 // ✅ Classes locais (diretório)
-                File directory = new File(resource.getFile());
+                File directory = new File(URLDecoder.decode(resource.getFile(), StandardCharsets.UTF_8));
+                if (listedInIndex(root(directory, packageName), packageName)) continue;
                 File[] files = directory.listFiles();
                 if (files == null) continue;
 
                 for (File file : files) {
-                    if (file.getName().endsWith(".class")) {
-                        String className = packageName + "." + file.getName().replace(".class", "");
-                        Class<?> clazz = Class.forName(className);
-                        if (clazz.isInterface()) classes.add(clazz);
+                    if (isCandidate(file.getName())) {
+                        try (InputStream in = new FileInputStream(file)) {
+                            if (isInterface(in)) {
+                                names.add(packageName + "." + file.getName().replace(".class", ""));
+                            }
+                        }
                     }
                 }
-            } else if ("jar".equals(protocol)) {
-                // ✅ Classes dentro de JAR
+            } else if ("jar".equals(protocol) && resource.getPath().startsWith("file:")) {
+                // ✅ Classes dentro de JAR (jars aninhados do Spring Boot ficam só com o índice)
                 String jarPath = resource.getPath().substring(5, resource.getPath().indexOf("!"));
-                try (JarFile jarFile = new JarFile(URLDecoder.decode(jarPath, "UTF-8"))) {
+                try (JarFile jarFile = new JarFile(URLDecoder.decode(jarPath, StandardCharsets.UTF_8))) {
+                    if (listedInIndex(jarFile, packageName)) continue;
                     Enumeration<JarEntry> entries = jarFile.entries();
                     while (entries.hasMoreElements()) {
                         JarEntry entry = entries.nextElement();
                         String name = entry.getName();
 
-                        if (name.startsWith(path) && name.endsWith(".class") && !entry.isDirectory()) {
-                            String className = name.replace('/', '.').replace(".class", "");
-                            Class<?> clazz = Class.forName(className);
-                            if (clazz.isInterface()) classes.add(clazz);
+                        if (name.startsWith(path) && isCandidate(name) && !entry.isDirectory()) {
+                            try (InputStream in = jarFile.getInputStream(entry)) {
+                                if (isInterface(in)) {
+                                    names.add(name.replace('/', '.').replace(".class", ""));
+                                }
+                            }
                         }
                     }
                 }
             }
         }
 
+        return names;
+    }
+
+    /** O índice da raiz vale para ela inteira: se lista o pacote, as classes dela não precisam de varredura. */
+    private static boolean listedInIndex(File root, String packageName) throws IOException {
+        if (root == null) return false;
+        File index = new File(root, SERVICE_INDEX);
+        if (!index.isFile()) return false;
+        try (InputStream in = new FileInputStream(index)) {
+            return !readIndex(in, packageName).isEmpty();
+        }
+    }
+
+    private static boolean listedInIndex(JarFile jar, String packageName) throws IOException {
+        JarEntry index = jar.getJarEntry(SERVICE_INDEX);
+        if (index == null) return false;
+        try (InputStream in = jar.getInputStream(index)) {
+            return !readIndex(in, packageName).isEmpty();
+        }
+    }
+
+    /** Diretório raiz do classpath de onde veio {@code directory} (o do pacote). */
+    private static File root(File directory, String packageName) {
+        int depth = packageName.split("\\.").length;
+        File root = directory;
+        for (int i = 0; i < depth && root != null; i++) {
+            root = root.getParentFile();
+        }
+        return root;
+    }
+
+    private static boolean isCandidate(String fileName) {
+        // package-info e module-info não são tipos reais
+        return fileName.endsWith(".class") && !fileName.endsWith("-info.class");
+    }
+
+    /**
+     * Lê o cabeçalho do class file (magic, versão e constant pool) até os access flags.
+     */
+    static boolean isInterface(InputStream raw) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(raw));
+        if (in.readInt() != CLASS_MAGIC) return false;
+        in.readUnsignedShort(); // minor
+        in.readUnsignedShort(); // major
+
+        int poolCount = in.readUnsignedShort();
+        for (int i = 1; i < poolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> in.skipBytes(in.readUnsignedShort());          // Utf8
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);     // Integer, Float, refs, NameAndType, Dynamic
+                case 5, 6 -> {                                           // Long, Double ocupam duas entradas
+                    in.skipBytes(8);
+                    i++;
+                }
+                case 7, 8, 16, 19, 20 -> in.skipBytes(2);                // Class, String, MethodType, Module, Package
+                case 15 -> in.skipBytes(3);                              // MethodHandle
+                default -> throw new IOException("Constant pool inválido (tag " + tag + ")");
+            }
+        }
+
+        int access = in.readUnsignedShort();
+        return (access & ACC_INTERFACE) != 0 && (access & ACC_ANNOTATION) == 0;
+    }
+
+    private static List<Class<?>> load(Set<String> names, ClassLoader classLoader) throws ClassNotFoundException {
+        List<Class<?>> classes = new ArrayList<>(names.size());
+        for (String name : names) {
+            // initialize=false: apenas define a interface, sem executar inicializadores estáticos
+            classes.add(Class.forName(name, false, classLoader));
+        }
         return classes;
     }
 
@@ -0,0 +1,186 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.exception.EjmTimeoutException;
+import br.com.ejm.ejm_config.transport.EjmDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmCallCoalescerTest {
+
+    private static final Method METHOD = method();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void chamadasSimultaneasViramUmaSo() throws Throwable {
+        EjmCallCoalescer coalescer = new EjmCallCoalescer(0);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        Future<Object> leader = submit(() -> coalescer.call(METHOD, "k", 0, () -> {
+            calls.incrementAndGet();
+            release.await();
+            return "valor";
+        }));
+        awaitInFlight(coalescer);
+        List<Future<Object>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(submit(() -> coalescer.call(METHOD, "k", 0, () -> {
+                calls.incrementAndGet();
+                return "outro";
+            })));
+        }
+        awaitCoalesced(coalescer, 5);
+        release.countDown();
+
+        assertEquals("valor", leader.get(5, TimeUnit.SECONDS));
+        for (Future<Object> follower : followers) {
+            assertEquals("valor", follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        assertEquals(1, coalescer.getLeaderCalls());
+    }
+
+    @Test
+    void cadaChamadorRecebeASuaCopia() throws Throwable {
+        EjmCallCoalescer coalescer = new EjmCallCoalescer(0);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = submit(() -> coalescer.call(METHOD, "k", 0, () -> {
+            release.await();
+            return new ArrayList<>(List.of("a"));
+        }));
+        awaitInFlight(coalescer);
+        Future<Object> first = submit(() -> coalescer.call(METHOD, "k", 0, () -> null));
+        Future<Object> second = submit(() -> coalescer.call(METHOD, "k", 0, () -> null));
+        awaitCoalesced(coalescer, 2);
+        release.countDown();
+
+        Object mine = leader.get(5, TimeUnit.SECONDS);
+        Object a = first.get(5, TimeUnit.SECONDS);
+        Object b = second.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("a"), a);
+        assertEquals(List.of("a"), b);
+        assertNotSame(mine, a);
+        assertNotSame(mine, b);
+        assertNotSame(a, b);
+    }
+
+    @Test
+    void quemAguardaRespeitaOProprioDeadline() throws Throwable {
+        EjmCallCoalescer coalescer = new EjmCallCoalescer(0);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = submit(() -> coalescer.call(METHOD, "k", 0, () -> {
+            release.await();
+            return "valor";
+        }));
+        awaitInFlight(coalescer);
+
+        long start = System.nanoTime();
+        Future<Object> follower = submit(() -> {
+            long previous = EjmDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100));
+            try {
+                return coalescer.call(METHOD, "k", 0, () -> "próprio");
+            } finally {
+                EjmDeadline.restore(previous);
+            }
+        });
+
+        Exception e = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof EjmTimeoutException, e.toString());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        release.countDown();
+        assertEquals("valor", leader.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void esperaMaximaFazAPropriaChamada() throws Throwable {
+        EjmCallCoalescer coalescer = new EjmCallCoalescer(50);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = submit(() -> coalescer.call(METHOD, "k", 0, () -> {
+            release.await();
+            return "líder";
+        }));
+        awaitInFlight(coalescer);
+
+        assertEquals("próprio", coalescer.call(METHOD, "k", 0, () -> "próprio"));
+        assertEquals(1, coalescer.getWaitTimeouts());
+        release.countDown();
+        leader.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void excecaoDoLiderChegaATodos() throws Throwable {
+        EjmCallCoalescer coalescer = new EjmCallCoalescer(0);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> leader = submit(() -> coalescer.call(METHOD, "k", 0, () -> {
+            release.await();
+            throw new IllegalStateException("falhou");
+        }));
+        awaitInFlight(coalescer);
+        Future<Object> follower = submit(() -> coalescer.call(METHOD, "k", 0, () -> "outro"));
+        awaitCoalesced(coalescer, 1);
+        release.countDown();
+
+        assertTrue(assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS)).getCause() instanceof IllegalStateException);
+        assertTrue(assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS)).getCause() instanceof IllegalStateException);
+        assertEquals(0, coalescer.getInFlight());
+    }
+
+    private Future<Object> submit(EjmCallCoalescer.Call call) {
+        return executor.submit(() -> {
+            try {
+                return call.call();
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void awaitInFlight(EjmCallCoalescer coalescer) throws InterruptedException {
+        for (int i = 0; i < 500 && coalescer.getInFlight() == 0; i++) {
+            Thread.sleep(2);
+        }
+    }
+
+    private static void awaitCoalesced(EjmCallCoalescer coalescer, long count) throws InterruptedException {
+        for (int i = 0; i < 500 && coalescer.getCoalescedCalls() < count; i++) {
+            Thread.sleep(2);
+        }
+        // a espera pelo líder começa logo depois da contagem
+        Thread.sleep(20);
+    }
+
+    private static Method method() {
+        try {
+            return Object.class.getMethod("toString");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.ejm.ejm_config.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmCircuitBreakerTest {
+
+    @Test
+    void abreDepoisDeFalhasConsecutivas() {
+        EjmCircuitBreaker breaker = new EjmCircuitBreaker(3, 60_000);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.allowRequest());
+
+        breaker.onFailure();
+
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    void sucessoZeraAsFalhas() {
+        EjmCircuitBreaker breaker = new EjmCircuitBreaker(3, 60_000);
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    void halfOpenLiberaUmaUnicaChamada() throws Exception {
+        EjmCircuitBreaker breaker = new EjmCircuitBreaker(1, 20);
+        breaker.onFailure();
+        Thread.sleep(40);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(breaker::allowRequest);
+            }
+            int allowed = 0;
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                if (future.get()) allowed++;
+            }
+            assertEquals(1, allowed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void chamadaDeTesteComSucessoFechaOCircuito() throws InterruptedException {
+        EjmCircuitBreaker breaker = new EjmCircuitBreaker(1, 20);
+        breaker.onFailure();
+        Thread.sleep(40);
+        assertTrue(breaker.allowRequest());
+
+        breaker.onSuccess();
+
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.allowRequest());
+        assertTrue(breaker.allowRequest());
+    }
+
+    @Test
+    void chamadaDeTesteComFalhaMantemAberto() throws InterruptedException {
+        EjmCircuitBreaker breaker = new EjmCircuitBreaker(1, 20);
+        breaker.onFailure();
+        Thread.sleep(40);
+        assertTrue(breaker.allowRequest());
+
+        breaker.onFailure();
+
+        assertTrue(breaker.isOpen());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    void limiteZeroDesativa() {
+        EjmCircuitBreaker breaker = new EjmCircuitBreaker(0, 60_000);
+        for (int i = 0; i < 10; i++) {
+            breaker.onFailure();
+        }
+
+        assertFalse(breaker.isOpen());
+        assertTrue(breaker.allowRequest());
+    }
+}
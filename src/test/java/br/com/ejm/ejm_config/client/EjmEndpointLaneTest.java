@@ -0,0 +1,140 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.annotations.EjmLane;
+import br.com.ejm.ejm_config.client.balancer.RoundRobinLoadBalancer;
+import br.com.ejm.ejm_config.remote.EjmDelegate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.rmi.ConnectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Provider com o serviço e a faixa "rapida" publicados; as demais faixas não existem nele e as
+ * chamadas delas seguem pelo serviço.
+ */
+class EjmEndpointLaneTest {
+
+    private final List<Remote> exported = new ArrayList<>();
+
+    private EjmStubResolver resolver;
+    private int port;
+    private Registry registry;
+    private EjmEndpoint endpoint;
+    private Eco eco;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        resolver = new EjmStubResolver(2);
+
+        port = freePort();
+        registry = LocateRegistry.createRegistry(port);
+        bind("Eco", "servico");
+        bind("Eco" + EjmLane.SEPARATOR + "rapida", "rapida");
+
+        endpoint = new EjmEndpoint("rmi://localhost:" + port + "/Eco", resolver, new EjmCircuitBreaker(3, 200), null);
+        EjmServiceOptions options = new EjmServiceOptions();
+        options.setTimeoutMillis(2_000);
+        eco = EjmClientProxy.create(Eco.class, "Eco",
+                new EjmServiceEndpoints(List.of(endpoint), new RoundRobinLoadBalancer()), options, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resolver.shutdown();
+        for (Remote remote : exported) unexport(remote);
+        unexport(registry);
+    }
+
+    @Test
+    void semFaixaUsaOServico() throws RemoteException {
+        assertSame(endpoint.getReference(), endpoint.getReference(null));
+        assertSame(endpoint.getReference(), endpoint.getReference(EjmLane.DEFAULT));
+        assertSame(endpoint.getInvocationReference(), endpoint.getInvocationReference(EjmLane.DEFAULT));
+        assertEquals("servico", eco.nome());
+    }
+
+    @Test
+    void faixaPublicadaTemReferenciaPropria() throws RemoteException {
+        EjmRemoteReference lane = endpoint.getReference("rapida");
+
+        assertNotSame(endpoint.getReference(), lane);
+        assertEquals("rmi://localhost:" + port + "/Eco@rapida", lane.getUrl());
+        try (EjmCallPriority.Scope scope = EjmCallPriority.use("rapida")) {
+            assertEquals("rapida", eco.nome());
+        }
+    }
+
+    @Test
+    void faixaNaoPublicadaCaiNoServico() throws Exception {
+        assertSame(endpoint.getReference(), endpoint.getReference("bulk"));
+        assertSame(endpoint.getInvocationReference(), endpoint.getInvocationReference("bulk"));
+        try (EjmCallPriority.Scope scope = EjmCallPriority.use("bulk")) {
+            assertEquals("servico", eco.nome());
+        }
+
+        // publicada depois: o cliente só tenta de novo após o intervalo, até lá segue pelo serviço
+        bind("Eco" + EjmLane.SEPARATOR + "bulk", "bulk");
+        assertSame(endpoint.getReference(), endpoint.getReference("bulk"));
+    }
+
+    @Test
+    void providerForaDoArNaoViraFallback() throws IOException {
+        EjmEndpoint down = new EjmEndpoint("rmi://localhost:" + freePort() + "/Eco", resolver,
+                new EjmCircuitBreaker(3, 200), null);
+
+        // falha de conexão não é faixa ausente: o erro segue para o failover
+        assertThrows(ConnectException.class, () -> down.getReference("rapida"));
+    }
+
+    private void bind(String name, String answer) throws RemoteException {
+        Provider provider = new Provider(answer);
+        exported.add(provider);
+        registry.rebind(name, UnicastRemoteObject.exportObject(provider, 0));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void unexport(Remote remote) {
+        try {
+            UnicastRemoteObject.unexportObject(remote, true);
+        } catch (RemoteException e) {
+            // já removido
+        }
+    }
+
+    public interface Eco extends EjmDelegate {
+        String nome() throws RemoteException;
+    }
+
+    private static final class Provider implements Eco {
+        private final String name;
+
+        private Provider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String nome() {
+            return name;
+        }
+    }
+}
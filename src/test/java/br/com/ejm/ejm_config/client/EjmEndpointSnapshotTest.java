@@ -0,0 +1,81 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.remote.EjmServiceListing;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.rmi.Remote;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmEndpointSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void listagensComStubsVoltamDoArquivo() throws Exception {
+        Servico impl = () -> "ok";
+        Remote stub = UnicastRemoteObject.exportObject(impl, 0);
+        try {
+            EjmEndpointSnapshot snapshot = new EjmEndpointSnapshot(dir.resolve("endpoints.bin"));
+            snapshot.save(Map.of("localhost:1099", new EjmServiceListing(7, Map.of("Servico", stub))));
+
+            EjmServiceListing loaded = snapshot.load().get("localhost:1099");
+
+            assertEquals(7, loaded.version());
+            assertEquals("ok", ((Servico) loaded.services().get("Servico")).nome());
+        } finally {
+            UnicastRemoteObject.unexportObject(impl, true);
+        }
+    }
+
+    @Test
+    void classesForaDaListagemSaoRecusadas() throws Exception {
+        Path file = dir.resolve("endpoints.bin");
+        try (OutputStream output = Files.newOutputStream(file);
+             ObjectOutputStream out = new ObjectOutputStream(output)) {
+            out.writeObject(new HashMap<>(Map.of("localhost:1099", new AtomicLong(1))));
+        }
+
+        assertTrue(new EjmEndpointSnapshot(file).load().isEmpty());
+    }
+
+    @Test
+    void stubSalvoEDescartadoNaPrimeiraFalha() throws Exception {
+        Servico impl = () -> "ok";
+        Remote stub = UnicastRemoteObject.exportObject(impl, 0);
+        UnicastRemoteObject.unexportObject(impl, true);
+
+        EjmStubResolver resolver = new EjmStubResolver(1);
+        try {
+            String url = "rmi://localhost:1099/Servico";
+            resolver.seed(Map.of("localhost:1099", new EjmServiceListing(7, Map.of("Servico", stub))));
+            EjmRemoteReference reference = new EjmRemoteReference(url, resolver);
+            reference.swap(resolver.cached(url));
+            assertNotNull(resolver.cached(url));
+
+            reference.invalidate(stub);
+
+            assertNull(resolver.cached(url));
+            assertTrue(resolver.listings().isEmpty());
+        } finally {
+            resolver.shutdown();
+        }
+    }
+
+    public interface Servico extends Remote {
+        String nome() throws java.rmi.RemoteException;
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.annotations.EjmIdempotent;
+import br.com.ejm.ejm_config.client.balancer.RoundRobinLoadBalancer;
+import br.com.ejm.ejm_config.config.EjmClientAutoConfig;
+import br.com.ejm.ejm_config.monitor.RmiReconnectionMonitor;
+import br.com.ejm.ejm_config.remote.EjmDelegate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dois providers RMI na própria JVM (registry + objeto exportado em loopback) atrás de um proxy de
+ * cliente: um provider cai e as chamadas seguem pelo outro; quando ele volta, o monitor reconecta.
+ */
+class EjmFailoverIntegrationTest {
+
+    private final List<Registry> registries = new ArrayList<>();
+    private final List<Remote> exported = new ArrayList<>();
+
+    private EjmStubResolver resolver;
+    private RmiReconnectionMonitor monitor;
+
+    private Registry registryA;
+    private Provider providerA;
+    private List<EjmEndpoint> list;
+    private EjmServiceEndpoints endpoints;
+    private Eco eco;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        resolver = new EjmStubResolver(2);
+
+        int portA = freePort();
+        int portB = freePort();
+        registryA = registry(portA);
+        providerA = bind(registryA, "A");
+        bind(registry(portB), "B");
+
+        list = List.of(endpoint(portA), endpoint(portB));
+        endpoints = new EjmServiceEndpoints(list, new RoundRobinLoadBalancer());
+        EjmServiceOptions options = new EjmServiceOptions();
+        options.setTimeoutMillis(2_000);
+        eco = EjmClientProxy.create(Eco.class, "Eco", endpoints, options, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (monitor != null) monitor.stop();
+        resolver.shutdown();
+        for (Remote remote : exported) unexport(remote);
+        for (Registry registry : registries) unexport(registry);
+    }
+
+    @Test
+    void failoverQuandoUmProviderCai() throws Exception {
+        assertEquals(Set.of("A", "B"), names(eco, 10));
+
+        // provider A fora do ar: o stub que o cliente tem passa a falhar na conexão
+        unexport(providerA);
+
+        assertEquals(Set.of("B"), names(eco, 10));
+        assertFalse(list.get(0).isHealthy());
+    }
+
+    @Test
+    void hedgeDisparaASecundariaQuandoAPrimariaFalhaAntesDoP95() throws Exception {
+        EjmServiceOptions options = new EjmServiceOptions();
+        options.setTimeoutMillis(2_000);
+        options.setHedge(true);
+        Eco hedged = EjmClientProxy.create(Eco.class, "Eco", endpoints, options, null, null);
+
+        // p95 na casa dos 10 ms: a falha de conexão no provider A chega bem antes do hedge
+        for (int i = 0; i < 32; i++) {
+            hedged.lento(10);
+        }
+        unexport(providerA);
+
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            names.add(hedged.lento(0));
+        }
+        assertEquals(Set.of("B"), names);
+    }
+
+    @Test
+    void monitorReconectaQuandoOProviderVolta() throws Exception {
+        unexport(providerA);
+        names(eco, 10);
+        assertFalse(list.get(0).isHealthy());
+
+        monitor = new RmiReconnectionMonitor(
+                List.of(new EjmClientAutoConfig.RmiServiceConfig("Eco", Eco.class, endpoints, null)), 100, 200, 1_000);
+        monitor.start();
+
+        // provider A volta com outro objeto exportado: o monitor refaz o lookup e o recoloca no rodízio
+        bind(registryA, "A");
+        long until = System.nanoTime() + 10_000_000_000L;
+        while (!list.get(0).isHealthy() && System.nanoTime() < until) {
+            Thread.sleep(50);
+        }
+        assertTrue(list.get(0).isHealthy(), "endpoint A não voltou");
+        assertEquals(Set.of("A", "B"), names(eco, 10));
+    }
+
+    private static Set<String> names(Eco eco, int calls) throws RemoteException {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < calls; i++) {
+            names.add(eco.nome());
+        }
+        return names;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private Registry registry(int port) throws RemoteException {
+        Registry registry = LocateRegistry.createRegistry(port);
+        registries.add(registry);
+        return registry;
+    }
+
+    private Provider bind(Registry registry, String name) throws RemoteException {
+        Provider provider = new Provider(name);
+        Remote stub = UnicastRemoteObject.exportObject(provider, 0);
+        exported.add(provider);
+        registry.rebind("Eco", stub);
+        return provider;
+    }
+
+    private EjmEndpoint endpoint(int port) {
+        return new EjmEndpoint("rmi://localhost:" + port + "/Eco", resolver, new EjmCircuitBreaker(3, 200), null);
+    }
+
+    private static void unexport(Remote remote) {
+        try {
+            UnicastRemoteObject.unexportObject(remote, true);
+        } catch (RemoteException e) {
+            // já removido
+        }
+    }
+
+    public interface Eco extends EjmDelegate {
+        String nome() throws RemoteException;
+
+        @EjmIdempotent
+        String lento(long millis) throws RemoteException;
+    }
+
+    private static final class Provider implements Eco {
+        private final String name;
+
+        private Provider(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String nome() {
+            return name;
+        }
+
+        @Override
+        public String lento(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return name;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.ejm.ejm_config.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EjmLatencyTrackerTest {
+
+    @Test
+    void semAmostrasSuficientesOP95EZero() {
+        EjmLatencyTracker tracker = new EjmLatencyTracker();
+        for (int i = 0; i < 31; i++) {
+            tracker.record(1_000);
+        }
+
+        assertEquals(0, tracker.p95Nanos());
+    }
+
+    @Test
+    void estimaOP95DaJanela() {
+        EjmLatencyTracker tracker = new EjmLatencyTracker();
+        for (int i = 1; i <= 256; i++) {
+            tracker.record(i);
+        }
+
+        assertEquals(244, tracker.p95Nanos());
+    }
+
+    @Test
+    void continuaFuncionandoDepoisQueOContadorDaAVolta() {
+        EjmLatencyTracker tracker = new EjmLatencyTracker(Integer.MAX_VALUE - 100);
+        for (int i = 0; i < 1_000; i++) {
+            tracker.record(500);
+        }
+
+        assertEquals(500, tracker.p95Nanos());
+    }
+}
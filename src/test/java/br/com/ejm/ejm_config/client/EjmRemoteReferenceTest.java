@@ -0,0 +1,59 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.exception.EjmTimeoutException;
+import br.com.ejm.ejm_config.transport.EjmDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.rmi.ConnectException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmRemoteReferenceTest {
+
+    // aceita a conexão e nunca responde: o lookup fica preso na leitura
+    private ServerSocket blackhole;
+    private EjmStubResolver resolver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blackhole = new ServerSocket(0, 50);
+        resolver = new EjmStubResolver(1, null, 200);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        resolver.shutdown();
+        blackhole.close();
+    }
+
+    @Test
+    void semDeadlineAEsperaPeloLookupTemLimite() {
+        EjmRemoteReference reference = new EjmRemoteReference(url(), resolver);
+
+        long start = System.nanoTime();
+        assertThrows(ConnectException.class, reference::get);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    void comDeadlineAEsperaTerminaNele() {
+        EjmRemoteReference reference = new EjmRemoteReference(url(), resolver);
+
+        long previous = EjmDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+        try {
+            assertThrows(EjmTimeoutException.class, reference::get);
+        } finally {
+            EjmDeadline.restore(previous);
+        }
+    }
+
+    private String url() {
+        return "rmi://localhost:" + blackhole.getLocalPort() + "/Servico";
+    }
+}
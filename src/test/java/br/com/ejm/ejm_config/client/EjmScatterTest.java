@@ -0,0 +1,221 @@
+package br.com.ejm.ejm_config.client;
+
+import br.com.ejm.ejm_config.client.balancer.RoundRobinLoadBalancer;
+import br.com.ejm.ejm_config.exception.EjmTimeoutException;
+import br.com.ejm.ejm_config.remote.EjmDelegate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cinco shards RMI na própria JVM; cada um responde na hora, falha ou fica preso até o fim do teste.
+ */
+class EjmScatterTest {
+
+    private static final int SHARDS = 5;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<Shard> shards = new ArrayList<>();
+
+    private EjmStubResolver resolver;
+    private Registry registry;
+    private Busca busca;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        resolver = new EjmStubResolver(2);
+        int port = freePort();
+        registry = LocateRegistry.createRegistry(port);
+
+        List<EjmEndpoint> endpoints = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            Shard shard = new Shard("s" + i, release);
+            shards.add(shard);
+            registry.rebind("Busca" + i, UnicastRemoteObject.exportObject(shard, 0));
+            endpoints.add(new EjmEndpoint("rmi://localhost:" + port + "/Busca" + i, resolver,
+                    new EjmCircuitBreaker(10, 200), null));
+        }
+
+        EjmServiceOptions options = new EjmServiceOptions();
+        options.setTimeoutMillis(10_000);
+        busca = EjmClientProxy.create(Busca.class, "Busca",
+                new EjmServiceEndpoints(endpoints, new RoundRobinLoadBalancer()), options, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        resolver.shutdown();
+        for (Shard shard : shards) unexport(shard);
+        unexport(registry);
+    }
+
+    @Test
+    void politicas() {
+        assertEquals(5, EjmScatter.Policy.all().required(5));
+        assertEquals(3, EjmScatter.Policy.quorum().required(5));
+        assertEquals(3, EjmScatter.Policy.quorum().required(4));
+        assertEquals(2, EjmScatter.Policy.first(2).required(5));
+        assertEquals(5, EjmScatter.Policy.first(10).required(5));
+        assertThrows(IllegalArgumentException.class, () -> EjmScatter.Policy.first(0));
+    }
+
+    @Test
+    void allJuntaTodasAsRespostas() throws RemoteException {
+        List<String> seen = new ArrayList<>();
+        EjmScatterResult<Set<String>> result = EjmScatter.of(busca)
+                .gather(Busca::nome, Collectors.toSet(), (url, value) -> seen.add(value));
+
+        assertEquals(Set.of("s0", "s1", "s2", "s3", "s4"), result.require());
+        assertEquals(SHARDS, result.responded().size());
+        assertEquals(5, seen.size());
+        assertTrue(result.pending().isEmpty());
+        assertFalse(result.timedOut());
+    }
+
+    @Test
+    void quorumNaoEsperaOsLentos() throws RemoteException {
+        shards.get(0).stuck = true;
+        shards.get(1).stuck = true;
+
+        long start = System.nanoTime();
+        EjmScatterResult<Set<String>> result = EjmScatter.of(busca)
+                .policy(EjmScatter.Policy.quorum())
+                .gather(Busca::nome, Collectors.toSet());
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "quorum esperou os lentos");
+        assertEquals(Set.of("s2", "s3", "s4"), result.require());
+        assertEquals(2, result.pending().size());
+    }
+
+    @Test
+    void firstRetornaNasPrimeirasRespostas() throws RemoteException {
+        for (int i = 1; i < SHARDS; i++) shards.get(i).stuck = true;
+
+        EjmScatterResult<List<String>> result = EjmScatter.of(busca)
+                .policy(EjmScatter.Policy.first(1))
+                .gather(Busca::nome, Collectors.toList());
+
+        assertEquals(List.of("s0"), result.require());
+        assertEquals(SHARDS - 1, result.pending().size());
+    }
+
+    @Test
+    void paraQuandoOQuorumNaoPodeMaisSerAtendido() {
+        for (int i = 0; i < 3; i++) shards.get(i).failing = true;
+        shards.get(3).stuck = true;
+        shards.get(4).stuck = true;
+
+        long start = System.nanoTime();
+        EjmScatterResult<Set<String>> result = EjmScatter.of(busca)
+                .policy(EjmScatter.Policy.quorum())
+                .gather(Busca::nome, Collectors.toSet());
+
+        // três falhas em cinco: a maioria não é mais possível e os dois presos não são esperados
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "esperou os presos");
+        assertFalse(result.satisfied());
+        assertFalse(result.timedOut());
+        assertEquals(3, result.failures().size());
+        assertEquals(2, result.pending().size());
+        RemoteException e = assertThrows(RemoteException.class, result::require);
+        assertFalse(e instanceof EjmTimeoutException);
+        assertEquals(3, e.getSuppressed().length);
+    }
+
+    @Test
+    void deadlineEncerraAEspera() throws RemoteException {
+        shards.get(0).stuck = true;
+
+        long start = System.nanoTime();
+        EjmScatterResult<Set<String>> result = EjmScatter.of(busca)
+                .deadline(200)
+                .gather(Busca::nome, Collectors.toSet());
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "deadline ignorado");
+        assertTrue(result.timedOut());
+        assertFalse(result.satisfied());
+        assertEquals(Set.of("s1", "s2", "s3", "s4"), result.value());
+        assertThrows(EjmTimeoutException.class, result::require);
+
+        // o mesmo deadline atende quem responde dentro dele
+        shards.get(0).stuck = false;
+        assertEquals(SHARDS, EjmScatter.of(busca).deadline(2_000)
+                .gather(Busca::nome, Collectors.toSet()).require().size());
+    }
+
+    @Test
+    void respostasSaoReduzidasNaOrdemDeChegada() throws RemoteException {
+        List<String> urls = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        EjmScatterResult<List<String>> result = EjmScatter.of(busca)
+                .gather(Busca::nome, Collectors.toList(), (url, value) -> {
+                    urls.add(url);
+                    values.add(value);
+                });
+
+        assertEquals(result.responded(), urls);
+        assertEquals(result.value(), values);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void unexport(Remote remote) {
+        try {
+            UnicastRemoteObject.unexportObject(remote, true);
+        } catch (RemoteException e) {
+            // já removido
+        }
+    }
+
+    public interface Busca extends EjmDelegate {
+        String nome() throws RemoteException;
+    }
+
+    private static final class Shard implements Busca {
+        private final String name;
+        private final CountDownLatch release;
+        private volatile boolean stuck;
+        private volatile boolean failing;
+
+        private Shard(String name, CountDownLatch release) {
+            this.name = name;
+            this.release = release;
+        }
+
+        @Override
+        public String nome() throws RemoteException {
+            if (failing) throw new RemoteException("shard " + name + " fora");
+            if (stuck) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return name;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.ejm.ejm_config.client.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EjmResultCacheTest {
+
+    @Test
+    void cadaAcertoRecebeUmaCopiaDoResultadoMutavel() {
+        EjmResultCache cache = new EjmResultCache("teste", 0, 100);
+        Object key = cache.keyFor(new Object[]{1L});
+        List<String> result = new ArrayList<>(List.of("a", "b"));
+        cache.put(key, result, cache.generation());
+
+        @SuppressWarnings("unchecked")
+        List<String> first = (List<String>) cache.get(key);
+        first.add("alterado");
+        result.clear();
+
+        assertNotSame(result, first);
+        assertEquals(List.of("a", "b"), cache.get(key));
+    }
+
+    @Test
+    void valoresImutaveisSaoDevolvidosSemCopia() {
+        EjmResultCache cache = new EjmResultCache("teste", 0, 100);
+        Object key = cache.keyFor(new Object[]{"x"});
+        String value = new String("valor");
+        cache.put(key, value, cache.generation());
+
+        assertSame(value, cache.get(key));
+    }
+
+    @Test
+    void nuloECacheado() {
+        EjmResultCache cache = new EjmResultCache("teste", 0, 100);
+        Object key = cache.keyFor(null);
+        cache.put(key, null, cache.generation());
+
+        assertNull(cache.get(key));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void resultadoDeChamadaAnteriorAInvalidacaoNaoEntra() {
+        EjmResultCache cache = new EjmResultCache("teste", 0, 100);
+        Object key = cache.keyFor(new Object[]{1});
+        long generation = cache.generation();
+        cache.clear();
+        cache.put(key, "velho", generation);
+
+        assertSame(EjmResultCache.MISS, cache.get(key));
+    }
+
+    @Test
+    void expiraPeloTtl() throws InterruptedException {
+        EjmResultCache cache = new EjmResultCache("teste", 20, 100);
+        Object key = cache.keyFor(new Object[]{1});
+        cache.put(key, "valor", cache.generation());
+        assertEquals("valor", cache.get(key));
+
+        Thread.sleep(50);
+
+        assertSame(EjmResultCache.MISS, cache.get(key));
+    }
+
+    @Test
+    void descartaOMenosUsadoQuandoEnche() {
+        EjmResultCache cache = new EjmResultCache("teste", 0, 8);
+        for (int i = 0; i < 8; i++) {
+            cache.put(cache.keyFor(new Object[]{i}), i, cache.generation());
+        }
+        cache.get(cache.keyFor(new Object[]{0}));
+        cache.put(cache.keyFor(new Object[]{8}), 8, cache.generation());
+
+        assertEquals(8, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(0, cache.get(cache.keyFor(new Object[]{0})));
+        assertSame(EjmResultCache.MISS, cache.get(cache.keyFor(new Object[]{1})));
+    }
+
+    @Test
+    void resultadoQueOCodecNaoGravaNaoECacheado() {
+        EjmResultCache cache = new EjmResultCache("teste", 0, 100);
+        Object key = cache.keyFor(new Object[]{1});
+        cache.put(key, new Object(), cache.generation());
+
+        assertSame(EjmResultCache.MISS, cache.get(key));
+    }
+}
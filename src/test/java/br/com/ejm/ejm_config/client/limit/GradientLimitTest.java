@@ -0,0 +1,62 @@
+package br.com.ejm.ejm_config.client.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientLimitTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Test
+    void cresceAPartirDoLimiteInicialSemCarga() {
+        GradientLimit algorithm = new GradientLimit(200);
+
+        int limit = saturate(algorithm, 20, 100);
+
+        assertTrue(limit > 20, "limite não cresceu: " + limit);
+    }
+
+    @Test
+    void voltaACrescerDepoisDeUmaQueda() {
+        GradientLimit algorithm = new GradientLimit(200);
+
+        int limit = algorithm.update(40, RTT, 40, true);
+        assertEquals(20, limit);
+
+        limit = saturate(algorithm, limit, 10_000);
+
+        assertEquals(200, limit);
+    }
+
+    @Test
+    void diminuiQuandoALatenciaSobe() {
+        GradientLimit algorithm = new GradientLimit(200);
+        int limit = saturate(algorithm, 20, 50);
+
+        int reduced = limit;
+        for (int i = 0; i < 50; i++) {
+            reduced = algorithm.update(reduced, RTT * 10, reduced, false);
+        }
+
+        assertTrue(reduced < limit, "limite não caiu: " + limit + " -> " + reduced);
+    }
+
+    @Test
+    void naoAjustaComOLimiteOcioso() {
+        GradientLimit algorithm = new GradientLimit(200);
+
+        assertEquals(20, algorithm.update(20, RTT, 2, false));
+    }
+
+    /** Chamadas na latência base com o limite todo em uso. */
+    private static int saturate(GradientLimit algorithm, int limit, int calls) {
+        for (int i = 0; i < calls; i++) {
+            limit = algorithm.update(limit, RTT, limit, false);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,288 @@
+package br.com.ejm.ejm_config.codec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmBinaryCodecTest {
+
+    private final EjmBinaryCodec codec = new EjmBinaryCodec();
+
+    @BeforeEach
+    void reset() {
+        Intruso.construido = false;
+        Gadget.lido = false;
+    }
+
+    @Test
+    void idaEVoltaDeUmGrafoDeDtos() throws Exception {
+        Pedido pedido = new Pedido();
+        pedido.id = 42L;
+        pedido.cliente = "Ana";
+        pedido.data = LocalDate.of(2024, 5, 1);
+        pedido.itens = new ArrayList<>(List.of(new Item("caneta", new BigDecimal("2.50"), 3), new Item("papel", BigDecimal.TEN, 1)));
+        pedido.status = Status.ABERTO;
+        pedido.notas = new int[]{1, 2, 3};
+        pedido.atributos = Map.of("origem", "web");
+
+        Object[] args = {pedido, new Circulo(2.0), 7};
+        Object[] decoded = (Object[]) codec.decode(codec.encode(args), EjmTypeFilter.forArguments(method("registrar")));
+
+        assertEquals(pedido, decoded[0]);
+        assertEquals(new Circulo(2.0), decoded[1]);
+        assertEquals(7, decoded[2]);
+    }
+
+    @Test
+    void recusaClasseForaDaAssinaturaSemInstanciar() throws IOException {
+        byte[] data = codec.encode(new Object[]{new Intruso(), new Circulo(1.0), 1});
+        Intruso.construido = false;
+
+        assertThrows(InvalidClassException.class, () -> codec.decode(data, EjmTypeFilter.forArguments(method("registrar"))));
+        assertFalse(Intruso.construido);
+    }
+
+    @Test
+    void fallbackJavaPassaPeloFiltro() throws IOException {
+        byte[] data = codec.encode(new Object[]{null, new Gadget(), 1});
+
+        assertThrows(InvalidClassException.class, () -> codec.decode(data, EjmTypeFilter.forArguments(method("registrar"))));
+        assertFalse(Gadget.lido);
+    }
+
+    @Test
+    void semFiltroDecodificaQualquerClasse() throws IOException {
+        Object decoded = codec.decode(codec.encode(new Intruso()));
+
+        assertTrue(decoded instanceof Intruso);
+    }
+
+    @Test
+    void resultadoAceitaExcecoesLancadasPelaImplementacao() throws IOException {
+        byte[] data = codec.encode(new IllegalStateException("falhou"));
+
+        Object decoded = codec.decode(data, EjmTypeFilter.forResult(method("registrar")));
+
+        assertEquals("falhou", ((IllegalStateException) decoded).getMessage());
+    }
+
+    @Test
+    void posicaoSemTipoNaoRestringe() throws IOException {
+        byte[] data = codec.encode(new Object[]{new Intruso()});
+
+        Object[] decoded = (Object[]) codec.decode(data, EjmTypeFilter.forArguments(method("generico")));
+
+        assertTrue(decoded[0] instanceof Intruso);
+    }
+
+    @Test
+    void serializacaoJavaDeHashMapPassaPeloFiltro() throws IOException {
+        JavaSerializationCodec java = new JavaSerializationCodec();
+        Map<String, Item> itens = new HashMap<>(Map.of("a", new Item("caneta", BigDecimal.ONE, 2)));
+        Set<String> nomes = new HashSet<>(Set.of("a", "b"));
+
+        Object[] decoded = (Object[]) java.decode(java.encode(new Object[]{itens, nomes}),
+                EjmTypeFilter.forArguments(method("colecoes")));
+
+        assertEquals(itens, decoded[0]);
+        assertEquals(nomes, decoded[1]);
+    }
+
+    @Test
+    void arraysPrimitivosENulos() throws IOException {
+        long[] longs = {Long.MIN_VALUE, -1, 0, Long.MAX_VALUE};
+        Object[] decoded = (Object[]) codec.decode(codec.encode(new Object[]{longs, null, "ç"}));
+
+        assertArrayEquals(longs, (long[]) decoded[0]);
+        assertNull(decoded[1]);
+        assertEquals("ç", decoded[2]);
+    }
+
+    @Test
+    void referenciaCompartilhadaContinuaCompartilhada() throws IOException {
+        Pedido pedido = new Pedido();
+        pedido.id = 7L;
+        pedido.notas = new int[]{1};
+
+        Object[] decoded = (Object[]) codec.decode(codec.encode(new Object[]{pedido, pedido}),
+                EjmTypeFilter.forArguments(method("pares")));
+
+        assertEquals(pedido, decoded[0]);
+        assertSame(decoded[0], decoded[1]);
+    }
+
+    @Test
+    void cicloEPreservado() throws IOException {
+        No a = new No("a");
+        No b = new No("b");
+        a.proximo = b;
+        b.proximo = a;
+
+        Object[] decoded = (Object[]) codec.decode(codec.encode(new Object[]{a}),
+                EjmTypeFilter.forArguments(method("lista")));
+
+        No first = (No) decoded[0];
+        assertEquals("b", first.proximo.nome);
+        assertSame(first, first.proximo.proximo);
+    }
+
+    @Test
+    void referenciaCompartilhadaSemSerializableFalha() {
+        Solto solto = new Solto();
+        Caixa caixa = new Caixa();
+        caixa.a = solto;
+        caixa.b = solto;
+
+        assertThrows(IOException.class, () -> codec.encode(caixa));
+    }
+
+    private static Method method(String name) {
+        for (Method method : Api.class.getMethods()) {
+            if (method.getName().equals(name)) return method;
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    interface Api {
+        List<Pedido> registrar(Pedido pedido, Forma forma, int prioridade);
+
+        void generico(Object valor);
+
+        void colecoes(Map<String, Item> itens, Set<String> nomes);
+
+        void pares(Pedido a, Pedido b);
+
+        void lista(No no);
+    }
+
+    enum Status { ABERTO, FECHADO }
+
+    record Item(String nome, BigDecimal preco, int quantidade) implements Serializable {
+    }
+
+    abstract static class Forma implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+
+    static final class Circulo extends Forma {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private double raio;
+
+        Circulo() {
+        }
+
+        Circulo(double raio) {
+            this.raio = raio;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Circulo other && other.raio == raio;
+        }
+
+        @Override
+        public int hashCode() {
+            return Double.hashCode(raio);
+        }
+    }
+
+    static final class Pedido implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private long id;
+        private String cliente;
+        private LocalDate data;
+        private List<Item> itens;
+        private Status status;
+        private int[] notas;
+        private Map<String, String> atributos;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Pedido other && other.id == id && Objects.equals(other.cliente, cliente)
+                    && Objects.equals(other.data, data) && Objects.equals(other.itens, itens)
+                    && other.status == status && Arrays.equals(other.notas, notas)
+                    && Objects.equals(other.atributos, atributos);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+    }
+
+    static final class No implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private String nome;
+        private No proximo;
+
+        No() {
+        }
+
+        No(String nome) {
+            this.nome = nome;
+        }
+    }
+
+    public static final class Solto {
+        public String valor;
+    }
+
+    public static final class Caixa {
+        public Solto a;
+        public Solto b;
+    }
+
+    static final class Intruso implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        static boolean construido;
+
+        Intruso() {
+            construido = true;
+        }
+    }
+
+    static final class Gadget implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        static boolean lido;
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            lido = true;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.ejm.ejm_config.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmHistogramTest {
+
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    @Test
+    void bucketsDaFaixaTemErroDeNoMaximo25PorCento() {
+        assertEquals(0, EjmHistogram.index(0));
+        assertEquals(0, EjmHistogram.index(1023));
+        assertEquals(1, EjmHistogram.index(1024));
+        assertEquals(1, EjmHistogram.index(1279));
+        assertEquals(2, EjmHistogram.index(1280));
+        assertEquals(4, EjmHistogram.index(2047));
+        assertEquals(5, EjmHistogram.index(2048));
+
+        Random random = new Random(7);
+        int previous = 0;
+        for (long nanos = 1024; nanos < 1L << 41; nanos += 1 + (nanos >>> 6)) {
+            int index = EjmHistogram.index(nanos);
+            assertTrue(index >= previous, "índice decresceu em " + nanos);
+            previous = index;
+            assertUpperBound(nanos);
+            assertUpperBound(Math.min(nanos + (long) (random.nextDouble() * (nanos >>> 6)), (1L << 41) - 1));
+        }
+    }
+
+    @Test
+    void foraDaFaixaCaiNasPontas() {
+        int last = EjmHistogram.index(Long.MAX_VALUE);
+        assertEquals(last, EjmHistogram.index(1L << 41));
+        assertEquals(last, EjmHistogram.index(1L << 50));
+        assertEquals(last - 1, EjmHistogram.index((1L << 41) - 1));
+        assertEquals(Long.MAX_VALUE, EjmHistogram.upperBound(last));
+    }
+
+    @Test
+    void percentisDeUmaDistribuicaoUniforme() {
+        EjmHistogram histogram = new EjmHistogram();
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i + 1) * 1_000L;
+            histogram.record(values[i]);
+        }
+
+        assertPercentiles(histogram, values);
+        assertEquals(100_000_000, histogram.percentileNanos(1.0));
+    }
+
+    @Test
+    void percentisDeUmaDistribuicaoExponencial() {
+        // cauda longa: média de 2 ms, alguns valores passam de 20 ms
+        EjmHistogram histogram = new EjmHistogram();
+        Random random = new Random(42);
+        long[] values = new long[200_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_024 + (long) (-Math.log(1 - random.nextDouble()) * 2_000_000);
+            histogram.record(values[i]);
+        }
+
+        assertPercentiles(histogram, values);
+    }
+
+    @Test
+    void valoresAbaixoDe1MicrossegundoUsamOMaximo() {
+        EjmHistogram histogram = new EjmHistogram();
+        for (int i = 0; i < 1_000; i++) {
+            histogram.record(100 + i % 300);
+        }
+
+        // todos no primeiro bucket: o limite dele (1024 ns) é trocado pelo máximo observado
+        assertEquals(399, histogram.percentileNanos(0.5));
+        assertEquals(399, histogram.percentileNanos(0.999));
+    }
+
+    @Test
+    void valoresAcimaDe2Elevado41UsamOMaximo() {
+        EjmHistogram histogram = new EjmHistogram();
+        long hour = 3_600_000_000_000L;
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000_000);
+        }
+        histogram.record(hour);
+
+        assertTrue(histogram.percentileNanos(0.5) <= 1_250_000);
+        assertEquals(hour, histogram.percentileNanos(0.999));
+        assertEquals(hour, histogram.maxNanos());
+    }
+
+    @Test
+    void valoresPertoDe2Elevado40MantemOErro() {
+        EjmHistogram histogram = new EjmHistogram();
+        long[] values = new long[1_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (1L << 40) + i * ((1L << 40) / values.length);
+            histogram.record(values[i]);
+        }
+
+        assertPercentiles(histogram, values);
+    }
+
+    @Test
+    void contagemMediaEReset() {
+        EjmHistogram histogram = new EjmHistogram();
+        assertEquals(0, histogram.percentileNanos(0.5));
+
+        histogram.record(-5);
+        histogram.record(2_000);
+        histogram.record(4_000);
+        assertEquals(3, histogram.getCount());
+        assertEquals(2_000, histogram.meanNanos(), 0.001);
+        assertEquals(4_000, histogram.maxNanos());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.maxNanos());
+        assertEquals(0, histogram.percentileNanos(0.99));
+    }
+
+    private static void assertUpperBound(long nanos) {
+        long upper = EjmHistogram.upperBound(EjmHistogram.index(nanos));
+        assertTrue(upper > nanos && upper <= nanos * 1.25, nanos + " no bucket até " + upper);
+    }
+
+    /** O percentil é o limite do bucket: nunca abaixo do valor real e no máximo 25% acima. */
+    private static void assertPercentiles(EjmHistogram histogram, long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double quantile : QUANTILES) {
+            long exact = sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+            long estimate = histogram.percentileNanos(quantile);
+            assertTrue(estimate >= exact && estimate <= exact * 1.25,
+                    "p" + quantile + ": estimado " + estimate + ", real " + exact);
+        }
+    }
+}
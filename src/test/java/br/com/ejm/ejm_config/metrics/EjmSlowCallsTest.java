@@ -0,0 +1,120 @@
+package br.com.ejm.ejm_config.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmSlowCallsTest {
+
+    private final EjmSlowCalls slowCalls = EjmSlowCalls.global();
+    private final int capacity = slowCalls.getCapacity();
+
+    @Test
+    void chamadaMaisLentaSubstituiAMaisRapida() {
+        EjmSlowCalls.Ring ring = slowCalls.ring(EjmMetrics.Side.CLIENT, "Evicao");
+        long now = System.nanoTime();
+        for (int i = 1; i <= capacity; i++) {
+            ring.add(call("Evicao", millis(i), now));
+        }
+
+        // mais rápida que todas: não entra
+        ring.add(call("Evicao", millis(1) / 2, now));
+        assertEquals(millis(1), last(slowCalls.snapshot("Evicao")).totalNanos());
+
+        ring.add(call("Evicao", millis(capacity + 1), now));
+        List<EjmSlowCall> calls = slowCalls.snapshot("Evicao");
+        assertEquals(capacity, calls.size());
+        assertEquals(millis(capacity + 1), calls.get(0).totalNanos());
+        assertEquals(millis(2), last(calls).totalNanos());
+    }
+
+    @Test
+    void pisoSoValeComORegistroCheio() {
+        EjmSlowCalls.Ring ring = slowCalls.ring(EjmMetrics.Side.SERVER, "Piso");
+        long now = System.nanoTime();
+
+        // com espaço livre entra qualquer chamada acima do threshold (0)
+        assertTrue(ring.isCandidate(1, now));
+
+        for (int i = 0; i < capacity; i++) {
+            ring.add(call("Piso", millis(10 + i), now));
+        }
+        assertFalse(ring.isCandidate(millis(10) - 1, now));
+        assertTrue(ring.isCandidate(millis(10), now));
+        assertTrue(ring.isCandidate(millis(500), now));
+    }
+
+    @Test
+    void thresholdRecusaChamadasRapidas() {
+        EjmSlowCalls.Ring ring = slowCalls.ring(EjmMetrics.Side.CLIENT, "Threshold");
+        try {
+            slowCalls.setThresholdMillis(5);
+            long now = System.nanoTime();
+            assertFalse(ring.isCandidate(millis(3), now));
+            assertTrue(ring.isCandidate(millis(5), now));
+
+            ring.add(call("Threshold", millis(3), now));
+            ring.add(call("Threshold", millis(8), now));
+            List<EjmSlowCall> calls = slowCalls.snapshot("Threshold");
+            assertEquals(1, calls.size());
+            assertEquals(millis(8), calls.get(0).totalNanos());
+        } finally {
+            slowCalls.setThresholdMillis(0);
+        }
+    }
+
+    @Test
+    void entradasForaDaJanelaSaemESaoSubstituidas() {
+        EjmSlowCalls.Ring ring = slowCalls.ring(EjmMetrics.Side.CLIENT, "Janela");
+        long window = TimeUnit.SECONDS.toNanos(slowCalls.getWindowSeconds());
+        long now = System.nanoTime();
+
+        // registro cheio de chamadas lentas que já saíram da janela
+        for (int i = 0; i < capacity; i++) {
+            ring.add(call("Janela", millis(100 + i), now - window - millis(10)));
+        }
+        assertTrue(slowCalls.snapshot("Janela").isEmpty());
+
+        // uma chamada rápida ocupa a vaga de uma expirada
+        ring.add(call("Janela", millis(1), now));
+        List<EjmSlowCall> calls = slowCalls.snapshot("Janela");
+        assertEquals(1, calls.size());
+        assertEquals(millis(1), calls.get(0).totalNanos());
+    }
+
+    @Test
+    void pisoExpiraQuandoAMaisAntigaSaiDaJanela() {
+        EjmSlowCalls.Ring ring = slowCalls.ring(EjmMetrics.Side.SERVER, "Validade");
+        long window = TimeUnit.SECONDS.toNanos(slowCalls.getWindowSeconds());
+        long now = System.nanoTime();
+
+        // a mais antiga sai da janela em 1 ms
+        long oldestEnd = now - window + millis(1);
+        ring.add(call("Validade", millis(50), oldestEnd));
+        for (int i = 1; i < capacity; i++) {
+            ring.add(call("Validade", millis(50 + i), now));
+        }
+
+        assertFalse(ring.isCandidate(millis(1), now));
+        assertTrue(ring.isCandidate(millis(1), oldestEnd + window));
+    }
+
+    private static EjmSlowCall call(String service, long totalNanos, long endNanos) {
+        return new EjmSlowCall(EjmMetrics.Side.CLIENT, service, "metodo", null, Instant.now(), totalNanos,
+                0, -1, totalNanos, -1, -1, null, "teste", endNanos);
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static EjmSlowCall last(List<EjmSlowCall> calls) {
+        return calls.get(calls.size() - 1);
+    }
+}
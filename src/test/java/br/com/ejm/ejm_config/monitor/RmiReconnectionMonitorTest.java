@@ -0,0 +1,137 @@
+package br.com.ejm.ejm_config.monitor;
+
+import br.com.ejm.ejm_config.client.EjmCircuitBreaker;
+import br.com.ejm.ejm_config.client.EjmEndpoint;
+import br.com.ejm.ejm_config.client.EjmServiceEndpoints;
+import br.com.ejm.ejm_config.client.EjmStubResolver;
+import br.com.ejm.ejm_config.client.balancer.RoundRobinLoadBalancer;
+import br.com.ejm.ejm_config.config.EjmClientAutoConfig;
+import br.com.ejm.ejm_config.remote.EjmDelegate;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RmiReconnectionMonitorTest {
+
+    @Test
+    void backoffCresceAteOLimiteComJitter() {
+        RmiReconnectionMonitor monitor = new RmiReconnectionMonitor(List.of(), 100, 1_000, 50);
+        try {
+            for (int i = 0; i < 200; i++) {
+                assertBetween(80, 120, monitor.backoff(1));
+                assertBetween(160, 240, monitor.backoff(2));
+                assertBetween(320, 480, monitor.backoff(3));
+                // a partir daqui o limite de 1s vale, com os mesmos ±20%
+                assertBetween(800, 1_200, monitor.backoff(5));
+                assertBetween(800, 1_200, monitor.backoff(63));
+                assertBetween(800, 1_200, monitor.backoff(Integer.MAX_VALUE));
+            }
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    void limiteMenorQueOIntervaloUsaOIntervalo() {
+        RmiReconnectionMonitor monitor = new RmiReconnectionMonitor(List.of(), 500, 100, 50);
+        try {
+            assertBetween(400, 600, monitor.backoff(1));
+            assertBetween(400, 600, monitor.backoff(8));
+        } finally {
+            monitor.stop();
+        }
+    }
+
+    @Test
+    void jitterEspalhaDosDoisLados() {
+        assertEquals(0, RmiReconnectionMonitor.jitter(0));
+        assertEquals(4, RmiReconnectionMonitor.jitter(4));
+
+        boolean below = false;
+        boolean above = false;
+        for (int i = 0; i < 1_000; i++) {
+            long value = RmiReconnectionMonitor.jitter(1_000);
+            assertBetween(800, 1_200, value);
+            below |= value < 1_000;
+            above |= value > 1_000;
+        }
+        assertTrue(below && above, "jitter sem espalhamento");
+    }
+
+    @Test
+    void pingsTravadosNaoAtrasamOsDemaisNemSeAcumulam() throws Exception {
+        // porta 1 recusa a conexão: as reconexões falham rápido e não trocam o stub
+        EjmStubResolver resolver = new EjmStubResolver(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Travado> stuck = new ArrayList<>();
+        List<EjmEndpoint> list = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Travado travado = new Travado(release);
+            EjmEndpoint endpoint = endpoint(resolver);
+            endpoint.getReference().swap(travado);
+            stuck.add(travado);
+            list.add(endpoint);
+        }
+        EjmEndpoint healthy = endpoint(resolver);
+        healthy.getReference().swap(new EjmDelegate() {});
+        list.add(healthy);
+
+        EjmServiceEndpoints endpoints = new EjmServiceEndpoints(list, new RoundRobinLoadBalancer());
+        endpoints.setHealthy(healthy, false);
+        RmiReconnectionMonitor monitor = new RmiReconnectionMonitor(
+                List.of(new EjmClientAutoConfig.RmiServiceConfig("Eco", EjmDelegate.class, endpoints, null)), 50, 100, 100);
+        try {
+            monitor.start();
+
+            long until = System.nanoTime() + 2_000_000_000L;
+            while (!healthy.isHealthy() && System.nanoTime() < until) {
+                Thread.sleep(10);
+            }
+            assertTrue(healthy.isHealthy(), "endpoint saudável ficou atrás dos pings travados");
+
+            // várias rodadas de verificação depois: cada endpoint travado segue com um único ping
+            Thread.sleep(1_000);
+            for (Travado travado : stuck) {
+                assertEquals(1, travado.started.get());
+            }
+        } finally {
+            release.countDown();
+            monitor.stop();
+            resolver.shutdown();
+        }
+    }
+
+    private static EjmEndpoint endpoint(EjmStubResolver resolver) {
+        return new EjmEndpoint("rmi://localhost:1/Eco", resolver, new EjmCircuitBreaker(3, 200), null);
+    }
+
+    private static void assertBetween(long min, long max, long value) {
+        assertTrue(value >= min && value <= max, value + " fora de [" + min + ", " + max + "]");
+    }
+
+    private static final class Travado implements EjmDelegate {
+        private final CountDownLatch release;
+        private final AtomicInteger started = new AtomicInteger();
+
+        private Travado(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public boolean ping() {
+            started.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        }
+    }
+}
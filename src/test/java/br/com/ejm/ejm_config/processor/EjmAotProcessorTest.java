@@ -0,0 +1,275 @@
+package br.com.ejm.ejm_config.processor;
+
+import br.com.ejm.ejm_config.aot.EjmAot;
+import br.com.ejm.ejm_config.aot.EjmGeneratedStub;
+import br.com.ejm.ejm_config.aot.EjmSkeleton;
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compila uma lib delegate de exemplo com o processador e usa as classes geradas pelo {@link EjmAot}.
+ */
+class EjmAotProcessorTest {
+
+    private static final Map<String, String> SOURCES = Map.of(
+            "amostra/Calculadora.java", """
+                    package amostra;
+
+                    import br.com.ejm.ejm_config.remote.EjmDelegate;
+                    import java.rmi.RemoteException;
+
+                    public interface Calculadora extends EjmDelegate {
+                        int soma(int a, int b) throws RemoteException;
+
+                        long soma(long a, long b) throws RemoteException;
+
+                        String soma(String a, String b) throws RemoteException;
+
+                        int[] dobra(int[] valores) throws RemoteException;
+
+                        String junta(String... partes) throws RemoteException;
+
+                        byte[][] transpoe(byte[][] matriz) throws RemoteException;
+
+                        void recusa(String motivo) throws RemoteException, Recusado;
+
+                        <T extends java.io.Serializable> T eco(T valor) throws RemoteException;
+                    }
+                    """,
+            "amostra/Recusado.java", """
+                    package amostra;
+
+                    public class Recusado extends Exception {
+                        @java.io.Serial
+                        private static final long serialVersionUID = 1L;
+
+                        public Recusado(String message) {
+                            super(message);
+                        }
+                    }
+                    """,
+            "amostra/Generica.java", """
+                    package amostra;
+
+                    public interface Generica<T> extends br.com.ejm.ejm_config.remote.EjmDelegate {
+                        T buscar(String id) throws java.rmi.RemoteException;
+                    }
+                    """,
+            "amostra/Interna.java", """
+                    package amostra;
+
+                    interface Interna extends br.com.ejm.ejm_config.remote.EjmDelegate {
+                        String nome() throws java.rmi.RemoteException;
+                    }
+                    """);
+
+    @TempDir
+    static Path dir;
+
+    // a lib de exemplo é compilada uma vez para a classe toda
+    private static final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    private static URLClassLoader loader;
+    private static Class<?> calculadora;
+
+    @BeforeAll
+    static void compile() throws Exception {
+        Path src = dir.resolve("src");
+        Path out = Files.createDirectories(dir.resolve("out"));
+        Path generated = Files.createDirectories(dir.resolve("generated"));
+        List<Path> files = new ArrayList<>();
+        for (Map.Entry<String, String> source : SOURCES.entrySet()) {
+            Path file = src.resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            files.add(Files.writeString(file, source.getValue()));
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            // o código gerado compila sem avisos; "processing" só lembra que o processador não reivindica anotações
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    List.of("-d", out.toString(), "-s", generated.toString(), "-Xlint:all,-processing", "-Werror",
+                            "-cp", System.getProperty("java.class.path")),
+                    null, fileManager.getJavaFileObjectsFromPaths(files));
+            task.setProcessors(List.of(new EjmAotProcessor()));
+            assertTrue(task.call(), () -> diagnostics.getDiagnostics().toString());
+        }
+
+        loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, EjmAotProcessorTest.class.getClassLoader());
+        calculadora = loader.loadClass("amostra.Calculadora");
+    }
+
+    @AfterAll
+    static void close() throws IOException {
+        loader.close();
+    }
+
+    @Test
+    void stubRepassaCadaSobrecargaAoHandler() throws Exception {
+        List<Method> calls = new ArrayList<>();
+        Object stub = EjmAot.newProxy(calculadora, (proxy, method, args) -> {
+            calls.add(method);
+            return calcular(method, args);
+        });
+
+        assertInstanceOf(EjmGeneratedStub.class, stub);
+        assertFalse(Proxy.isProxyClass(stub.getClass()));
+
+        assertEquals(3, invoke(stub, "soma", new Class<?>[]{int.class, int.class}, 1, 2));
+        assertEquals(3L, invoke(stub, "soma", new Class<?>[]{long.class, long.class}, 1L, 2L));
+        assertEquals("12", invoke(stub, "soma", new Class<?>[]{String.class, String.class}, "1", "2"));
+        assertEquals(List.of(
+                calculadora.getMethod("soma", int.class, int.class),
+                calculadora.getMethod("soma", long.class, long.class),
+                calculadora.getMethod("soma", String.class, String.class)), calls);
+
+        assertArrayEquals(new int[]{2, 4}, (int[]) invoke(stub, "dobra", new Class<?>[]{int[].class}, (Object) new int[]{1, 2}));
+        assertEquals("a-b", invoke(stub, "junta", new Class<?>[]{String[].class}, (Object) new String[]{"a", "b"}));
+        byte[][] matriz = {{1, 2}, {3, 4}};
+        assertSame(matriz, invoke(stub, "transpoe", new Class<?>[]{byte[][].class}, (Object) matriz));
+        assertEquals("x", invoke(stub, "eco", new Class<?>[]{java.io.Serializable.class}, "x"));
+        assertEquals(true, invoke(stub, "ping", new Class<?>[0]));
+    }
+
+    @Test
+    void stubRepassaOsMetodosDeObject() {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "toString" -> "calculadora";
+            case "hashCode" -> 42;
+            case "equals" -> proxy == args[0];
+            default -> null;
+        };
+        Object stub = EjmAot.newProxy(calculadora, handler);
+
+        assertSame(handler, EjmAot.handlerOf(stub));
+        assertEquals("calculadora", stub.toString());
+        assertEquals(42, stub.hashCode());
+        assertTrue(stub.equals(stub));
+    }
+
+    @Test
+    void stubRespeitaAsExcecoesDeclaradas() throws Exception {
+        Class<?> recusado = loader.loadClass("amostra.Recusado");
+        Object stub = EjmAot.newProxy(calculadora, (proxy, method, args) -> {
+            if (method.getName().equals("recusa")) {
+                throw (Throwable) recusado.getConstructor(String.class).newInstance((String) args[0]);
+            }
+            throw new IOException("não declarada");
+        });
+
+        InvocationTargetException declared = assertThrows(InvocationTargetException.class,
+                () -> invoke(stub, "recusa", new Class<?>[]{String.class}, "sem saldo"));
+        assertInstanceOf(recusado, declared.getCause());
+        assertEquals("sem saldo", declared.getCause().getMessage());
+
+        // IOException não está no throws de soma (só RemoteException): chega embrulhada, como no Proxy
+        InvocationTargetException undeclared = assertThrows(InvocationTargetException.class,
+                () -> invoke(stub, "soma", new Class<?>[]{int.class, int.class}, 1, 2));
+        assertInstanceOf(UndeclaredThrowableException.class, undeclared.getCause());
+        assertInstanceOf(IOException.class, undeclared.getCause().getCause());
+    }
+
+    @Test
+    void skeletonDespachaPelaChaveDoMetodo() throws Throwable {
+        Object target = EjmAot.newProxy(calculadora, (proxy, method, args) -> calcular(method, args));
+        EjmSkeleton skeleton = EjmAot.skeletonFor(calculadora);
+        assertNotNull(skeleton);
+
+        assertEquals(3, call(skeleton, target, "soma", new Class<?>[]{int.class, int.class}, 1, 2));
+        assertEquals(3L, call(skeleton, target, "soma", new Class<?>[]{long.class, long.class}, 1L, 2L));
+        assertEquals("12", call(skeleton, target, "soma", new Class<?>[]{String.class, String.class}, "1", "2"));
+        assertArrayEquals(new int[]{2, 4}, (int[]) call(skeleton, target, "dobra", new Class<?>[]{int[].class},
+                (Object) new int[]{1, 2}));
+        assertEquals("a-b", call(skeleton, target, "junta", new Class<?>[]{String[].class},
+                (Object) new String[]{"a", "b"}));
+        assertEquals("x", call(skeleton, target, "eco", new Class<?>[]{java.io.Serializable.class}, "x"));
+        assertEquals(true, call(skeleton, target, "ping", new Class<?>[0]));
+        assertNull(skeleton.call("inexistente()"));
+    }
+
+    @Test
+    void skeletonEntregaAExcecaoSemEmbrulho() throws Exception {
+        Class<?> recusado = loader.loadClass("amostra.Recusado");
+        Object target = EjmAot.newProxy(calculadora, (proxy, method, args) -> {
+            throw (Throwable) recusado.getConstructor(String.class).newInstance("recusado");
+        });
+        EjmSkeleton.Call recusa = EjmAot.skeletonFor(calculadora)
+                .call(EjmMethodKey.of(calculadora.getMethod("recusa", String.class)));
+
+        Throwable e = assertThrows(Throwable.class, () -> recusa.invoke(target, new Object[]{"x"}));
+        assertInstanceOf(recusado, e);
+    }
+
+    @Test
+    void interfaceGenericaOuNaoPublicaUsaReflexao() throws Exception {
+        for (String name : List.of("amostra.Generica", "amostra.Interna")) {
+            Class<?> iface = loader.loadClass(name);
+            assertNull(EjmAot.skeletonFor(iface), name);
+            assertTrue(Proxy.isProxyClass(EjmAot.newProxy(iface, (proxy, method, args) -> null).getClass()), name);
+            assertFalse(Files.exists(dir.resolve("out/amostra/" + iface.getSimpleName() + EjmAot.STUB_SUFFIX + ".class")));
+
+            String simpleName = iface.getSimpleName();
+            assertTrue(diagnostics.getDiagnostics().stream()
+                    .filter(d -> d.getKind() == Diagnostic.Kind.NOTE)
+                    .anyMatch(d -> d.getMessage(null).contains(name + " sem classes AOT")), simpleName);
+        }
+    }
+
+    private static Object calcular(Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "soma" -> args[0] instanceof Integer a ? a + (Integer) args[1]
+                    : args[0] instanceof Long a ? a + (Long) args[1]
+                    : (String) args[0] + args[1];
+            case "dobra" -> Arrays.stream((int[]) args[0]).map(v -> v * 2).toArray();
+            case "junta" -> String.join("-", (String[]) args[0]);
+            case "transpoe", "eco" -> args[0];
+            case "ping" -> true;
+            default -> null;
+        };
+    }
+
+    private static Object invoke(Object stub, String name, Class<?>[] types, Object... args) throws Exception {
+        return calculadora.getMethod(name, types).invoke(stub, args);
+    }
+
+    private static Object call(EjmSkeleton skeleton, Object target, String name, Class<?>[] types, Object... args)
+            throws Throwable {
+        EjmSkeleton.Call call = skeleton.call(EjmMethodKey.of(calculadora.getMethod(name, types)));
+        assertNotNull(call, name);
+        return call.invoke(target, args.length == 0 ? null : args);
+    }
+}
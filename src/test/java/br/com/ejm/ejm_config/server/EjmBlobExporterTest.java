@@ -0,0 +1,153 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.remote.EjmBlob;
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+import br.com.ejm.ejm_config.remote.EjmRemoteBlob;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmBlobExporterTest {
+
+    @TempDir
+    Path dir;
+
+    private final ArquivosImpl bean = new ArquivosImpl();
+    private EjmBlobExporter exporter;
+
+    @AfterEach
+    void tearDown() {
+        if (exporter != null) exporter.close();
+    }
+
+    @Test
+    void conteudoEmMemoriaChegaPeloCanal() throws Throwable {
+        byte[] content = random(100_000);
+        bean.content = content;
+        EjmRemoteBlob blob = call(new EjmBlobExporter(0), "baixar");
+
+        assertEquals(content.length, blob.size());
+        assertEquals(1, exporter.getPendingBlobs());
+        try (InputStream in = blob.openStream()) {
+            assertArrayEquals(content, in.readAllBytes());
+        }
+        assertEquals(0, exporter.getPendingBlobs());
+    }
+
+    @Test
+    void tokenEDeUsoUnico() throws Throwable {
+        bean.content = random(10);
+        EjmRemoteBlob blob = call(new EjmBlobExporter(0), "baixar");
+
+        blob.openChannel().close();
+        IOException e = assertThrows(IOException.class, blob::openChannel);
+        assertTrue(e.getMessage().contains("expirado ou já lido"));
+    }
+
+    @Test
+    void tokenDesconhecidoERecusado() throws Throwable {
+        bean.content = random(10);
+        call(new EjmBlobExporter(0), "baixar");
+
+        EjmRemoteBlob forged = new EjmRemoteBlob("localhost", exporter.getPort(), new byte[EjmRemoteBlob.TOKEN_LENGTH], 10);
+        assertThrows(IOException.class, forged::openChannel);
+        assertEquals(1, exporter.getPendingBlobs());
+    }
+
+    @Test
+    void tokenExpiraDepoisDoTtl() throws Throwable {
+        bean.content = random(10);
+        EjmRemoteBlob late = call(new EjmBlobExporter(0, 50), "baixar");
+        Thread.sleep(100);
+
+        // expirado mas ainda no mapa: a conexão recebe o mesmo status de token consumido
+        assertThrows(IOException.class, late::openChannel);
+
+        call(exporter, "baixar");
+        Thread.sleep(100);
+        exporter.expire();
+        assertEquals(0, exporter.getPendingBlobs());
+    }
+
+    @Test
+    void arquivoSaiPorTransferTo() throws Throwable {
+        byte[] content = random(3 * 1024 * 1024 + 17);
+        bean.file = Files.write(dir.resolve("origem.bin"), content);
+        EjmBlobExporter shared = new EjmBlobExporter(0);
+
+        Path target = dir.resolve("destino.bin");
+        assertEquals(content.length, call(shared, "arquivo").transferTo(target));
+        assertArrayEquals(content, Files.readAllBytes(target));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(content.length, call(shared, "arquivo").transferTo(Channels.newChannel(out)));
+        assertArrayEquals(content, out.toByteArray());
+    }
+
+    @Test
+    void metodosSemBlobFicamDeFora() throws Exception {
+        exporter = new EjmBlobExporter(0);
+        Method nome = Arquivos.class.getMethod("nome");
+
+        assertNull(exporter.bind(new EjmServerMethod("Arquivos", nome, EjmMethodKey.of(nome))));
+    }
+
+    private EjmRemoteBlob call(EjmBlobExporter blobs, String name) throws Throwable {
+        exporter = blobs;
+        EjmServiceInvoker invoker = new EjmServiceInvoker("Arquivos", bean, Arquivos.class, List.of(blobs));
+        Method method = Arquivos.class.getMethod(name);
+        return (EjmRemoteBlob) invoker.chainFor(EjmMethodKey.of(method)).proceed(new Object[0]);
+    }
+
+    private static byte[] random(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    public interface Arquivos extends Remote {
+        EjmBlob baixar() throws RemoteException;
+
+        EjmBlob arquivo() throws RemoteException;
+
+        String nome() throws RemoteException;
+    }
+
+    private static final class ArquivosImpl implements Arquivos {
+        private volatile byte[] content;
+        private volatile Path file;
+
+        @Override
+        public EjmBlob baixar() {
+            return EjmBlob.of(content);
+        }
+
+        @Override
+        public EjmBlob arquivo() {
+            return EjmBlob.of(file);
+        }
+
+        @Override
+        public String nome() {
+            return "arquivos";
+        }
+    }
+}
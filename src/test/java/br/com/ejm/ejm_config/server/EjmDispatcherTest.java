@@ -0,0 +1,148 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.exception.EjmOverloadException;
+import br.com.ejm.ejm_config.remote.EjmDelegate;
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmDispatcherTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Servico bean = new Servico();
+
+    @AfterEach
+    void tearDown() {
+        bean.release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void filaCheiaRecusaNaHora() throws Throwable {
+        EjmDispatcher dispatcher = new EjmDispatcher("Lento", 1, 0, 1_000);
+        EjmInterceptor.Chain espera = chain(dispatcher, "espera");
+
+        Future<Object> first = submit(espera);
+        assertTrue(bean.started.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        EjmOverloadException e = assertThrows(EjmOverloadException.class, () -> espera.proceed(null));
+        assertTrue(e.getMessage().contains("fila cheia"));
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500), "recusa esperou pela fila");
+        assertEquals(1, dispatcher.getActive());
+        assertEquals(1, dispatcher.getRejected());
+        assertEquals(0, dispatcher.getQueueTimeouts());
+
+        bean.release.countDown();
+        assertEquals("ok", first.get(5, TimeUnit.SECONDS));
+        assertEquals("ok", espera.proceed(null));
+        assertEquals(2, dispatcher.getAdmitted());
+        assertEquals(0, dispatcher.getActive());
+    }
+
+    @Test
+    void timeoutNaFilaRecusaComOverload() throws Throwable {
+        EjmDispatcher dispatcher = new EjmDispatcher("Lento", 1, 1, 100);
+        EjmInterceptor.Chain espera = chain(dispatcher, "espera");
+
+        submit(espera);
+        assertTrue(bean.started.await(5, TimeUnit.SECONDS));
+
+        EjmOverloadException e = assertThrows(EjmOverloadException.class, () -> espera.proceed(null));
+        assertTrue(e.getMessage().contains("100 ms na fila"));
+        assertTrue(EjmDispatcher.lastQueueNanos() >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(1, dispatcher.getQueueTimeouts());
+        assertEquals(1, dispatcher.getRejected());
+        assertEquals(0, dispatcher.getQueued());
+    }
+
+    @Test
+    void chamadaNaFilaEAtendidaQuandoAVagaLibera() throws Throwable {
+        EjmDispatcher dispatcher = new EjmDispatcher("Lento", 1, 1, 5_000);
+        EjmInterceptor.Chain espera = chain(dispatcher, "espera");
+
+        Future<Object> first = submit(espera);
+        assertTrue(bean.started.await(5, TimeUnit.SECONDS));
+        Future<Object> second = submit(espera);
+
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (dispatcher.getQueued() == 0 && System.nanoTime() < until) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, dispatcher.getQueued());
+
+        bean.release.countDown();
+        assertEquals("ok", first.get(5, TimeUnit.SECONDS));
+        assertEquals("ok", second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, dispatcher.getAdmitted());
+        assertEquals(0, dispatcher.getRejected());
+    }
+
+    @Test
+    void pingNaoPassaPelaAdmissao() throws Throwable {
+        EjmDispatcher dispatcher = new EjmDispatcher("Lento", 1, 0, 0);
+        EjmServerMethod ping = new EjmServerMethod("Lento", Lento.class.getMethod("ping"), "ping");
+        EjmServerMethod espera = new EjmServerMethod("Lento", Lento.class.getMethod("espera"), "espera");
+        assertNull(dispatcher.bind(ping));
+        assertSame(dispatcher, dispatcher.bind(espera));
+
+        EjmInterceptor.Chain esperaChain = chain(dispatcher, "espera");
+        submit(esperaChain);
+        assertTrue(bean.started.await(5, TimeUnit.SECONDS));
+
+        // provider saturado continua respondendo ao monitor
+        assertThrows(EjmOverloadException.class, () -> esperaChain.proceed(null));
+        assertEquals(true, chain(dispatcher, "ping").proceed(null));
+        assertEquals(1, dispatcher.getAdmitted());
+    }
+
+    private Future<Object> submit(EjmInterceptor.Chain chain) {
+        return executor.submit(() -> {
+            try {
+                return chain.proceed(null);
+            } catch (Throwable e) {
+                throw new ExecutionException(e);
+            }
+        });
+    }
+
+    private EjmInterceptor.Chain chain(EjmDispatcher dispatcher, String name) throws NoSuchMethodException {
+        EjmServiceInvoker invoker = new EjmServiceInvoker("Lento", bean, Lento.class, List.of(dispatcher));
+        return invoker.chainFor(EjmMethodKey.of(Lento.class.getMethod(name)));
+    }
+
+    public interface Lento extends EjmDelegate {
+        String espera() throws RemoteException;
+    }
+
+    private static final class Servico implements Lento {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String espera() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "ok";
+        }
+    }
+}
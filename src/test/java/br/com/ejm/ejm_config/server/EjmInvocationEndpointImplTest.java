@@ -0,0 +1,70 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.codec.EjmBinaryCodec;
+import br.com.ejm.ejm_config.codec.EjmCodec;
+import br.com.ejm.ejm_config.codec.EjmCodecs;
+import br.com.ejm.ejm_config.remote.EjmBatchCall;
+import br.com.ejm.ejm_config.remote.EjmBatchResult;
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+import org.junit.jupiter.api.Test;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.UnmarshalException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmInvocationEndpointImplTest {
+
+    private final EjmCodec codec = EjmCodecs.get(EjmBinaryCodec.NAME);
+
+    private final EjmInvocationEndpointImpl endpoint = new EjmInvocationEndpointImpl(
+            new EjmServiceInvoker("Calculadora", (Calculadora) (a, b) -> a + b, Calculadora.class, List.of()),
+            EjmBinaryCodec.NAME, null);
+
+    private final String soma = EjmMethodKey.of(Calculadora.class.getMethods()[0]);
+
+    @Test
+    void chamadaCodificada() throws Exception {
+        EjmBatchResult result = invoke(new Object[]{2, 3});
+
+        assertNull(result.error());
+        assertEquals(5, result.value());
+    }
+
+    @Test
+    void recusaArgumentosForaDaAssinatura() throws Exception {
+        assertTrue(invoke(new Object[]{2, "3"}).error() instanceof IllegalArgumentException);
+        assertTrue(invoke(new Object[]{2}).error() instanceof IllegalArgumentException);
+        assertTrue(invoke(new Object[]{2, null}).error() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void recusaClasseForaDaAssinaturaNaDecodificacao() throws Exception {
+        byte[] args = codec.encode(new Object[]{2, new StringBuilder("3")});
+
+        assertThrows(UnmarshalException.class, () -> endpoint.invokeEncoded(EjmBinaryCodec.NAME, soma, args));
+    }
+
+    @Test
+    void loteTambemConfereAssinatura() throws Exception {
+        List<EjmBatchResult> results = endpoint.invokeBatch(List.of(
+                new EjmBatchCall(soma, new Object[]{1, 1}), new EjmBatchCall(soma, new Object[]{1L, 1})));
+
+        assertEquals(2, results.get(0).value());
+        assertTrue(results.get(1).error() instanceof IllegalArgumentException);
+    }
+
+    private EjmBatchResult invoke(Object[] args) throws Exception {
+        byte[] response = endpoint.invokeEncoded(EjmBinaryCodec.NAME, soma, codec.encode(args));
+        return (EjmBatchResult) codec.decode(response);
+    }
+
+    public interface Calculadora extends Remote {
+        int soma(int a, int b) throws RemoteException;
+    }
+}
@@ -0,0 +1,162 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serial;
+import java.lang.reflect.Method;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmServiceInvokerTest {
+
+    private final List<String> trail = new ArrayList<>();
+
+    @Test
+    void interceptorsNaOrdemDaLista() throws Throwable {
+        EjmServiceInvoker invoker = new EjmServiceInvoker("Conta", new ContaImpl(trail), Conta.class,
+                List.of(recording("a"), recording("b")));
+
+        assertEquals(5, invoker.chainFor(key("soma")).proceed(new Object[]{2, 3}));
+        assertEquals(List.of("a>", "b>", "soma", "<b", "<a"), trail);
+    }
+
+    @Test
+    void proxyPassaPelaMesmaCadeia() throws Exception {
+        EjmServiceInvoker invoker = new EjmServiceInvoker("Conta", new ContaImpl(trail), Conta.class,
+                List.of(recording("a")));
+
+        assertEquals(5, ((Conta) invoker.getProxy()).soma(2, 3));
+        assertEquals(List.of("a>", "soma", "<a"), trail);
+    }
+
+    @Test
+    void bindNuloDeixaOInterceptorDeFora() throws Throwable {
+        EjmInterceptor soSaldo = new EjmInterceptor() {
+            @Override
+            public Object intercept(EjmServerMethod method, Object[] args, Chain next) throws Throwable {
+                trail.add("saldo>");
+                return next.proceed(args);
+            }
+
+            @Override
+            public EjmInterceptor bind(EjmServerMethod method) {
+                return method.method().getName().equals("saldo") ? this : null;
+            }
+        };
+        EjmServiceInvoker invoker = new EjmServiceInvoker("Conta", new ContaImpl(trail), Conta.class, List.of(soSaldo));
+
+        invoker.chainFor(key("soma")).proceed(new Object[]{1, 1});
+        invoker.chainFor(key("saldo")).proceed(new Object[]{"x"});
+        assertEquals(List.of("soma", "saldo>", "saldo"), trail);
+    }
+
+    @Test
+    void interceptorQueNaoProssegueInterrompeAChamada() throws Throwable {
+        EjmInterceptor nega = (method, args, next) -> -1;
+        EjmServiceInvoker invoker = new EjmServiceInvoker("Conta", new ContaImpl(trail), Conta.class,
+                List.of(nega, recording("a")));
+
+        assertEquals(-1, invoker.chainFor(key("soma")).proceed(new Object[]{2, 3}));
+        assertTrue(trail.isEmpty());
+    }
+
+    @Test
+    void excecoesDoBeanChegamSemEmbrulho() throws Exception {
+        ContaImpl bean = new ContaImpl(trail);
+
+        // retorno e até 4 parâmetros: classe gerada pelo LambdaMetafactory
+        EjmMethodInvoker generated = EjmMethodInvoker.of(Conta.class.getMethod("saldo", String.class));
+        assertTrue(generated.getClass().getSimpleName().startsWith("Arity"), generated.getClass().getName());
+        assertSame(bean.semSaldo, assertThrows(SemSaldo.class, () -> generated.invoke(bean, new Object[]{"vazia"})));
+        assertSame(bean.invalida, assertThrows(IllegalStateException.class,
+                () -> generated.invoke(bean, new Object[]{null})));
+
+        // void: MethodHandle espalhando o array
+        EjmMethodInvoker handle = EjmMethodInvoker.of(Conta.class.getMethod("bloqueia", String.class));
+        assertSame(bean.semSaldo, assertThrows(SemSaldo.class, () -> handle.invoke(bean, new Object[]{"vazia"})));
+
+        // interface não pública: reflexão, com o InvocationTargetException desembrulhado
+        EjmMethodInvoker reflective = EjmMethodInvoker.of(Interna.class.getMethod("falha"));
+        assertThrows(SemSaldo.class, () -> reflective.invoke((Interna) () -> {
+            throw new SemSaldo();
+        }, new Object[0]));
+
+        // pelo proxy exportado a exceção declarada também chega como veio
+        trail.clear();
+        EjmServiceInvoker invoker = new EjmServiceInvoker("Conta", bean, Conta.class, List.of(recording("a")));
+        assertSame(bean.semSaldo, assertThrows(SemSaldo.class, () -> ((Conta) invoker.getProxy()).saldo("vazia")));
+        assertEquals(List.of("a>", "saldo", "<a"), trail);
+    }
+
+    private EjmInterceptor recording(String name) {
+        return (method, args, next) -> {
+            trail.add(name + ">");
+            try {
+                return next.proceed(args);
+            } finally {
+                trail.add("<" + name);
+            }
+        };
+    }
+
+    private static String key(String name) {
+        for (Method method : Conta.class.getMethods()) {
+            if (method.getName().equals(name)) return EjmMethodKey.of(method);
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    public interface Conta extends Remote {
+        int soma(int a, int b) throws RemoteException;
+
+        long saldo(String conta) throws RemoteException, SemSaldo;
+
+        void bloqueia(String conta) throws RemoteException, SemSaldo;
+    }
+
+    interface Interna extends Remote {
+        void falha() throws RemoteException, SemSaldo;
+    }
+
+    public static final class SemSaldo extends Exception {
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static final class ContaImpl implements Conta {
+        private final List<String> trail;
+        private final SemSaldo semSaldo = new SemSaldo();
+        private final IllegalStateException invalida = new IllegalStateException("conta nula");
+
+        private ContaImpl(List<String> trail) {
+            this.trail = trail;
+        }
+
+        @Override
+        public int soma(int a, int b) {
+            trail.add("soma");
+            return a + b;
+        }
+
+        @Override
+        public long saldo(String conta) throws SemSaldo {
+            if (conta == null) throw invalida;
+            trail.add("saldo");
+            if (conta.equals("vazia")) throw semSaldo;
+            return 10;
+        }
+
+        @Override
+        public void bloqueia(String conta) throws SemSaldo {
+            throw semSaldo;
+        }
+    }
+}
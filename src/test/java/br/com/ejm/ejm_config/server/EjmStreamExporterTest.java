@@ -0,0 +1,193 @@
+package br.com.ejm.ejm_config.server;
+
+import br.com.ejm.ejm_config.annotations.EjmStreaming;
+import br.com.ejm.ejm_config.remote.EjmMethodKey;
+import br.com.ejm.ejm_config.remote.EjmRemoteStream;
+import br.com.ejm.ejm_config.remote.EjmStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.rmi.NoSuchObjectException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmStreamExporterTest {
+
+    private final EjmStreamExporter exporter = new EjmStreamExporter(0, null, null);
+    private final RelatorioImpl bean = new RelatorioImpl();
+    private final EjmServiceInvoker invoker = new EjmServiceInvoker("Relatorio", bean, Relatorio.class, List.of(exporter));
+
+    @AfterEach
+    void tearDown() {
+        exporter.closeAll();
+    }
+
+    @Test
+    void resultadoNumBlocoSoNaoDeixaCursorAberto() throws Throwable {
+        EjmStream<Integer> stream = call("numeros", 10);
+
+        assertEquals(range(10), drain(stream));
+        assertEquals(0, exporter.getOpenStreams());
+        assertTrue(bean.fonte.closed);
+    }
+
+    @Test
+    void leituraAteOFimFechaAFonte() throws Throwable {
+        EjmStream<Integer> stream = call("numeros", 1_000);
+        assertTrue(stream instanceof EjmRemoteStream);
+        assertEquals(1, exporter.getOpenStreams());
+
+        assertEquals(range(1_000), drain(stream));
+        assertEquals(0, exporter.getOpenStreams());
+        assertTrue(bean.fonte.closed);
+    }
+
+    @Test
+    void cancelamentoDoClienteFechaOCursor() throws Throwable {
+        EjmStream<Integer> stream = call("numeros", 1_000);
+        assertEquals(0, stream.next());
+
+        stream.close();
+        stream.close();
+        assertFalse(stream.hasNext());
+        assertEquals(0, exporter.getOpenStreams());
+        assertTrue(bean.fonte.closed);
+        // a fonte parou no primeiro bloco
+        assertEquals(100, bean.fonte.read);
+    }
+
+    @Test
+    void cursorInativoExpira() throws Throwable {
+        EjmStream<Integer> stream = call("lento", 1_000);
+        Thread.sleep(100);
+
+        exporter.closeIdle();
+        assertEquals(0, exporter.getOpenStreams());
+        assertTrue(bean.fonte.closed);
+
+        // os itens do primeiro bloco seguem disponíveis; o próximo pedido encontra o cursor fechado
+        for (int i = 0; i < 100; i++) stream.next();
+        UncheckedIOException e = assertThrows(UncheckedIOException.class, stream::hasNext);
+        assertTrue(e.getCause() instanceof NoSuchObjectException, e.getCause().toString());
+    }
+
+    @Test
+    void cursorEmUsoNaoExpira() throws Throwable {
+        EjmStream<Integer> stream = call("numeros", 1_000);
+
+        exporter.closeIdle();
+        assertEquals(1, exporter.getOpenStreams());
+        assertEquals(range(1_000), drain(stream));
+    }
+
+    @Test
+    void closeAllFechaTodosOsCursores() throws Throwable {
+        call("numeros", 1_000);
+        Fonte first = bean.fonte;
+        call("numeros", 1_000);
+
+        assertEquals(2, exporter.getOpenStreams());
+        exporter.closeAll();
+        assertEquals(0, exporter.getOpenStreams());
+        assertTrue(first.closed);
+        assertTrue(bean.fonte.closed);
+    }
+
+    @Test
+    void falhaDaFonteFechaOCursor() throws Throwable {
+        bean.failAt = 150;
+        EjmStream<Integer> stream = call("numeros", 1_000);
+        for (int i = 0; i < 100; i++) stream.next();
+
+        assertThrows(IllegalStateException.class, stream::hasNext);
+        assertEquals(0, exporter.getOpenStreams());
+        assertTrue(bean.fonte.closed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private EjmStream<Integer> call(String name, int size) throws Throwable {
+        for (Method method : Relatorio.class.getMethods()) {
+            if (method.getName().equals(name)) {
+                return (EjmStream<Integer>) invoker.chainFor(EjmMethodKey.of(method)).proceed(new Object[]{size});
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private static List<Integer> drain(EjmStream<Integer> stream) {
+        List<Integer> items = new ArrayList<>();
+        while (stream.hasNext()) items.add(stream.next());
+        return items;
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) items.add(i);
+        return items;
+    }
+
+    public interface Relatorio extends Remote {
+        @EjmStreaming(chunkSize = 100, prefetch = 0)
+        EjmStream<Integer> numeros(int size) throws RemoteException;
+
+        @EjmStreaming(chunkSize = 100, prefetch = 0, idleTimeout = 50)
+        EjmStream<Integer> lento(int size) throws RemoteException;
+    }
+
+    private static final class RelatorioImpl implements Relatorio {
+        private volatile Fonte fonte;
+        private volatile int failAt = -1;
+
+        @Override
+        public EjmStream<Integer> numeros(int size) {
+            fonte = new Fonte(size, failAt);
+            return EjmStream.of(fonte);
+        }
+
+        @Override
+        public EjmStream<Integer> lento(int size) {
+            return numeros(size);
+        }
+    }
+
+    /** Fonte que registra quanto foi lido e se foi fechada. */
+    private static final class Fonte implements Iterator<Integer>, AutoCloseable {
+        private final int size;
+        private final int failAt;
+        private volatile int read;
+        private volatile boolean closed;
+
+        private Fonte(int size, int failAt) {
+            this.size = size;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return read < size;
+        }
+
+        @Override
+        public Integer next() {
+            if (read >= size) throw new NoSuchElementException();
+            if (read == failAt) throw new IllegalStateException("fonte falhou");
+            return read++;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.ejm.ejm_config.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmCompressionStreamTest {
+
+    private static final int THRESHOLD = 512;
+    private static final int MAX = EjmCompressionOutputStream.MAX_FRAME;
+
+    @Test
+    void abaixoDoThresholdVaiSemCompressao() throws IOException {
+        byte[] payload = text(100);
+        byte[] wire = write(payload);
+
+        assertEquals(List.of(new Frame(EjmCompressionOutputStream.RAW, 100, 100)), frames(wire));
+        assertEquals(5 + 100, wire.length);
+        assertArrayEquals(payload, read(wire));
+    }
+
+    @Test
+    void acimaDoThresholdComprime() throws IOException {
+        byte[] payload = text(64 * 1024);
+        byte[] wire = write(payload);
+
+        List<Frame> frames = frames(wire);
+        assertEquals(1, frames.size());
+        assertEquals(EjmCompressionOutputStream.DEFLATE, frames.get(0).type);
+        assertEquals(payload.length, frames.get(0).original);
+        assertTrue(wire.length < payload.length / 4, "frame comprimido com " + wire.length + " bytes");
+        assertArrayEquals(payload, read(wire));
+    }
+
+    @Test
+    void frameQueNaoDiminuiVaiSemCompressao() throws IOException {
+        byte[] payload = random(4096);
+        byte[] wire = write(payload);
+
+        assertEquals(List.of(new Frame(EjmCompressionOutputStream.RAW, payload.length, payload.length)), frames(wire));
+        assertArrayEquals(payload, read(wire));
+    }
+
+    @Test
+    void escritaMaiorQueUmFrameEQuebrada() throws IOException {
+        byte[] payload = text(2 * MAX + 12_345);
+        byte[] wire = write(payload);
+
+        List<Frame> frames = frames(wire);
+        assertEquals(3, frames.size());
+        assertEquals(MAX, frames.get(0).original);
+        assertEquals(MAX, frames.get(1).original);
+        assertEquals(12_345, frames.get(2).original);
+        assertArrayEquals(payload, read(wire));
+    }
+
+    @Test
+    void cadaFlushFechaUmFrame() throws IOException {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        EjmCompressionOutputStream out = new EjmCompressionOutputStream(sink, THRESHOLD);
+
+        byte[][] messages = {text(10), random(2_000), text(30_000), {42}};
+        for (byte[] message : messages) {
+            if (message.length == 1) {
+                out.write(message[0]);
+            } else {
+                out.write(message);
+            }
+            expected.write(message);
+            out.flush();
+            // flush sem dados não gera frame vazio
+            out.flush();
+        }
+
+        byte[] wire = sink.toByteArray();
+        List<Frame> frames = frames(wire);
+        assertEquals(messages.length, frames.size());
+        assertEquals(EjmCompressionOutputStream.RAW, frames.get(0).type);
+        assertEquals(EjmCompressionOutputStream.RAW, frames.get(1).type);
+        assertEquals(EjmCompressionOutputStream.DEFLATE, frames.get(2).type);
+        assertEquals(EjmCompressionOutputStream.RAW, frames.get(3).type);
+
+        // leitura byte a byte e em blocos pequenos cruzando as fronteiras dos frames
+        EjmCompressionInputStream in = new EjmCompressionInputStream(new ByteArrayInputStream(wire));
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        byte[] chunk = new byte[7];
+        int b;
+        while ((b = in.read()) >= 0) {
+            decoded.write(b);
+            int n = in.read(chunk, 0, chunk.length);
+            if (n < 0) break;
+            decoded.write(chunk, 0, n);
+        }
+        assertArrayEquals(expected.toByteArray(), decoded.toByteArray());
+    }
+
+    @Test
+    void recusaCabecalhoTruncado() {
+        byte[] wire = {EjmCompressionOutputStream.RAW, 0, 0};
+
+        assertThrows(EOFException.class, () -> read(wire));
+    }
+
+    @Test
+    void recusaCorpoTruncado() throws IOException {
+        byte[] wire = write(text(100));
+
+        assertThrows(EOFException.class, () -> read(Arrays.copyOf(wire, wire.length - 10)));
+    }
+
+    @Test
+    void recusaFrameMaiorQueOLimite() {
+        byte[] raw = ByteBuffer.allocate(5).put((byte) EjmCompressionOutputStream.RAW).putInt(MAX + 1).array();
+        byte[] negative = ByteBuffer.allocate(5).put((byte) EjmCompressionOutputStream.RAW).putInt(-1).array();
+        byte[] inflated = ByteBuffer.allocate(9).put((byte) EjmCompressionOutputStream.DEFLATE).putInt(10)
+                .putInt(MAX + 1).array();
+
+        assertTrue(assertThrows(IOException.class, () -> read(raw)).getMessage().contains("Tamanho de frame inválido"));
+        assertTrue(assertThrows(IOException.class, () -> read(negative)).getMessage().contains("Tamanho de frame inválido"));
+        assertTrue(assertThrows(IOException.class, () -> read(inflated)).getMessage().contains("Tamanho de frame inválido"));
+    }
+
+    @Test
+    void recusaTipoDesconhecido() {
+        byte[] wire = ByteBuffer.allocate(6).put((byte) 7).putInt(1).put((byte) 0).array();
+
+        assertTrue(assertThrows(IOException.class, () -> read(wire)).getMessage().contains("Tipo de frame desconhecido"));
+    }
+
+    @Test
+    void recusaFrameComprimidoCorrompido() throws IOException {
+        byte[] wire = write(text(64 * 1024));
+
+        // bytes trocados no meio do deflate
+        byte[] corrupt = wire.clone();
+        for (int i = 20; i < 40; i++) corrupt[i] = (byte) 0xFF;
+        assertThrows(IOException.class, () -> read(corrupt));
+
+        // tamanho original maior do que o deflate produz
+        byte[] lying = wire.clone();
+        ByteBuffer.wrap(lying).putInt(5, 64 * 1024 + 1);
+        assertTrue(assertThrows(IOException.class, () -> read(lying)).getMessage().contains("corrompido"));
+    }
+
+    private static byte[] write(byte[] payload) throws IOException {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        EjmCompressionOutputStream out = new EjmCompressionOutputStream(sink, THRESHOLD);
+        out.write(payload);
+        out.flush();
+        return sink.toByteArray();
+    }
+
+    private static byte[] read(byte[] wire) throws IOException {
+        try (InputStream in = new EjmCompressionInputStream(new ByteArrayInputStream(wire))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static List<Frame> frames(byte[] wire) {
+        List<Frame> frames = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(wire);
+        while (buffer.hasRemaining()) {
+            int type = buffer.get();
+            int length = buffer.getInt();
+            int original = type == EjmCompressionOutputStream.DEFLATE ? buffer.getInt() : length;
+            buffer.position(buffer.position() + length);
+            frames.add(new Frame(type, length, original));
+        }
+        return frames;
+    }
+
+    private static byte[] text(int size) {
+        byte[] pattern = "pedido;cliente;caneta;2.50;".getBytes(StandardCharsets.UTF_8);
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) data[i] = pattern[i % pattern.length];
+        return data;
+    }
+
+    private static byte[] random(int size) {
+        byte[] data = new byte[size];
+        new Random(42).nextBytes(data);
+        return data;
+    }
+
+    /** Cabeçalho de um frame; {@code original} é o tamanho antes da compressão. */
+    private record Frame(int type, int length, int original) {
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.ejm.ejm_config.transport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.rmi.NoSuchObjectException;
+import java.rmi.UnmarshalException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EjmMuxTransportTest {
+
+    private EjmMuxServer server;
+    private EjmMuxClient client;
+    private String address;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new EjmMuxServer(0, EjmMuxTransportTest::handle, 8);
+        client = new EjmMuxClient(2);
+        address = "localhost:" + server.getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    /** "eco" devolve o payload; "espera" dorme os milissegundos do payload; os demais testam os status. */
+    private static EjmMuxProtocol.Reply handle(String target, String method, String codec, byte[] payload) {
+        return switch (method) {
+            case "eco" -> EjmMuxProtocol.Reply.ok(payload);
+            case "nomes" -> EjmMuxProtocol.Reply.ok((target + "|" + codec).getBytes(StandardCharsets.UTF_8));
+            case "espera" -> {
+                try {
+                    Thread.sleep(ByteBuffer.wrap(payload).getInt());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                yield EjmMuxProtocol.Reply.ok(payload);
+            }
+            case "codec" -> EjmMuxProtocol.Reply.error(EjmMuxProtocol.STATUS_UNKNOWN_CODEC, null);
+            case "ausente" -> EjmMuxProtocol.Reply.error(EjmMuxProtocol.STATUS_NO_SUCH_OBJECT, "sem " + target);
+            default -> EjmMuxProtocol.Reply.error(EjmMuxProtocol.STATUS_FAILURE, "falhou " + method);
+        };
+    }
+
+    @Test
+    void ecoDePayloadsDeVariosTamanhos() throws Exception {
+        for (int size : new int[]{0, 1, 1000, 200 * 1024}) {
+            byte[] payload = new byte[size];
+            ThreadLocalRandom.current().nextBytes(payload);
+
+            assertArrayEquals(payload, client.call(address, "Servico", "eco", "java", payload), "tamanho " + size);
+        }
+    }
+
+    @Test
+    void nomesUtf8ChegamIntactos() throws Exception {
+        byte[] reply = client.call(address, "Serviço", "nomes", "binário", new byte[0]);
+
+        assertEquals("Serviço|binário", new String(reply, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void respostasForaDeOrdemVoltamParaQuemPediu() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<byte[]>> calls = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                // os primeiros demoram mais, então respondem depois dos seguintes
+                byte[] payload = ByteBuffer.allocate(8).putInt(64 - i).putInt(i).array();
+                calls.add(executor.submit(() -> client.call(address, "Servico", "espera", "java", payload)));
+            }
+            for (int i = 0; i < calls.size(); i++) {
+                assertEquals(i, ByteBuffer.wrap(calls.get(i).get(10, TimeUnit.SECONDS)).getInt(4));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void statusViramOsErrosEsperados() throws Exception {
+        assertNull(client.call(address, "Servico", "codec", "xyz", new byte[0]));
+
+        NoSuchObjectException missing = assertThrows(NoSuchObjectException.class,
+                () -> client.call(address, "Servico", "ausente", "java", new byte[0]));
+        assertTrue(missing.getMessage().contains("sem Servico"));
+
+        UnmarshalException failure = assertThrows(UnmarshalException.class,
+                () -> client.call(address, "Servico", "quebra", "java", new byte[0]));
+        assertTrue(failure.getMessage().contains("falhou quebra"));
+    }
+
+    @Test
+    void deadlineEncerraAEsperaEAConexaoContinuaUtil() throws Exception {
+        byte[] slow = ByteBuffer.allocate(4).putInt(500).array();
+        long previous = EjmDeadline.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(50));
+        try {
+            UnmarshalException e = assertThrows(UnmarshalException.class,
+                    () -> client.call(address, "Servico", "espera", "java", slow));
+            assertTrue(e.getCause() instanceof SocketTimeoutException);
+        } finally {
+            EjmDeadline.restore(previous);
+        }
+
+        byte[] payload = {1, 2, 3};
+        assertArrayEquals(payload, client.call(address, "Servico", "eco", "java", payload));
+    }
+
+    @Test
+    void stringTruncadaNoFrameELancaIOException() {
+        ByteBuffer buffer = ByteBuffer.allocate(4).putShort((short) 10).put((byte) 'a').put((byte) 'b');
+        buffer.flip();
+
+        assertThrows(IOException.class, () -> EjmMuxProtocol.getString(buffer));
+    }
+
+    @Test
+    void stringDoFrameIdaEVolta() throws IOException {
+        byte[] utf8 = "ação".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(EjmMuxProtocol.sizeOf(utf8) + 1);
+        EjmMuxProtocol.putString(buffer, utf8);
+        buffer.put((byte) 7).flip();
+
+        assertEquals("ação", EjmMuxProtocol.getString(buffer));
+        assertEquals(7, buffer.get());
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.ejm.ejm_config.utils;
+
+import br.com.ejm.ejm_config.utils.indexed.IndexedApi;
+import br.com.ejm.ejm_config.utils.indexed.UnindexedApi;
+import br.com.ejm.ejm_config.utils.scan.DelegateApi;
+import br.com.ejm.ejm_config.utils.scan.Dto;
+import br.com.ejm.ejm_config.utils.scan.Helper;
+import br.com.ejm.ejm_config.utils.scan.Marker;
+import br.com.ejm.ejm_config.utils.scan.RemoteApi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PackageScannerTest {
+
+    @Test
+    void varreduraDevolveSoAsInterfacesRemotas() throws Exception {
+        List<Class<?>> found = PackageScanner.findInterfaces("br.com.ejm.ejm_config.utils.scan");
+
+        assertEquals(Set.of(RemoteApi.class, DelegateApi.class), new HashSet<>(found));
+    }
+
+    @Test
+    void indiceTemPrecedenciaSobreAVarredura() throws Exception {
+        List<Class<?>> found = PackageScanner.findInterfaces("br.com.ejm.ejm_config.utils.indexed");
+
+        assertEquals(List.of(IndexedApi.class), found);
+    }
+
+    @Test
+    void jarSemIndiceNoMesmoPacoteTambemEVarrido(@TempDir Path dir) throws Exception {
+        // jar compilado sem o processador que contribui para o pacote já indexado em test-classes
+        Path jar = dir.resolve("sem-indice.jar");
+        String entry = UnindexedApi.class.getName().replace('.', '/') + ".class";
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar));
+             InputStream in = UnindexedApi.class.getResourceAsStream("UnindexedApi.class")) {
+            String directory = "";
+            for (String segment : UnindexedApi.class.getPackageName().split("\\.")) {
+                directory += segment + "/";
+                out.putNextEntry(new JarEntry(directory));
+            }
+            out.putNextEntry(new JarEntry(entry));
+            in.transferTo(out);
+        }
+
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, previous)) {
+            thread.setContextClassLoader(loader);
+            List<Class<?>> found = PackageScanner.findInterfaces("br.com.ejm.ejm_config.utils.indexed");
+
+            assertEquals(Set.of(IndexedApi.class, UnindexedApi.class), new HashSet<>(found));
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    void cabecalhoDistingueInterfacesDeClassesEAnotacoes() throws IOException {
+        assertTrue(isInterface(RemoteApi.class));
+        assertTrue(isInterface(Helper.class));
+        assertFalse(isInterface(Dto.class));
+        assertFalse(isInterface(Marker.class));
+        assertFalse(isInterface(PackageScanner.class));
+    }
+
+    @Test
+    void arquivoQueNaoEClassFile() throws IOException {
+        assertFalse(PackageScanner.isInterface(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8})));
+    }
+
+    private static boolean isInterface(Class<?> type) throws IOException {
+        try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+            return PackageScanner.isInterface(in);
+        }
+    }
+}
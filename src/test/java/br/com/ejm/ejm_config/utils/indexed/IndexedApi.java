@@ -0,0 +1,6 @@
+package br.com.ejm.ejm_config.utils.indexed;
+
+import java.rmi.Remote;
+
+public interface IndexedApi extends Remote {
+}
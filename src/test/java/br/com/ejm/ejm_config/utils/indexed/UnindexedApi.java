@@ -0,0 +1,7 @@
+package br.com.ejm.ejm_config.utils.indexed;
+
+import java.rmi.Remote;
+
+/** Fora do services.idx de teste: com índice, a varredura não acontece. */
+public interface UnindexedApi extends Remote {
+}
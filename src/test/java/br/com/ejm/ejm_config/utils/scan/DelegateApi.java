@@ -0,0 +1,6 @@
+package br.com.ejm.ejm_config.utils.scan;
+
+import br.com.ejm.ejm_config.remote.EjmDelegate;
+
+public interface DelegateApi extends EjmDelegate {
+}
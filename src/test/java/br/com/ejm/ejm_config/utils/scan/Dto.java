@@ -0,0 +1,6 @@
+package br.com.ejm.ejm_config.utils.scan;
+
+import java.io.Serializable;
+
+public record Dto(String nome) implements Serializable {
+}
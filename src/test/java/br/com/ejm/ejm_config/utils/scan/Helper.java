@@ -0,0 +1,6 @@
+package br.com.ejm.ejm_config.utils.scan;
+
+/** Interface auxiliar do pacote: não é um serviço. */
+public interface Helper {
+    String formatar(String valor);
+}
@@ -0,0 +1,8 @@
+package br.com.ejm.ejm_config.utils.scan;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Marker {
+}
@@ -0,0 +1,8 @@
+package br.com.ejm.ejm_config.utils.scan;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+public interface RemoteApi extends Remote {
+    String nome() throws RemoteException;
+}